@@ -4,9 +4,11 @@ import com.bom.dsa.client.ApprovalClient;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 
-@SpringBootApplication
+// R2DBC is only used by the optional lead read path, which builds its own pool (R2dbcReadConfig)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class DsaLoanManagementApplication {
 
 	public static void main(String[] args) {
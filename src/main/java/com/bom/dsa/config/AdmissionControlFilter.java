@@ -0,0 +1,193 @@
+package com.bom.dsa.config;
+
+import com.bom.dsa.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission control for API requests.
+ * Each route class has its own concurrency limit (admission.limits.*); a request
+ * arriving when its class is full is rejected at once with 503 and Retry-After,
+ * before it is authenticated or takes a database thread. Auth endpoints have their
+ * own limit, so login and refresh keep working while data endpoints are shedding,
+ * and health checks are never limited. Dashboard event streams stay open for as long
+ * as the client is connected, so they have their own fixed limit and never hold a
+ * READ slot. Each export holds a database connection for its whole download, so the
+ * export limit is capped at the primary pool size less
+ * admission.export-reserved-connections. With admission.adaptive.enabled the limits
+ * shrink when requests finish slower than admission.adaptive.target-latency and grow
+ * back while they are fast. Publishes admission.limit, admission.in-flight and
+ * admission.rejected per route class.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter implements WebFilter, Ordered {
+
+    /**
+     * Route classes with separate limits.
+     */
+    enum RouteClass {
+        AUTH, READ, WRITE, EXPORT, STREAM
+    }
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final String EXPORT_PATH = "/api/v1/leads/export";
+    private static final String DASHBOARD_PATH = "/api/v1/dashboard/";
+    private static final String STREAM_SUFFIX = "/stream";
+    private static final String HEALTH_PATH = "/actuator/health";
+    private static final String API_PATH = "/api/";
+
+    private final Map<RouteClass, AdmissionLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+    private final ObjectMapper objectMapper;
+    private final Duration retryAfter;
+
+    public AdmissionControlFilter(MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            DataSource dataSource,
+            @Value("${admission.limits.auth:32}") int authLimit,
+            @Value("${admission.limits.read:64}") int readLimit,
+            @Value("${admission.limits.write:32}") int writeLimit,
+            @Value("${admission.limits.export:4}") int exportLimit,
+            @Value("${admission.limits.stream:1000}") int streamLimit,
+            @Value("${admission.export-reserved-connections:3}") int exportReservedConnections,
+            @Value("${admission.adaptive.enabled:false}") boolean adaptive,
+            @Value("${admission.adaptive.min-limit:4}") int minLimit,
+            @Value("${admission.adaptive.target-latency:PT0.5S}") Duration targetLatency,
+            @Value("${admission.retry-after:PT1S}") Duration retryAfter) {
+        this.objectMapper = objectMapper;
+        this.retryAfter = retryAfter;
+
+        int exportCap = Math.max(1, JdbcSchedulerConfig.poolSize(dataSource) - exportReservedConnections);
+        if (exportLimit > exportCap) {
+            log.warn("Export limit {} exceeds the connection budget; using {}", exportLimit, exportCap);
+        }
+        Map<RouteClass, Integer> limits = Map.of(RouteClass.AUTH, authLimit, RouteClass.READ, readLimit,
+                RouteClass.WRITE, writeLimit, RouteClass.EXPORT, Math.min(exportLimit, exportCap),
+                RouteClass.STREAM, streamLimit);
+        for (RouteClass routeClass : RouteClass.values()) {
+            // A stream's duration is the client's connection time, not a latency signal
+            boolean adaptiveLimit = adaptive && routeClass != RouteClass.STREAM;
+            AdmissionLimiter limiter = new AdmissionLimiter(limits.get(routeClass), adaptiveLimit,
+                    Math.min(minLimit, limits.get(routeClass)), targetLatency.toNanos());
+            String route = routeClass.name().toLowerCase();
+            limiters.put(routeClass, limiter);
+            Gauge.builder("admission.limit", limiter, AdmissionLimiter::getLimit)
+                    .description("Current concurrency limit")
+                    .tag("route", route)
+                    .register(meterRegistry);
+            Gauge.builder("admission.in-flight", limiter, AdmissionLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("route", route)
+                    .register(meterRegistry);
+            rejected.put(routeClass, Counter.builder("admission.rejected")
+                    .description("Requests rejected with 503 because the route class was at its limit")
+                    .tag("route", route)
+                    .register(meterRegistry));
+        }
+        log.info("Admission control: limits {}, adaptive {}", limits, adaptive);
+    }
+
+    /**
+     * Run before the security filter chain, so shed requests cost no authentication work.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RouteClass routeClass = classify(exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        if (routeClass == null) {
+            return chain.filter(exchange);
+        }
+
+        AdmissionLimiter limiter = limiters.get(routeClass);
+        if (!limiter.tryAcquire()) {
+            rejected.get(routeClass).increment();
+            log.debug("Shedding {} request {} at limit {}", routeClass, exchange.getRequest().getPath(),
+                    limiter.getLimit());
+            return reject(exchange.getResponse());
+        }
+
+        long admittedAt = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> limiter.release(System.nanoTime() - admittedAt));
+    }
+
+    /**
+     * Route class of a request, or null when it is not limited (health checks,
+     * non-API paths such as Swagger and CORS preflights).
+     */
+    static RouteClass classify(HttpMethod method, String path) {
+        if (HttpMethod.OPTIONS.equals(method) || path.startsWith(HEALTH_PATH) || !path.startsWith(API_PATH)) {
+            return null;
+        }
+        if (path.startsWith(AUTH_PATH)) {
+            return RouteClass.AUTH;
+        }
+        if (path.startsWith(EXPORT_PATH)) {
+            return RouteClass.EXPORT;
+        }
+        if (path.startsWith(DASHBOARD_PATH) && path.endsWith(STREAM_SUFFIX)) {
+            return RouteClass.STREAM;
+        }
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) {
+            return RouteClass.READ;
+        }
+        return RouteClass.WRITE;
+    }
+
+    AdmissionLimiter limiter(RouteClass routeClass) {
+        return limiters.get(routeClass);
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        GlobalExceptionHandler.ErrorResponse error = GlobalExceptionHandler.ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("The server is busy. Please try again shortly.")
+                .timestamp(Instant.now())
+                .build();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(error);
+        } catch (JsonProcessingException e) {
+            body = new byte[0];
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
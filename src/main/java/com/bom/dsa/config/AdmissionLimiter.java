@@ -0,0 +1,74 @@
+package com.bom.dsa.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one route class.
+ * Static when adaptive is off. When adaptive is on, the limit grows by about one per
+ * window of requests that finish within the target latency, and is cut by the backoff
+ * ratio when one finishes slower. It stays between minLimit and maxLimit.
+ */
+class AdmissionLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    AdmissionLimiter(int maxLimit, boolean adaptive, int minLimit, long targetLatencyNanos) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.adaptive = adaptive;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * Take a slot if one is free. Never waits.
+     *
+     * @return true when the request was admitted and must later call {@link #release}
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return a slot and, in adaptive mode, adjust the limit from the request's latency.
+     *
+     * @param latencyNanos time the request held the slot
+     */
+    void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (adaptive) {
+            adjust(latencyNanos);
+        }
+    }
+
+    private synchronized void adjust(long latencyNanos) {
+        if (latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bom.dsa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-wide scheduler for blocking database work.
+ * Unlike boundedElastic, whose threads far outnumber the connection pool and then
+ * queue inside Hikari, this scheduler runs at most as many tasks as there are
+ * connections and queues the rest where the wait can be measured and bounded.
+ * Size, queue and thread type come from jdbc.scheduler.*; a size of 0 matches the
+ * Hikari maximum pool size.
+ */
+@Configuration
+@Slf4j
+public class JdbcSchedulerConfig {
+
+    private static final int DEFAULT_THREADS = 10;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${jdbc.scheduler.threads:0}") int threads,
+            @Value("${jdbc.scheduler.queue-capacity:1000}") int queueCapacity,
+            @Value("${jdbc.scheduler.virtual-threads:false}") boolean virtualThreads) {
+        int size = threads > 0 ? threads : poolSize(dataSource);
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory() : null;
+        if (virtualThreads && threadFactory == null) {
+            log.warn("Virtual threads requested for the JDBC scheduler but not supported by this JVM (Java {}); "
+                    + "using platform threads", Runtime.version().feature());
+        }
+        if (threadFactory == null) {
+            threadFactory = platformThreadFactory();
+        }
+
+        log.info("JDBC scheduler: {} {} threads, queue capacity {}", size,
+                threadFactory instanceof PlatformThreadFactory ? "platform" : "virtual", queueCapacity);
+        return Schedulers.fromExecutorService(
+                new MeteredJdbcExecutor(size, queueCapacity, threadFactory, meterRegistry), "jdbc");
+    }
+
+    /**
+     * Maximum size of the Hikari pool behind the DataSource; with replica routing this
+     * is the primary pool, which also serves reads while the replica is unavailable.
+     * Falls back to 10 when the DataSource is not a Hikari pool.
+     */
+    public static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not unwrap the Hikari pool: {}", e.getMessage());
+        }
+        return DEFAULT_THREADS;
+    }
+
+    /**
+     * Virtual thread factory on Java 21+, looked up reflectively because the
+     * application is compiled for Java 17. Returns null when unavailable.
+     * Concurrency stays capped by the executor size either way; virtual threads
+     * only avoid parking platform threads while a query runs.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "jdbc-v-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual thread factory unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        return new PlatformThreadFactory();
+    }
+
+    private static final class PlatformThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "jdbc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bom.dsa.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size executor for blocking database work with a bounded queue.
+ * Publishes queue depth, active and pool-size gauges, the time tasks wait in the
+ * queue, and the number of tasks rejected because the queue was full.
+ */
+public class MeteredJdbcExecutor extends ThreadPoolExecutor {
+
+    static final String METRIC_PREFIX = "jdbc.scheduler";
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public MeteredJdbcExecutor(int threads, int queueCapacity, ThreadFactory threadFactory,
+            MeterRegistry meterRegistry) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", this, executor -> executor.getQueue().size())
+                .description("Database tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", this, ThreadPoolExecutor::getActiveCount)
+                .description("Database tasks currently running")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".threads", this, ThreadPoolExecutor::getMaximumPoolSize)
+                .description("Maximum concurrent database tasks")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time database tasks spend queued before running")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Database tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long queuedAt = System.nanoTime();
+        try {
+            super.execute(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                command.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bom.dsa.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking R2DBC client for the lead read path, enabled with lead.read-path=r2dbc.
+ * The pool is kept private to this configuration instead of being exposed as a
+ * ConnectionFactory bean: Spring Boot's DataSource auto-configuration backs off when
+ * one exists, and JPA still serves every write.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lead.read-path", havingValue = "r2dbc")
+public class R2dbcReadConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient readDatabaseClient(
+            @Value("${lead.r2dbc.url}") String url,
+            @Value("${lead.r2dbc.username}") String username,
+            @Value("${lead.r2dbc.password}") String password,
+            @Value("${lead.r2dbc.pool.initial-size:5}") int initialSize,
+            @Value("${lead.r2dbc.pool.max-size:20}") int maxSize,
+            @Value("${lead.r2dbc.pool.max-idle-time:PT5M}") Duration maxIdleTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("lead-read")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bom.dsa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read-replica routing, enabled with datasource.replica.enabled=true.
+ * The application DataSource becomes a lazy proxy over the primary pool whose
+ * read-only connections come from the replica pool instead. A connection counts as
+ * read-only when it is used inside a read-only transaction (TransactionTemplate with
+ * readOnly set); the proxy defers the choice until the first statement, after the
+ * transaction manager has marked the connection. Replica lag beyond
+ * datasource.replica.max-staleness, or an unreachable replica, sends reads back to the
+ * primary (see {@link ReplicaFallbackDataSource}). Flyway and all writes use the primary.
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.pool-size:10}") int poolSize) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setMaximumPoolSize(poolSize);
+        replica.setReadOnly(true);
+        // Start even when the replica is down; reads fall back to the primary
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.lag-query:}") String lagQuery,
+            @Value("${datasource.replica.max-staleness:PT5S}") Duration maxStaleness,
+            @Value("${datasource.replica.check-interval:PT5S}") Duration checkInterval) {
+        ReplicaFallbackDataSource readOnly = new ReplicaFallbackDataSource(replicaDataSource, primaryDataSource,
+                lagQuery, maxStaleness, checkInterval);
+
+        Gauge.builder("datasource.replica.lag", readOnly, ReplicaFallbackDataSource::getLagMillis)
+                .description("Replica lag at the last check")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", readOnly, r -> r.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only work is routed to the replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("datasource.read-only.connections", readOnly,
+                ReplicaFallbackDataSource::getReplicaConnections)
+                .tag("target", "replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("datasource.read-only.connections", readOnly,
+                ReplicaFallbackDataSource::getPrimaryConnections)
+                .tag("target", "primary")
+                .register(meterRegistry);
+
+        log.info("Read replica routing enabled: max staleness {}, check interval {}", maxStaleness, checkInterval);
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(readOnly);
+        return routing;
+    }
+}
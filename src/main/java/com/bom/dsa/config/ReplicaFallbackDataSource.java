@@ -0,0 +1,143 @@
+package com.bom.dsa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-only connection source that prefers the replica and falls back to the primary.
+ * Every check interval one caller measures the replica's lag with the lag query on the
+ * connection it just borrowed; while the lag exceeds the staleness tolerance, or after
+ * the replica fails to hand out a connection, reads go to the primary until the next check.
+ * An empty lag query skips the lag check and only falls back when the replica is unreachable.
+ */
+@Slf4j
+public class ReplicaFallbackDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final String lagQuery;
+    private final long maxStalenessMillis;
+    private final long checkIntervalNanos;
+
+    private final AtomicLong nextCheckAt;
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private volatile boolean replicaUsable = true;
+    private volatile long lagMillis;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, String lagQuery,
+            Duration maxStaleness, Duration checkInterval) {
+        this.replica = replica;
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.nextCheckAt = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean checkDue = claimCheck();
+        if (!replicaUsable && !checkDue) {
+            return fromPrimary();
+        }
+
+        Connection connection;
+        try {
+            connection = replica.getConnection();
+        } catch (SQLException e) {
+            markUnusable("unreachable: " + e.getMessage());
+            return fromPrimary();
+        }
+        if (checkDue && !withinStaleness(connection)) {
+            connection.close();
+            return fromPrimary();
+        }
+        replicaConnections.incrementAndGet();
+        return connection;
+    }
+
+    /**
+     * Not supported: both pools hand out connections with their configured credentials only,
+     * as HikariDataSource does, so there is nothing to route to.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the pools' configured credentials");
+    }
+
+    /**
+     * True for the one caller that gets to run the due replica check.
+     */
+    private boolean claimCheck() {
+        long now = System.nanoTime();
+        long due = nextCheckAt.get();
+        return now - due >= 0 && nextCheckAt.compareAndSet(due, now + checkIntervalNanos);
+    }
+
+    private boolean withinStaleness(Connection connection) {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            markUsable(0);
+            return true;
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(lagQuery)) {
+            long lag = rs.next() ? Math.round(rs.getDouble(1) * 1000) : 0;
+            if (lag > maxStalenessMillis) {
+                lagMillis = lag;
+                markUnusable("lag " + lag + "ms exceeds " + maxStalenessMillis + "ms");
+                return false;
+            }
+            markUsable(lag);
+            return true;
+        } catch (SQLException e) {
+            markUnusable("lag check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void markUsable(long lag) {
+        lagMillis = lag;
+        if (!replicaUsable) {
+            log.info("Read replica back in use, lag {}ms", lag);
+        }
+        replicaUsable = true;
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable) {
+            log.warn("Routing reads to the primary, replica {}", reason);
+        }
+        replicaUsable = false;
+    }
+
+    private Connection fromPrimary() throws SQLException {
+        primaryConnections.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getReplicaConnections() {
+        return replicaConnections.get();
+    }
+
+    public long getPrimaryConnections() {
+        return primaryConnections.get();
+    }
+}
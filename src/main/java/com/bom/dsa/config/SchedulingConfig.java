@@ -0,0 +1,33 @@
+package com.bom.dsa.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Schedulers for the @Scheduled background jobs.
+ * Jobs run on taskScheduler, sized by spring.task.scheduling.pool.size, so a long
+ * reconcile, fact reload or commission run does not hold back the others. The approval
+ * outbox dispatcher has a thread of its own, so approvals never wait behind any of them.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String APPROVAL_OUTBOX_SCHEDULER = "approvalOutboxScheduler";
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(APPROVAL_OUTBOX_SCHEDULER)
+    public ThreadPoolTaskScheduler approvalOutboxScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("approval-outbox-");
+        return scheduler;
+    }
+}
@@ -2,24 +2,29 @@ package com.bom.dsa.controller;
 
 import com.bom.dsa.dto.response.BillingResponse;
 import com.bom.dsa.dto.response.BillingSummaryResponse;
+import com.bom.dsa.dto.response.CommissionRunResponse;
+import com.bom.dsa.dto.response.CountedPage;
 import com.bom.dsa.enums.BillingStatus;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.service.BillingService;
+import com.bom.dsa.service.CommissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.UUID;
 
 /**
@@ -33,9 +38,11 @@ import java.util.UUID;
 public class BillingController {
 
         private final BillingService billingService;
+        private final CommissionService commissionService;
 
-        public BillingController(BillingService billingService) {
+        public BillingController(BillingService billingService, CommissionService commissionService) {
                 this.billingService = billingService;
+                this.commissionService = commissionService;
         }
 
         @GetMapping("/{billingId}")
@@ -56,20 +63,22 @@ public class BillingController {
 
         @GetMapping
         @Operation(summary = "Get Billings", description = "Get billings with pagination and filters")
-        public Mono<ResponseEntity<Page<BillingResponse>>> getBillings(
+        public Mono<ResponseEntity<CountedPage<BillingResponse>>> getBillings(
                         @AuthenticationPrincipal String username,
                         @RequestParam(required = false) BillingStatus status,
                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "12") int size,
                         @RequestParam(defaultValue = "generatedAt") String sortBy,
-                        @RequestParam(defaultValue = "desc") String sortDir) {
+                        @RequestParam(defaultValue = "desc") String sortDir,
+                        @Parameter(description = "EXACT, CACHED or ESTIMATED total; defaults to configuration")
+                        @RequestParam(required = false) CountMode countMode) {
 
                 Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending()
                                 : Sort.by(sortBy).descending();
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                return billingService.getBillings(username, status, periodStart, pageable)
+                return billingService.getBillings(username, status, periodStart, pageable, countMode)
                                 .map(ResponseEntity::ok);
         }
 
@@ -80,4 +89,15 @@ public class BillingController {
                 return billingService.getBillingSummary(username)
                                 .map(ResponseEntity::ok);
         }
+
+        @PostMapping("/commissions")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Run Commission Billing", description = "Generate or refresh the PENDING commission "
+                        + "billings of every DSA for a month from their disbursed leads (Admin only)")
+        public Mono<ResponseEntity<CommissionRunResponse>> runCommissions(
+                        @Parameter(description = "Billing month, e.g. 2025-03") @RequestParam YearMonth period) {
+                log.info("Running commission billing for: {}", period);
+                return commissionService.runCommissions(period)
+                                .map(ResponseEntity::ok);
+        }
 }
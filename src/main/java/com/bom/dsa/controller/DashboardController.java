@@ -1,19 +1,38 @@
 package com.bom.dsa.controller;
 
+import com.bom.dsa.dto.request.LeadFactFilter;
 import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.dto.response.TrendResponse;
+import com.bom.dsa.enums.FactDimension;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
 import com.bom.dsa.service.DashboardService;
+import com.bom.dsa.service.DashboardStreamService;
+import com.bom.dsa.service.LeadTrendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/v1/dashboard")
 @Slf4j
@@ -22,9 +41,14 @@ import reactor.core.publisher.Mono;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final LeadTrendService leadTrendService;
+    private final DashboardStreamService dashboardStreamService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, LeadTrendService leadTrendService,
+            DashboardStreamService dashboardStreamService) {
         this.dashboardService = dashboardService;
+        this.leadTrendService = leadTrendService;
+        this.dashboardStreamService = dashboardStreamService;
     }
 
     @GetMapping
@@ -44,4 +68,67 @@ public class DashboardController {
         return dashboardService.getAdminDashboardAnalytics()
                 .map(ResponseEntity::ok);
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Dashboard Analytics", description = "Server-Sent Events: a snapshot of the logged-in DSA user's dashboard and lead counts, then lead count deltas with each key's new count as they commit")
+    public Flux<ServerSentEvent<Object>> streamDashboardAnalytics(@AuthenticationPrincipal String username) {
+        return dashboardStreamService.streamDashboard(username);
+    }
+
+    @GetMapping(value = "/admin/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'BANK_MANAGER')")
+    @Operation(summary = "Stream Admin Dashboard Analytics", description = "Server-Sent Events: a snapshot of the overall dashboard and every DSA's lead counts, then lead count deltas of all DSAs with each key's new count (Admin only)")
+    public Flux<ServerSentEvent<Object>> streamAdminDashboardAnalytics() {
+        return dashboardStreamService.streamAdminDashboard();
+    }
+
+    @GetMapping("/trends")
+    @Operation(summary = "Get Lead Trends", description = "Leads created, sanctioned, disbursed and rejected per day, week or month for the logged-in DSA user")
+    public Mono<ResponseEntity<TrendResponse>> getTrends(
+            @AuthenticationPrincipal String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TrendGranularity granularity,
+            @RequestParam(required = false) TrendGroupBy groupBy,
+            @RequestParam(required = false) ProductType productType) {
+        log.info("Fetching lead trends for user: {}", username);
+        return leadTrendService.getTrends(username, productType, from, to, granularity, groupBy)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/admin/trends")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BANK_MANAGER')")
+    @Operation(summary = "Get Admin Lead Trends", description = "Lead trends across all DSAs, optionally for one DSA or per DSA (Admin only)")
+    public Mono<ResponseEntity<TrendResponse>> getAdminTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TrendGranularity granularity,
+            @RequestParam(required = false) TrendGroupBy groupBy,
+            @RequestParam(required = false) ProductType productType,
+            @RequestParam(required = false) String createdBy) {
+        log.info("Fetching admin lead trends");
+        return leadTrendService.getTrends(createdBy, productType, from, to, granularity, groupBy)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/admin/facts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BANK_MANAGER')")
+    @Operation(summary = "Query Lead Analytics", description = "Lead counts and requested amounts for any combination of status, product type, DSA and creation day filters, grouped by any of those dimensions (Admin only)")
+    public Mono<ResponseEntity<LeadFactResponse>> getLeadFacts(
+            @RequestParam(required = false) Set<LeadStatus> status,
+            @RequestParam(required = false) Set<ProductType> productType,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<FactDimension> groupBy) {
+        LeadFactFilter filter = LeadFactFilter.builder()
+                .statuses(status)
+                .productTypes(productType)
+                .createdBy(createdBy)
+                .from(from)
+                .to(to)
+                .build();
+        return dashboardService.getLeadFacts(filter, groupBy != null ? groupBy : List.of())
+                .map(ResponseEntity::ok);
+    }
 }
@@ -2,13 +2,14 @@ package com.bom.dsa.controller;
 
 import com.bom.dsa.dto.request.*;
 import com.bom.dsa.dto.response.*;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.DsaStatus;
 import com.bom.dsa.service.DsaService;
+import com.bom.dsa.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -28,13 +29,17 @@ import java.util.UUID;
 public class DsaController {
 
     private final DsaService dsaService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    @Operation(summary = "Create DSA", description = "Create a new DSA profile (Maker)")
-    public ResponseEntity<DsaResponseDto> createDsa(
+    @Operation(summary = "Create DSA", description = "Create a new DSA profile (Maker). Retries sent with the "
+            + "same Idempotency-Key replay the first response instead of creating another profile")
+    public Mono<ResponseEntity<DsaResponseDto>> createDsa(
             @RequestBody DsaRequestDto request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @org.springframework.security.core.annotation.AuthenticationPrincipal String username) {
-        return ResponseEntity.ok(dsaService.createDsa(request, username));
+        return idempotencyService.executeBlocking("createDsa", username, idempotencyKey, request,
+                () -> ResponseEntity.ok(dsaService.createDsa(request, username)));
     }
 
     @PutMapping("/{id}")
@@ -70,7 +75,7 @@ public class DsaController {
 
     @GetMapping
     @Operation(summary = "Get All DSAs", description = "Get list of DSAs with filters")
-    public ResponseEntity<Page<DsaResponseDto>> getAllDsas(
+    public ResponseEntity<CountedPage<DsaResponseDto>> getAllDsas(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) DsaStatus status,
             @RequestParam(defaultValue = "0") int page,
@@ -82,10 +87,11 @@ public class DsaController {
             // Dsa Entity has @EntityListeners(AuditingEntityListener.class) but no fields?
             // Wait, I missed adding Audit fields to Dsa Entity!
             // I will default sort by 'name' for now.
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) CountMode countMode) {
 
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by("name").ascending() : Sort.by("name").descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(dsaService.getAllDsas(category, status, pageable));
+        return ResponseEntity.ok(dsaService.getAllDsas(category, status, pageable, countMode));
     }
 }
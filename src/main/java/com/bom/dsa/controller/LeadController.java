@@ -1,11 +1,19 @@
 package com.bom.dsa.controller;
 
+import com.bom.dsa.dto.request.BulkCreateLeadRequest;
 import com.bom.dsa.dto.request.CreateLeadRequest;
 import com.bom.dsa.dto.request.UpdateLeadRequest;
+import com.bom.dsa.dto.response.BulkCreateLeadResponse;
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.dto.response.CursorPageResponse;
+import com.bom.dsa.dto.response.LeadExportRow;
 import com.bom.dsa.dto.response.LeadResponse;
 import com.bom.dsa.dto.response.LeadSummaryResponse;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.service.IdempotencyService;
+import com.bom.dsa.service.LeadExportService;
 import com.bom.dsa.service.LeadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,16 +21,20 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -35,20 +47,43 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class LeadController {
 
+        private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
         private final LeadService leadService;
+        private final LeadExportService leadExportService;
+        private final IdempotencyService idempotencyService;
 
-        public LeadController(LeadService leadService) {
+        public LeadController(LeadService leadService, LeadExportService leadExportService,
+                        IdempotencyService idempotencyService) {
                 this.leadService = leadService;
+                this.leadExportService = leadExportService;
+                this.idempotencyService = idempotencyService;
         }
 
         @PostMapping
-        @Operation(summary = "Create Lead", description = "Create a new lead with all details")
+        @Operation(summary = "Create Lead", description = "Create a new lead with all details. Retries sent with "
+                        + "the same Idempotency-Key replay the first response instead of creating another lead")
         public Mono<ResponseEntity<LeadResponse>> createLead(
                         @Valid @RequestBody CreateLeadRequest request,
+                        @Parameter(description = "Client-generated key that makes retries safe")
+                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                         @AuthenticationPrincipal String username) {
                 log.info("Creating new lead by user: {}", username);
-                return leadService.createLead(request, username)
-                                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+                return idempotencyService.execute("createLead", username, idempotencyKey, request,
+                                () -> leadService.createLead(request, username)
+                                                .map(response -> ResponseEntity.status(HttpStatus.CREATED)
+                                                                .body(response)));
+        }
+
+        @PostMapping("/bulk")
+        @Operation(summary = "Create Leads in Bulk", description = "Create many leads in one call. Each item is "
+                        + "validated separately and reported in the results; valid items are created together")
+        public Mono<ResponseEntity<BulkCreateLeadResponse>> createLeads(
+                        @Valid @RequestBody BulkCreateLeadRequest request,
+                        @AuthenticationPrincipal String username) {
+                log.info("Creating {} leads in bulk by user: {}", request.getLeads().size(), username);
+                return leadService.createLeads(request.getLeads(), username)
+                                .map(ResponseEntity::ok);
         }
 
         @GetMapping("/{leadId}")
@@ -61,7 +96,7 @@ public class LeadController {
 
         @GetMapping
         @Operation(summary = "Get Leads", description = "Get leads with pagination, filtering, and sorting")
-        public Mono<ResponseEntity<Page<LeadSummaryResponse>>> getLeads(
+        public Mono<ResponseEntity<CountedPage<LeadSummaryResponse>>> getLeads(
                         @AuthenticationPrincipal String username,
                         @RequestParam(required = false) LeadStatus status,
                         @RequestParam(required = false) ProductType productType,
@@ -69,16 +104,81 @@ public class LeadController {
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "12") int size,
                         @RequestParam(defaultValue = "createdAt") String sortBy,
-                        @RequestParam(defaultValue = "desc") String sortDir) {
+                        @RequestParam(defaultValue = "desc") String sortDir,
+                        @Parameter(description = "EXACT, CACHED or ESTIMATED total; defaults to configuration")
+                        @RequestParam(required = false) CountMode countMode) {
 
                 Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending()
                                 : Sort.by(sortBy).descending();
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                return leadService.getLeads(username, status, productType, searchTerm, pageable)
+                return leadService.getLeads(username, status, productType, searchTerm, pageable, countMode)
+                                .map(ResponseEntity::ok);
+        }
+
+        @GetMapping(params = "cursor")
+        @Operation(summary = "Get Leads by Cursor", description = "Get leads newest first with keyset pagination. "
+                        + "Pass an empty cursor for the first page, then the returned nextCursor; no total is computed")
+        public Mono<ResponseEntity<CursorPageResponse<LeadSummaryResponse>>> getLeadsByCursor(
+                        @AuthenticationPrincipal String username,
+                        @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) LeadStatus status,
+                        @RequestParam(required = false) ProductType productType,
+                        @RequestParam(required = false) String searchTerm,
+                        @RequestParam(defaultValue = "12") int size) {
+                return leadService.getLeadsByCursor(username, status, productType, searchTerm, cursor, size)
                                 .map(ResponseEntity::ok);
         }
 
+        @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        @Operation(summary = "Export Leads", description = "Stream the user's leads as NDJSON, newest first. "
+                        + "Add format=csv for CSV")
+        public Mono<ResponseEntity<Flux<LeadExportRow>>> exportLeads(
+                        @AuthenticationPrincipal String username,
+                        @Parameter(description = "Inclusive lower bound on creation time") @RequestParam(required = false) Instant from,
+                        @Parameter(description = "Exclusive upper bound on creation time") @RequestParam(required = false) Instant to) {
+                log.info("Exporting leads as NDJSON for user: {}", username);
+                return Mono.just(ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(leadExportService.exportLeads(username, from, to)));
+        }
+
+        @GetMapping(value = "/export", params = "format=csv", produces = "text/csv")
+        @Operation(summary = "Export Leads as CSV", description = "Stream the user's leads as CSV, newest first")
+        public Mono<ResponseEntity<Flux<String>>> exportLeadsCsv(
+                        @AuthenticationPrincipal String username,
+                        @Parameter(description = "Inclusive lower bound on creation time") @RequestParam(required = false) Instant from,
+                        @Parameter(description = "Exclusive upper bound on creation time") @RequestParam(required = false) Instant to) {
+                log.info("Exporting leads as CSV for user: {}", username);
+                return csvAttachment(leadExportService.exportLeadsCsv(username, from, to));
+        }
+
+        @GetMapping(value = "/export/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        @PreAuthorize("hasAnyRole('ADMIN', 'BANK_MANAGER')")
+        @Operation(summary = "Export All Leads", description = "Stream leads of every DSA, or of one DSA via "
+                        + "createdBy, as NDJSON (Admin only). Add format=csv for CSV")
+        public Mono<ResponseEntity<Flux<LeadExportRow>>> exportAllLeads(
+                        @Parameter(description = "Optional DSA username") @RequestParam(required = false) String createdBy,
+                        @Parameter(description = "Inclusive lower bound on creation time") @RequestParam(required = false) Instant from,
+                        @Parameter(description = "Exclusive upper bound on creation time") @RequestParam(required = false) Instant to) {
+                log.info("Exporting all leads as NDJSON, createdBy: {}", createdBy);
+                return Mono.just(ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(leadExportService.exportLeads(createdBy, from, to)));
+        }
+
+        @GetMapping(value = "/export/all", params = "format=csv", produces = "text/csv")
+        @PreAuthorize("hasAnyRole('ADMIN', 'BANK_MANAGER')")
+        @Operation(summary = "Export All Leads as CSV", description = "Stream leads of every DSA, or of one DSA "
+                        + "via createdBy, as CSV (Admin only)")
+        public Mono<ResponseEntity<Flux<String>>> exportAllLeadsCsv(
+                        @Parameter(description = "Optional DSA username") @RequestParam(required = false) String createdBy,
+                        @Parameter(description = "Inclusive lower bound on creation time") @RequestParam(required = false) Instant from,
+                        @Parameter(description = "Exclusive upper bound on creation time") @RequestParam(required = false) Instant to) {
+                log.info("Exporting all leads as CSV, createdBy: {}", createdBy);
+                return csvAttachment(leadExportService.exportLeadsCsv(createdBy, from, to));
+        }
+
         @PutMapping("/{leadId}")
         @Operation(summary = "Update Lead", description = "Update existing lead (before submission)")
         public Mono<ResponseEntity<LeadResponse>> updateLead(
@@ -100,4 +200,11 @@ public class LeadController {
                 return leadService.deleteLead(leadId, username)
                                 .then(Mono.just(ResponseEntity.noContent().<Void>build()));
         }
+
+        private static Mono<ResponseEntity<Flux<String>>> csvAttachment(Flux<String> lines) {
+                return Mono.just(ResponseEntity.ok()
+                                .contentType(TEXT_CSV)
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"leads.csv\"")
+                                .body(lines));
+        }
 }
@@ -0,0 +1,24 @@
+package com.bom.dsa.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many leads in one call.
+ * Items are validated individually by the service so that one invalid
+ * item is reported in the results instead of rejecting the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateLeadRequest {
+
+    @NotEmpty(message = "At least one lead is required")
+    private List<CreateLeadRequest> leads;
+}
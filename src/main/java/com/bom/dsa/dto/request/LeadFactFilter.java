@@ -0,0 +1,25 @@
+package com.bom.dsa.dto.request;
+
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filter for lead fact queries; every criterion is optional and null or empty matches
+ * all leads. Criteria are combined with AND, values within a set with OR.
+ *
+ * @param statuses     lead statuses
+ * @param productTypes product types
+ * @param createdBy    creator username
+ * @param from         first creation day, inclusive, in analytics.zone
+ * @param to           last creation day, inclusive, in analytics.zone
+ */
+@Builder
+public record LeadFactFilter(Set<LeadStatus> statuses, Set<ProductType> productTypes, String createdBy,
+        LocalDate from, LocalDate to) {
+
+    public static final LeadFactFilter ALL = LeadFactFilter.builder().build();
+}
@@ -32,6 +32,13 @@ public class BillingResponse {
     private Instant generatedAt;
     private Instant paidAt;
 
+    // Commission breakdown; null for billings not generated from disbursed leads
+    private Integer leadCount;
+    private BigDecimal disbursedAmount;
+    private BigDecimal commissionAmount;
+    private BigDecimal gstAmount;
+    private BigDecimal tdsAmount;
+
     // DSA Information
     private String dsaUniqueCode;
     private String dsaName;
@@ -0,0 +1,36 @@
+package com.bom.dsa.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for bulk lead creation, with one result per request item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateLeadResponse {
+
+    private Integer total;
+    private Integer created;
+    private Integer failed;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private Integer index;
+        private Boolean created;
+        private UUID leadId;
+        private String applicationReferenceNumber;
+        private List<String> errors;
+    }
+}
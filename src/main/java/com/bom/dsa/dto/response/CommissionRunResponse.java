@@ -0,0 +1,34 @@
+package com.bom.dsa.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for a commission run: the billed DSAs and the totals of their billings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommissionRunResponse {
+
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Integer dsaCount;
+    private Long leadCount;
+    private BigDecimal disbursedAmount;
+    private BigDecimal commissionAmount;
+    private BigDecimal gstAmount;
+    private BigDecimal tdsAmount;
+    private BigDecimal payableAmount;
+    /** Creators of disbursed leads with no user account, who could not be billed. */
+    private Integer unmatchedCreators;
+    /** PENDING billings of the period deleted because none of their leads still qualify. */
+    private Integer deletedBillings;
+    private Long durationMs;
+}
@@ -0,0 +1,39 @@
+package com.bom.dsa.dto.response;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page whose total may come from a cache or a planner estimate.
+ * Serializes like a regular page plus a totalExact flag.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * Whether totalElements and totalPages come from an exact count taken for this request.
+     *
+     * @return true if the total is exact
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && obj instanceof CountedPage<?> other && totalExact == other.totalExact;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Boolean.hashCode(totalExact);
+    }
+}
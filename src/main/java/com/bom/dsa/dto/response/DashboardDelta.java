@@ -0,0 +1,27 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change in the number of non-deleted leads of one creator, status and product type,
+ * pushed to dashboard streams after the lead write commits.
+ * count is the key's number of leads after the change; applying it instead of delta
+ * is idempotent, so a change already in the stream's snapshot or seen twice is harmless.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDelta {
+
+    private String createdBy;
+    private LeadStatus status;
+    private ProductType productType;
+    private Long delta;
+    private Long count;
+}
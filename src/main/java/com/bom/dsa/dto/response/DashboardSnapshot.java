@@ -0,0 +1,37 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * First event of a dashboard stream: the dashboard analytics and the lead count of
+ * every creator, status and product type they cover, read from the primary.
+ * Each later DashboardDelta carries the new count of one of these keys; keys absent
+ * here have no leads.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardSnapshot {
+
+    private DashboardAnalyticsResponse analytics;
+    private List<Count> counts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Count {
+        private String createdBy;
+        private LeadStatus status;
+        private ProductType productType;
+        private Long count;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Non-deleted lead counts of one creator: the total, per status and per product type.
+ * Statuses and product types without leads are absent from the maps.
+ */
+public record LeadCounts(long total, Map<LeadStatus, Long> byStatus, Map<ProductType, Long> byProductType) {
+
+    /**
+     * Sum lead_stats rows into per-status and per-product-type totals.
+     *
+     * @param stats rollup rows of one creator
+     * @return the creator's counts
+     */
+    public static LeadCounts of(Iterable<LeadStat> stats) {
+        long total = 0;
+        Map<LeadStatus, Long> byStatus = new EnumMap<>(LeadStatus.class);
+        Map<ProductType, Long> byProductType = new EnumMap<>(ProductType.class);
+        for (LeadStat stat : stats) {
+            long count = stat.getLeadCount();
+            if (count <= 0) {
+                continue;
+            }
+            total += count;
+            byStatus.merge(stat.getId().getStatus(), count, Long::sum);
+            byProductType.merge(stat.getId().getProductType(), count, Long::sum);
+        }
+        return new LeadCounts(total, Collections.unmodifiableMap(byStatus),
+                Collections.unmodifiableMap(byProductType));
+    }
+}
@@ -0,0 +1,34 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One lead in a bulk export, read from the leads table only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadExportRow {
+
+    private UUID leadId;
+    private String applicationReferenceNumber;
+    private ProductType productType;
+    private LeadStatus status;
+    private String customerName;
+    private String mobileNumber;
+    private String emailAddress;
+    private BigDecimal amountRequested;
+    private String createdBy;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.enums.FactDimension;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for ad-hoc lead analytics: lead count and requested amount of the
+ * matching leads, overall and per group.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadFactResponse {
+
+    private List<FactDimension> groupBy;
+    private Long totalCount;
+    private BigDecimal totalAmount;
+    private List<Group> groups;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Group {
+        /** Value of each group-by dimension, in groupBy order. */
+        private Map<FactDimension, String> key;
+        private Long count;
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bom.dsa.dto.response;
+
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for lead trends: one series per group, each with a point per period
+ * from the period containing {@code from} through the one containing {@code to}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private TrendGranularity granularity;
+    private TrendGroupBy groupBy;
+    private List<Series> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Series {
+        /** Product type or DSA username; "ALL" when not grouped. */
+        private String key;
+        private List<Point> points;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        /** First day of the period; periods at the edges may extend past from and to. */
+        private LocalDate periodStart;
+        private Long created;
+        private Long sanctioned;
+        private Long disbursed;
+        private Long rejected;
+    }
+}
@@ -58,6 +58,22 @@ public class Billing {
     @Column(name = "paid_at")
     private Instant paidAt;
 
+    // Commission breakdown, set on billings generated by CommissionService
+    @Column(name = "lead_count")
+    private Integer leadCount;
+
+    @Column(name = "disbursed_amount", precision = 15, scale = 2)
+    private BigDecimal disbursedAmount;
+
+    @Column(name = "commission_amount", precision = 15, scale = 2)
+    private BigDecimal commissionAmount;
+
+    @Column(name = "gst_amount", precision = 15, scale = 2)
+    private BigDecimal gstAmount;
+
+    @Column(name = "tds_amount", precision = 15, scale = 2)
+    private BigDecimal tdsAmount;
+
     @PrePersist
     public void prePersist() {
         if (invoiceId == null) {
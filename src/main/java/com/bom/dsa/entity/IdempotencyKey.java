@@ -0,0 +1,63 @@
+package com.bom.dsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An Idempotency-Key claimed by a create request, with its response once the write completed.
+ * A row without a status code is still being written by the instance holding the claim.
+ */
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_scope",
+        columnNames = { "operation", "owner", "idempotency_key" }))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "operation", nullable = false, length = 100)
+    private String operation;
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "idempotency_key", nullable = false, length = 255)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    // Identifies the current claim, so a request whose lease was taken over cannot store its response
+    @Column(name = "claim_id", nullable = false)
+    private UUID claimId;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    // JSON of the response headers
+    @Column(name = "headers", columnDefinition = "TEXT")
+    private String headers;
+
+    // JSON of the response body
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "body_type", length = 255)
+    private String bodyType;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
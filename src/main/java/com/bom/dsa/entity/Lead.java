@@ -4,12 +4,14 @@ import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -66,19 +68,38 @@ public class Lead {
     @Column(name = "assigned_branch_address", columnDefinition = "TEXT")
     private String assignedBranchAddress;
 
-    // Loan-specific details (One-to-One based on product type)
+    // Loan-specific details (One-to-One based on product type). Each is its own lazy
+    // group, so reading the one matching productType selects only that table
     @OneToOne(mappedBy = "lead", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("vehicleLoanDetails")
     private VehicleLoanDetails vehicleLoanDetails;
 
     @OneToOne(mappedBy = "lead", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("educationLoanDetails")
     private EducationLoanDetails educationLoanDetails;
 
     @OneToOne(mappedBy = "lead", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("homeLoanDetails")
     private HomeLoanDetails homeLoanDetails;
 
     @OneToOne(mappedBy = "lead", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @LazyGroup("loanAgainstPropertyDetails")
     private LoanAgainstPropertyDetails loanAgainstPropertyDetails;
 
+    // Denormalized summary fields, copied from the detail entities by
+    // refreshDenormalizedFields() so list queries only read the leads table
+    @Column(name = "amount_requested", precision = 15, scale = 2)
+    private BigDecimal amountRequested;
+
+    @Column(name = "customer_name", length = 255)
+    private String customerName;
+
+    @Column(name = "mobile_number", length = 15)
+    private String mobileNumber;
+
+    @Column(name = "email_address", length = 255)
+    private String emailAddress;
+
     // Documents (One-to-Many)
     @OneToMany(mappedBy = "lead", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -111,14 +132,59 @@ public class Lead {
     private Instant updatedAt;
 
     /**
-     * Generate application reference number before persisting.
-     * Format: BOM + 7 random digits (e.g., BOM3617389)
+     * Generate application reference number before persisting, unless one was assigned.
      */
     @PrePersist
     public void prePersist() {
         if (applicationReferenceNumber == null) {
-            applicationReferenceNumber = "BOM" + (1000000 + (int) (Math.random() * 9000000));
+            applicationReferenceNumber = newReferenceNumber();
+        }
+        refreshDenormalizedFields();
+    }
+
+    /**
+     * Random application reference number; uniqueness is enforced by the database.
+     * Format: BOM + 7 random digits (e.g., BOM3617389)
+     */
+    public static String newReferenceNumber() {
+        return "BOM" + (1000000 + (int) (Math.random() * 9000000));
+    }
+
+    /**
+     * Copy customer name, contact details and requested amount from the detail
+     * entities onto the lead. Must be called whenever basic or loan details change,
+     * since updates to those entities do not touch the leads row on their own.
+     */
+    public void refreshDenormalizedFields() {
+        if (basicDetails != null) {
+            customerName = basicDetails.getFullName();
+            mobileNumber = basicDetails.getMobileNumber();
+            emailAddress = basicDetails.getEmailAddress();
+        }
+
+        BigDecimal loanAmount = loanAmountRequested();
+        if (loanAmount != null) {
+            amountRequested = loanAmount;
+        }
+    }
+
+    /**
+     * Requested amount from the loan details of this lead's product type.
+     * Only the matching association is read, so the other three lazy loan
+     * associations are never initialized.
+     */
+    private BigDecimal loanAmountRequested() {
+        if (productType == null) {
+            return null;
         }
+        return switch (productType) {
+            case VEHICLE_LOAN -> vehicleLoanDetails != null ? vehicleLoanDetails.getAmountRequested() : null;
+            case EDUCATION_LOAN -> educationLoanDetails != null ? educationLoanDetails.getAmountRequested() : null;
+            case HOME_LOAN -> homeLoanDetails != null ? homeLoanDetails.getAmountRequested() : null;
+            case LOAN_AGAINST_PROPERTY -> loanAgainstPropertyDetails != null
+                    ? loanAgainstPropertyDetails.getAmountRequested()
+                    : null;
+        };
     }
 
     /**
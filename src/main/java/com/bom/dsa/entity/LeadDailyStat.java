@@ -0,0 +1,38 @@
+package com.bom.dsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Lead activity of one creator and product type on one day.
+ * Maintained by LeadStatsService and LeadTrendService; rows are never written through JPA.
+ */
+@Entity
+@Table(name = "lead_daily_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadDailyStat {
+
+    @EmbeddedId
+    private LeadDailyStatId id;
+
+    @Column(name = "created_count", nullable = false)
+    private Long createdCount;
+
+    @Column(name = "sanctioned_count", nullable = false)
+    private Long sanctionedCount;
+
+    @Column(name = "disbursed_count", nullable = false)
+    private Long disbursedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private Long rejectedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.bom.dsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Number of non-deleted leads of one creator with a given status and product type.
+ * Maintained incrementally by LeadStatsService; rows are never written through JPA.
+ */
+@Entity
+@Table(name = "lead_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadStat {
+
+    @EmbeddedId
+    private LeadStatId id;
+
+    @Column(name = "lead_count", nullable = false)
+    private Long leadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.bom.dsa.enums;
+
+/**
+ * Enum representing how the total element count of a paginated list is obtained.
+ */
+public enum CountMode {
+    /** Run a COUNT query with the same predicates on every request. */
+    EXACT,
+    /** Reuse a COUNT result per (user, filter) until it expires or a write invalidates it. */
+    CACHED,
+    /** Read the row estimate from the PostgreSQL planner without scanning. */
+    ESTIMATED
+}
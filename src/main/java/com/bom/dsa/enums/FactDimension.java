@@ -0,0 +1,12 @@
+package com.bom.dsa.enums;
+
+/**
+ * Dimensions of the in-memory lead fact store that lead analytics can be grouped by.
+ */
+public enum FactDimension {
+    STATUS,
+    PRODUCT_TYPE,
+    CREATED_BY,
+    /** Creation day in analytics.zone. */
+    CREATED_DAY
+}
@@ -0,0 +1,10 @@
+package com.bom.dsa.enums;
+
+/**
+ * Enum representing the delivery status of an approval outbox entry.
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
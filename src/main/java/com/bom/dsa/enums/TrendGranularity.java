@@ -0,0 +1,10 @@
+package com.bom.dsa.enums;
+
+/**
+ * Period length of a lead trend point. Weeks start on Monday.
+ */
+public enum TrendGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
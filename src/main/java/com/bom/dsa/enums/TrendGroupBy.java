@@ -0,0 +1,13 @@
+package com.bom.dsa.enums;
+
+/**
+ * How lead trends are split into series.
+ */
+public enum TrendGroupBy {
+    /** One series for all matching leads. */
+    NONE,
+    /** One series per product type. */
+    PRODUCT,
+    /** One series per DSA. */
+    DSA
+}
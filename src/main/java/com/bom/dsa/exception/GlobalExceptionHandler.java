@@ -1,6 +1,7 @@
 package com.bom.dsa.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,6 +15,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -232,6 +234,25 @@ public class GlobalExceptionHandler {
                 return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error));
         }
 
+        /**
+         * Handle database work rejected because the JDBC scheduler queue is full.
+         */
+        @ExceptionHandler(RejectedExecutionException.class)
+        public Mono<ResponseEntity<ErrorResponse>> handleRejectedExecution(RejectedExecutionException ex) {
+                log.warn("Database work rejected, scheduler queue full: {}", ex.getMessage());
+
+                ErrorResponse error = ErrorResponse.builder()
+                                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .error("Service Unavailable")
+                                .message("The server is busy. Please try again shortly.")
+                                .timestamp(Instant.now())
+                                .build();
+
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(error));
+        }
+
         /**
          * Handle all other exceptions.
          */
@@ -0,0 +1,61 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.entity.ApprovalOutbox;
+import com.bom.dsa.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for ApprovalOutbox entity operations.
+ */
+@Repository
+public interface ApprovalOutboxRepository extends JpaRepository<ApprovalOutbox, UUID> {
+
+        /**
+         * Lock due entries of a status, oldest first, skipping rows locked by another
+         * dispatcher (FOR UPDATE SKIP LOCKED), so instances never claim the same entry.
+         * 
+         * @param status   entry status
+         * @param now      entries with nextAttemptAt at or before this are due
+         * @param pageable batch size
+         * @return locked due entries
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+        @Query("SELECT o FROM ApprovalOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+                        "ORDER BY o.nextAttemptAt")
+        List<ApprovalOutbox> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") Instant now,
+                        Pageable pageable);
+
+        long countByStatus(OutboxStatus status);
+
+        /**
+         * Creation time of the oldest entry with the given status, or null if none.
+         */
+        @Query("SELECT MIN(o.createdAt) FROM ApprovalOutbox o WHERE o.status = :status")
+        Instant findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+        /**
+         * Delete up to limit SENT entries sent before the cutoff.
+         * 
+         * @param cutoff entries with sentAt before this are deleted
+         * @param limit  maximum entries to delete
+         * @return number of entries deleted
+         */
+        @Modifying
+        @Query(value = "DELETE FROM approval_outbox WHERE id IN (SELECT id FROM approval_outbox "
+                        + "WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit)", nativeQuery = true)
+        int deleteSentBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -9,8 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +23,9 @@ public interface BillingRepository extends JpaRepository<Billing, UUID> {
         @Query("SELECT b FROM Billing b JOIN FETCH b.user WHERE b.invoiceId = :invoiceId")
         Optional<Billing> findByInvoiceId(@Param("invoiceId") String invoiceId);
 
+        @Query("SELECT b FROM Billing b JOIN FETCH b.user WHERE b.id = :id")
+        Optional<Billing> findByIdWithUser(@Param("id") UUID id);
+
         Page<Billing> findByUserId(UUID userId, Pageable pageable);
 
         Page<Billing> findByStatus(BillingStatus status, Pageable pageable);
@@ -42,19 +45,34 @@ public interface BillingRepository extends JpaRepository<Billing, UUID> {
                         Pageable pageable);
 
         /**
-         * Sum total amount by user and status.
+         * Find one page of billings with the searchBillings filters, without a count query.
+         * The user is fetched in the same query, so building responses loads no users.
          */
-        @Query("SELECT SUM(b.amount) FROM Billing b WHERE b.user.id = :userId AND b.status = :status")
-        BigDecimal sumAmountByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") BillingStatus status);
+        @Query("SELECT b FROM Billing b JOIN FETCH b.user WHERE b.user.id = :userId " +
+                        "AND (:status IS NULL OR b.status = :status) " +
+                        "AND (:periodStart IS NULL OR b.periodStart >= :periodStart)")
+        List<Billing> findBillings(
+                        @Param("userId") UUID userId,
+                        @Param("status") BillingStatus status,
+                        @Param("periodStart") LocalDate periodStart,
+                        Pageable pageable);
 
         /**
-         * Sum total amount by user.
+         * Count billings matching the searchBillings filters.
          */
-        @Query("SELECT SUM(b.amount) FROM Billing b WHERE b.user.id = :userId")
-        BigDecimal sumTotalAmountByUserId(@Param("userId") UUID userId);
+        @Query("SELECT COUNT(b) FROM Billing b WHERE b.user.id = :userId " +
+                        "AND (:status IS NULL OR b.status = :status) " +
+                        "AND (:periodStart IS NULL OR b.periodStart >= :periodStart)")
+        long countBillings(
+                        @Param("userId") UUID userId,
+                        @Param("status") BillingStatus status,
+                        @Param("periodStart") LocalDate periodStart);
 
         /**
-         * Count by user and status.
+         * Count and sum the amounts of a DSA's billings per status, in one query.
+         * Returns rows of {status, count, amount}; statuses without billings are absent.
          */
-        Long countByUserIdAndStatus(UUID userId, BillingStatus status);
+        @Query("SELECT b.status, COUNT(b), SUM(b.amount) FROM Billing b " +
+                        "WHERE b.user.dsaUniqueCode = :dsaUniqueCode GROUP BY b.status")
+        List<Object[]> summarizeByStatus(@Param("dsaUniqueCode") String dsaUniqueCode);
 }
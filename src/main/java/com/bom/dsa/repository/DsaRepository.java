@@ -3,9 +3,11 @@ package com.bom.dsa.repository;
 import com.bom.dsa.entity.Dsa;
 import com.bom.dsa.enums.DsaStatus;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -29,6 +31,18 @@ public interface DsaRepository extends JpaRepository<Dsa, UUID>, JpaSpecificatio
     @Query("SELECT COUNT(d) FROM Dsa d WHERE d.status IN ('REJECTED', 'RETURNED', 'INACTIVE')")
     long countInactiveDsas();
 
+    // One row per status; covers the total, active and inactive counts in one scan
+    @Query("SELECT d.status, COUNT(d) FROM Dsa d GROUP BY d.status")
+    List<Object[]> countGroupByStatus();
+
     @Query("SELECT p, COUNT(d) FROM Dsa d JOIN d.products p GROUP BY p")
     List<Object[]> countDsaByProductType();
+
+    @Query("SELECT d FROM Dsa d WHERE (:category IS NULL OR d.category = :category) " +
+            "AND (:status IS NULL OR d.status = :status)")
+    List<Dsa> findDsas(@Param("category") String category, @Param("status") DsaStatus status, Pageable pageable);
+
+    @Query("SELECT COUNT(d) FROM Dsa d WHERE (:category IS NULL OR d.category = :category) " +
+            "AND (:status IS NULL OR d.status = :status)")
+    long countDsas(@Param("category") String category, @Param("status") DsaStatus status);
 }
@@ -0,0 +1,82 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for IdempotencyKey entity operations.
+ * Writes are modifying queries and must run inside a transaction.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, UUID> {
+
+        /**
+         * Claim a key: insert it, or take over an existing row whose lease or replay
+         * deadline has passed. A row that is still valid is left untouched.
+         *
+         * @param operation   endpoint name
+         * @param owner       authenticated user
+         * @param key         Idempotency-Key header value
+         * @param fingerprint hash of the request body
+         * @param claimId     identifies this claim
+         * @param now         current time; rows expiring at or before it can be taken over
+         * @param leaseUntil  when the claim may be taken over if its response was not stored
+         * @return 1 if claimed, 0 if the key is held by a valid row
+         */
+        @Modifying
+        @Query(value = "INSERT INTO idempotency_keys (id, operation, owner, idempotency_key, fingerprint, claim_id, "
+                        + "created_at, expires_at) VALUES (gen_random_uuid(), :operation, :owner, :key, :fingerprint, "
+                        + ":claimId, :now, :leaseUntil) "
+                        + "ON CONFLICT (operation, owner, idempotency_key) DO UPDATE SET "
+                        + "fingerprint = EXCLUDED.fingerprint, claim_id = EXCLUDED.claim_id, "
+                        + "status_code = NULL, headers = NULL, body = NULL, body_type = NULL, "
+                        + "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at "
+                        + "WHERE idempotency_keys.expires_at <= EXCLUDED.created_at", nativeQuery = true)
+        int claim(@Param("operation") String operation, @Param("owner") String owner, @Param("key") String key,
+                        @Param("fingerprint") String fingerprint, @Param("claimId") UUID claimId,
+                        @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+        Optional<IdempotencyKey> findByOperationAndOwnerAndIdempotencyKey(String operation, String owner,
+                        String idempotencyKey);
+
+        /**
+         * Store the response of a claim and keep it until expiresAt.
+         *
+         * @return 1 if stored, 0 if the claim was taken over in the meantime
+         */
+        @Modifying
+        @Query("UPDATE IdempotencyKey k SET k.statusCode = :statusCode, k.headers = :headers, k.body = :body, "
+                        + "k.bodyType = :bodyType, k.expiresAt = :expiresAt WHERE k.claimId = :claimId")
+        int complete(@Param("claimId") UUID claimId, @Param("statusCode") int statusCode,
+                        @Param("headers") String headers, @Param("body") String body,
+                        @Param("bodyType") String bodyType, @Param("expiresAt") Instant expiresAt);
+
+        /**
+         * Give up a claim whose write failed, so the key can be retried at once.
+         *
+         * @return number of rows deleted
+         */
+        @Modifying
+        @Query("DELETE FROM IdempotencyKey k WHERE k.claimId = :claimId AND k.statusCode IS NULL")
+        int release(@Param("claimId") UUID claimId);
+
+        /**
+         * Delete up to limit keys that expired before the cutoff.
+         *
+         * @param cutoff keys with expiresAt before this are deleted
+         * @param limit  maximum keys to delete
+         * @return number of keys deleted
+         */
+        @Modifying
+        @Query(value = "DELETE FROM idempotency_keys WHERE id IN (SELECT id FROM idempotency_keys "
+                        + "WHERE expires_at < :cutoff LIMIT :limit)", nativeQuery = true)
+        int deleteExpiredBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,129 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.entity.LeadDailyStat;
+import com.bom.dsa.entity.LeadDailyStatId;
+import com.bom.dsa.enums.ProductType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the lead_daily_stats rollup.
+ * The sum queries take optional creator and product type filters (null matches all) and
+ * return {bucketDate, [groupKey,] created, sanctioned, disbursed, rejected} rows.
+ */
+@Repository
+public interface LeadDailyStatRepository extends JpaRepository<LeadDailyStat, LeadDailyStatId> {
+
+        String DAILY_SUMS = "SUM(s.createdCount), SUM(s.sanctionedCount), SUM(s.disbursedCount), "
+                        + "SUM(s.rejectedCount) FROM LeadDailyStat s ";
+
+        String DAILY_FILTER = "WHERE s.id.bucketDate BETWEEN :from AND :to "
+                        + "AND (:createdBy IS NULL OR s.id.createdBy = :createdBy) "
+                        + "AND (:productType IS NULL OR s.id.productType = :productType) ";
+
+        @Query("SELECT s.id.bucketDate, " + DAILY_SUMS + DAILY_FILTER + "GROUP BY s.id.bucketDate")
+        List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                        @Param("createdBy") String createdBy, @Param("productType") ProductType productType);
+
+        @Query("SELECT s.id.bucketDate, s.id.productType, " + DAILY_SUMS + DAILY_FILTER
+                        + "GROUP BY s.id.bucketDate, s.id.productType")
+        List<Object[]> sumByDayAndProductType(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                        @Param("createdBy") String createdBy, @Param("productType") ProductType productType);
+
+        @Query("SELECT s.id.bucketDate, s.id.createdBy, " + DAILY_SUMS + DAILY_FILTER
+                        + "GROUP BY s.id.bucketDate, s.id.createdBy")
+        List<Object[]> sumByDayAndCreatedBy(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                        @Param("createdBy") String createdBy, @Param("productType") ProductType productType);
+
+        /**
+         * Add deltas to one day's row, creating it if it does not exist yet.
+         * The row stays locked until the calling transaction ends.
+         *
+         * @return number of rows written (always 1)
+         */
+        @Modifying
+        @Query(value = "INSERT INTO lead_daily_stats (bucket_date, created_by, product_type, created_count, "
+                        + "sanctioned_count, disbursed_count, rejected_count, updated_at) "
+                        + "VALUES (:bucketDate, :createdBy, :productType, :created, :sanctioned, :disbursed, "
+                        + ":rejected, CURRENT_TIMESTAMP) "
+                        + "ON CONFLICT (bucket_date, created_by, product_type) DO UPDATE "
+                        + "SET created_count = lead_daily_stats.created_count + EXCLUDED.created_count, "
+                        + "sanctioned_count = lead_daily_stats.sanctioned_count + EXCLUDED.sanctioned_count, "
+                        + "disbursed_count = lead_daily_stats.disbursed_count + EXCLUDED.disbursed_count, "
+                        + "rejected_count = lead_daily_stats.rejected_count + EXCLUDED.rejected_count, "
+                        + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+        int increment(@Param("bucketDate") LocalDate bucketDate, @Param("createdBy") String createdBy,
+                        @Param("productType") String productType, @Param("created") long created,
+                        @Param("sanctioned") long sanctioned, @Param("disbursed") long disbursed,
+                        @Param("rejected") long rejected);
+
+        /**
+         * Take the rollup's write lock in shared mode until the calling transaction ends.
+         * Taken before {@link #increment}, so increments never interleave with a rebuild.
+         *
+         * @return always 1
+         */
+        @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(hashtext('lead_daily_stats'), 0)",
+                        nativeQuery = true)
+        int lockForIncrement();
+
+        /**
+         * Take the rollup's write lock exclusively until the calling transaction ends,
+         * waiting for transactions that increment it and for other rebuilds.
+         *
+         * @return always 1
+         */
+        @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('lead_daily_stats'), 0)", nativeQuery = true)
+        int lockForRebuild();
+
+        @Query(value = "SELECT EXISTS (SELECT 1 FROM lead_daily_stats_backfill)", nativeQuery = true)
+        boolean isBackfillComplete();
+
+        @Modifying
+        @Query(value = "INSERT INTO lead_daily_stats_backfill (id, completed_at) VALUES (1, CURRENT_TIMESTAMP) "
+                        + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+        int markBackfillComplete();
+
+        @Modifying
+        @Query(value = "DELETE FROM lead_daily_stats WHERE bucket_date BETWEEN :from AND :to", nativeQuery = true)
+        int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        /**
+         * Recompute the days from..to from the leads table, overwriting rows that exist.
+         * A lead counts as created on its created_at day and, when it is SANCTIONED,
+         * DISBURSED or REJECTED, in that status on its updated_at day. Days are calendar
+         * days in zone; fromUtc and toUtc are the UTC bounds of the range, so the
+         * created_at index and the partial updated_at index narrow the scan.
+         *
+         * @return number of rows written
+         */
+        @Modifying
+        @Query(value = "INSERT INTO lead_daily_stats (bucket_date, created_by, product_type, created_count, "
+                        + "sanctioned_count, disbursed_count, rejected_count, updated_at) "
+                        + "SELECT e.bucket_date, e.created_by, e.product_type, SUM(e.created), SUM(e.sanctioned), "
+                        + "SUM(e.disbursed), SUM(e.rejected), CURRENT_TIMESTAMP FROM ("
+                        + "SELECT CAST((created_at AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE) AS bucket_date, "
+                        + "created_by, product_type, 1 AS created, 0 AS sanctioned, 0 AS disbursed, 0 AS rejected "
+                        + "FROM leads WHERE is_deleted = false AND created_at >= :fromUtc AND created_at < :toUtc "
+                        + "UNION ALL "
+                        + "SELECT CAST((updated_at AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE), created_by, "
+                        + "product_type, 0, CASE WHEN status = 'SANCTIONED' THEN 1 ELSE 0 END, "
+                        + "CASE WHEN status = 'DISBURSED' THEN 1 ELSE 0 END, "
+                        + "CASE WHEN status = 'REJECTED' THEN 1 ELSE 0 END "
+                        + "FROM leads WHERE is_deleted = false AND status IN ('SANCTIONED', 'DISBURSED', 'REJECTED') "
+                        + "AND updated_at >= :fromUtc AND updated_at < :toUtc"
+                        + ") e GROUP BY e.bucket_date, e.created_by, e.product_type "
+                        + "ON CONFLICT (bucket_date, created_by, product_type) DO UPDATE "
+                        + "SET created_count = EXCLUDED.created_count, sanctioned_count = EXCLUDED.sanctioned_count, "
+                        + "disbursed_count = EXCLUDED.disbursed_count, rejected_count = EXCLUDED.rejected_count, "
+                        + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+        int upsertRangeFromLeads(@Param("fromUtc") LocalDateTime fromUtc, @Param("toUtc") LocalDateTime toUtc,
+                        @Param("zone") String zone);
+}
@@ -0,0 +1,468 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadSummaryResponse;
+import com.bom.dsa.entity.BasicDetails;
+import com.bom.dsa.entity.EducationLoanDetails;
+import com.bom.dsa.entity.FinancialDetails;
+import com.bom.dsa.entity.HomeLoanDetails;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.entity.LeadStatId;
+import com.bom.dsa.entity.LoanAgainstPropertyDetails;
+import com.bom.dsa.entity.OccupationDetails;
+import com.bom.dsa.entity.VehicleLoanDetails;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.OccupationType;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.exception.CustomExceptions;
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking R2DBC implementation of the hot lead read queries, used when
+ * lead.read-path=r2dbc. Each method issues the same SQL as its LeadRepository
+ * counterpart, so both paths return the same rows; writes stay on JPA.
+ * Entities returned by findByIdWithDetails are detached and must not be saved.
+ */
+@Repository
+@ConditionalOnProperty(name = "lead.read-path", havingValue = "r2dbc")
+public class LeadReactiveRepository {
+
+    private static final String SUMMARY_SELECT = "SELECT l.id, l.application_reference_number, l.product_type, "
+            + "l.status, l.customer_name, l.mobile_number, l.email_address, l.amount_requested, l.created_at, "
+            + "l.updated_at FROM leads l ";
+
+    private static final String DETAIL_SELECT = "SELECT l.id, l.application_reference_number, l.status, "
+            + "l.product_type, l.assigned_branch_name, l.assigned_branch_address, l.amount_requested, "
+            + "l.customer_name, l.mobile_number, l.email_address, l.created_by, l.created_at, l.updated_by, "
+            + "l.updated_at, "
+            + "bd.id AS bd_id, bd.salutation, bd.first_name, bd.middle_name, bd.last_name, bd.date_of_birth, "
+            + "bd.gender, bd.marital_status, bd.qualification, bd.mobile_number AS bd_mobile_number, "
+            + "bd.email_address AS bd_email_address, bd.current_address_line1, bd.current_address_line2, "
+            + "bd.current_address_line3, bd.current_country, bd.current_state, bd.current_city, "
+            + "bd.current_pincode, bd.permanent_address_line1, bd.permanent_address_line2, "
+            + "bd.permanent_address_line3, bd.permanent_country, bd.permanent_state, bd.permanent_city, "
+            + "bd.permanent_pincode, bd.same_as_current_address, "
+            + "od.id AS od_id, od.occupation_type, od.company_type, od.employer_name, od.designation, "
+            + "od.total_experience, "
+            + "fd.id AS fd_id, fd.monthly_gross_income, fd.monthly_deductions, fd.monthly_emi, "
+            + "fd.monthly_net_income "
+            + "FROM leads l "
+            + "LEFT JOIN basic_details bd ON bd.lead_id = l.id "
+            + "LEFT JOIN occupation_details od ON od.lead_id = l.id "
+            + "LEFT JOIN financial_details fd ON fd.lead_id = l.id "
+            + "WHERE l.id = $1 AND l.is_deleted = false";
+
+    /**
+     * Sortable LeadSummaryResponse properties and their columns.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "l.created_at",
+            "updatedAt", "l.updated_at",
+            "applicationReferenceNumber", "l.application_reference_number",
+            "status", "l.status",
+            "productType", "l.product_type",
+            "customerName", "l.customer_name",
+            "amountRequested", "l.amount_requested");
+
+    private final DatabaseClient databaseClient;
+
+    public LeadReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Same rows as LeadRepository.searchLeadSummaries.
+     */
+    public Flux<LeadSummaryResponse> searchLeadSummaries(String createdBy, LeadStatus status,
+            ProductType productType, String searchTerm, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SUMMARY_SELECT)
+                .append(searchFilter(createdBy, status, productType, searchTerm, args))
+                .append(orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            args.add(pageable.getPageSize());
+            sql.append(" LIMIT $").append(args.size());
+            args.add(pageable.getOffset());
+            sql.append(" OFFSET $").append(args.size());
+        }
+        return execute(sql.toString(), args)
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    /**
+     * Same count as LeadRepository.countLeadSummaries.
+     */
+    public Mono<Long> countLeadSummaries(String createdBy, LeadStatus status, ProductType productType,
+            String searchTerm) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM leads l " + searchFilter(createdBy, status, productType, searchTerm, args);
+        return execute(sql, args)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Planner output for an estimate query, as the JSON text of EXPLAIN (FORMAT JSON).
+     * JDBC-style ? placeholders are rewritten to R2DBC positional markers.
+     *
+     * @param sql  native SQL with ? placeholders
+     * @param args positional arguments
+     * @return the plan JSON
+     */
+    public Mono<String> explain(String sql, List<Object> args) {
+        StringBuilder positional = new StringBuilder("EXPLAIN (FORMAT JSON) ");
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++index);
+            } else {
+                positional.append(c);
+            }
+        }
+        return execute(positional.toString(), args)
+                .map((row, metadata) -> row.get(0, String.class))
+                .one();
+    }
+
+    /**
+     * Same rows as LeadRepository.findRecentLeadSummaries.
+     */
+    public Flux<LeadSummaryResponse> findRecentLeadSummaries(String createdBy, int limit) {
+        return execute(SUMMARY_SELECT + "WHERE l.created_by = $1 AND l.is_deleted = false "
+                + "ORDER BY l.created_at DESC LIMIT $2", List.of(createdBy, limit))
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    /**
+     * Same queries as LeadRepository.findByIdWithDetails: the lead with its customer
+     * details in one query, then the loan details of its product type in a second.
+     *
+     * @param id the lead ID
+     * @return the detached lead, or empty if it does not exist or is deleted
+     */
+    public Mono<Lead> findByIdWithDetails(UUID id) {
+        return execute(DETAIL_SELECT, List.of(id))
+                .map((row, metadata) -> toLead(row))
+                .one()
+                .flatMap(this::withLoanDetails);
+    }
+
+    /**
+     * Non-deleted lead counts per status, for one creator or for everyone when
+     * createdBy is null.
+     */
+    public Mono<Map<LeadStatus, Long>> countByStatus(String createdBy) {
+        return groupCount("status", createdBy)
+                .collectMap(entry -> LeadStatus.valueOf(entry.key()), GroupCount::count,
+                        () -> new EnumMap<>(LeadStatus.class));
+    }
+
+    /**
+     * Non-deleted lead counts per product type, for one creator or for everyone when
+     * createdBy is null.
+     */
+    public Mono<Map<ProductType, Long>> countByProductType(String createdBy) {
+        return groupCount("product_type", createdBy)
+                .collectMap(entry -> ProductType.valueOf(entry.key()), GroupCount::count,
+                        () -> new EnumMap<>(ProductType.class));
+    }
+
+    /**
+     * Same rows as LeadStatRepository.findByCreatedBy: one creator's lead_stats rollup.
+     */
+    public Flux<LeadStat> findLeadStats(String createdBy) {
+        return execute("SELECT status, product_type, lead_count, updated_at FROM lead_stats WHERE created_by = $1",
+                List.of(createdBy))
+                .map((row, metadata) -> LeadStat.builder()
+                        .id(new LeadStatId(createdBy, LeadStatus.valueOf(row.get("status", String.class)),
+                                ProductType.valueOf(row.get("product_type", String.class))))
+                        .leadCount(row.get("lead_count", Long.class))
+                        .updatedAt(instant(row, "updated_at"))
+                        .build())
+                .all();
+    }
+
+    private Flux<GroupCount> groupCount(String column, String createdBy) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(column)
+                .append(", COUNT(*) FROM leads WHERE is_deleted = false");
+        if (createdBy != null) {
+            args.add(createdBy);
+            sql.append(" AND created_by = $1");
+        }
+        sql.append(" GROUP BY ").append(column);
+        return execute(sql.toString(), args)
+                .map((row, metadata) -> new GroupCount(row.get(0, String.class), row.get(1, Long.class)))
+                .all();
+    }
+
+    /**
+     * Native equivalent of LeadRepository.LEAD_SEARCH_FILTER. Optional filters are
+     * only added when set, so the planner sees the same predicates as the JPQL query.
+     */
+    private static String searchFilter(String createdBy, LeadStatus status, ProductType productType,
+            String searchTerm, List<Object> args) {
+        args.add(createdBy);
+        StringBuilder sql = new StringBuilder("WHERE l.created_by = $1 AND l.is_deleted = false");
+        if (status != null) {
+            args.add(status.name());
+            sql.append(" AND l.status = $").append(args.size());
+        }
+        if (productType != null) {
+            args.add(productType.name());
+            sql.append(" AND l.product_type = $").append(args.size());
+        }
+        if (searchTerm != null) {
+            args.add("%" + searchTerm + "%");
+            String pattern = "$" + args.size();
+            sql.append(" AND (l.id IN (SELECT sl.id FROM leads sl WHERE sl.application_reference_number LIKE ")
+                    .append(pattern)
+                    .append(") OR l.id IN (SELECT sbd.lead_id FROM basic_details sbd WHERE sbd.first_name LIKE ")
+                    .append(pattern).append(" OR sbd.last_name LIKE ").append(pattern)
+                    .append(" OR sbd.mobile_number LIKE ").append(pattern).append("))");
+        }
+        return sql.toString();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new CustomExceptions.BusinessException("Unsupported sort property: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private DatabaseClient.GenericExecuteSpec execute(String sql, List<Object> args) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (int i = 0; i < args.size(); i++) {
+            spec = spec.bind(i, args.get(i));
+        }
+        return spec;
+    }
+
+    private Mono<Lead> withLoanDetails(Lead lead) {
+        String table = switch (lead.getProductType()) {
+            case VEHICLE_LOAN -> "vehicle_loan_details";
+            case EDUCATION_LOAN -> "education_loan_details";
+            case HOME_LOAN -> "home_loan_details";
+            case LOAN_AGAINST_PROPERTY -> "loan_against_property_details";
+        };
+        return execute("SELECT * FROM " + table + " WHERE lead_id = $1", List.of(lead.getId()))
+                .map((row, metadata) -> {
+                    switch (lead.getProductType()) {
+                        case VEHICLE_LOAN -> lead.setVehicleLoanDetails(toVehicleLoanDetails(row, lead));
+                        case EDUCATION_LOAN -> lead.setEducationLoanDetails(toEducationLoanDetails(row, lead));
+                        case HOME_LOAN -> lead.setHomeLoanDetails(toHomeLoanDetails(row, lead));
+                        case LOAN_AGAINST_PROPERTY ->
+                            lead.setLoanAgainstPropertyDetails(toLoanAgainstPropertyDetails(row, lead));
+                    }
+                    return lead;
+                })
+                .one()
+                .defaultIfEmpty(lead);
+    }
+
+    private static LeadSummaryResponse toSummary(Row row) {
+        return new LeadSummaryResponse(
+                row.get("id", UUID.class),
+                row.get("application_reference_number", String.class),
+                ProductType.valueOf(row.get("product_type", String.class)),
+                LeadStatus.valueOf(row.get("status", String.class)),
+                row.get("customer_name", String.class),
+                row.get("mobile_number", String.class),
+                row.get("email_address", String.class),
+                row.get("amount_requested", BigDecimal.class),
+                instant(row, "created_at"),
+                instant(row, "updated_at"));
+    }
+
+    private static Lead toLead(Row row) {
+        Lead lead = Lead.builder()
+                .id(row.get("id", UUID.class))
+                .applicationReferenceNumber(row.get("application_reference_number", String.class))
+                .status(LeadStatus.valueOf(row.get("status", String.class)))
+                .productType(ProductType.valueOf(row.get("product_type", String.class)))
+                .assignedBranchName(row.get("assigned_branch_name", String.class))
+                .assignedBranchAddress(row.get("assigned_branch_address", String.class))
+                .amountRequested(row.get("amount_requested", BigDecimal.class))
+                .customerName(row.get("customer_name", String.class))
+                .mobileNumber(row.get("mobile_number", String.class))
+                .emailAddress(row.get("email_address", String.class))
+                .createdBy(row.get("created_by", String.class))
+                .createdAt(instant(row, "created_at"))
+                .updatedBy(row.get("updated_by", String.class))
+                .updatedAt(instant(row, "updated_at"))
+                .build();
+
+        if (row.get("bd_id", UUID.class) != null) {
+            lead.setBasicDetails(BasicDetails.builder()
+                    .id(row.get("bd_id", UUID.class))
+                    .lead(lead)
+                    .salutation(row.get("salutation", String.class))
+                    .firstName(row.get("first_name", String.class))
+                    .middleName(row.get("middle_name", String.class))
+                    .lastName(row.get("last_name", String.class))
+                    .dateOfBirth(row.get("date_of_birth", LocalDate.class))
+                    .gender(row.get("gender", String.class))
+                    .maritalStatus(row.get("marital_status", String.class))
+                    .qualification(row.get("qualification", String.class))
+                    .mobileNumber(row.get("bd_mobile_number", String.class))
+                    .emailAddress(row.get("bd_email_address", String.class))
+                    .currentAddressLine1(row.get("current_address_line1", String.class))
+                    .currentAddressLine2(row.get("current_address_line2", String.class))
+                    .currentAddressLine3(row.get("current_address_line3", String.class))
+                    .currentCountry(row.get("current_country", String.class))
+                    .currentState(row.get("current_state", String.class))
+                    .currentCity(row.get("current_city", String.class))
+                    .currentPincode(row.get("current_pincode", String.class))
+                    .permanentAddressLine1(row.get("permanent_address_line1", String.class))
+                    .permanentAddressLine2(row.get("permanent_address_line2", String.class))
+                    .permanentAddressLine3(row.get("permanent_address_line3", String.class))
+                    .permanentCountry(row.get("permanent_country", String.class))
+                    .permanentState(row.get("permanent_state", String.class))
+                    .permanentCity(row.get("permanent_city", String.class))
+                    .permanentPincode(row.get("permanent_pincode", String.class))
+                    .sameAsCurrentAddress(row.get("same_as_current_address", Boolean.class))
+                    .build());
+        }
+
+        if (row.get("od_id", UUID.class) != null) {
+            String occupationType = row.get("occupation_type", String.class);
+            lead.setOccupationDetails(OccupationDetails.builder()
+                    .id(row.get("od_id", UUID.class))
+                    .lead(lead)
+                    .occupationType(occupationType != null ? OccupationType.valueOf(occupationType) : null)
+                    .companyType(row.get("company_type", String.class))
+                    .employerName(row.get("employer_name", String.class))
+                    .designation(row.get("designation", String.class))
+                    .totalExperience(row.get("total_experience", BigDecimal.class))
+                    .build());
+        }
+
+        if (row.get("fd_id", UUID.class) != null) {
+            lead.setFinancialDetails(FinancialDetails.builder()
+                    .id(row.get("fd_id", UUID.class))
+                    .lead(lead)
+                    .monthlyGrossIncome(row.get("monthly_gross_income", BigDecimal.class))
+                    .monthlyDeductions(row.get("monthly_deductions", BigDecimal.class))
+                    .monthlyEmi(row.get("monthly_emi", BigDecimal.class))
+                    .monthlyNetIncome(row.get("monthly_net_income", BigDecimal.class))
+                    .build());
+        }
+        return lead;
+    }
+
+    private static VehicleLoanDetails toVehicleLoanDetails(Row row, Lead lead) {
+        return VehicleLoanDetails.builder()
+                .id(row.get("id", UUID.class))
+                .lead(lead)
+                .amountRequested(row.get("amount_requested", BigDecimal.class))
+                .repaymentPeriod(row.get("repayment_period", Integer.class))
+                .vehicleType(row.get("vehicle_type", String.class))
+                .make(row.get("make", String.class))
+                .model(row.get("model", String.class))
+                .exShowroomPrice(row.get("ex_showroom_price", BigDecimal.class))
+                .insuranceCost(row.get("insurance_cost", BigDecimal.class))
+                .roadTax(row.get("road_tax", BigDecimal.class))
+                .accessoriesOtherCost(row.get("accessories_other_cost", BigDecimal.class))
+                .totalCostOfVehicle(row.get("total_cost_of_vehicle", BigDecimal.class))
+                .dealerName(row.get("dealer_name", String.class))
+                .dealerAddressLine1(row.get("dealer_address_line1", String.class))
+                .dealerAddressLine2(row.get("dealer_address_line2", String.class))
+                .dealerAddressLine3(row.get("dealer_address_line3", String.class))
+                .dealerCountry(row.get("dealer_country", String.class))
+                .dealerState(row.get("dealer_state", String.class))
+                .dealerCity(row.get("dealer_city", String.class))
+                .dealerPincode(row.get("dealer_pincode", String.class))
+                .build();
+    }
+
+    private static EducationLoanDetails toEducationLoanDetails(Row row, Lead lead) {
+        return EducationLoanDetails.builder()
+                .id(row.get("id", UUID.class))
+                .lead(lead)
+                .amountRequested(row.get("amount_requested", BigDecimal.class))
+                .repaymentPeriod(row.get("repayment_period", Integer.class))
+                .courseName(row.get("course_name", String.class))
+                .institutionName(row.get("institution_name", String.class))
+                .institutionCountry(row.get("institution_country", String.class))
+                .institutionState(row.get("institution_state", String.class))
+                .institutionCity(row.get("institution_city", String.class))
+                .courseDurationYears(row.get("course_duration_years", Integer.class))
+                .build();
+    }
+
+    private static HomeLoanDetails toHomeLoanDetails(Row row, Lead lead) {
+        return HomeLoanDetails.builder()
+                .id(row.get("id", UUID.class))
+                .lead(lead)
+                .amountRequested(row.get("amount_requested", BigDecimal.class))
+                .repaymentPeriod(row.get("repayment_period", Integer.class))
+                .propertyType(row.get("property_type", String.class))
+                .propertyValue(row.get("property_value", BigDecimal.class))
+                .propertyAddressLine1(row.get("property_address_line1", String.class))
+                .propertyAddressLine2(row.get("property_address_line2", String.class))
+                .propertyAddressLine3(row.get("property_address_line3", String.class))
+                .propertyCountry(row.get("property_country", String.class))
+                .propertyState(row.get("property_state", String.class))
+                .propertyCity(row.get("property_city", String.class))
+                .propertyPincode(row.get("property_pincode", String.class))
+                .build();
+    }
+
+    private static LoanAgainstPropertyDetails toLoanAgainstPropertyDetails(Row row, Lead lead) {
+        return LoanAgainstPropertyDetails.builder()
+                .id(row.get("id", UUID.class))
+                .lead(lead)
+                .amountRequested(row.get("amount_requested", BigDecimal.class))
+                .repaymentPeriod(row.get("repayment_period", Integer.class))
+                .propertyType(row.get("property_type", String.class))
+                .propertyMarketValue(row.get("property_market_value", BigDecimal.class))
+                .propertyAddressLine1(row.get("property_address_line1", String.class))
+                .propertyAddressLine2(row.get("property_address_line2", String.class))
+                .propertyAddressLine3(row.get("property_address_line3", String.class))
+                .propertyCountry(row.get("property_country", String.class))
+                .propertyState(row.get("property_state", String.class))
+                .propertyCity(row.get("property_city", String.class))
+                .propertyPincode(row.get("property_pincode", String.class))
+                .build();
+    }
+
+    /**
+     * TIMESTAMP columns hold UTC wall-clock time, as written by Hibernate.
+     */
+    private static Instant instant(Row row, String column) {
+        LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value != null ? value.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private record GroupCount(String key, Long count) {
+    }
+}
@@ -1,16 +1,21 @@
 package com.bom.dsa.repository;
 
+import com.bom.dsa.dto.response.LeadSummaryResponse;
 import com.bom.dsa.entity.Lead;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +27,34 @@ import java.util.UUID;
 @Repository
 public interface LeadRepository extends JpaRepository<Lead, UUID> {
 
+        /**
+         * Select list for LeadSummaryResponse constructor projections.
+         * Reads only the leads table; name, contact and amount are denormalized onto it.
+         */
+        String LEAD_SUMMARY_SELECT = "SELECT new com.bom.dsa.dto.response.LeadSummaryResponse(" +
+                        "l.id, l.applicationReferenceNumber, l.productType, l.status, " +
+                        "l.customerName, l.mobileNumber, l.emailAddress, l.amountRequested, " +
+                        "l.createdAt, l.updatedAt) " +
+                        "FROM Lead l ";
+
+        /**
+         * Filter shared by the lead list queries; same matches as searchLeads.
+         * The search term is split into one IN subquery per table so each side can be
+         * answered by the pg_trgm GIN indexes from V9. An OR spanning leads and
+         * basic_details in a single join cannot use them and scans both tables.
+         */
+        String LEAD_SEARCH_FILTER = "WHERE l.createdBy = :createdBy " +
+                        "AND l.isDeleted = false " +
+                        "AND (:status IS NULL OR l.status = :status) " +
+                        "AND (:productType IS NULL OR l.productType = :productType) " +
+                        "AND (:searchTerm IS NULL " +
+                        "OR l.id IN (SELECT sl.id FROM Lead sl " +
+                        "WHERE sl.applicationReferenceNumber LIKE %:searchTerm%) " +
+                        "OR l.id IN (SELECT sbd.lead.id FROM BasicDetails sbd " +
+                        "WHERE sbd.firstName LIKE %:searchTerm% " +
+                        "OR sbd.lastName LIKE %:searchTerm% " +
+                        "OR sbd.mobileNumber LIKE %:searchTerm%))";
+
         /**
          * Find lead by application reference number.
          * 
@@ -30,6 +63,15 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
          */
         Optional<Lead> findByApplicationReferenceNumber(String applicationReferenceNumber);
 
+        /**
+         * Which of the given reference numbers are already taken, by any lead, deleted or not.
+         * 
+         * @param referenceNumbers candidate reference numbers
+         * @return the ones already in use
+         */
+        @Query("SELECT l.applicationReferenceNumber FROM Lead l WHERE l.applicationReferenceNumber IN :referenceNumbers")
+        List<String> findExistingReferenceNumbers(@Param("referenceNumbers") Collection<String> referenceNumbers);
+
         /**
          * Find leads by creator (DSA user) with soft delete filter.
          * 
@@ -94,6 +136,89 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
                         @Param("searchTerm") String searchTerm,
                         Pageable pageable);
 
+        /**
+         * Search leads with the same filters as searchLeads, projected straight into
+         * summaries. No entities are hydrated, so there is no dirty-checking snapshot,
+         * no lazy loan detail loads and no DISTINCT over the join.
+         * Returns only the requested slice; the total is taken separately with
+         * countLeadSummaries according to the caller's count mode.
+         * 
+         * @param createdBy   the creator username
+         * @param status      optional status filter
+         * @param productType optional product type filter
+         * @param searchTerm  optional search term
+         * @param pageable    pagination info
+         * @return list of lead summaries
+         */
+        @Query(LEAD_SUMMARY_SELECT + LEAD_SEARCH_FILTER)
+        List<LeadSummaryResponse> searchLeadSummaries(
+                        @Param("createdBy") String createdBy,
+                        @Param("status") LeadStatus status,
+                        @Param("productType") ProductType productType,
+                        @Param("searchTerm") String searchTerm,
+                        Pageable pageable);
+
+        /**
+         * Count leads matching the searchLeadSummaries filters.
+         * 
+         * @param createdBy   the creator username
+         * @param status      optional status filter
+         * @param productType optional product type filter
+         * @param searchTerm  optional search term
+         * @return count of leads
+         */
+        @Query("SELECT COUNT(l) FROM Lead l " + LEAD_SEARCH_FILTER)
+        long countLeadSummaries(
+                        @Param("createdBy") String createdBy,
+                        @Param("status") LeadStatus status,
+                        @Param("productType") ProductType productType,
+                        @Param("searchTerm") String searchTerm);
+
+        /**
+         * First page of the keyset-paginated lead list, newest first.
+         * Only the page size of the pageable is used; no count query is run.
+         *
+         * @param createdBy   the creator username
+         * @param status      optional status filter
+         * @param productType optional product type filter
+         * @param searchTerm  optional search term
+         * @param pageable    page size
+         * @return list of lead summaries
+         */
+        @Query(LEAD_SUMMARY_SELECT + LEAD_SEARCH_FILTER + " ORDER BY l.createdAt DESC, l.id DESC")
+        List<LeadSummaryResponse> findLeadSummariesFirstPage(
+                        @Param("createdBy") String createdBy,
+                        @Param("status") LeadStatus status,
+                        @Param("productType") ProductType productType,
+                        @Param("searchTerm") String searchTerm,
+                        Pageable pageable);
+
+        /**
+         * Next page of the keyset-paginated lead list, starting strictly after the
+         * given (createdAt, id) position. Seeks on idx_leads_created_by_created_at_id,
+         * so the cost does not grow with the depth of the page.
+         *
+         * @param createdBy       the creator username
+         * @param status          optional status filter
+         * @param productType     optional product type filter
+         * @param searchTerm      optional search term
+         * @param cursorCreatedAt createdAt of the last lead on the previous page
+         * @param cursorId        id of the last lead on the previous page
+         * @param pageable        page size
+         * @return list of lead summaries
+         */
+        @Query(LEAD_SUMMARY_SELECT + LEAD_SEARCH_FILTER +
+                        " AND (l.createdAt, l.id) < (:cursorCreatedAt, :cursorId)" +
+                        " ORDER BY l.createdAt DESC, l.id DESC")
+        List<LeadSummaryResponse> findLeadSummariesAfter(
+                        @Param("createdBy") String createdBy,
+                        @Param("status") LeadStatus status,
+                        @Param("productType") ProductType productType,
+                        @Param("searchTerm") String searchTerm,
+                        @Param("cursorCreatedAt") Instant cursorCreatedAt,
+                        @Param("cursorId") UUID cursorId,
+                        Pageable pageable);
+
         /**
          * Count leads by creator with soft delete filter.
          * 
@@ -133,21 +258,54 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
         List<Lead> findRecentLeads(@Param("createdBy") String createdBy, Pageable pageable);
 
         /**
-         * Get lead with all details eagerly loaded.
+         * Get recent lead summaries for dashboard without hydrating entities.
+         * 
+         * @param createdBy the creator username
+         * @param pageable  pagination info
+         * @return list of recent lead summaries
+         */
+        @Query(LEAD_SUMMARY_SELECT +
+                        "WHERE l.createdBy = :createdBy AND l.isDeleted = false " +
+                        "ORDER BY l.createdAt DESC")
+        List<LeadSummaryResponse> findRecentLeadSummaries(@Param("createdBy") String createdBy, Pageable pageable);
+
+        /**
+         * Get a lead, deleted or not, and lock its row until the caller's transaction ends,
+         * so concurrent writes to the same lead run one after the other.
+         * 
+         * @param id the lead ID
+         * @return optional locked lead
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT l FROM Lead l WHERE l.id = :id")
+        Optional<Lead> findByIdForUpdate(@Param("id") UUID id);
+
+        /**
+         * Get lead with customer details and the loan details of its product type.
+         * A lead only ever has the loan table matching its productType, so instead of
+         * joining all four, the lead is read with its customer details and then only the
+         * matching loan table is selected, through its lazy group on Lead. Must run inside
+         * a transaction so that second select can load.
          * 
          * @param id the lead ID
          * @return optional lead with details
          */
-        @Query("SELECT l FROM Lead l " +
-                        "LEFT JOIN FETCH l.basicDetails " +
-                        "LEFT JOIN FETCH l.occupationDetails " +
-                        "LEFT JOIN FETCH l.financialDetails " +
-                        "LEFT JOIN FETCH l.vehicleLoanDetails " +
-                        "LEFT JOIN FETCH l.educationLoanDetails " +
-                        "LEFT JOIN FETCH l.homeLoanDetails " +
-                        "LEFT JOIN FETCH l.loanAgainstPropertyDetails " +
-                        "WHERE l.id = :id AND l.isDeleted = false")
-        Optional<Lead> findByIdWithDetails(@Param("id") UUID id);
+        default Optional<Lead> findByIdWithDetails(UUID id) {
+                Optional<Lead> lead = findWithCustomerDetailsById(id);
+                lead.ifPresent(found -> {
+                        switch (found.getProductType()) {
+                                case VEHICLE_LOAN -> found.getVehicleLoanDetails();
+                                case EDUCATION_LOAN -> found.getEducationLoanDetails();
+                                case HOME_LOAN -> found.getHomeLoanDetails();
+                                case LOAN_AGAINST_PROPERTY -> found.getLoanAgainstPropertyDetails();
+                        }
+                });
+                return lead;
+        }
+
+        @EntityGraph(attributePaths = { "basicDetails", "occupationDetails", "financialDetails" })
+        @Query("SELECT l FROM Lead l WHERE l.id = :id AND l.isDeleted = false")
+        Optional<Lead> findWithCustomerDetailsById(@Param("id") UUID id);
 
         /**
          * Find leads created between dates with soft delete filter.
@@ -177,17 +335,50 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
         List<Object[]> countByCreatedByGroupByStatus(@Param("createdBy") String createdBy);
 
         /**
-         * Sum sanctioned amount for all leads.
+         * Count by status and product type, the grain of the lead_stats rollup.
+         *
+         * @param createdBy the creator username
+         * @return list of {status, productType, count} rows
          */
-        // We need to join with all loan details tables to get amounts for sanctioned
-        // leads
-        // This is complex in JPQL with one-to-one.
-        // Simplified: We will assume we can sum individual tables or use a native query
-        // if needed.
-        // For now, let's just count leads for admin.
+        @Query("SELECT l.status, l.productType, COUNT(l) FROM Lead l WHERE l.createdBy = :createdBy "
+                        + "AND l.isDeleted = false GROUP BY l.status, l.productType")
+        List<Object[]> countByCreatedByGroupByStatusAndProductType(@Param("createdBy") String createdBy);
 
-        @Query("SELECT COUNT(l) FROM Lead l WHERE l.status = 'SANCTIONED' AND l.isDeleted = false")
-        Long countSanctionedLeads();
+        /**
+         * Creators with at least one non-deleted lead.
+         */
+        @Query("SELECT DISTINCT l.createdBy FROM Lead l WHERE l.isDeleted = false")
+        List<String> findDistinctCreators();
+
+        /**
+         * Creation time of the oldest non-deleted lead; null when there are none.
+         */
+        @Query("SELECT MIN(l.createdAt) FROM Lead l WHERE l.isDeleted = false")
+        Instant findEarliestCreatedAt();
+
+        /**
+         * Count of non-deleted leads per status, across all creators.
+         *
+         * @return list of {status, count} rows
+         */
+        @Query("SELECT l.status, COUNT(l) FROM Lead l WHERE l.isDeleted = false GROUP BY l.status")
+        List<Object[]> countGroupByStatus();
+
+        /**
+         * Loan amounts of non-deleted SANCTIONED and DISBURSED leads, read from the loan
+         * details table of each lead's product type in a single scan.
+         * Returns one {sanctionedAmount, disbursedAmount} row; both are 0 when no lead matches.
+         */
+        @Query(value = "SELECT COALESCE(SUM(d.amount_requested) FILTER (WHERE l.status = 'SANCTIONED'), 0), "
+                        + "COALESCE(SUM(d.amount_requested) FILTER (WHERE l.status = 'DISBURSED'), 0) "
+                        + "FROM leads l JOIN ("
+                        + "SELECT lead_id, amount_requested FROM vehicle_loan_details "
+                        + "UNION ALL SELECT lead_id, amount_requested FROM education_loan_details "
+                        + "UNION ALL SELECT lead_id, amount_requested FROM home_loan_details "
+                        + "UNION ALL SELECT lead_id, amount_requested FROM loan_against_property_details"
+                        + ") d ON d.lead_id = l.id "
+                        + "WHERE l.is_deleted = false AND l.status IN ('SANCTIONED', 'DISBURSED')", nativeQuery = true)
+        List<Object[]> sumSanctionedAndDisbursedAmounts();
 
         // Helper to get leads by createdBy for service level aggregation
         List<Lead> findByCreatedByAndIsDeletedFalse(String createdBy);
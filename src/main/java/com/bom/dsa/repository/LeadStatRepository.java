@@ -0,0 +1,63 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.entity.LeadStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the lead_stats rollup.
+ */
+@Repository
+public interface LeadStatRepository extends JpaRepository<LeadStat, LeadStatId> {
+
+        /**
+         * All rollup rows of one creator; at most one per status and product type.
+         *
+         * @param createdBy the creator username
+         * @return the creator's rows, zero counts included
+         */
+        @Query("SELECT s FROM LeadStat s WHERE s.id.createdBy = :createdBy")
+        List<LeadStat> findByCreatedBy(@Param("createdBy") String createdBy);
+
+        /**
+         * Take one creator's advisory lock until the caller's transaction ends.
+         * Every lead write takes it before adjusting the creator's rows and the
+         * reconciler before recounting, so neither sees the other half done, even for
+         * rows that do not exist yet.
+         *
+         * @param createdBy the creator username
+         * @return always 1
+         */
+        @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:createdBy))", nativeQuery = true)
+        int lockCreator(@Param("createdBy") String createdBy);
+
+        /**
+         * Creators that have rollup rows.
+         */
+        @Query("SELECT DISTINCT s.id.createdBy FROM LeadStat s")
+        List<String> findDistinctCreators();
+
+        /**
+         * Add delta to a rollup row, creating it if it does not exist yet.
+         * The row stays locked until the calling transaction ends.
+         * Must be called inside a read-write transaction.
+         *
+         * @param createdBy   the creator username
+         * @param status      lead status name
+         * @param productType product type name
+         * @param delta       change in the number of leads
+         * @return the row's lead count after the change
+         */
+        @Query(value = "INSERT INTO lead_stats (created_by, status, product_type, lead_count, updated_at) "
+                        + "VALUES (:createdBy, :status, :productType, :delta, CURRENT_TIMESTAMP) "
+                        + "ON CONFLICT (created_by, status, product_type) DO UPDATE "
+                        + "SET lead_count = lead_stats.lead_count + EXCLUDED.lead_count, "
+                        + "updated_at = EXCLUDED.updated_at RETURNING lead_count", nativeQuery = true)
+        long increment(@Param("createdBy") String createdBy, @Param("status") String status,
+                        @Param("productType") String productType, @Param("delta") long delta);
+}
@@ -0,0 +1,202 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.client.ApprovalClient;
+import com.bom.dsa.config.SchedulingConfig;
+import com.bom.dsa.entity.ApprovalOutbox;
+import com.bom.dsa.enums.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background dispatcher for the approval outbox.
+ * Every approval.outbox.poll-interval it claims due entries in batches of
+ * approval.outbox.batch-size and fires their approval flows with at most
+ * approval.outbox.concurrency calls in flight, recording each outcome.
+ * Dispatch runs on its own scheduler thread, so it never waits behind other jobs.
+ * Publishes outbox depth, oldest pending age, dead letters and dispatch lag.
+ * Every approval.outbox.purge-interval it deletes SENT entries older than
+ * approval.outbox.sent-retention; FAILED entries are kept for manual follow-up.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "approval.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class ApprovalOutboxDispatcher {
+
+    private final ApprovalOutboxService outboxService;
+    private final ApprovalClient approvalClient;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+    private final Duration callTimeout;
+    private final Duration sentRetention;
+    private final int purgeBatchSize;
+
+    private final AtomicLong pendingDepth = new AtomicLong();
+    private final AtomicLong failedDepth = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final Timer dispatchLag;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    public ApprovalOutboxDispatcher(ApprovalOutboxService outboxService,
+            ApprovalClient approvalClient,
+            MeterRegistry meterRegistry,
+            @Value("${approval.outbox.batch-size:50}") int batchSize,
+            @Value("${approval.outbox.concurrency:8}") int concurrency,
+            @Value("${approval.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${approval.outbox.lease:PT1M}") Duration lease,
+            @Value("${approval.outbox.call-timeout:PT10S}") Duration callTimeout,
+            @Value("${approval.outbox.sent-retention:P7D}") Duration sentRetention,
+            @Value("${approval.outbox.purge-batch-size:1000}") int purgeBatchSize) {
+        this.outboxService = outboxService;
+        this.approvalClient = approvalClient;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = lease;
+        this.callTimeout = callTimeout;
+        this.sentRetention = sentRetention;
+        this.purgeBatchSize = purgeBatchSize;
+
+        Gauge.builder("approval.outbox.depth", pendingDepth, AtomicLong::get)
+                .description("Approval requests waiting to be sent")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("approval.outbox.depth", failedDepth, AtomicLong::get)
+                .description("Approval requests that exhausted their retries")
+                .tag("status", "failed")
+                .register(meterRegistry);
+        Gauge.builder("approval.outbox.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest pending approval request")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.dispatchLag = Timer.builder("approval.outbox.dispatch.lag")
+                .description("Time from enqueue to successful approval-flow call")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("approval.outbox.dispatched").tag("result", "sent")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("approval.outbox.dispatched").tag("result", "retry")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("approval.outbox.dispatched").tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain due entries, one batch after another, until a batch comes back short
+     * or maxBatchesPerRun is reached, then refresh the depth gauges.
+     */
+    @Scheduled(fixedDelayString = "${approval.outbox.poll-interval:PT2S}",
+            initialDelayString = "${approval.outbox.poll-interval:PT2S}",
+            scheduler = SchedulingConfig.APPROVAL_OUTBOX_SCHEDULER)
+    public void dispatch() {
+        try {
+            for (int run = 0; run < maxBatchesPerRun; run++) {
+                List<ApprovalOutbox> batch = outboxService.claimDueBatch(batchSize, lease);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                dispatchBatch(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Approval outbox dispatch failed", e);
+        } finally {
+            refreshGauges();
+        }
+    }
+
+    /**
+     * Delete SENT entries older than the retention, so the outbox only grows with
+     * pending and failed work.
+     */
+    @Scheduled(fixedDelayString = "${approval.outbox.purge-interval:PT1H}",
+            initialDelayString = "${approval.outbox.purge-interval:PT1H}")
+    public void purgeSent() {
+        try {
+            int purged = outboxService.purgeSentBefore(Instant.now().minus(sentRetention), purgeBatchSize);
+            if (purged > 0) {
+                log.info("Purged {} approval outbox entries sent more than {} ago", purged, sentRetention);
+            }
+        } catch (Exception e) {
+            log.error("Approval outbox purge failed", e);
+        }
+    }
+
+    /**
+     * Send one claimed batch with bounded concurrency and record every outcome.
+     * Outcomes are written after the calls complete, on the scheduler thread,
+     * so no JDBC work runs on the HTTP client's event loop.
+     */
+    void dispatchBatch(List<ApprovalOutbox> batch) {
+        List<Outcome> outcomes = Flux.fromIterable(batch)
+                .flatMap(entry -> Mono.defer(() -> approvalClient.fireApprovalFlow(outboxService.toRequest(entry)))
+                        .timeout(callTimeout)
+                        .map(response -> Outcome.sent(entry, response.getRunningFlowId()))
+                        .defaultIfEmpty(Outcome.sent(entry, null))
+                        .onErrorResume(e -> Mono.just(Outcome.failed(entry, e))), concurrency)
+                .collectList()
+                .block();
+
+        if (outcomes == null) {
+            return;
+        }
+        for (Outcome outcome : outcomes) {
+            ApprovalOutbox entry = outcome.entry();
+            if (outcome.error() == null) {
+                outboxService.markSent(entry.getId(), outcome.runningFlowId());
+                sentCounter.increment();
+                dispatchLag.record(Duration.between(entry.getCreatedAt(), Instant.now()));
+                log.info("Approval flow fired for lead: {}, flow ID: {}", entry.getLeadId(),
+                        outcome.runningFlowId());
+            } else if (outboxService.markFailed(entry.getId(), describe(outcome.error())) == OutboxStatus.FAILED) {
+                failedCounter.increment();
+            } else {
+                retryCounter.increment();
+            }
+        }
+    }
+
+    private void refreshGauges() {
+        try {
+            pendingDepth.set(outboxService.countByStatus(OutboxStatus.PENDING));
+            failedDepth.set(outboxService.countByStatus(OutboxStatus.FAILED));
+            Instant oldest = outboxService.oldestPendingCreatedAt();
+            oldestPendingAgeSeconds.set(oldest != null ? Duration.between(oldest, Instant.now()).toSeconds() : 0);
+        } catch (Exception e) {
+            log.warn("Failed to refresh approval outbox gauges: {}", e.getMessage());
+        }
+    }
+
+    private static String describe(Throwable error) {
+        return error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    private record Outcome(ApprovalOutbox entry, String runningFlowId, Throwable error) {
+
+        static Outcome sent(ApprovalOutbox entry, String runningFlowId) {
+            return new Outcome(entry, runningFlowId, null);
+        }
+
+        static Outcome failed(ApprovalOutbox entry, Throwable error) {
+            return new Outcome(entry, null, error);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.request.FireApprovalRequest;
+import com.bom.dsa.dto.response.LeadResponse;
+import com.bom.dsa.entity.ApprovalOutbox;
+import com.bom.dsa.enums.OutboxStatus;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.ApprovalOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for the approval-flow outbox.
+ * Lead writes enqueue approval requests in their own transaction; the dispatcher
+ * claims due entries in batches, sends them, and records the outcome here.
+ * Failed sends are retried with exponential backoff until approval.outbox.max-attempts,
+ * after which the entry is kept as FAILED for manual follow-up. SENT entries are
+ * purged once they are older than the dispatcher's retention.
+ */
+@Service
+@Slf4j
+public class ApprovalOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ApprovalOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader payloadReader;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public ApprovalOutboxService(ApprovalOutboxRepository outboxRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${approval.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${approval.outbox.retry-backoff:PT5S}") Duration retryBackoff,
+            @Value("${approval.outbox.max-retry-backoff:PT10M}") Duration maxRetryBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.payloadReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+        }).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    /**
+     * Record approval requests for newly created leads.
+     * Must be called inside the transaction that inserts the leads, so the
+     * entries commit or roll back together with them.
+     *
+     * @param leads the created leads
+     */
+    public void enqueue(List<LeadResponse> leads) {
+        if (leads.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<ApprovalOutbox> entries = leads.stream()
+                .map(lead -> ApprovalOutbox.builder()
+                        .leadId(lead.getLeadId())
+                        .payload(toPayload(approvalData(lead)))
+                        .status(OutboxStatus.PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        outboxRepository.saveAll(entries);
+        log.debug("Enqueued {} approval requests", entries.size());
+    }
+
+    /**
+     * Claim up to batchSize due entries for sending.
+     * Claimed entries are pushed back by the lease, so another dispatcher only
+     * picks them up again if this one dies before recording an outcome.
+     *
+     * @param batchSize maximum entries to claim
+     * @param lease     how long the claim holds
+     * @return claimed entries, oldest first
+     */
+    public List<ApprovalOutbox> claimDueBatch(int batchSize, Duration lease) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<ApprovalOutbox> due = outboxRepository.findDueForUpdate(OutboxStatus.PENDING, now,
+                    PageRequest.of(0, batchSize));
+            due.forEach(entry -> entry.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    /**
+     * Record a successful send.
+     *
+     * @param entryId       outbox entry ID
+     * @param runningFlowId flow ID returned by the approval service, if any
+     */
+    public void markSent(UUID entryId, String runningFlowId) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(entryId).ifPresent(entry -> {
+            entry.setStatus(OutboxStatus.SENT);
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setRunningFlowId(runningFlowId);
+            entry.setSentAt(Instant.now());
+            entry.setLastError(null);
+        }));
+    }
+
+    /**
+     * Record a failed send and schedule a retry, or give up after max attempts.
+     *
+     * @param entryId outbox entry ID
+     * @param error   failure description
+     * @return the entry's status after the failure (PENDING to retry, FAILED when exhausted)
+     */
+    public OutboxStatus markFailed(UUID entryId, String error) {
+        return transactionTemplate.execute(status -> outboxRepository.findById(entryId).map(entry -> {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH)
+                    : error);
+            if (attempts >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+                log.error("Giving up on approval request for lead: {} after {} attempts: {}", entry.getLeadId(),
+                        attempts, error);
+            } else {
+                entry.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+                log.warn("Approval request for lead: {} failed (attempt {}), retrying at {}: {}",
+                        entry.getLeadId(), attempts, entry.getNextAttemptAt(), error);
+            }
+            return entry.getStatus();
+        }).orElse(OutboxStatus.FAILED));
+    }
+
+    /**
+     * Rebuild the approval request stored in an entry.
+     */
+    public FireApprovalRequest toRequest(ApprovalOutbox entry) {
+        try {
+            Map<String, Object> data = payloadReader.readValue(entry.getPayload());
+            return FireApprovalRequest.builder().data(data).build();
+        } catch (JsonProcessingException e) {
+            throw new CustomExceptions.BusinessException("Invalid approval outbox payload: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete SENT entries sent before the cutoff, batchSize rows per transaction so
+     * a large backlog never holds locks for long.
+     *
+     * @param cutoff    entries sent before this are deleted
+     * @param batchSize maximum entries deleted per transaction
+     * @return number of entries deleted
+     */
+    public int purgeSentBefore(Instant cutoff, int batchSize) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(cutoff, batchSize));
+            purged += deleted;
+        } while (deleted == batchSize);
+        return purged;
+    }
+
+    public long countByStatus(OutboxStatus status) {
+        return outboxRepository.countByStatus(status);
+    }
+
+    public Instant oldestPendingCreatedAt() {
+        return outboxRepository.findOldestCreatedAt(OutboxStatus.PENDING);
+    }
+
+    /**
+     * Retry delay after the given number of attempts: retryBackoff doubled per
+     * attempt, capped at maxRetryBackoff.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private Map<String, Object> approvalData(LeadResponse leadResponse) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("leadId", leadResponse.getLeadId().toString());
+        data.put("amount", getAmountRequested(leadResponse));
+        data.put("productType", leadResponse.getProductType().toString());
+        data.put("requested_by_role", "DSA"); // Logic to get actual role if needed
+        data.put("region", "WEST"); // Logic to get region from metadata
+        return data;
+    }
+
+    private String toPayload(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new CustomExceptions.BusinessException("Failed to serialize approval request: " + e.getMessage());
+        }
+    }
+
+    private BigDecimal getAmountRequested(LeadResponse leadResponse) {
+        if (leadResponse.getLoanDetails() != null && leadResponse.getLoanDetails().getAmountRequested() != null) {
+            return leadResponse.getLoanDetails().getAmountRequested();
+        }
+        return BigDecimal.ZERO;
+    }
+}
@@ -17,7 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Service for authentication operations.
@@ -30,6 +30,7 @@ public class AuthService implements ReactiveUserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final ReactiveAuthenticationManager authenticationManager;
+    private final Scheduler jdbcScheduler;
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     /**
@@ -40,11 +41,13 @@ public class AuthService implements ReactiveUserDetailsService {
     public AuthService(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtTokenProvider jwtTokenProvider,
-            @Lazy ReactiveAuthenticationManager authenticationManager) {
+            @Lazy ReactiveAuthenticationManager authenticationManager,
+            Scheduler jdbcScheduler) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
+        this.jdbcScheduler = jdbcScheduler;
     }
 
     /**
@@ -73,7 +76,7 @@ public class AuthService implements ReactiveUserDetailsService {
                 log.error("Error finding user by username: {}", username, e);
                 throw new CustomExceptions.BusinessException("Failed to find user: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic()).cast(UserDetails.class);
+        }).subscribeOn(jdbcScheduler).cast(UserDetails.class);
     }
 
     /**
@@ -126,7 +129,7 @@ public class AuthService implements ReactiveUserDetailsService {
                         log.error("Error during login process for user: {}", request.getUsername(), e);
                         throw new CustomExceptions.BusinessException("Login failed: " + e.getMessage());
                     }
-                }).subscribeOn(Schedulers.boundedElastic()))
+                }).subscribeOn(jdbcScheduler))
                 .onErrorResume(ex -> {
                     if (ex instanceof CustomExceptions.UnauthorizedException ||
                             ex instanceof CustomExceptions.ResourceNotFoundException) {
@@ -147,7 +150,7 @@ public class AuthService implements ReactiveUserDetailsService {
                                 }, () -> log.warn("User not found during login failure handling: {}",
                                         request.getUsername()));
                         throw new CustomExceptions.UnauthorizedException("Invalid credentials");
-                    }).subscribeOn(Schedulers.boundedElastic());
+                    }).subscribeOn(jdbcScheduler);
                 });
     }
 
@@ -191,7 +194,7 @@ public class AuthService implements ReactiveUserDetailsService {
                 log.error("Error creating user: {}", user.getDsaUniqueCode(), e);
                 throw new CustomExceptions.BusinessException("Failed to create user: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -217,7 +220,7 @@ public class AuthService implements ReactiveUserDetailsService {
                 log.error("Error finding user by dsaUniqueCode: {}", dsaUniqueCode, e);
                 throw new CustomExceptions.BusinessException("Failed to find user: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
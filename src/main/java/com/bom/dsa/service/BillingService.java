@@ -2,25 +2,31 @@ package com.bom.dsa.service;
 
 import com.bom.dsa.dto.response.BillingResponse;
 import com.bom.dsa.dto.response.BillingSummaryResponse;
+import com.bom.dsa.dto.response.CountedPage;
 import com.bom.dsa.entity.Billing;
 import com.bom.dsa.entity.User;
 import com.bom.dsa.enums.BillingStatus;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.exception.CustomExceptions;
 import com.bom.dsa.repository.BillingRepository;
 import com.bom.dsa.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,12 +38,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BillingService {
 
+    // NumberFormat is not thread-safe and costly to create; one per JDBC worker thread
+    private static final ThreadLocal<NumberFormat> RUPEE_FORMAT = ThreadLocal
+            .withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("en", "IN")));
+
     private final BillingRepository billingRepository;
     private final UserRepository userRepository;
+    private final TotalCountService totalCountService;
+    private final BillingSummaryCache billingSummaryCache;
+    private final Scheduler jdbcScheduler;
+    // Summary reads may be served by the replica
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    public BillingService(BillingRepository billingRepository, UserRepository userRepository) {
+    public BillingService(BillingRepository billingRepository, UserRepository userRepository,
+            TotalCountService totalCountService, BillingSummaryCache billingSummaryCache,
+            Scheduler jdbcScheduler, PlatformTransactionManager transactionManager) {
         this.billingRepository = billingRepository;
         this.userRepository = userRepository;
+        this.totalCountService = totalCountService;
+        this.billingSummaryCache = billingSummaryCache;
+        this.jdbcScheduler = jdbcScheduler;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -51,7 +73,7 @@ public class BillingService {
 
         return Mono.fromCallable(() -> {
             try {
-                Billing billing = billingRepository.findById(billingId)
+                Billing billing = billingRepository.findByIdWithUser(billingId)
                         .orElseThrow(() -> {
                             log.warn("Billing not found with id: {}", billingId);
                             return new CustomExceptions.ResourceNotFoundException("Billing", "id", billingId);
@@ -64,7 +86,7 @@ public class BillingService {
                 log.error("Error fetching billing by id: {}", billingId, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch billing: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -91,7 +113,7 @@ public class BillingService {
                 log.error("Error fetching billing by invoiceId: {}", invoiceId, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch billing: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -101,12 +123,13 @@ public class BillingService {
      * @param status        optional billing status filter
      * @param periodStart   optional period start filter
      * @param pageable      pagination info
+     * @param countMode     how to obtain the total, or null for the configured mode
      * @return Mono containing page of billing responses
      */
-    public Mono<Page<BillingResponse>> getBillings(String dsaUniqueCode, BillingStatus status,
-            LocalDate periodStart, Pageable pageable) {
-        log.info("Fetching billings for user: {}, status: {}, periodStart: {}, page: {}",
-                dsaUniqueCode, status, periodStart, pageable.getPageNumber());
+    public Mono<CountedPage<BillingResponse>> getBillings(String dsaUniqueCode, BillingStatus status,
+            LocalDate periodStart, Pageable pageable, CountMode countMode) {
+        log.info("Fetching billings for user: {}, status: {}, periodStart: {}, page: {}, countMode: {}",
+                dsaUniqueCode, status, periodStart, pageable.getPageNumber(), countMode);
 
         return Mono.fromCallable(() -> {
             try {
@@ -117,16 +140,17 @@ public class BillingService {
                                     dsaUniqueCode);
                         });
 
-                Page<Billing> billingPage = billingRepository.searchBillings(user.getId(), status, periodStart,
-                        pageable);
-                log.debug("Found {} billings, total: {}", billingPage.getNumberOfElements(),
-                        billingPage.getTotalElements());
-
-                List<BillingResponse> responses = billingPage.getContent().stream()
+                List<BillingResponse> responses = billingRepository
+                        .findBillings(user.getId(), status, periodStart, pageable).stream()
                         .map(this::toBillingResponse)
                         .collect(Collectors.toList());
 
-                Page<BillingResponse> result = new PageImpl<>(responses, pageable, billingPage.getTotalElements());
+                CountedPage<BillingResponse> result = totalCountService.toPage(TotalCountService.BILLINGS,
+                        dsaUniqueCode, Arrays.asList(status, periodStart), responses, pageable, countMode,
+                        () -> billingRepository.countBillings(user.getId(), status, periodStart),
+                        billingEstimateQuery(user.getId(), status, periodStart));
+                log.debug("Found {} billings, total: {}, exact: {}", result.getNumberOfElements(),
+                        result.getTotalElements(), result.isTotalExact());
                 return result;
 
             } catch (CustomExceptions.ResourceNotFoundException e) {
@@ -135,11 +159,13 @@ public class BillingService {
                 log.error("Error fetching billings for user: {}", dsaUniqueCode, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch billings: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
      * Get billing summary for user.
+     * Counts and amounts per status come from one grouped query and are cached for
+     * cache.billing-summary.ttl.
      * 
      * @param dsaUniqueCode the DSA username
      * @return Mono containing billing summary
@@ -149,42 +175,54 @@ public class BillingService {
 
         return Mono.fromCallable(() -> {
             try {
-                User user = userRepository.findByDsaUniqueCode(dsaUniqueCode)
-                        .orElseThrow(() -> {
-                            log.warn("User not found with dsaUniqueCode: {}", dsaUniqueCode);
-                            return new CustomExceptions.ResourceNotFoundException("User", "dsaUniqueCode",
-                                    dsaUniqueCode);
-                        });
-
-                BigDecimal totalEarned = safeAmount(billingRepository.sumTotalAmountByUserId(user.getId()));
-                BigDecimal pendingAmount = safeAmount(
-                        billingRepository.sumAmountByUserIdAndStatus(user.getId(), BillingStatus.PENDING));
-                BigDecimal paidAmount = safeAmount(
-                        billingRepository.sumAmountByUserIdAndStatus(user.getId(), BillingStatus.PAYMENT_SUCCESSFUL));
-                Long pendingCount = safeCount(
-                        billingRepository.countByUserIdAndStatus(user.getId(), BillingStatus.PENDING));
-                Long paidCount = safeCount(
-                        billingRepository.countByUserIdAndStatus(user.getId(), BillingStatus.PAYMENT_SUCCESSFUL));
-
-                log.debug("Billing summary - totalEarned: {}, pending: {}, paid: {}, pendingCount: {}, paidCount: {}",
-                        totalEarned, pendingAmount, paidAmount, pendingCount, paidCount);
-
-                return BillingSummaryResponse.builder()
-                        .totalEarned(totalEarned)
-                        .pendingAmount(pendingAmount)
-                        .paidAmount(paidAmount)
-                        .totalInvoices(pendingCount + paidCount)
-                        .pendingInvoices(pendingCount)
-                        .paidInvoices(paidCount)
-                        .build();
-
+                return billingSummaryCache.get(dsaUniqueCode,
+                        code -> readOnlyTransactionTemplate.execute(status -> loadBillingSummary(code)));
             } catch (CustomExceptions.ResourceNotFoundException e) {
                 throw e;
             } catch (Exception e) {
                 log.error("Error fetching billing summary for user: {}", dsaUniqueCode, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch billing summary: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Build the billing summary from the per-status totals.
+     * The user is only looked up when they have no billings, to tell an unknown user apart.
+     */
+    private BillingSummaryResponse loadBillingSummary(String dsaUniqueCode) {
+        List<Object[]> rows = billingRepository.summarizeByStatus(dsaUniqueCode);
+        if (rows.isEmpty() && !userRepository.existsByDsaUniqueCode(dsaUniqueCode)) {
+            log.warn("User not found with dsaUniqueCode: {}", dsaUniqueCode);
+            throw new CustomExceptions.ResourceNotFoundException("User", "dsaUniqueCode", dsaUniqueCode);
+        }
+
+        Map<BillingStatus, Long> counts = new EnumMap<>(BillingStatus.class);
+        Map<BillingStatus, BigDecimal> amounts = new EnumMap<>(BillingStatus.class);
+        for (Object[] row : rows) {
+            BillingStatus billingStatus = (BillingStatus) row[0];
+            counts.put(billingStatus, safeCount((Long) row[1]));
+            amounts.put(billingStatus, safeAmount((BigDecimal) row[2]));
+        }
+
+        BigDecimal totalEarned = amounts.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCount = counts.values().stream().mapToLong(Long::longValue).sum();
+        BigDecimal pendingAmount = amounts.getOrDefault(BillingStatus.PENDING, BigDecimal.ZERO);
+        BigDecimal paidAmount = amounts.getOrDefault(BillingStatus.PAYMENT_SUCCESSFUL, BigDecimal.ZERO);
+        Long pendingCount = counts.getOrDefault(BillingStatus.PENDING, 0L);
+        Long paidCount = counts.getOrDefault(BillingStatus.PAYMENT_SUCCESSFUL, 0L);
+
+        log.debug("Billing summary - totalEarned: {}, pending: {}, paid: {}, total: {}, pendingCount: {}, "
+                + "paidCount: {}", totalEarned, pendingAmount, paidAmount, totalCount, pendingCount, paidCount);
+
+        return BillingSummaryResponse.builder()
+                .totalEarned(totalEarned)
+                .pendingAmount(pendingAmount)
+                .paidAmount(paidAmount)
+                .totalInvoices(totalCount)
+                .pendingInvoices(pendingCount)
+                .paidInvoices(paidCount)
+                .build();
     }
 
     /**
@@ -193,8 +231,6 @@ public class BillingService {
     private BillingResponse toBillingResponse(Billing billing) {
         log.debug("Converting billing to response: {}", billing.getInvoiceId());
 
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("en", "IN"));
-
         return BillingResponse.builder()
                 .id(billing.getId())
                 .invoiceId(billing.getInvoiceId())
@@ -203,15 +239,46 @@ public class BillingService {
                 .periodEnd(billing.getPeriodEnd())
                 .payoutPercentage(billing.getPayoutPercentage())
                 .amount(billing.getAmount())
-                .formattedAmount(currencyFormat.format(billing.getAmount()))
+                .formattedAmount(formatRupees(billing.getAmount()))
                 .status(billing.getStatus())
                 .generatedAt(billing.getGeneratedAt())
                 .paidAt(billing.getPaidAt())
+                .leadCount(billing.getLeadCount())
+                .disbursedAmount(billing.getDisbursedAmount())
+                .commissionAmount(billing.getCommissionAmount())
+                .gstAmount(billing.getGstAmount())
+                .tdsAmount(billing.getTdsAmount())
                 .dsaUniqueCode(billing.getUser().getDsaUniqueCode())
                 .dsaName(billing.getUser().getFullName())
                 .build();
     }
 
+    /**
+     * Format an amount as Indian rupees in the en-IN style (lakh grouping), with this thread's formatter.
+     */
+    static String formatRupees(BigDecimal amount) {
+        return RUPEE_FORMAT.get().format(amount);
+    }
+
+    /**
+     * Native equivalent of the billing list filter for planner estimates.
+     */
+    private TotalCountService.EstimateQuery billingEstimateQuery(UUID userId, BillingStatus status,
+            LocalDate periodStart) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM billing WHERE user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (periodStart != null) {
+            sql.append(" AND period_start >= ?");
+            args.add(periodStart);
+        }
+        return new TotalCountService.EstimateQuery(sql.toString(), args);
+    }
+
     /**
      * Safe amount helper - returns ZERO if null.
      */
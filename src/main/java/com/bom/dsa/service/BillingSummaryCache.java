@@ -0,0 +1,69 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.BillingSummaryResponse;
+import com.bom.dsa.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of billing summaries, keyed by DSA unique code.
+ * Entries expire after cache.billing-summary.ttl, which bounds how long a billing change
+ * made outside BillingService stays invisible; changes made through the service evict
+ * the DSA's entry. Hit and miss counts are published as the "billing.summary" cache metrics.
+ * Cached responses are shared between callers and must not be mutated.
+ */
+@Component
+@Slf4j
+public class BillingSummaryCache {
+
+    public static final String CACHE_NAME = "billing.summary";
+
+    private final Cache<String, BillingSummaryResponse> cache;
+
+    public BillingSummaryCache(MeterRegistry meterRegistry,
+            @Value("${cache.billing-summary.max-size:1000}") long maxSize,
+            @Value("${cache.billing-summary.ttl:PT1M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached summary for the DSA, loading it on a miss.
+     * Concurrent misses for the same DSA share one load; a loader exception is
+     * propagated and nothing is cached.
+     *
+     * @param dsaUniqueCode the DSA unique code
+     * @param loader        loads the summary from the database
+     * @return the billing summary
+     */
+    public BillingSummaryResponse get(String dsaUniqueCode, Function<String, BillingSummaryResponse> loader) {
+        return cache.get(dsaUniqueCode, loader);
+    }
+
+    /**
+     * Drop the cached summary for a DSA after their billing rows changed, once the
+     * calling transaction commits.
+     *
+     * @param dsaUniqueCode the DSA unique code
+     */
+    public void invalidate(String dsaUniqueCode) {
+        AfterCommit.run(() -> evict(dsaUniqueCode));
+    }
+
+    private void evict(String dsaUniqueCode) {
+        cache.invalidate(dsaUniqueCode);
+        log.debug("Invalidated cached billing summary for: {}", dsaUniqueCode);
+    }
+}
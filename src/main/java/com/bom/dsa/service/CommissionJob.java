@@ -0,0 +1,34 @@
+package com.bom.dsa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Bills the previous month's commissions on billing.commission.cron, early on the
+ * first of every month.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "billing.commission.job.enabled", havingValue = "true", matchIfMissing = true)
+public class CommissionJob {
+
+    private final CommissionService commissionService;
+
+    public CommissionJob(CommissionService commissionService) {
+        this.commissionService = commissionService;
+    }
+
+    @Scheduled(cron = "${billing.commission.cron:0 0 3 1 * *}", zone = "${analytics.zone:Asia/Kolkata}")
+    public void billPreviousMonth() {
+        YearMonth month = commissionService.currentMonth().minusMonths(1);
+        try {
+            commissionService.computeCommissions(month);
+        } catch (Exception e) {
+            log.error("Commission run for {} failed", month, e);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.config.JdbcSchedulerConfig;
+import com.bom.dsa.dto.response.CommissionRunResponse;
+import com.bom.dsa.exception.CustomExceptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Batch engine that bills DSAs for the leads disbursed in a calendar month (in analytics.zone).
+ * Every DSA with DISBURSED leads in the month gets one PENDING billing: commission at
+ * billing.commission-rate of the disbursed amount, GST at billing.gst-rate and TDS at
+ * billing.tds-rate of the commission, each rounded half-up to the paisa, and an amount
+ * payable of commission plus GST minus TDS. Leads keep no disbursement date, so a lead
+ * not yet billed is dated by its updated_at and counts with its amount_requested.
+ * Each billed lead is linked to its billing in billing_leads and stays with it, so a
+ * later write to the lead cannot bill it in another month.
+ * The DSAs are split into chunks of billing.commission.chunk-size that run on a fork-join
+ * pool of billing.commission.parallelism threads; a chunk reads its DSAs' leads in one
+ * query and writes their billings and links in batches, in its own transaction.
+ * Each thread holds a primary connection for its chunk, so the parallelism is capped at
+ * the primary pool size less billing.commission.reserved-connections, which stay free
+ * for requests during a run; 0 takes that cap as the parallelism.
+ * A run started over HTTP executes on its own thread rather than the jdbcScheduler, so it
+ * does not take one of the scheduler's threads for its whole duration.
+ * A rerun for the same month recomputes PENDING billings in place, from the leads already
+ * linked to them that are still disbursed plus any new ones, and deletes PENDING billings
+ * left without leads. Billings that were sent to the bank or paid are left untouched, so a
+ * failed run can simply be repeated.
+ */
+@Service
+@Slf4j
+public class CommissionService implements DisposableBean {
+
+    // DSAs with unbilled disbursed leads in the period, or with a PENDING billing of it to
+    // recompute, and whether they have a user account
+    static final String CREATORS_SQL = "SELECT c.code, EXISTS (SELECT 1 FROM users u WHERE u.dsa_unique_code = c.code) AS has_user "
+            + "FROM (SELECT l.created_by AS code FROM leads l "
+            + "WHERE l.status = 'DISBURSED' AND l.is_deleted = false AND l.updated_at >= ? AND l.updated_at < ? "
+            + "AND NOT EXISTS (SELECT 1 FROM billing_leads bl WHERE bl.lead_id = l.id) "
+            + "UNION SELECT u.dsa_unique_code FROM billing b JOIN users u ON u.id = b.user_id "
+            + "WHERE b.period_start = ? AND b.period_end = ? AND b.status = 'PENDING' AND b.lead_count IS NOT NULL) c "
+            + "ORDER BY c.code";
+
+    // Leads of the period's billings: unbilled leads disbursed in the period and those already
+    // linked to the DSA's PENDING billing of it; none for DSAs whose billing is already final
+    static final String LEADS_SQL = "SELECT l.id, u.id, u.dsa_unique_code, COALESCE(l.amount_requested, 0) "
+            + "FROM leads l JOIN users u ON u.dsa_unique_code = l.created_by "
+            + "LEFT JOIN billing_leads bl ON bl.lead_id = l.id "
+            + "LEFT JOIN billing lb ON lb.id = bl.billing_id "
+            + "WHERE l.created_by = ANY(?) AND l.status = 'DISBURSED' AND l.is_deleted = false "
+            + "AND NOT EXISTS (SELECT 1 FROM billing f WHERE f.user_id = u.id AND f.period_start = ? "
+            + "AND f.period_end = ? AND f.status <> 'PENDING') "
+            + "AND ((bl.lead_id IS NULL AND l.updated_at >= ? AND l.updated_at < ?) "
+            + "OR (lb.period_start = ? AND lb.period_end = ? AND lb.status = 'PENDING'))";
+
+    static final String UNLINK_SQL = "DELETE FROM billing_leads bl USING billing b, users u "
+            + "WHERE bl.billing_id = b.id AND b.user_id = u.id AND u.dsa_unique_code = ANY(?) "
+            + "AND b.period_start = ? AND b.period_end = ? AND b.status = 'PENDING'";
+
+    static final String BILLING_IDS_SQL = "SELECT b.user_id, b.id FROM billing b JOIN users u ON u.id = b.user_id "
+            + "WHERE u.dsa_unique_code = ANY(?) AND b.period_start = ? AND b.period_end = ? AND b.status = 'PENDING'";
+
+    static final String LINK_SQL = "INSERT INTO billing_leads (lead_id, billing_id) VALUES (?, ?)";
+
+    // Generated PENDING billings whose leads all dropped out, e.g. were deleted
+    static final String DELETE_EMPTY_SQL = "DELETE FROM billing b USING users u "
+            + "WHERE b.user_id = u.id AND u.dsa_unique_code = ANY(?) AND b.period_start = ? AND b.period_end = ? "
+            + "AND b.status = 'PENDING' AND b.lead_count IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM billing_leads bl WHERE bl.billing_id = b.id)";
+
+    // Billings already sent or paid are final; unchanged PENDING ones keep their generated_at
+    static final String UPSERT_SQL = "INSERT INTO billing (invoice_id, user_id, period_start, period_end, "
+            + "payout_percentage, amount, status, generated_at, lead_count, disbursed_amount, commission_amount, "
+            + "gst_amount, tds_amount) VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, period_start, period_end) DO UPDATE SET "
+            + "payout_percentage = EXCLUDED.payout_percentage, amount = EXCLUDED.amount, "
+            + "generated_at = EXCLUDED.generated_at, lead_count = EXCLUDED.lead_count, "
+            + "disbursed_amount = EXCLUDED.disbursed_amount, commission_amount = EXCLUDED.commission_amount, "
+            + "gst_amount = EXCLUDED.gst_amount, tds_amount = EXCLUDED.tds_amount "
+            + "WHERE billing.status = 'PENDING' AND (billing.payout_percentage, billing.amount, billing.lead_count, "
+            + "billing.disbursed_amount, billing.commission_amount, billing.gst_amount, billing.tds_amount) "
+            + "IS DISTINCT FROM (EXCLUDED.payout_percentage, EXCLUDED.amount, EXCLUDED.lead_count, "
+            + "EXCLUDED.disbursed_amount, EXCLUDED.commission_amount, EXCLUDED.gst_amount, EXCLUDED.tds_amount)";
+
+    private static final DateTimeFormatter INVOICE_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int LINK_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BillingSummaryCache billingSummaryCache;
+    private final TotalCountService totalCountService;
+    private final Scheduler runScheduler = Schedulers.newSingle("commission-run");
+    private final BigDecimal commissionRate;
+    private final BigDecimal gstRate;
+    private final BigDecimal tdsRate;
+    private final ZoneId zone;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CommissionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            BillingSummaryCache billingSummaryCache, TotalCountService totalCountService,
+            @Value("${billing.commission-rate:0.005}") BigDecimal commissionRate,
+            @Value("${billing.gst-rate:0.18}") BigDecimal gstRate,
+            @Value("${billing.tds-rate:0.05}") BigDecimal tdsRate,
+            @Value("${analytics.zone:Asia/Kolkata}") ZoneId zone,
+            @Value("${billing.commission.parallelism:0}") int parallelism,
+            @Value("${billing.commission.reserved-connections:3}") int reservedConnections,
+            @Value("${billing.commission.chunk-size:200}") int chunkSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.billingSummaryCache = billingSummaryCache;
+        this.totalCountService = totalCountService;
+        this.commissionRate = commissionRate;
+        this.gstRate = gstRate;
+        this.tdsRate = tdsRate;
+        this.zone = zone;
+        this.chunkSize = chunkSize;
+        int cap = Math.max(1, JdbcSchedulerConfig.poolSize(dataSource) - reservedConnections);
+        int threads = parallelism > 0 ? Math.min(parallelism, cap) : cap;
+        if (parallelism > threads) {
+            log.warn("Commission parallelism {} exceeds the connection budget; using {} threads", parallelism, threads);
+        }
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("commission-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Generate or refresh the billings of a month.
+     *
+     * @param month the billing period
+     * @return Mono containing the totals of the billed DSAs
+     */
+    public Mono<CommissionRunResponse> runCommissions(YearMonth month) {
+        return Mono.defer(() -> running.get()
+                ? Mono.error(new CustomExceptions.InvalidOperationException("A commission run is already in progress"))
+                : Mono.fromCallable(() -> computeCommissions(month)).subscribeOn(runScheduler));
+    }
+
+    /**
+     * Generate or refresh the billings of a month, blocking until every chunk is written.
+     * Chunks written before a failure stay committed.
+     *
+     * @param month the billing period; not after the current month
+     * @return the totals of the billed DSAs
+     * @throws CustomExceptions.BusinessException         if the month is in the future
+     * @throws CustomExceptions.InvalidOperationException if a run is already in progress
+     */
+    public CommissionRunResponse computeCommissions(YearMonth month) {
+        if (month.isAfter(currentMonth())) {
+            throw new CustomExceptions.BusinessException("Cannot bill commissions for a future month: " + month);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new CustomExceptions.InvalidOperationException("A commission run is already in progress");
+        }
+        long start = System.nanoTime();
+        try {
+            Period period = new Period(month.atDay(1), month.atEndOfMonth(), utcStartOf(month.atDay(1)),
+                    utcStartOf(month.plusMonths(1).atDay(1)), LocalDateTime.now(ZoneOffset.UTC));
+            List<String> creators = new ArrayList<>();
+            int unmatched = 0;
+            for (Map<String, Object> row : jdbcTemplate.queryForList(CREATORS_SQL, period.fromUtc(), period.toUtc(),
+                    period.start(), period.end())) {
+                if (Boolean.TRUE.equals(row.get("has_user"))) {
+                    creators.add((String) row.get("code"));
+                } else {
+                    unmatched++;
+                }
+            }
+            Totals totals = creators.isEmpty() ? Totals.EMPTY
+                    : pool.invoke(new ChunkTask(creators, 0, creators.size(), period));
+
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (unmatched > 0) {
+                log.warn("{} creators of disbursed leads in {} have no user account and were not billed",
+                        unmatched, month);
+            }
+            log.info("Commission run for {}: {} DSAs, {} leads, commission {}, payable {}, {} empty billings "
+                    + "deleted in {} ms", month, totals.dsaCount(), totals.leadCount(), totals.commission(),
+                    totals.payable(), totals.deleted(), durationMs);
+            return CommissionRunResponse.builder()
+                    .periodStart(period.start())
+                    .periodEnd(period.end())
+                    .dsaCount(totals.dsaCount())
+                    .leadCount(totals.leadCount())
+                    .disbursedAmount(totals.disbursed())
+                    .commissionAmount(totals.commission())
+                    .gstAmount(totals.gst())
+                    .tdsAmount(totals.tds())
+                    .payableAmount(totals.payable())
+                    .unmatchedCreators(unmatched)
+                    .deletedBillings(totals.deleted())
+                    .durationMs(durationMs)
+                    .build();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Commission, GST, TDS and amount payable on a disbursed amount, exact to the paisa.
+     */
+    Commission compute(BigDecimal disbursed) {
+        BigDecimal commission = disbursed.multiply(commissionRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal gst = commission.multiply(gstRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal tds = commission.multiply(tdsRate).setScale(2, RoundingMode.HALF_UP);
+        return new Commission(commission, gst, tds, commission.add(gst).subtract(tds));
+    }
+
+    /**
+     * The current month in analytics.zone.
+     */
+    public YearMonth currentMonth() {
+        return YearMonth.now(zone);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+        runScheduler.dispose();
+    }
+
+    /**
+     * Bill the period's leads of some DSAs in one transaction: upsert their billings,
+     * relink the leads and delete billings left without leads.
+     */
+    private Totals billChunk(List<String> creators, Period period) {
+        return transactionTemplate.execute(status -> {
+            Map<String, DsaBilling> billingsByCode = new LinkedHashMap<>();
+            jdbcTemplate.query(LEADS_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", creators.toArray()));
+                ps.setObject(2, period.start());
+                ps.setObject(3, period.end());
+                ps.setObject(4, period.fromUtc());
+                ps.setObject(5, period.toUtc());
+                ps.setObject(6, period.start());
+                ps.setObject(7, period.end());
+            }, rs -> {
+                UUID userId = rs.getObject(2, UUID.class);
+                billingsByCode.computeIfAbsent(rs.getString(3), code -> new DsaBilling(userId))
+                        .add(rs.getObject(1, UUID.class), rs.getBigDecimal(4));
+            });
+            List<DsaBilling> billings = new ArrayList<>(billingsByCode.values());
+
+            String invoicePrefix = "BOMI" + period.start().format(INVOICE_MONTH) + "-";
+            jdbcTemplate.batchUpdate(UPSERT_SQL, billings, chunkSize, (ps, billing) -> {
+                Commission commission = compute(billing.disbursed());
+                ps.setString(1, invoicePrefix + billing.userId().toString().replace("-", ""));
+                ps.setObject(2, billing.userId());
+                ps.setObject(3, period.start());
+                ps.setObject(4, period.end());
+                ps.setBigDecimal(5, commissionRate);
+                ps.setBigDecimal(6, commission.payable());
+                ps.setObject(7, period.generatedAt());
+                ps.setInt(8, billing.leadIds().size());
+                ps.setBigDecimal(9, billing.disbursed());
+                ps.setBigDecimal(10, commission.commission());
+                ps.setBigDecimal(11, commission.gst());
+                ps.setBigDecimal(12, commission.tds());
+            });
+
+            jdbcTemplate.update(UNLINK_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", creators.toArray()));
+                ps.setObject(2, period.start());
+                ps.setObject(3, period.end());
+            });
+            Map<UUID, UUID> billingIdByUser = new HashMap<>();
+            jdbcTemplate.query(BILLING_IDS_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", creators.toArray()));
+                ps.setObject(2, period.start());
+                ps.setObject(3, period.end());
+            }, rs -> {
+                billingIdByUser.put(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+            });
+            List<UUID[]> links = new ArrayList<>();
+            for (DsaBilling billing : billings) {
+                UUID billingId = billingIdByUser.get(billing.userId());
+                billing.leadIds().forEach(leadId -> links.add(new UUID[] { leadId, billingId }));
+            }
+            jdbcTemplate.batchUpdate(LINK_SQL, links, LINK_BATCH_SIZE, (ps, link) -> {
+                ps.setObject(1, link[0]);
+                ps.setObject(2, link[1]);
+            });
+
+            int deleted = jdbcTemplate.update(DELETE_EMPTY_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", creators.toArray()));
+                ps.setObject(2, period.start());
+                ps.setObject(3, period.end());
+            });
+            creators.forEach(code -> {
+                billingSummaryCache.invalidate(code);
+                totalCountService.invalidate(TotalCountService.BILLINGS, code);
+            });
+
+            Totals totals = new Totals(0, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, deleted);
+            for (DsaBilling billing : billings) {
+                Commission commission = compute(billing.disbursed());
+                totals = totals.plus(new Totals(1, billing.leadIds().size(), billing.disbursed(),
+                        commission.commission(), commission.gst(), commission.tds(), commission.payable(), 0));
+            }
+            return totals;
+        });
+    }
+
+    // leads timestamps are stored as UTC wall-clock time
+    private LocalDateTime utcStartOf(LocalDate day) {
+        return LocalDateTime.ofInstant(day.atStartOfDay(zone).toInstant(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Bills the creators in [from, to), halving the range until it fits in one chunk.
+     */
+    private final class ChunkTask extends RecursiveTask<Totals> {
+
+        private final List<String> creators;
+        private final int from;
+        private final int to;
+        private final Period period;
+
+        ChunkTask(List<String> creators, int from, int to, Period period) {
+            this.creators = creators;
+            this.from = from;
+            this.to = to;
+            this.period = period;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= chunkSize) {
+                return billChunk(creators.subList(from, to), period);
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(creators, from, mid, period);
+            left.fork();
+            Totals right = new ChunkTask(creators, mid, to, period).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    record Commission(BigDecimal commission, BigDecimal gst, BigDecimal tds, BigDecimal payable) {
+    }
+
+    private record Period(LocalDate start, LocalDate end, LocalDateTime fromUtc, LocalDateTime toUtc,
+            LocalDateTime generatedAt) {
+    }
+
+    /**
+     * A DSA's leads in a billing and their total disbursed amount.
+     */
+    private static final class DsaBilling {
+
+        private final UUID userId;
+        private final List<UUID> leadIds = new ArrayList<>();
+        private BigDecimal disbursed = BigDecimal.ZERO.setScale(2);
+
+        DsaBilling(UUID userId) {
+            this.userId = userId;
+        }
+
+        void add(UUID leadId, BigDecimal amount) {
+            leadIds.add(leadId);
+            disbursed = disbursed.add(amount).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        UUID userId() {
+            return userId;
+        }
+
+        List<UUID> leadIds() {
+            return leadIds;
+        }
+
+        BigDecimal disbursed() {
+            return disbursed;
+        }
+    }
+
+    private record Totals(int dsaCount, long leadCount, BigDecimal disbursed, BigDecimal commission,
+            BigDecimal gst, BigDecimal tds, BigDecimal payable, int deleted) {
+
+        static final Totals EMPTY = new Totals(0, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(dsaCount + other.dsaCount, leadCount + other.leadCount,
+                    disbursed.add(other.disbursed), commission.add(other.commission), gst.add(other.gst),
+                    tds.add(other.tds), payable.add(other.payable), deleted + other.deleted);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Per-user cache of dashboard analytics responses with stale-while-revalidate.
+ * A response is fresh for cache.dashboard.ttl. After that it is still served, for up to
+ * cache.dashboard.max-stale, while a single background refresh replaces it.
+ * Concurrent misses for the same user share one load.
+ * Hit and miss counts are published as the "dashboard.analytics" cache metrics, together
+ * with the hit ratio, stale serves and load/refresh latency.
+ * Cached responses are shared between callers and must not be mutated.
+ */
+@Component
+@Slf4j
+public class DashboardAnalyticsCache {
+
+    public static final String CACHE_NAME = "dashboard.analytics";
+
+    private final AsyncCache<String, Entry> cache;
+    private final long ttlNanos;
+    private final Counter staleCounter;
+    private final Counter refreshFailedCounter;
+    private final Timer loadTimer;
+    private final Timer refreshTimer;
+
+    public DashboardAnalyticsCache(MeterRegistry meterRegistry,
+            @Value("${cache.dashboard.ttl:PT30S}") Duration ttl,
+            @Value("${cache.dashboard.max-stale:PT5M}") Duration maxStale,
+            @Value("${cache.dashboard.max-size:1000}") long maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl.plus(maxStale))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of dashboard requests answered from the cache, stale ones included")
+                .register(meterRegistry);
+        this.staleCounter = Counter.builder(CACHE_NAME + ".stale")
+                .description("Dashboard responses served stale while a refresh runs")
+                .register(meterRegistry);
+        this.refreshFailedCounter = Counter.builder(CACHE_NAME + ".refresh.failed")
+                .description("Background dashboard refreshes that failed; the stale response is kept")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder(CACHE_NAME + ".load")
+                .description("Time to compute dashboard analytics")
+                .tag("type", "miss")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder(CACHE_NAME + ".load")
+                .description("Time to compute dashboard analytics")
+                .tag("type", "refresh")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the user's cached response, loading it on a miss.
+     * A stale response is returned as is and triggers a background refresh, unless one
+     * is already running. A failed or empty load caches nothing; a failed refresh keeps
+     * the stale response until it expires.
+     *
+     * @param username the dashboard user
+     * @param loader   computes the response
+     * @return Mono of the dashboard analytics
+     */
+    public Mono<DashboardAnalyticsResponse> get(String username,
+            Function<String, Mono<DashboardAnalyticsResponse>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<Entry> future = cache.get(username, (key, executor) -> load(key, loader, loadTimer));
+            // A cancelled request must not cancel the load other callers are waiting on
+            return Mono.fromFuture(future, true).map(entry -> {
+                if (System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+                    staleCounter.increment();
+                    refresh(username, future, entry, loader);
+                }
+                return entry.response();
+            });
+        });
+    }
+
+    /**
+     * Drop the cached response for a user, so their next request loads fresh counts.
+     * Inside a transaction the eviction waits for the commit.
+     *
+     * @param username the dashboard user
+     */
+    public void invalidate(String username) {
+        AfterCommit.run(() -> evict(username));
+    }
+
+    private void refresh(String username, CompletableFuture<Entry> current, Entry stale,
+            Function<String, Mono<DashboardAnalyticsResponse>> loader) {
+        if (!stale.refreshing().compareAndSet(false, true)) {
+            return;
+        }
+        load(username, loader, refreshTimer).whenComplete((fresh, error) -> {
+            if (error != null || fresh == null) {
+                stale.refreshing().set(false);
+                refreshFailedCounter.increment();
+                log.warn("Failed to refresh dashboard analytics for user: {}: {}", username,
+                        error != null ? error.getMessage() : "empty result");
+                return;
+            }
+            // Skipped if the entry was invalidated or replaced meanwhile
+            cache.asMap().replace(username, current, CompletableFuture.completedFuture(fresh));
+        });
+    }
+
+    private static CompletableFuture<Entry> load(String username,
+            Function<String, Mono<DashboardAnalyticsResponse>> loader, Timer timer) {
+        long start = System.nanoTime();
+        return Mono.defer(() -> loader.apply(username))
+                .map(response -> new Entry(response, System.nanoTime(), new AtomicBoolean()))
+                .doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .toFuture();
+    }
+
+    private void evict(String username) {
+        cache.synchronous().invalidate(username);
+        log.debug("Invalidated cached dashboard analytics for user: {}", username);
+    }
+
+    private record Entry(DashboardAnalyticsResponse response, long loadedAt, AtomicBoolean refreshing) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+/**
+ * In-process fan-out of lead count deltas to dashboard streams.
+ * Each subscriber gets its own buffer of dashboard.stream.buffer-size deltas, so a slow
+ * client never holds up lead writes or other clients. A subscriber whose buffer
+ * overflows is failed with an overflow error instead of silently missing deltas; the
+ * error reaches it after the deltas already buffered, once it has drained them.
+ * Publishes the number of subscribers and of overflowed subscribers.
+ */
+@Component
+@Slf4j
+public class DashboardEventBus {
+
+    // Best effort: a subscriber without demand misses the delta, but every subscriber
+    // requests unbounded through its own buffer
+    private final Sinks.Many<DashboardDelta> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Counter overflowCounter;
+
+    public DashboardEventBus(MeterRegistry meterRegistry,
+            @Value("${dashboard.stream.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        Gauge.builder("dashboard.stream.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open dashboard streams")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("dashboard.stream.overflow")
+                .description("Dashboard streams dropped because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish deltas to every subscriber, after the calling transaction commits.
+     *
+     * @param deltas the count changes, in publication order
+     */
+    public void publish(List<DashboardDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> emit(deltas));
+    }
+
+    /**
+     * Stream of deltas published from now on.
+     * Errors with an overflow exception (see reactor.core.Exceptions#isOverflow) when
+     * more than dashboard.stream.buffer-size deltas wait for the subscriber.
+     *
+     * @param createdBy only deltas of this creator; null for all
+     * @return the subscriber's deltas
+     */
+    public Flux<DashboardDelta> subscribe(String createdBy) {
+        return sink.asFlux()
+                .filter(delta -> createdBy == null || createdBy.equals(delta.getCreatedBy()))
+                .onBackpressureBuffer(bufferSize, dropped -> {
+                    overflowCounter.increment();
+                    log.warn("Dashboard stream buffer overflowed for user: {}", createdBy);
+                }, BufferOverflowStrategy.ERROR);
+    }
+
+    // Sinks reject concurrent emissions, and commits run on many threads
+    private synchronized void emit(List<DashboardDelta> deltas) {
+        for (DashboardDelta delta : deltas) {
+            sink.tryEmitNext(delta);
+        }
+    }
+}
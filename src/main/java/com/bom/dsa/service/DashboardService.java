@@ -1,19 +1,33 @@
 package com.bom.dsa.service;
 
+import com.bom.dsa.dto.request.LeadFactFilter;
 import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.dto.response.DashboardSnapshot;
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.enums.DsaStatus;
+import com.bom.dsa.enums.FactDimension;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.LeadReactiveRepository;
 import com.bom.dsa.repository.LeadRepository;
 import com.bom.dsa.repository.DsaRepository; // Added import
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Service for dashboard analytics.
@@ -25,161 +39,198 @@ public class DashboardService {
 
     private final LeadRepository leadRepository;
     private final DsaRepository dsaRepository; // Added DsaRepository
+    // Per-user counts come from the lead_stats rollup, not from counting leads
+    private final LeadStatsService leadStatsService;
+    private final DashboardAnalyticsCache dashboardAnalyticsCache;
+    // Admin lead counts and amounts are answered from memory once it has loaded
+    private final LeadFactStore leadFactStore;
+    // Present when lead.read-path=r2dbc; lead counts are then read without blocking
+    private final LeadReactiveRepository reactiveRepository;
+    private final Scheduler jdbcScheduler;
+    // Every dashboard query is read-only, so it may be served by the replica
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    // Except stream snapshots, which must not lag the deltas that follow them
+    private final TransactionTemplate primaryTransactionTemplate;
 
-    public DashboardService(LeadRepository leadRepository, DsaRepository dsaRepository) { // Updated constructor
+    public DashboardService(LeadRepository leadRepository, DsaRepository dsaRepository,
+            LeadStatsService leadStatsService, DashboardAnalyticsCache dashboardAnalyticsCache,
+            LeadFactStore leadFactStore, Optional<LeadReactiveRepository> reactiveRepository, Scheduler jdbcScheduler,
+            PlatformTransactionManager transactionManager) {
         this.leadRepository = leadRepository;
         this.dsaRepository = dsaRepository;
+        this.leadStatsService = leadStatsService;
+        this.dashboardAnalyticsCache = dashboardAnalyticsCache;
+        this.leadFactStore = leadFactStore;
+        this.reactiveRepository = reactiveRepository.orElse(null);
+        this.jdbcScheduler = jdbcScheduler;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.primaryTransactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Get dashboard analytics for a DSA user.
+     * Served from DashboardAnalyticsCache; the counts may lag lead changes made by
+     * other writers by up to cache.dashboard.ttl.
+     * 
+     * @param username the DSA username
+     * @return Mono containing the user's dashboard analytics
+     */
     public Mono<DashboardAnalyticsResponse> getDashboardAnalytics(String username) {
-        log.info("Fetching dashboard analytics for user: {}", username);
-
-        return Mono.fromCallable(() -> {
-            try {
-                // Lead counts by status
-                Long totalLeads = safeCount(leadRepository.countByCreatedByAndIsDeletedFalse(username));
-                Long appliedLeads = safeCount(
-                        leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(username, LeadStatus.APPLIED));
-                Long underProcessLeads = safeCount(
-                        leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(username, LeadStatus.UNDER_PROCESS));
-                Long sanctionedLeads = safeCount(
-                        leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(username, LeadStatus.SANCTIONED));
-                Long disbursedLeads = safeCount(
-                        leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(username, LeadStatus.DISBURSED));
-                Long rejectedLeads = safeCount(
-                        leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(username, LeadStatus.REJECTED));
-
-                log.debug(
-                        "Lead counts - total: {}, applied: {}, underProcess: {}, sanctioned: {}, disbursed: {}, rejected: {}",
-                        totalLeads, appliedLeads, underProcessLeads, sanctionedLeads, disbursedLeads, rejectedLeads);
-
-                // Product-wise distribution
-                Map<String, Long> leadsByProductType = new HashMap<>();
-                try {
-                    List<Object[]> productTypeResults = leadRepository.countByCreatedByGroupByProductType(username);
-                    for (Object[] result : productTypeResults) {
-                        if (result[0] != null && result[1] != null) {
-                            leadsByProductType.put(result[0].toString(), (Long) result[1]);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Error fetching product type distribution: {}", e.getMessage());
-                }
+        return dashboardAnalyticsCache.get(username, this::loadDashboardAnalytics);
+    }
 
-                // Status-wise distribution
-                Map<String, Long> leadsByStatus = new HashMap<>();
-                try {
-                    List<Object[]> statusResults = leadRepository.countByCreatedByGroupByStatus(username);
-                    for (Object[] result : statusResults) {
-                        if (result[0] != null && result[1] != null) {
-                            leadsByStatus.put(result[0].toString(), (Long) result[1]);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Error fetching status distribution: {}", e.getMessage());
-                }
+    private Mono<DashboardAnalyticsResponse> loadDashboardAnalytics(String username) {
+        log.info("Fetching dashboard analytics for user: {}", username);
 
-                // Calculate conversion rate
-                String conversionRate = "0%";
-                if (totalLeads > 0) {
-                    double rate = (disbursedLeads * 100.0) / totalLeads;
-                    conversionRate = String.format("%.1f%%", rate);
-                }
+        if (reactiveRepository != null) {
+            return reactiveRepository.findLeadStats(username)
+                    .collectList()
+                    .map(stats -> userAnalytics(LeadCounts.of(stats)))
+                    .onErrorMap(e -> {
+                        log.error("Error fetching dashboard analytics for user: {}", username, e);
+                        return new CustomExceptions.BusinessException(
+                                "Failed to fetch dashboard analytics: " + e.getMessage());
+                    });
+        }
 
-                return DashboardAnalyticsResponse.builder()
-                        .totalLeads(totalLeads)
-                        .appliedLeads(appliedLeads)
-                        .underProcessLeads(underProcessLeads)
-                        .sanctionedLeads(sanctionedLeads)
-                        .disbursedLeads(disbursedLeads)
-                        .rejectedLeads(rejectedLeads)
-                        .leadsByProductType(leadsByProductType)
-                        .leadsByStatus(leadsByStatus)
-                        .conversionRate(conversionRate)
-                        .build();
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
+            try {
+                LeadCounts counts = leadStatsService.getCounts(username);
+                log.debug("Lead counts - total: {}, by status: {}, by product type: {}", counts.total(),
+                        counts.byStatus(), counts.byProductType());
+                return userAnalytics(counts);
 
             } catch (Exception e) {
                 log.error("Error fetching dashboard analytics for user: {}", username, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch dashboard analytics: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        })).subscribeOn(jdbcScheduler);
     }
 
     /**
      * Get admin dashboard analytics (all users).
+     * Lead counts and loan amounts come from LeadFactStore once it has loaded. Until then,
+     * and for the DSA statistics, the independent queries each run in their own read-only
+     * transaction on the JDBC scheduler, all at once, so the response takes as long as the
+     * slowest query.
      * 
      * @return Mono containing admin dashboard analytics
      */
     public Mono<DashboardAnalyticsResponse> getAdminDashboardAnalytics() {
         log.info("Fetching admin dashboard analytics");
+        return adminAnalytics(readOnlyTransactionTemplate, reactiveRepository);
+    }
 
-        return Mono.fromCallable(() -> {
-            try {
-                Long totalLeads = leadRepository.count();
-                Long appliedLeads = safeCount(leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.APPLIED));
-                Long underProcessLeads = safeCount(
-                        leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.UNDER_PROCESS));
-                Long sanctionedLeads = safeCount(leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.SANCTIONED));
-                Long disbursedLeads = safeCount(leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.DISBURSED));
-                Long rejectedLeads = safeCount(leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.REJECTED));
-
-                log.debug(
-                        "Admin dashboard - total: {}, applied: {}, underProcess: {}, sanctioned: {}, disbursed: {}, rejected: {}",
-                        totalLeads, appliedLeads, underProcessLeads, sanctionedLeads, disbursedLeads, rejectedLeads);
-
-                // Calculate conversion rate
-                String conversionRate = "0%";
-                if (totalLeads != null && totalLeads > 0) {
-                    double rate = (disbursedLeads * 100.0) / totalLeads;
-                    conversionRate = String.format("%.1f%%", rate);
-                }
+    /**
+     * Get a DSA user's dashboard analytics for a stream snapshot: uncached, from the
+     * primary, with the lead_stats counts they were computed from.
+     *
+     * @param username the DSA username
+     * @return Mono containing the snapshot
+     */
+    public Mono<DashboardSnapshot> getDashboardSnapshot(String username) {
+        log.info("Loading dashboard snapshot for user: {}", username);
+        return inTransaction(primaryTransactionTemplate, () -> {
+            List<LeadStat> stats = leadStatsService.getStats(username);
+            return snapshot(userAnalytics(LeadCounts.of(stats)), stats);
+        });
+    }
 
-                // DSA Statistics
-                Long totalDsas = dsaRepository.count();
-                Long empanelledDsas = safeCount(dsaRepository.countByStatus(com.bom.dsa.enums.DsaStatus.EMPANELLED));
-                Long pendingDsas = safeCount(dsaRepository.countByStatus(com.bom.dsa.enums.DsaStatus.PENDING));
-                Long activeDsas = safeCount(dsaRepository.countActiveDsas());
-                Long inactiveDsas = safeCount(dsaRepository.countInactiveDsas());
-
-                // Product-wise DSA distribution
-                Map<String, Long> productWiseDsaCount = new HashMap<>();
-                try {
-                    List<Object[]> dsaProductResults = dsaRepository.countDsaByProductType();
-                    for (Object[] result : dsaProductResults) {
-                        if (result[0] != null && result[1] != null) {
-                            productWiseDsaCount.put(result[0].toString(), (Long) result[1]);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Error fetching product-wise DSA distribution: {}", e.getMessage());
+    /**
+     * Get the admin dashboard analytics for a stream snapshot: uncached, from the
+     * primary, with the lead_stats counts of every creator.
+     *
+     * @return Mono containing the snapshot
+     */
+    public Mono<DashboardSnapshot> getAdminDashboardSnapshot() {
+        log.info("Loading admin dashboard snapshot");
+        return Mono.zip(adminAnalytics(primaryTransactionTemplate, null),
+                inTransaction(primaryTransactionTemplate, () -> leadStatsService.getStats(null)))
+                .map(results -> snapshot(results.getT1(), results.getT2()));
+    }
+
+    // reactive is null when the lead counts must come from the template's transactions
+    private Mono<DashboardAnalyticsResponse> adminAnalytics(TransactionTemplate template,
+            LeadReactiveRepository reactive) {
+        return Mono.defer(() -> {
+            Mono<Map<LeadStatus, Long>> leadsByStatus;
+            Mono<LoanAmounts> loanAmounts = inTransaction(template, this::loanAmounts);
+            if (leadFactStore.isReady()) {
+                LeadFactResponse facts = leadFactStore.query(LeadFactFilter.ALL, List.of(FactDimension.STATUS));
+                Map<LeadStatus, Long> byStatus = new EnumMap<>(LeadStatus.class);
+                Map<LeadStatus, BigDecimal> amountByStatus = new EnumMap<>(LeadStatus.class);
+                for (LeadFactResponse.Group group : facts.getGroups()) {
+                    LeadStatus status = LeadStatus.valueOf(group.getKey().get(FactDimension.STATUS));
+                    byStatus.put(status, group.getCount());
+                    amountByStatus.put(status, group.getAmount());
                 }
+                leadsByStatus = Mono.just(byStatus);
+                loanAmounts = Mono.just(new LoanAmounts(
+                        amountByStatus.getOrDefault(LeadStatus.SANCTIONED, BigDecimal.ZERO),
+                        amountByStatus.getOrDefault(LeadStatus.DISBURSED, BigDecimal.ZERO)));
+            } else if (reactive != null) {
+                leadsByStatus = reactive.countByStatus(null);
+            } else {
+                leadsByStatus = inTransaction(template, () -> {
+                    Map<LeadStatus, Long> byStatus = new EnumMap<>(LeadStatus.class);
+                    for (Object[] row : leadRepository.countGroupByStatus()) {
+                        byStatus.put((LeadStatus) row[0], ((Number) row[1]).longValue());
+                    }
+                    return byStatus;
+                });
+            }
+            return Mono.zip(leadsByStatus, loanAmounts, inTransaction(template, this::dsaCountsByStatus),
+                    inTransaction(template, this::productWiseDsaCount));
+        })
+                .map(results -> {
+                    Map<LeadStatus, Long> byStatus = results.getT1();
+                    LoanAmounts amounts = results.getT2();
+                    Map<DsaStatus, Long> dsasByStatus = results.getT3();
+                    // Every non-deleted lead has exactly one status, so the total is their sum
+                    long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+                    long disbursedLeads = byStatus.getOrDefault(LeadStatus.DISBURSED, 0L);
 
-                // Default total sanctioned amount as requested
-                BigDecimal totalSanctionedAmount = new BigDecimal("1000000.0");
-
-                return DashboardAnalyticsResponse.builder()
-                        .totalLeads(totalLeads != null ? totalLeads : 0L)
-                        .appliedLeads(appliedLeads)
-                        .underProcessLeads(underProcessLeads)
-                        .sanctionedLeads(sanctionedLeads)
-                        .disbursedLeads(disbursedLeads)
-                        .rejectedLeads(rejectedLeads)
-                        .conversionRate(conversionRate)
-                        .totalDsaCount(totalDsas)
-                        .empanelledDsaCount(empanelledDsas)
-                        .pendingDsaCount(pendingDsas)
-                        .activeDsaCount(activeDsas)
-                        .inactiveDsaCount(inactiveDsas)
-                        .productWiseDsaCount(productWiseDsaCount)
-                        .totalSanctionedAmount(totalSanctionedAmount)
-                        .build();
+                    log.debug("Admin dashboard - total: {}, by status: {}, amounts: {}, DSAs by status: {}",
+                            total, byStatus, amounts, dsasByStatus);
+                    return DashboardAnalyticsResponse.builder()
+                            .totalLeads(total)
+                            .appliedLeads(byStatus.getOrDefault(LeadStatus.APPLIED, 0L))
+                            .underProcessLeads(byStatus.getOrDefault(LeadStatus.UNDER_PROCESS, 0L))
+                            .sanctionedLeads(byStatus.getOrDefault(LeadStatus.SANCTIONED, 0L))
+                            .disbursedLeads(disbursedLeads)
+                            .rejectedLeads(byStatus.getOrDefault(LeadStatus.REJECTED, 0L))
+                            .conversionRate(conversionRate(disbursedLeads, total))
+                            .totalSanctionedAmount(amounts.sanctioned())
+                            .totalAmountDisbursed(amounts.disbursed())
+                            .totalDsaCount(dsasByStatus.values().stream().mapToLong(Long::longValue).sum())
+                            .empanelledDsaCount(dsasByStatus.getOrDefault(DsaStatus.EMPANELLED, 0L))
+                            .pendingDsaCount(dsasByStatus.getOrDefault(DsaStatus.PENDING, 0L))
+                            // EMPANELLED DSAs are active; rejected, returned and inactive ones are not
+                            .activeDsaCount(dsasByStatus.getOrDefault(DsaStatus.EMPANELLED, 0L))
+                            .inactiveDsaCount(dsasByStatus.getOrDefault(DsaStatus.REJECTED, 0L)
+                                    + dsasByStatus.getOrDefault(DsaStatus.RETURNED, 0L)
+                                    + dsasByStatus.getOrDefault(DsaStatus.INACTIVE, 0L))
+                            .productWiseDsaCount(results.getT4())
+                            .build();
+                })
+                .onErrorMap(e -> {
+                    log.error("Error fetching admin dashboard analytics", e);
+                    return new CustomExceptions.BusinessException(
+                            "Failed to fetch admin dashboard analytics: " + e.getMessage());
+                });
+    }
 
-            } catch (Exception e) {
-                log.error("Error fetching admin dashboard analytics", e);
-                throw new CustomExceptions.BusinessException(
-                        "Failed to fetch admin dashboard analytics: " + e.getMessage());
-            }
-        }).subscribeOn(Schedulers.boundedElastic());
+    /**
+     * Ad-hoc lead analytics across all DSAs, answered from LeadFactStore.
+     *
+     * @param filter  which leads to include
+     * @param groupBy dimensions to group by, in order; empty for totals only
+     * @return Mono containing lead counts and requested amounts per group
+     */
+    public Mono<LeadFactResponse> getLeadFacts(LeadFactFilter filter, List<FactDimension> groupBy) {
+        log.debug("Querying lead facts: {}, group by: {}", filter, groupBy);
+        return Mono.fromCallable(() -> leadFactStore.query(filter, groupBy));
     }
 
     /**
@@ -191,22 +242,24 @@ public class DashboardService {
     public Mono<Map<String, Long>> getStatusDistribution(String createdBy) {
         log.debug("Fetching status distribution for user: {}", createdBy);
 
-        return Mono.fromCallable(() -> {
+        if (reactiveRepository != null) {
+            return reactiveRepository.findLeadStats(createdBy)
+                    .collectList()
+                    .map(stats -> toNameMap(LeadCounts.of(stats).byStatus()))
+                    .onErrorMap(e -> new CustomExceptions.BusinessException(
+                            "Failed to fetch status distribution: " + e.getMessage()));
+        }
+
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
             try {
-                Map<String, Long> distribution = new HashMap<>();
-                List<Object[]> results = leadRepository.countByCreatedByGroupByStatus(createdBy);
-                for (Object[] result : results) {
-                    if (result[0] != null && result[1] != null) {
-                        distribution.put(result[0].toString(), (Long) result[1]);
-                    }
-                }
+                Map<String, Long> distribution = toNameMap(leadStatsService.getCounts(createdBy).byStatus());
                 log.debug("Status distribution fetched: {} entries", distribution.size());
                 return distribution;
             } catch (Exception e) {
                 log.error("Error fetching status distribution: {}", e.getMessage());
                 throw new CustomExceptions.BusinessException("Failed to fetch status distribution: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        })).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -218,28 +271,119 @@ public class DashboardService {
     public Mono<Map<String, Long>> getProductDistribution(String createdBy) {
         log.debug("Fetching product distribution for user: {}", createdBy);
 
-        return Mono.fromCallable(() -> {
+        if (reactiveRepository != null) {
+            return reactiveRepository.findLeadStats(createdBy)
+                    .collectList()
+                    .map(stats -> toNameMap(LeadCounts.of(stats).byProductType()))
+                    .onErrorMap(e -> new CustomExceptions.BusinessException(
+                            "Failed to fetch product distribution: " + e.getMessage()));
+        }
+
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
             try {
-                Map<String, Long> distribution = new HashMap<>();
-                List<Object[]> results = leadRepository.countByCreatedByGroupByProductType(createdBy);
-                for (Object[] result : results) {
-                    if (result[0] != null && result[1] != null) {
-                        distribution.put(result[0].toString(), (Long) result[1]);
-                    }
-                }
+                Map<String, Long> distribution = toNameMap(
+                        leadStatsService.getCounts(createdBy).byProductType());
                 log.debug("Product distribution fetched: {} entries", distribution.size());
                 return distribution;
             } catch (Exception e) {
                 log.error("Error fetching product distribution: {}", e.getMessage());
                 throw new CustomExceptions.BusinessException("Failed to fetch product distribution: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        })).subscribeOn(jdbcScheduler);
     }
 
     /**
-     * Safe count helper - returns 0 if null.
+     * Run a query in its own transaction of the template on the JDBC scheduler.
      */
-    private Long safeCount(Long value) {
-        return value != null ? value : 0L;
+    private <T> Mono<T> inTransaction(TransactionTemplate template, Supplier<T> query) {
+        return Mono.fromCallable(() -> template.execute(status -> query.get()))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private static DashboardSnapshot snapshot(DashboardAnalyticsResponse analytics, List<LeadStat> stats) {
+        List<DashboardSnapshot.Count> counts = new ArrayList<>(stats.size());
+        for (LeadStat stat : stats) {
+            if (stat.getLeadCount() > 0) {
+                counts.add(DashboardSnapshot.Count.builder()
+                        .createdBy(stat.getId().getCreatedBy())
+                        .status(stat.getId().getStatus())
+                        .productType(stat.getId().getProductType())
+                        .count(stat.getLeadCount())
+                        .build());
+            }
+        }
+        return DashboardSnapshot.builder().analytics(analytics).counts(counts).build();
+    }
+
+    private LoanAmounts loanAmounts() {
+        List<Object[]> rows = leadRepository.sumSanctionedAndDisbursedAmounts();
+        if (rows.isEmpty()) {
+            return new LoanAmounts(BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        return new LoanAmounts(toBigDecimal(rows.get(0)[0]), toBigDecimal(rows.get(0)[1]));
+    }
+
+    private Map<DsaStatus, Long> dsaCountsByStatus() {
+        Map<DsaStatus, Long> byStatus = new EnumMap<>(DsaStatus.class);
+        for (Object[] row : dsaRepository.countGroupByStatus()) {
+            if (row[0] != null) {
+                byStatus.put((DsaStatus) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return byStatus;
+    }
+
+    private Map<String, Long> productWiseDsaCount() {
+        Map<String, Long> productWiseDsaCount = new HashMap<>();
+        try {
+            List<Object[]> dsaProductResults = dsaRepository.countDsaByProductType();
+            for (Object[] result : dsaProductResults) {
+                if (result[0] != null && result[1] != null) {
+                    productWiseDsaCount.put(result[0].toString(), (Long) result[1]);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error fetching product-wise DSA distribution: {}", e.getMessage());
+        }
+        return productWiseDsaCount;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private static DashboardAnalyticsResponse userAnalytics(LeadCounts counts) {
+        long totalLeads = counts.total();
+        Map<LeadStatus, Long> byStatus = counts.byStatus();
+        return DashboardAnalyticsResponse.builder()
+                .totalLeads(totalLeads)
+                .appliedLeads(byStatus.getOrDefault(LeadStatus.APPLIED, 0L))
+                .underProcessLeads(byStatus.getOrDefault(LeadStatus.UNDER_PROCESS, 0L))
+                .sanctionedLeads(byStatus.getOrDefault(LeadStatus.SANCTIONED, 0L))
+                .disbursedLeads(byStatus.getOrDefault(LeadStatus.DISBURSED, 0L))
+                .rejectedLeads(byStatus.getOrDefault(LeadStatus.REJECTED, 0L))
+                .leadsByProductType(toNameMap(counts.byProductType()))
+                .leadsByStatus(toNameMap(byStatus))
+                .conversionRate(conversionRate(byStatus.getOrDefault(LeadStatus.DISBURSED, 0L), totalLeads))
+                .build();
+    }
+
+    private static String conversionRate(long disbursedLeads, long totalLeads) {
+        if (totalLeads <= 0) {
+            return "0%";
+        }
+        return String.format("%.1f%%", (disbursedLeads * 100.0) / totalLeads);
+    }
+
+    private static Map<String, Long> toNameMap(Map<? extends Enum<?>, Long> counts) {
+        Map<String, Long> byName = new HashMap<>();
+        counts.forEach((key, count) -> byName.put(key.name(), count));
+        return byName;
+    }
+
+    private record LoanAmounts(BigDecimal sanctioned, BigDecimal disbursed) {
     }
 }
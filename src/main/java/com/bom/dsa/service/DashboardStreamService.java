@@ -0,0 +1,90 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.dto.response.DashboardSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Server-Sent Event streams of the dashboard, replacing polling.
+ * A stream opens with a "snapshot" event carrying the dashboard analytics and the count
+ * of each creator, status and product type, read uncached from the primary, followed by
+ * a "delta" event for every committed change in lead counts; a keep-alive comment is
+ * sent every dashboard.stream.heartbeat. Deltas are collected from the moment the stream
+ * opens, so none is lost while the snapshot loads. One committed meanwhile may already be
+ * in the snapshot, so clients should set the key to the delta's count rather than add
+ * its delta. A client that falls too far behind gets a "resync" event,
+ * after the deltas buffered before it fell behind, and the stream completes; it should
+ * reconnect for a fresh snapshot.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String DELTA = "delta";
+    public static final String RESYNC = "resync";
+
+    private final DashboardService dashboardService;
+    private final DashboardEventBus eventBus;
+    private final Duration heartbeat;
+
+    public DashboardStreamService(DashboardService dashboardService, DashboardEventBus eventBus,
+            @Value("${dashboard.stream.heartbeat:PT15S}") Duration heartbeat) {
+        this.dashboardService = dashboardService;
+        this.eventBus = eventBus;
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * Stream a DSA user's dashboard: their analytics and counts, and deltas of their own leads.
+     *
+     * @param username the DSA username
+     * @return Flux of dashboard events
+     */
+    public Flux<ServerSentEvent<Object>> streamDashboard(String username) {
+        log.info("Opening dashboard stream for user: {}", username);
+        return stream(dashboardService.getDashboardSnapshot(username), eventBus.subscribe(username));
+    }
+
+    /**
+     * Stream the admin dashboard: overall analytics, every creator's counts and deltas of
+     * every creator's leads.
+     *
+     * @return Flux of dashboard events
+     */
+    public Flux<ServerSentEvent<Object>> streamAdminDashboard() {
+        log.info("Opening admin dashboard stream");
+        return stream(dashboardService.getAdminDashboardSnapshot(), eventBus.subscribe(null));
+    }
+
+    private Flux<ServerSentEvent<Object>> stream(Mono<DashboardSnapshot> snapshot,
+            Flux<DashboardDelta> deltas) {
+        return Flux.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Flux<ServerSentEvent<Object>> events = Flux.mergeSequential(
+                    snapshot.map(response -> event(SNAPSHOT, response)),
+                    deltas.map(delta -> event(DELTA, delta)))
+                    .onErrorResume(Exceptions::isOverflow, e -> Mono.just(ServerSentEvent.<Object>builder()
+                            .event(RESYNC)
+                            .build()))
+                    .doFinally(signal -> done.tryEmitEmpty());
+            Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeat)
+                    .map(tick -> ServerSentEvent.<Object>builder().comment("keep-alive").build())
+                    .takeUntilOther(done.asMono());
+            return Flux.merge(events, heartbeats);
+        });
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+}
@@ -6,21 +6,19 @@ import com.bom.dsa.client.ApprovalClient;
 import com.bom.dsa.entity.BankAccountDetails;
 import com.bom.dsa.entity.Dsa;
 import com.bom.dsa.entity.DsaDocument;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.DsaStatus;
 import com.bom.dsa.exception.CustomExceptions;
 import com.bom.dsa.repository.DsaRepository;
-import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import reactor.core.publisher.Mono;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,6 +30,7 @@ public class DsaService {
 
     private final DsaRepository dsaRepository;
     private final ApprovalClient approvalClient;
+    private final TotalCountService totalCountService;
 
     @Transactional
     public DsaResponseDto createDsa(DsaRequestDto request, String createdBy) {
@@ -87,6 +86,7 @@ public class DsaService {
         }
 
         Dsa savedDsa = dsaRepository.save(dsa);
+        totalCountService.invalidate(TotalCountService.DSAS, null);
         stageDsaProducts(savedDsa, request);
         return mapToResponse(savedDsa);
     }
@@ -125,6 +125,7 @@ public class DsaService {
         }
 
         Dsa savedDsa = dsaRepository.save(dsa);
+        totalCountService.invalidate(TotalCountService.DSAS, null);
         stageDsaProducts(savedDsa, request);
         return mapToResponse(savedDsa);
     }
@@ -177,27 +178,37 @@ public class DsaService {
         Dsa dsa = dsaRepository.findById(id)
                 .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("DSA", "id", id));
         dsa.setStatus(status);
-        return mapToResponse(dsaRepository.save(dsa));
+        Dsa savedDsa = dsaRepository.save(dsa);
+        totalCountService.invalidate(TotalCountService.DSAS, null);
+        return mapToResponse(savedDsa);
     }
 
     @Transactional(readOnly = true)
-    public Page<DsaResponseDto> getAllDsas(String category, DsaStatus status, Pageable pageable) {
-        Specification<Dsa> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            if (category != null && !category.isEmpty()) {
-                predicates.add(cb.equal(root.get("category"), category));
-            }
-            if (status != null) {
-                predicates.add(cb.equal(root.get("status"), status));
-            }
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+    public CountedPage<DsaResponseDto> getAllDsas(String category, DsaStatus status, Pageable pageable,
+            CountMode countMode) {
+        String categoryFilter = category != null && !category.isEmpty() ? category : null;
 
-        Page<Dsa> page = dsaRepository.findAll(spec, pageable);
-        List<DsaResponseDto> content = page.getContent().stream()
+        List<DsaResponseDto> content = dsaRepository.findDsas(categoryFilter, status, pageable).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
-        return new PageImpl<>(content, pageable, page.getTotalElements());
+        return totalCountService.toPage(TotalCountService.DSAS, null, Arrays.asList(categoryFilter, status),
+                content, pageable, countMode,
+                () -> dsaRepository.countDsas(categoryFilter, status),
+                dsaEstimateQuery(categoryFilter, status));
+    }
+
+    private TotalCountService.EstimateQuery dsaEstimateQuery(String category, DsaStatus status) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM ids_dsa WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (category != null) {
+            sql.append(" AND category = ?");
+            args.add(category);
+        }
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        return new TotalCountService.EstimateQuery(sql.toString(), args);
     }
 
     private DsaResponseDto mapToResponse(Dsa dsa) {
@@ -0,0 +1,305 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.entity.IdempotencyKey;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for create endpoints.
+ * The first request with a key claims it in the idempotency_keys table, runs the write
+ * and stores its response there for idempotency.ttl; retries with the same key, on any
+ * instance, replay that response, marked with the Idempotent-Replayed header, without
+ * running the write again. A retry that arrives on the same instance while the first
+ * request is still running waits for its result; on another instance it is rejected
+ * with 409 until the response is stored. Keys are scoped per operation and user, and
+ * reusing a key for a different request body is rejected. A failed write releases its
+ * key, so it can be retried with the same key. A claim whose instance died before
+ * storing the response can be taken over after idempotency.lease. Expired keys are
+ * purged every idempotency.purge-interval.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // A key released or expired between the claim and the read is claimed again
+    private static final int CLAIM_ATTEMPTS = 3;
+    private static final TypeReference<LinkedHashMap<String, List<String>>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    // Requests running on this instance, so concurrent duplicates share one result
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Scheduler jdbcScheduler;
+    private final Duration ttl;
+    private final Duration lease;
+    private final int purgeBatchSize;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter conflictCounter;
+
+    public IdempotencyService(MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            Scheduler jdbcScheduler,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl:PT1H}") Duration ttl,
+            @Value("${idempotency.lease:PT1M}") Duration lease,
+            @Value("${idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.objectMapper = objectMapper;
+        this.jdbcScheduler = jdbcScheduler;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lease = lease;
+        this.purgeBatchSize = purgeBatchSize;
+        this.executedCounter = Counter.builder("idempotency.requests").tag("result", "executed")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("idempotency.requests").tag("result", "replayed")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("idempotency.requests").tag("result", "conflict")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the action once per idempotency key.
+     *
+     * @param operation name of the endpoint, part of the key scope
+     * @param owner     authenticated user, part of the key scope
+     * @param key       the Idempotency-Key header value; null runs the action unconditionally
+     * @param request   request body, compared on replay
+     * @param action    performs the write
+     * @return Mono of the original or replayed response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<ResponseEntity<T>> execute(String operation, String owner, String key, Object request,
+            Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key == null) {
+            return Mono.defer(action);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new CustomExceptions.BusinessException(
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        return Mono.defer(() -> {
+            String scope = operation + "|" + owner + "|" + key;
+            InFlight entry = new InFlight(fingerprint(request));
+            entry.response = Mono.fromCallable(() -> claim(operation, owner, key, entry.fingerprint))
+                    .subscribeOn(jdbcScheduler)
+                    .flatMap(claim -> claim.stored() != null
+                            ? Mono.just(markReplayed(claim.stored()))
+                            : run(claim.claimId(), () -> (Mono<ResponseEntity<Object>>) (Mono<?>) action.get()))
+                    .doFinally(signal -> inFlight.remove(scope, entry))
+                    .cache();
+
+            InFlight existing = inFlight.putIfAbsent(scope, entry);
+            if (existing == null) {
+                return (Mono<ResponseEntity<T>>) (Mono<?>) entry.response;
+            }
+            if (!existing.fingerprint.equals(entry.fingerprint)) {
+                conflictCounter.increment();
+                log.warn("{} reused with a different request for {} by {}", HEADER, operation, owner);
+                return Mono.error(differentRequest());
+            }
+            replayedCounter.increment();
+            log.info("Sharing in-flight {} response for key {} by {}", operation, key, owner);
+            return (Mono<ResponseEntity<T>>) (Mono<?>) existing.response.map(IdempotencyService::markReplayed);
+        });
+    }
+
+    /**
+     * Variant of {@link #execute} for blocking writes, run on the JDBC scheduler.
+     */
+    public <T> Mono<ResponseEntity<T>> executeBlocking(String operation, String owner, String key, Object request,
+            Callable<ResponseEntity<T>> action) {
+        return execute(operation, owner, key, request, () -> Mono.fromCallable(action).subscribeOn(jdbcScheduler));
+    }
+
+    /**
+     * Delete keys past their replay deadline or abandoned lease.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}",
+            initialDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        try {
+            Integer purged = transactionTemplate.execute(
+                    status -> idempotencyKeyRepository.deleteExpiredBefore(Instant.now(), purgeBatchSize));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Idempotency key purge failed", e);
+        }
+    }
+
+    /**
+     * Claim the key, or read the response stored for it.
+     */
+    private Claim claim(String operation, String owner, String key, String fingerprint) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            Claim claim = transactionTemplate.execute(status -> {
+                UUID claimId = UUID.randomUUID();
+                Instant now = Instant.now();
+                if (idempotencyKeyRepository.claim(operation, owner, key, fingerprint, claimId, now,
+                        now.plus(lease)) == 1) {
+                    return new Claim(claimId, null);
+                }
+                return idempotencyKeyRepository.findByOperationAndOwnerAndIdempotencyKey(operation, owner, key)
+                        .map(stored -> stored(stored, operation, owner, key, fingerprint))
+                        .orElse(null);
+            });
+            if (claim != null) {
+                return claim;
+            }
+        }
+        throw new CustomExceptions.InvalidOperationException(HEADER + " could not be claimed, please retry");
+    }
+
+    private Claim stored(IdempotencyKey stored, String operation, String owner, String key, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            conflictCounter.increment();
+            log.warn("{} reused with a different request for {} by {}", HEADER, operation, owner);
+            throw differentRequest();
+        }
+        if (stored.getStatusCode() == null) {
+            conflictCounter.increment();
+            throw new CustomExceptions.InvalidOperationException(
+                    HEADER + " is in use by a request that is still being processed");
+        }
+        replayedCounter.increment();
+        log.info("Replaying stored {} response for key {} by {}", operation, key, owner);
+        return new Claim(null, readResponse(stored));
+    }
+
+    /**
+     * Run the write under a claim; store its response, or release the claim if it fails.
+     * A response that cannot be stored is still returned, and its key stays claimed until
+     * the lease ends.
+     */
+    private Mono<ResponseEntity<Object>> run(UUID claimId, Supplier<Mono<ResponseEntity<Object>>> action) {
+        executedCounter.increment();
+        return Mono.defer(action)
+                .onErrorResume(e -> Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(
+                                status -> idempotencyKeyRepository.release(claimId)))
+                        .subscribeOn(jdbcScheduler)
+                        .onErrorResume(releaseError -> {
+                            log.warn("Could not release {} claim {}: {}", HEADER, claimId, releaseError.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.error(e)))
+                .flatMap(response -> Mono.fromRunnable(() -> store(claimId, response))
+                        .subscribeOn(jdbcScheduler)
+                        .onErrorResume(storeError -> {
+                            log.error("Could not store {} response for claim {}", HEADER, claimId, storeError);
+                            return Mono.empty();
+                        })
+                        .thenReturn(response));
+    }
+
+    private void store(UUID claimId, ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        try {
+            String headers = objectMapper.writeValueAsString(response.getHeaders());
+            String json = body != null ? objectMapper.writeValueAsString(body) : null;
+            String bodyType = body != null ? body.getClass().getName() : null;
+            Integer stored = transactionTemplate.execute(status -> idempotencyKeyRepository.complete(claimId,
+                    response.getStatusCode().value(), headers, json, bodyType, Instant.now().plus(ttl)));
+            if (stored == null || stored == 0) {
+                log.warn("{} claim {} was taken over before its response was stored", HEADER, claimId);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write response for " + HEADER, e);
+        }
+    }
+
+    private ResponseEntity<Object> readResponse(IdempotencyKey stored) {
+        try {
+            Object body = stored.getBody() != null
+                    ? objectMapper.readValue(stored.getBody(),
+                            ClassUtils.forName(stored.getBodyType(), getClass().getClassLoader()))
+                    : null;
+            Map<String, List<String>> headers = stored.getHeaders() != null
+                    ? objectMapper.readValue(stored.getHeaders(), HEADERS_TYPE)
+                    : Map.of();
+            return ResponseEntity.status(stored.getStatusCode())
+                    .headers(httpHeaders -> httpHeaders.putAll(headers))
+                    .body(body);
+        } catch (JsonProcessingException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to read stored response for " + HEADER, e);
+        }
+    }
+
+    private static CustomExceptions.InvalidOperationException differentRequest() {
+        return new CustomExceptions.InvalidOperationException(
+                HEADER + " has already been used with a different request");
+    }
+
+    private static ResponseEntity<Object> markReplayed(ResponseEntity<Object> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(headers -> {
+                    headers.addAll(response.getHeaders());
+                    headers.set(REPLAYED_HEADER, "true");
+                })
+                .body(response.getBody());
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new CustomExceptions.BusinessException("Failed to read request for " + HEADER + ": "
+                    + e.getMessage());
+        }
+    }
+
+    private static final class InFlight {
+
+        private final String fingerprint;
+        private Mono<ResponseEntity<Object>> response;
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Either a new claim on the key or the response already stored for it.
+     */
+    private record Claim(UUID claimId, ResponseEntity<Object> stored) {
+    }
+}
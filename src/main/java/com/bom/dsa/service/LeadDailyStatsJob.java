@@ -0,0 +1,58 @@
+package com.bom.dsa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Background maintenance of the lead_daily_stats rollup.
+ * On startup it backfills the table from the leads table unless a backfill has
+ * completed before. Every night, on analytics.daily-stats.repair-cron, it rebuilds
+ * all counts of the last analytics.daily-stats.repair-days days before today, which
+ * picks up the sanctions, disbursements and rejections recorded on the leads since.
+ * A lead whose updated_at moves out of an older day keeps counting there until that
+ * day is rebuilt.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "analytics.daily-stats.job.enabled", havingValue = "true", matchIfMissing = true)
+public class LeadDailyStatsJob {
+
+    private final LeadTrendService leadTrendService;
+    private final int repairDays;
+
+    public LeadDailyStatsJob(LeadTrendService leadTrendService,
+            @Value("${analytics.daily-stats.repair-days:7}") int repairDays) {
+        this.leadTrendService = leadTrendService;
+        this.repairDays = repairDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int rows = leadTrendService.backfillIfIncomplete();
+            if (rows > 0) {
+                log.info("Backfilled lead_daily_stats with {} rows", rows);
+            }
+        } catch (Exception e) {
+            log.error("lead_daily_stats backfill failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${analytics.daily-stats.repair-cron:0 30 1 * * *}", zone = "${analytics.zone:Asia/Kolkata}")
+    public void repair() {
+        LocalDate yesterday = leadTrendService.today().minusDays(1);
+        try {
+            int rows = leadTrendService.rebuild(yesterday.minusDays(repairDays - 1L), yesterday);
+            log.info("Repaired lead_daily_stats for the last {} days: {} rows", repairDays, rows);
+        } catch (Exception e) {
+            log.error("lead_daily_stats repair failed", e);
+        }
+    }
+}
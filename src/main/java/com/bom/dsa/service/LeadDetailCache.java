@@ -0,0 +1,85 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.LeadResponse;
+import com.bom.dsa.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of lead detail responses, keyed by lead id.
+ * Entries expire after cache.lead-detail.ttl and are evicted beyond cache.lead-detail.max-size.
+ * Concurrent misses for the same lead share one load, and invalidating a lead also drops
+ * a load still in flight, so callers after the invalidation start a fresh one.
+ * Hit, miss and eviction counts are published as the "lead.detail" cache metrics.
+ * Cached responses are shared between callers and must not be mutated.
+ */
+@Component
+@Slf4j
+public class LeadDetailCache {
+
+    public static final String CACHE_NAME = "lead.detail";
+
+    private final AsyncCache<UUID, LeadResponse> cache;
+
+    public LeadDetailCache(MeterRegistry meterRegistry,
+            @Value("${cache.lead-detail.max-size:5000}") long maxSize,
+            @Value("${cache.lead-detail.ttl:PT2M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Return the cached response for the lead, loading it on a miss.
+     * The loader runs on the calling thread; a loader exception is propagated and
+     * nothing is cached.
+     *
+     * @param leadId the lead ID
+     * @param loader loads the response from the database
+     * @return the lead response
+     */
+    public LeadResponse get(UUID leadId, Function<UUID, LeadResponse> loader) {
+        return cache.synchronous().get(leadId, loader);
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(UUID, Function)} for loaders that return a Mono.
+     * An empty or failed load caches nothing.
+     *
+     * @param leadId the lead ID
+     * @param loader loads the response from the database
+     * @return Mono of the lead response
+     */
+    public Mono<LeadResponse> getAsync(UUID leadId, Function<UUID, Mono<LeadResponse>> loader) {
+        // A cancelled request must not cancel the load other callers are waiting on
+        return Mono.defer(() -> Mono.fromFuture(
+                cache.get(leadId, (key, executor) -> loader.apply(key).toFuture()), true));
+    }
+
+    /**
+     * Drop the cached response for a lead, after the calling transaction commits.
+     *
+     * @param leadId the lead ID
+     */
+    public void invalidate(UUID leadId) {
+        AfterCommit.run(() -> evict(leadId));
+    }
+
+    private void evict(UUID leadId) {
+        cache.synchronous().invalidate(leadId);
+        log.debug("Invalidated cached lead detail: {}", leadId);
+    }
+}
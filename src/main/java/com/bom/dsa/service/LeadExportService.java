@@ -0,0 +1,223 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.LeadExportRow;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.exception.CustomExceptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams leads for bulk export.
+ * Rows are read through a forward-only JDBC cursor with a fixed fetch size
+ * (export.leads.fetch-size) and emitted on demand, so memory use does not depend
+ * on the number of exported leads. Each export holds one pooled connection until
+ * the stream completes or is cancelled; the connection is marked read-only before
+ * the query, so with datasource.replica.enabled it comes from the replica pool. The
+ * number of concurrent exports is capped by admission control.
+ */
+@Service
+@Slf4j
+public class LeadExportService {
+
+    static final String CSV_HEADER = "leadId,applicationReferenceNumber,productType,status,customerName,"
+            + "mobileNumber,emailAddress,amountRequested,createdBy,createdAt,updatedAt";
+
+    private static final String EXPORT_SELECT = "SELECT id, application_reference_number, product_type, status, "
+            + "customer_name, mobile_number, email_address, amount_requested, created_by, created_at, updated_at "
+            + "FROM leads WHERE is_deleted = false";
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+    private final Scheduler jdbcScheduler;
+
+    public LeadExportService(DataSource dataSource,
+            @Value("${export.leads.fetch-size:500}") int fetchSize,
+            Scheduler jdbcScheduler) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * Stream non-deleted leads, newest first.
+     *
+     * @param createdBy optional creator username; null exports every DSA
+     * @param from      optional inclusive lower bound on creation time
+     * @param to        optional exclusive upper bound on creation time
+     * @return Flux of export rows
+     */
+    public Flux<LeadExportRow> exportLeads(String createdBy, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return Flux.error(new CustomExceptions.BusinessException("'from' must be before 'to'"));
+        }
+        log.info("Exporting leads for createdBy: {}, from: {}, to: {}", createdBy, from, to);
+
+        return Flux.using(
+                () -> openCursor(createdBy, from, to),
+                cursor -> Flux.<LeadExportRow>generate(sink -> {
+                    try {
+                        if (cursor.resultSet().next()) {
+                            sink.next(mapRow(cursor.resultSet()));
+                        } else {
+                            sink.complete();
+                        }
+                    } catch (SQLException e) {
+                        log.error("Error reading lead export cursor", e);
+                        sink.error(new CustomExceptions.BusinessException("Failed to export leads: " + e.getMessage()));
+                    }
+                }),
+                this::closeCursor)
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Stream the same rows as {@link #exportLeads} as CSV lines, header first.
+     *
+     * @param createdBy optional creator username; null exports every DSA
+     * @param from      optional inclusive lower bound on creation time
+     * @param to        optional exclusive upper bound on creation time
+     * @return Flux of CRLF-terminated CSV lines
+     */
+    public Flux<String> exportLeadsCsv(String createdBy, Instant from, Instant to) {
+        return Flux.concat(Mono.just(CSV_HEADER + "\r\n"),
+                exportLeads(createdBy, from, to).map(LeadExportService::toCsvLine));
+    }
+
+    private Cursor openCursor(String createdBy, Instant from, Instant to) throws SQLException {
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        List<Object> args = new ArrayList<>();
+        if (createdBy != null) {
+            sql.append(" AND created_by = ?");
+            args.add(createdBy);
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(from.atOffset(ZoneOffset.UTC));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(to.atOffset(ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC");
+
+        Connection connection = dataSource.getConnection();
+        try {
+            // The PostgreSQL driver only streams with a fetch size inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return new Cursor(connection, statement, statement.executeQuery());
+        } catch (SQLException e) {
+            release(connection);
+            throw e;
+        }
+    }
+
+    private void closeCursor(Cursor cursor) {
+        try {
+            cursor.resultSet().close();
+            cursor.statement().close();
+        } catch (SQLException e) {
+            log.warn("Failed to close lead export cursor: {}", e.getMessage());
+        }
+        release(cursor.connection());
+        log.debug("Closed lead export cursor");
+    }
+
+    private void release(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setReadOnly(false);
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.warn("Failed to reset lead export connection: {}", e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close lead export connection: {}", e.getMessage());
+        }
+    }
+
+    private static LeadExportRow mapRow(ResultSet rs) throws SQLException {
+        return LeadExportRow.builder()
+                .leadId(rs.getObject("id", UUID.class))
+                .applicationReferenceNumber(rs.getString("application_reference_number"))
+                .productType(ProductType.valueOf(rs.getString("product_type")))
+                .status(LeadStatus.valueOf(rs.getString("status")))
+                .customerName(rs.getString("customer_name"))
+                .mobileNumber(rs.getString("mobile_number"))
+                .emailAddress(rs.getString("email_address"))
+                .amountRequested(rs.getBigDecimal("amount_requested"))
+                .createdBy(rs.getString("created_by"))
+                .createdAt(toInstant(rs.getObject("created_at", OffsetDateTime.class)))
+                .updatedAt(toInstant(rs.getObject("updated_at", OffsetDateTime.class)))
+                .build();
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value != null ? value.toInstant() : null;
+    }
+
+    static String toCsvLine(LeadExportRow row) {
+        return String.join(",",
+                csv(row.getLeadId()),
+                csv(row.getApplicationReferenceNumber()),
+                csv(row.getProductType()),
+                csv(row.getStatus()),
+                csv(row.getCustomerName()),
+                csv(row.getMobileNumber()),
+                csv(row.getEmailAddress()),
+                csv(row.getAmountRequested()),
+                csv(row.getCreatedBy()),
+                csv(row.getCreatedAt()),
+                csv(row.getUpdatedAt())) + "\r\n";
+    }
+
+    /**
+     * Quote a CSV field when needed (RFC 4180). Text starting with a formula
+     * character is prefixed with a quote so spreadsheets do not evaluate it.
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private record Cursor(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+    }
+}
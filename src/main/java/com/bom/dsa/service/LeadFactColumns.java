@@ -0,0 +1,252 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.request.LeadFactFilter;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.enums.FactDimension;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Column arrays and bitmap indexes behind LeadFactStore; not thread-safe.
+ * Each lead has one row holding its status and product type ordinals, a dictionary id
+ * of its creator, its requested amount in paise and its creation day (epoch day in
+ * analytics.zone). Status and product type have a bitmap of rows per value; creators
+ * have too many values for that and keep an ascending list of row numbers each.
+ * A removed lead keeps its row but leaves the live bitmap; rows are reclaimed when
+ * the store is reloaded. A lead's creator and creation day never change.
+ */
+final class LeadFactColumns {
+
+    private static final LeadStatus[] STATUSES = LeadStatus.values();
+    private static final ProductType[] PRODUCT_TYPES = ProductType.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] status = new byte[INITIAL_CAPACITY];
+    private byte[] productType = new byte[INITIAL_CAPACITY];
+    private int[] creator = new int[INITIAL_CAPACITY];
+    private long[] amountPaise = new long[INITIAL_CAPACITY];
+    private int[] createdDay = new int[INITIAL_CAPACITY];
+    private int size;
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+
+    private final BitSet live = new BitSet();
+    private final BitSet[] rowsByStatus = newBitmaps(STATUSES.length);
+    private final BitSet[] rowsByProductType = newBitmaps(PRODUCT_TYPES.length);
+    private final List<RowList> rowsByCreator = new ArrayList<>();
+    private final Map<String, Integer> creatorIds = new HashMap<>();
+    private final List<String> creatorNames = new ArrayList<>();
+    private final Map<UUID, Integer> rowByLead = new HashMap<>();
+
+    /**
+     * Add a lead, or update the status and amount of one already present.
+     */
+    void put(UUID leadId, LeadStatus leadStatus, ProductType leadProductType, String createdBy,
+            BigDecimal amount, LocalDate day) {
+        Integer existing = rowByLead.get(leadId);
+        int row;
+        if (existing != null) {
+            row = existing;
+            rowsByStatus[status[row]].clear(row);
+            rowsByProductType[productType[row]].clear(row);
+        } else {
+            row = size++;
+            ensureCapacity(size);
+            int creatorId = creatorIds.computeIfAbsent(createdBy, name -> {
+                creatorNames.add(name);
+                rowsByCreator.add(new RowList());
+                return creatorNames.size() - 1;
+            });
+            creator[row] = creatorId;
+            rowsByCreator.get(creatorId).add(row);
+            createdDay[row] = (int) day.toEpochDay();
+            minDay = Math.min(minDay, createdDay[row]);
+            maxDay = Math.max(maxDay, createdDay[row]);
+            rowByLead.put(leadId, row);
+        }
+        status[row] = (byte) leadStatus.ordinal();
+        productType[row] = (byte) leadProductType.ordinal();
+        amountPaise[row] = toPaise(amount);
+        rowsByStatus[status[row]].set(row);
+        rowsByProductType[productType[row]].set(row);
+        live.set(row);
+    }
+
+    /**
+     * Drop a lead from all results.
+     */
+    void remove(UUID leadId) {
+        Integer row = rowByLead.get(leadId);
+        if (row != null) {
+            live.clear(row);
+        }
+    }
+
+    int liveCount() {
+        return live.cardinality();
+    }
+
+    /**
+     * Count and sum the amounts of the live leads matching the filter, per combination
+     * of the group-by dimension values. The filter is applied by intersecting bitmaps;
+     * only the matching rows are read from the columns.
+     */
+    LeadFactResponse aggregate(LeadFactFilter filter, List<FactDimension> groupBy) {
+        BitSet rows = (BitSet) live.clone();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            rows.and(union(rowsByStatus, filter.statuses()));
+        }
+        if (filter.productTypes() != null && !filter.productTypes().isEmpty()) {
+            rows.and(union(rowsByProductType, filter.productTypes()));
+        }
+        if (filter.createdBy() != null) {
+            Integer creatorId = creatorIds.get(filter.createdBy());
+            if (creatorId == null) {
+                rows.clear();
+            } else {
+                rows.and(rowsByCreator.get(creatorId).toBitSet());
+            }
+        }
+        int fromDay = filter.from() != null ? (int) filter.from().toEpochDay() : Integer.MIN_VALUE;
+        int toDay = filter.to() != null ? (int) filter.to().toEpochDay() : Integer.MAX_VALUE;
+        boolean dayFilter = filter.from() != null || filter.to() != null;
+
+        // Each group is keyed by its dimension codes in mixed radix
+        long[] radix = new long[groupBy.size()];
+        for (int i = 0; i < radix.length; i++) {
+            radix[i] = switch (groupBy.get(i)) {
+                case STATUS -> STATUSES.length;
+                case PRODUCT_TYPE -> PRODUCT_TYPES.length;
+                case CREATED_BY -> Math.max(1, creatorNames.size());
+                case CREATED_DAY -> Math.max(1, (long) maxDay - minDay + 1);
+            };
+        }
+        Map<Long, long[]> totals = new TreeMap<>();
+        long totalCount = 0;
+        long totalPaise = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (dayFilter && (createdDay[row] < fromDay || createdDay[row] > toDay)) {
+                continue;
+            }
+            long key = 0;
+            for (int i = 0; i < radix.length; i++) {
+                key = key * radix[i] + code(groupBy.get(i), row);
+            }
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += amountPaise[row];
+            totalCount++;
+            totalPaise += amountPaise[row];
+        }
+
+        List<LeadFactResponse.Group> groups = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> groups.add(LeadFactResponse.Group.builder()
+                .key(decode(key, groupBy, radix))
+                .count(total[0])
+                .amount(BigDecimal.valueOf(total[1], 2))
+                .build()));
+        return LeadFactResponse.builder()
+                .groupBy(groupBy)
+                .totalCount(totalCount)
+                .totalAmount(BigDecimal.valueOf(totalPaise, 2))
+                .groups(groups)
+                .build();
+    }
+
+    private long code(FactDimension dimension, int row) {
+        return switch (dimension) {
+            case STATUS -> status[row];
+            case PRODUCT_TYPE -> productType[row];
+            case CREATED_BY -> creator[row];
+            case CREATED_DAY -> createdDay[row] - minDay;
+        };
+    }
+
+    private Map<FactDimension, String> decode(long key, List<FactDimension> groupBy, long[] radix) {
+        String[] values = new String[radix.length];
+        for (int i = radix.length - 1; i >= 0; i--) {
+            int code = (int) (key % radix[i]);
+            key /= radix[i];
+            values[i] = switch (groupBy.get(i)) {
+                case STATUS -> STATUSES[code].name();
+                case PRODUCT_TYPE -> PRODUCT_TYPES[code].name();
+                case CREATED_BY -> creatorNames.get(code);
+                case CREATED_DAY -> LocalDate.ofEpochDay((long) minDay + code).toString();
+            };
+        }
+        Map<FactDimension, String> decoded = new EnumMap<>(FactDimension.class);
+        for (int i = 0; i < values.length; i++) {
+            decoded.put(groupBy.get(i), values[i]);
+        }
+        return decoded;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= status.length) {
+            return;
+        }
+        int capacity = Math.max(required, status.length * 2);
+        status = Arrays.copyOf(status, capacity);
+        productType = Arrays.copyOf(productType, capacity);
+        creator = Arrays.copyOf(creator, capacity);
+        amountPaise = Arrays.copyOf(amountPaise, capacity);
+        createdDay = Arrays.copyOf(createdDay, capacity);
+    }
+
+    private static BitSet union(BitSet[] bitmaps, Collection<? extends Enum<?>> values) {
+        BitSet union = new BitSet();
+        for (Enum<?> value : values) {
+            union.or(bitmaps[value.ordinal()]);
+        }
+        return union;
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0L;
+    }
+
+    /**
+     * Growable array of row numbers, appended in ascending order.
+     */
+    private static final class RowList {
+        private int[] rows = new int[8];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        BitSet toBitSet() {
+            BitSet bitmap = new BitSet();
+            for (int i = 0; i < size; i++) {
+                bitmap.set(rows[i]);
+            }
+            return bitmap;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bom.dsa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the lead fact store on startup and reloads it every lead.facts.reload-interval,
+ * which also picks up leads changed outside LeadService and reclaims deleted rows.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "lead.facts.loader.enabled", havingValue = "true", matchIfMissing = true)
+public class LeadFactLoader {
+
+    private final LeadFactStore leadFactStore;
+
+    public LeadFactLoader(LeadFactStore leadFactStore) {
+        this.leadFactStore = leadFactStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${lead.facts.reload-interval:PT1H}",
+            initialDelayString = "${lead.facts.reload-interval:PT1H}")
+    public void reload() {
+        try {
+            leadFactStore.reload();
+        } catch (Exception e) {
+            log.error("Lead fact store load failed", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.request.LeadFactFilter;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.enums.FactDimension;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process columnar store of non-deleted lead facts for admin analytics.
+ * Any combination of status, product type, creator and creation day filters, grouped
+ * by any of those dimensions, is answered from memory without a database query.
+ * {@link #reload()} loads every lead (see LeadFactLoader); lead writes then keep the
+ * store current after they commit. Changes committed while a reload runs are replayed
+ * onto the new data before it replaces the old, which keeps serving meanwhile.
+ * Queries share a read lock and changes take the write lock.
+ * Publishes the number of leads held and load and query times.
+ */
+@Component
+@Slf4j
+public class LeadFactStore {
+
+    static final String LOAD_SQL = "SELECT id, status, product_type, created_by, amount_requested, created_at "
+            + "FROM leads WHERE is_deleted = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ZoneId zone;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final Timer loadTimer;
+    private final Timer queryTimer;
+
+    // Guarded by lock; null until the first load completes
+    private LeadFactColumns columns;
+    // Guarded by lock; non-null while a reload runs
+    private List<Consumer<LeadFactColumns>> pendingChanges;
+
+    public LeadFactStore(DataSource dataSource, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.zone:Asia/Kolkata}") ZoneId zone,
+            @Value("${lead.facts.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.zone = zone;
+        Gauge.builder("lead.facts.rows", liveCount, AtomicInteger::get)
+                .description("Leads held by the in-memory lead fact store")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("lead.facts.load")
+                .description("Time to load every lead into the lead fact store")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("lead.facts.query")
+                .description("Time to answer a lead fact query from memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the first load has completed, so queries can be answered.
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the matching leads and sum their requested amounts, overall and per group.
+     *
+     * @param filter  which leads to include
+     * @param groupBy dimensions to group by, in order; empty for totals only
+     * @return the totals
+     * @throws CustomExceptions.InvalidOperationException if the store has not loaded yet
+     */
+    public LeadFactResponse query(LeadFactFilter filter, List<FactDimension> groupBy) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                throw new CustomExceptions.InvalidOperationException("Lead analytics are still loading");
+            }
+            return columns.aggregate(filter, groupBy);
+        } finally {
+            lock.readLock().unlock();
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record a lead's current status and amount once the calling transaction commits.
+     *
+     * @param lead the created or changed lead
+     */
+    public void leadSaved(Lead lead) {
+        UUID id = lead.getId();
+        LeadStatus status = lead.getStatus();
+        ProductType productType = lead.getProductType();
+        String createdBy = lead.getCreatedBy();
+        BigDecimal amount = lead.getAmountRequested();
+        LocalDate day = LocalDate.ofInstant(lead.getCreatedAt() != null ? lead.getCreatedAt() : Instant.now(), zone);
+        afterCommit(columns -> columns.put(id, status, productType, createdBy, amount, day));
+    }
+
+    /**
+     * Drop a deleted lead once the calling transaction commits.
+     *
+     * @param leadId the deleted lead
+     */
+    public void leadRemoved(UUID leadId) {
+        afterCommit(columns -> columns.remove(leadId));
+    }
+
+    /**
+     * Load every non-deleted lead into new columns and swap them in.
+     * Does nothing if a reload is already running.
+     *
+     * @return number of leads loaded, or -1 if another reload was running
+     */
+    public int reload() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return -1;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LeadFactColumns loaded = new LeadFactColumns();
+        try {
+            loadTimer.record(() -> readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    LOAD_SQL, rs -> {
+                        loaded.put(rs.getObject("id", UUID.class),
+                                LeadStatus.valueOf(rs.getString("status")),
+                                ProductType.valueOf(rs.getString("product_type")),
+                                rs.getString("created_by"),
+                                rs.getBigDecimal("amount_requested"),
+                                LocalDate.ofInstant(rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                                        zone));
+                    })));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(loaded));
+            log.info("Loaded {} leads into the lead fact store, {} changes replayed", loaded.liveCount(),
+                    pendingChanges.size());
+            pendingChanges = null;
+            columns = loaded;
+            liveCount.set(loaded.liveCount());
+            return loaded.liveCount();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<LeadFactColumns> change) {
+        AfterCommit.run(() -> apply(change));
+    }
+
+    private void apply(Consumer<LeadFactColumns> change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (columns != null) {
+                change.accept(columns);
+                liveCount.set(columns.liveCount());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
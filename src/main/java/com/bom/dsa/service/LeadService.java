@@ -1,31 +1,38 @@
 package com.bom.dsa.service;
 
 import com.bom.dsa.dto.request.CreateLeadRequest;
+import com.bom.dsa.dto.response.BulkCreateLeadResponse;
 import com.bom.dsa.dto.request.UpdateLeadRequest;
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.dto.response.CursorPageResponse;
 import com.bom.dsa.dto.response.LeadResponse;
 import com.bom.dsa.dto.response.LeadSummaryResponse;
-import com.bom.dsa.client.ApprovalClient;
-import com.bom.dsa.dto.request.FireApprovalRequest;
 import com.bom.dsa.entity.*;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
 import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.LeadReactiveRepository;
 import com.bom.dsa.repository.LeadRepository;
+import com.bom.dsa.util.LeadCursor;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service for Lead management operations.
@@ -35,16 +42,53 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LeadService {
 
+    // Bulk inserts that hit a unique constraint, e.g. a reference number taken concurrently, are retried
+    private static final int BULK_INSERT_ATTEMPTS = 3;
+    private static final int REFERENCE_NUMBER_ROUNDS = 5;
+
     private final LeadRepository leadRepository;
     private final org.springframework.transaction.support.TransactionTemplate transactionTemplate;
-    private final ApprovalClient approvalClient;
+    // Read-only transactions are routed to the replica when datasource.replica.enabled=true
+    private final org.springframework.transaction.support.TransactionTemplate readOnlyTransactionTemplate;
+    private final ApprovalOutboxService approvalOutboxService;
+    private final LeadStatsService leadStatsService;
+    private final DashboardAnalyticsCache dashboardAnalyticsCache;
+    private final TotalCountService totalCountService;
+    private final LeadDetailCache leadDetailCache;
+    private final Validator validator;
+    private final int bulkMaxSize;
+    private final int cursorMaxSize;
+    // Present when lead.read-path=r2dbc; the hot reads then bypass JPA and the JDBC scheduler
+    private final LeadReactiveRepository reactiveRepository;
+    private final Scheduler jdbcScheduler;
 
     public LeadService(LeadRepository leadRepository,
             org.springframework.transaction.PlatformTransactionManager transactionManager,
-            ApprovalClient approvalClient) {
+            ApprovalOutboxService approvalOutboxService,
+            LeadStatsService leadStatsService,
+            DashboardAnalyticsCache dashboardAnalyticsCache,
+            TotalCountService totalCountService,
+            LeadDetailCache leadDetailCache,
+            Validator validator,
+            @Value("${lead.bulk.max-size:500}") int bulkMaxSize,
+            @Value("${lead.cursor.max-size:100}") int cursorMaxSize,
+            Optional<LeadReactiveRepository> reactiveRepository,
+            Scheduler jdbcScheduler) {
         this.leadRepository = leadRepository;
         this.transactionTemplate = new org.springframework.transaction.support.TransactionTemplate(transactionManager);
-        this.approvalClient = approvalClient;
+        this.readOnlyTransactionTemplate = new org.springframework.transaction.support.TransactionTemplate(
+                transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.approvalOutboxService = approvalOutboxService;
+        this.leadStatsService = leadStatsService;
+        this.dashboardAnalyticsCache = dashboardAnalyticsCache;
+        this.totalCountService = totalCountService;
+        this.leadDetailCache = leadDetailCache;
+        this.validator = validator;
+        this.bulkMaxSize = bulkMaxSize;
+        this.cursorMaxSize = cursorMaxSize;
+        this.reactiveRepository = reactiveRepository.orElse(null);
+        this.jdbcScheduler = jdbcScheduler;
     }
 
     /**
@@ -60,52 +104,20 @@ public class LeadService {
         return Mono.fromCallable(() -> {
             return transactionTemplate.execute(status -> {
                 try {
-                    // Create lead entity
-                    Lead lead = Lead.builder()
-                            .productType(request.getProductType())
-                            .status(LeadStatus.APPLIED)
-                            .createdBy(createdBy) // Manually set to context user
-                            .build();
-
-                    // Map and set basic details
-                    if (request.getBasicDetails() != null) {
-                        log.debug("Mapping basic details for lead");
-                        BasicDetails basicDetails = mapBasicDetails(request.getBasicDetails());
-                        lead.setBasicDetails(basicDetails);
-                    } else {
-                        log.warn("Basic details not provided in create request");
-                        throw new CustomExceptions.BusinessException("Basic details are required to create a lead");
-                    }
-
-                    // Map and set occupation details
-                    if (request.getOccupationDetails() != null) {
-                        log.debug("Mapping occupation details for lead");
-                        OccupationDetails occupationDetails = mapOccupationDetails(request.getOccupationDetails());
-                        lead.setOccupationDetails(occupationDetails);
-                    }
-
-                    // Map and set financial details
-                    if (request.getFinancialDetails() != null) {
-                        log.debug("Mapping financial details for lead");
-                        FinancialDetails financialDetails = mapFinancialDetails(request.getFinancialDetails());
-                        lead.setFinancialDetails(financialDetails);
-                    }
-
-                    // Map loan details based on product type
-                    if (request.getLoanDetails() != null) {
-                        log.debug("Mapping loan details for productType: {}", request.getProductType());
-                        mapLoanDetails(lead, request.getLoanDetails(), request.getProductType());
-                    } else {
-                        log.warn("Loan details not provided in create request");
-                        throw new CustomExceptions.BusinessException("Loan details are required to create a lead");
-                    }
+                    Lead lead = buildLead(request, createdBy);
 
                     // Save lead
                     Lead savedLead = leadRepository.save(lead);
                     log.info("Successfully created lead with reference number: {}, id: {}",
                             savedLead.getApplicationReferenceNumber(), savedLead.getId());
+                    leadStatsService.leadsCreated(List.of(savedLead));
+                    totalCountService.invalidate(TotalCountService.LEADS, createdBy);
+                    dashboardAnalyticsCache.invalidate(createdBy);
 
-                    return toLeadResponse(savedLead);
+                    LeadResponse leadResponse = toLeadResponse(savedLead);
+                    // Approval flow is fired by ApprovalOutboxDispatcher after commit
+                    approvalOutboxService.enqueue(List.of(leadResponse));
+                    return leadResponse;
 
                 } catch (CustomExceptions.BusinessException e) {
                     log.error("Business validation failed while creating lead: {}", e.getMessage());
@@ -115,27 +127,153 @@ public class LeadService {
                     throw new CustomExceptions.BusinessException("Failed to create lead: " + e.getMessage());
                 }
             });
-        }).flatMap(leadResponse -> {
-            // FIRE APPROVAL FLOW (External Service Call)
-            FireApprovalRequest approvalRequest = FireApprovalRequest.builder()
-                    .data(Map.of(
-                            "leadId", leadResponse.getLeadId().toString(),
-                            "amount", getAmountRequestedFromResponse(leadResponse),
-                            "productType", leadResponse.getProductType().toString(),
-                            "requested_by_role", "DSA", // Logic to get actual role if needed
-                            "region", "WEST" // Logic to get region from metadata
-            ))
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Create many leads in one transaction.
+     * Every item is validated first; invalid items are reported and skipped, and the
+     * valid ones are inserted together so Hibernate can batch the inserts into leads
+     * and each detail table (hibernate.jdbc.batch_size). Approval requests for the
+     * created leads go to the approval outbox in the same transaction.
+     * Reference numbers are assigned up front, unique within the batch and among existing
+     * leads. If the insert still hits a unique constraint, because another request took
+     * a number in between, the batch is rebuilt with fresh numbers and retried; once the
+     * retries run out, the valid items are reported as failed instead of failing the request.
+     * 
+     * @param requests  the create lead requests
+     * @param createdBy the username of the creator
+     * @return Mono containing one result per request item, in request order
+     */
+    public Mono<BulkCreateLeadResponse> createLeads(List<CreateLeadRequest> requests, String createdBy) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new CustomExceptions.BusinessException("At least one lead is required"));
+        }
+        if (requests.size() > bulkMaxSize) {
+            return Mono.error(new CustomExceptions.BusinessException(
+                    "At most " + bulkMaxSize + " leads can be created per request"));
+        }
+        log.info("Creating {} leads in bulk for user: {}", requests.size(), createdBy);
+
+        return Mono.fromCallable(() -> {
+            BulkCreateLeadResponse.ItemResult[] results = new BulkCreateLeadResponse.ItemResult[requests.size()];
+            List<Integer> validIndexes = new ArrayList<>();
+            List<Lead> leads = new ArrayList<>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                List<String> errors = validateCreateRequest(requests.get(i));
+                if (errors.isEmpty()) {
+                    try {
+                        leads.add(buildLead(requests.get(i), createdBy));
+                        validIndexes.add(i);
+                        continue;
+                    } catch (CustomExceptions.BusinessException e) {
+                        errors = List.of(e.getMessage());
+                    }
+                }
+                results[i] = BulkCreateLeadResponse.ItemResult.builder()
+                        .index(i)
+                        .created(false)
+                        .errors(errors)
+                        .build();
+            }
+
+            List<LeadResponse> created = List.of();
+            String insertError = null;
+            List<Lead> batch = leads;
+            for (int attempt = 1; !batch.isEmpty(); attempt++) {
+                try {
+                    created = insertLeads(batch, createdBy);
+                    break;
+                } catch (org.springframework.dao.DataIntegrityViolationException e) {
+                    if (attempt == BULK_INSERT_ATTEMPTS) {
+                        log.error("Bulk create for user: {} still violates a constraint after {} attempts",
+                                createdBy, attempt, e);
+                        insertError = "Failed to create lead: " + e.getMostSpecificCause().getMessage();
+                        break;
+                    }
+                    log.warn("Bulk create for user: {} violated a constraint, retrying with new reference numbers",
+                            createdBy);
+                    batch = validIndexes.stream().map(i -> buildLead(requests.get(i), createdBy)).toList();
+                }
+            }
+
+            if (insertError != null) {
+                for (int index : validIndexes) {
+                    results[index] = BulkCreateLeadResponse.ItemResult.builder()
+                            .index(index)
+                            .created(false)
+                            .errors(List.of(insertError))
+                            .build();
+                }
+            }
+
+            for (int i = 0; i < created.size(); i++) {
+                LeadResponse leadResponse = created.get(i);
+                results[validIndexes.get(i)] = BulkCreateLeadResponse.ItemResult.builder()
+                        .index(validIndexes.get(i))
+                        .created(true)
+                        .leadId(leadResponse.getLeadId())
+                        .applicationReferenceNumber(leadResponse.getApplicationReferenceNumber())
+                        .errors(List.of())
+                        .build();
+            }
+            log.info("Bulk create for user: {} created {} of {} leads", createdBy, created.size(), requests.size());
+
+            return BulkCreateLeadResponse.builder()
+                    .total(requests.size())
+                    .created(created.size())
+                    .failed(requests.size() - created.size())
+                    .results(Arrays.asList(results))
                     .build();
+        }).subscribeOn(jdbcScheduler);
+    }
 
-            return approvalClient.fireApprovalFlow(approvalRequest)
-                    .map(resp -> {
-                        log.info("Approval flow fired successfully. Flow ID: {}", resp.getRunningFlowId());
-                        // Update lead with approval metadata if needed
-                        return leadResponse;
-                    })
-                    .switchIfEmpty(Mono.just(leadResponse)) // Ensure response is emitted even if fire returns empty
-                    .onErrorReturn(leadResponse); // Fallback to returning lead response even if approval fire fails
-        }).subscribeOn(Schedulers.boundedElastic());
+    /**
+     * Insert a bulk batch in one transaction. Constraint violations are rethrown as is so
+     * the caller can retry the batch.
+     */
+    private List<LeadResponse> insertLeads(List<Lead> leads, String createdBy) {
+        return transactionTemplate.execute(status -> {
+            try {
+                assignReferenceNumbers(leads);
+                List<Lead> savedLeads = leadRepository.saveAll(leads);
+                leadRepository.flush();
+                leadStatsService.leadsCreated(savedLeads);
+                totalCountService.invalidate(TotalCountService.LEADS, createdBy);
+                dashboardAnalyticsCache.invalidate(createdBy);
+                List<LeadResponse> responses = savedLeads.stream().map(this::toLeadResponse).toList();
+                approvalOutboxService.enqueue(responses);
+                return responses;
+            } catch (org.springframework.dao.DataIntegrityViolationException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error creating leads in bulk for user: {}", createdBy, e);
+                throw new CustomExceptions.BusinessException("Failed to create leads: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Give each lead a reference number that no other lead in the batch or in the
+     * database has, with one lookup per round for the whole batch.
+     */
+    private void assignReferenceNumbers(List<Lead> leads) {
+        Set<String> batchNumbers = new HashSet<>();
+        List<Lead> pending = leads;
+        for (int round = 0; round < REFERENCE_NUMBER_ROUNDS && !pending.isEmpty(); round++) {
+            for (Lead lead : pending) {
+                String referenceNumber;
+                do {
+                    referenceNumber = Lead.newReferenceNumber();
+                } while (!batchNumbers.add(referenceNumber));
+                lead.setApplicationReferenceNumber(referenceNumber);
+            }
+            Set<String> taken = new HashSet<>(leadRepository.findExistingReferenceNumbers(
+                    pending.stream().map(Lead::getApplicationReferenceNumber).toList()));
+            pending = pending.stream().filter(lead -> taken.contains(lead.getApplicationReferenceNumber())).toList();
+        }
+        // Numbers still taken after the last round fail the insert, which the caller retries
     }
 
     /**
@@ -147,16 +285,31 @@ public class LeadService {
     public Mono<LeadResponse> getLeadById(UUID leadId) {
         log.info("Fetching lead by id: {}", leadId);
 
+        if (reactiveRepository != null) {
+            return leadDetailCache.getAsync(leadId, id -> reactiveRepository.findByIdWithDetails(id)
+                    .switchIfEmpty(Mono.error(() -> {
+                        log.warn("Lead not found with id: {}", id);
+                        return new CustomExceptions.ResourceNotFoundException("Lead", "id", id);
+                    }))
+                    .map(this::toLeadResponse))
+                    .onErrorMap(e -> !(e instanceof CustomExceptions.ResourceNotFoundException), e -> {
+                        log.error("Error fetching lead by id: {}", leadId, e);
+                        return new CustomExceptions.BusinessException("Failed to fetch lead: " + e.getMessage());
+                    });
+        }
+
         return Mono.fromCallable(() -> {
             try {
-                Lead lead = leadRepository.findByIdWithDetails(leadId)
-                        .orElseThrow(() -> {
-                            log.warn("Lead not found with id: {}", leadId);
-                            return new CustomExceptions.ResourceNotFoundException("Lead", "id", leadId);
-                        });
+                return leadDetailCache.get(leadId, id -> readOnlyTransactionTemplate.execute(tx -> {
+                    Lead lead = leadRepository.findByIdWithDetails(id)
+                            .orElseThrow(() -> {
+                                log.warn("Lead not found with id: {}", id);
+                                return new CustomExceptions.ResourceNotFoundException("Lead", "id", id);
+                            });
 
-                log.debug("Found lead with reference number: {}", lead.getApplicationReferenceNumber());
-                return toLeadResponse(lead);
+                    log.debug("Found lead with reference number: {}", lead.getApplicationReferenceNumber());
+                    return toLeadResponse(lead);
+                }));
 
             } catch (CustomExceptions.ResourceNotFoundException e) {
                 throw e;
@@ -164,7 +317,7 @@ public class LeadService {
                 log.error("Error fetching lead by id: {}", leadId, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch lead: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -175,33 +328,115 @@ public class LeadService {
      * @param productType optional product type filter
      * @param searchTerm  optional search term
      * @param pageable    pagination info
+     * @param countMode   how to obtain the total, or null for the configured mode
      * @return Mono containing page of lead summaries
      */
-    @Transactional(readOnly = true)
-    public Mono<Page<LeadSummaryResponse>> getLeads(String createdBy, LeadStatus status,
+    public Mono<CountedPage<LeadSummaryResponse>> getLeads(String createdBy, LeadStatus status,
             ProductType productType, String searchTerm,
-            Pageable pageable) {
-        log.info("Fetching leads for user: {}, status: {}, productType: {}, searchTerm: {}, page: {}",
-                createdBy, status, productType, searchTerm, pageable.getPageNumber());
+            Pageable pageable, CountMode countMode) {
+        log.info("Fetching leads for user: {}, status: {}, productType: {}, searchTerm: {}, page: {}, countMode: {}",
+                createdBy, status, productType, searchTerm, pageable.getPageNumber(), countMode);
+
+        if (reactiveRepository != null) {
+            String term = normalizeSearchTerm(searchTerm);
+            TotalCountService.EstimateQuery estimateQuery = leadEstimateQuery(createdBy, status, productType, term);
+            return reactiveRepository.searchLeadSummaries(createdBy, status, productType, term, pageable)
+                    .collectList()
+                    .flatMap(content -> totalCountService.toPageAsync(TotalCountService.LEADS, createdBy,
+                            Arrays.asList(status, productType, term), content, pageable, countMode,
+                            reactiveRepository.countLeadSummaries(createdBy, status, productType, term),
+                            estimateQuery != null
+                                    ? reactiveRepository.explain(estimateQuery.sql(), estimateQuery.args())
+                                    : null))
+                    .doOnNext(result -> log.debug("Found {} leads, total: {}, exact: {}",
+                            result.getNumberOfElements(), result.getTotalElements(), result.isTotalExact()))
+                    .onErrorMap(e -> !(e instanceof CustomExceptions.BusinessException), e -> {
+                        log.error("Error fetching leads for user: {}", createdBy, e);
+                        return new CustomExceptions.BusinessException("Failed to fetch leads: " + e.getMessage());
+                    });
+        }
 
-        return Mono.fromCallable(() -> {
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(tx -> {
             try {
-                Page<Lead> leadPage = leadRepository.searchLeads(createdBy, status, productType, searchTerm, pageable);
-
-                log.debug("Found {} leads, total: {}", leadPage.getNumberOfElements(), leadPage.getTotalElements());
+                String term = normalizeSearchTerm(searchTerm);
+                List<LeadSummaryResponse> content = leadRepository.searchLeadSummaries(createdBy, status,
+                        productType, term, pageable);
 
-                List<LeadSummaryResponse> summaries = leadPage.getContent().stream()
-                        .map(this::toLeadSummaryResponse)
-                        .collect(Collectors.toList());
+                CountedPage<LeadSummaryResponse> result = totalCountService.toPage(TotalCountService.LEADS,
+                        createdBy, Arrays.asList(status, productType, term), content, pageable, countMode,
+                        () -> leadRepository.countLeadSummaries(createdBy, status, productType, term),
+                        leadEstimateQuery(createdBy, status, productType, term));
 
-                Page<LeadSummaryResponse> result = new PageImpl<>(summaries, pageable, leadPage.getTotalElements());
+                log.debug("Found {} leads, total: {}, exact: {}", result.getNumberOfElements(),
+                        result.getTotalElements(), result.isTotalExact());
                 return result;
 
             } catch (Exception e) {
                 log.error("Error fetching leads for user: {}", createdBy, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch leads: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        })).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Get leads with keyset pagination, newest first.
+     * Fetches one extra row to decide whether another page exists, so no count
+     * query is needed and every page costs the same regardless of depth.
+     *
+     * @param createdBy   the creator username
+     * @param status      optional status filter
+     * @param productType optional product type filter
+     * @param searchTerm  optional search term
+     * @param cursor      opaque cursor from the previous page, or blank for the first page
+     * @param size        page size, at least 1; larger sizes are capped at lead.cursor.max-size
+     * @return Mono containing the page and the cursor for the next one
+     */
+    public Mono<CursorPageResponse<LeadSummaryResponse>> getLeadsByCursor(String createdBy, LeadStatus status,
+            ProductType productType, String searchTerm, String cursor, int requestedSize) {
+        if (requestedSize < 1) {
+            return Mono.error(new CustomExceptions.BusinessException("Page size must be at least 1"));
+        }
+        int size = Math.min(requestedSize, cursorMaxSize);
+        log.info("Fetching leads by cursor for user: {}, status: {}, productType: {}, searchTerm: {}, size: {}",
+                createdBy, status, productType, searchTerm, size);
+
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(tx -> {
+            try {
+                Pageable window = PageRequest.of(0, size + 1);
+                String term = normalizeSearchTerm(searchTerm);
+                List<LeadSummaryResponse> rows;
+                if (cursor == null || cursor.isBlank()) {
+                    rows = leadRepository.findLeadSummariesFirstPage(createdBy, status, productType, term,
+                            window);
+                } else {
+                    LeadCursor after = LeadCursor.decode(cursor);
+                    rows = leadRepository.findLeadSummariesAfter(createdBy, status, productType, term,
+                            after.createdAt(), after.id(), window);
+                }
+
+                boolean hasNext = rows.size() > size;
+                List<LeadSummaryResponse> content = hasNext ? rows.subList(0, size) : rows;
+                String nextCursor = null;
+                if (hasNext) {
+                    LeadSummaryResponse last = content.get(content.size() - 1);
+                    nextCursor = new LeadCursor(last.getCreatedAt(), last.getLeadId()).encode();
+                }
+
+                log.debug("Found {} leads, hasNext: {}", content.size(), hasNext);
+                return CursorPageResponse.<LeadSummaryResponse>builder()
+                        .content(content)
+                        .size(content.size())
+                        .hasNext(hasNext)
+                        .nextCursor(nextCursor)
+                        .build();
+
+            } catch (CustomExceptions.BusinessException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error fetching leads by cursor for user: {}", createdBy, e);
+                throw new CustomExceptions.BusinessException("Failed to fetch leads: " + e.getMessage());
+            }
+        })).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -211,25 +446,33 @@ public class LeadService {
      * @param limit     maximum number of leads to return
      * @return Mono containing list of lead summaries
      */
-    @Transactional(readOnly = true)
     public Mono<List<LeadSummaryResponse>> getRecentLeads(String createdBy, int limit) {
         log.info("Fetching {} recent leads for user: {}", limit, createdBy);
 
-        return Mono.fromCallable(() -> {
+        if (reactiveRepository != null) {
+            return reactiveRepository.findRecentLeadSummaries(createdBy, limit)
+                    .collectList()
+                    .doOnNext(leads -> log.debug("Found {} recent leads", leads.size()))
+                    .onErrorMap(e -> {
+                        log.error("Error fetching recent leads for user: {}", createdBy, e);
+                        return new CustomExceptions.BusinessException(
+                                "Failed to fetch recent leads: " + e.getMessage());
+                    });
+        }
+
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
             try {
-                List<Lead> leads = leadRepository.findRecentLeads(createdBy, PageRequest.of(0, limit));
+                List<LeadSummaryResponse> leads = leadRepository.findRecentLeadSummaries(createdBy,
+                        PageRequest.of(0, limit));
 
                 log.debug("Found {} recent leads", leads.size());
-
-                return leads.stream()
-                        .map(this::toLeadSummaryResponse)
-                        .collect(Collectors.toList());
+                return leads;
 
             } catch (Exception e) {
                 log.error("Error fetching recent leads for user: {}", createdBy, e);
                 throw new CustomExceptions.BusinessException("Failed to fetch recent leads: " + e.getMessage());
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        })).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -281,8 +524,12 @@ public class LeadService {
                         lead.setFinancialDetails(financialDetails);
                     }
 
+                    lead.refreshDenormalizedFields();
                     Lead updatedLead = leadRepository.save(lead);
                     log.info("Successfully updated lead: {}", updatedLead.getApplicationReferenceNumber());
+                    leadStatsService.leadUpdated(updatedLead);
+                    totalCountService.invalidate(TotalCountService.LEADS, updatedLead.getCreatedBy());
+                    leadDetailCache.invalidate(updatedLead.getId());
 
                     return toLeadResponse(updatedLead);
 
@@ -293,7 +540,7 @@ public class LeadService {
                     throw new CustomExceptions.BusinessException("Failed to update lead: " + e.getMessage());
                 }
             });
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).subscribeOn(jdbcScheduler);
     }
 
     /**
@@ -309,7 +556,9 @@ public class LeadService {
         return Mono.fromCallable(() -> {
             return transactionTemplate.execute(status -> {
                 try {
-                    Lead lead = leadRepository.findById(leadId)
+                    // Locked, so a concurrent delete waits and then finds the lead already deleted
+                    Lead lead = leadRepository.findByIdForUpdate(leadId)
+                            .filter(found -> !Boolean.TRUE.equals(found.getIsDeleted()))
                             .orElseThrow(() -> {
                                 log.warn("Lead not found for deletion, id: {}", leadId);
                                 return new CustomExceptions.ResourceNotFoundException("Lead", "id", leadId);
@@ -325,6 +574,10 @@ public class LeadService {
 
                     lead.softDelete(deletedBy);
                     leadRepository.save(lead);
+                    leadStatsService.leadDeleted(lead);
+                    totalCountService.invalidate(TotalCountService.LEADS, lead.getCreatedBy());
+                    dashboardAnalyticsCache.invalidate(lead.getCreatedBy());
+                    leadDetailCache.invalidate(lead.getId());
 
                     log.info("Successfully soft deleted lead: {}", lead.getApplicationReferenceNumber());
                     return null;
@@ -336,11 +589,74 @@ public class LeadService {
                     throw new CustomExceptions.BusinessException("Failed to delete lead: " + e.getMessage());
                 }
             });
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+        }).subscribeOn(jdbcScheduler).then();
     }
 
     // ========== Private Helper Methods ==========
 
+    /**
+     * Build a new lead entity with all details from a create request.
+     * Throws BusinessException if basic or loan details are missing.
+     */
+    private Lead buildLead(CreateLeadRequest request, String createdBy) {
+        // Create lead entity
+        Lead lead = Lead.builder()
+                .productType(request.getProductType())
+                .status(LeadStatus.APPLIED)
+                .createdBy(createdBy) // Manually set to context user
+                .build();
+
+        // Map and set basic details
+        if (request.getBasicDetails() != null) {
+            log.debug("Mapping basic details for lead");
+            BasicDetails basicDetails = mapBasicDetails(request.getBasicDetails());
+            lead.setBasicDetails(basicDetails);
+        } else {
+            log.warn("Basic details not provided in create request");
+            throw new CustomExceptions.BusinessException("Basic details are required to create a lead");
+        }
+
+        // Map and set occupation details
+        if (request.getOccupationDetails() != null) {
+            log.debug("Mapping occupation details for lead");
+            OccupationDetails occupationDetails = mapOccupationDetails(request.getOccupationDetails());
+            lead.setOccupationDetails(occupationDetails);
+        }
+
+        // Map and set financial details
+        if (request.getFinancialDetails() != null) {
+            log.debug("Mapping financial details for lead");
+            FinancialDetails financialDetails = mapFinancialDetails(request.getFinancialDetails());
+            lead.setFinancialDetails(financialDetails);
+        }
+
+        // Map loan details based on product type
+        if (request.getLoanDetails() != null) {
+            log.debug("Mapping loan details for productType: {}", request.getProductType());
+            mapLoanDetails(lead, request.getLoanDetails(), request.getProductType());
+        } else {
+            log.warn("Loan details not provided in create request");
+            throw new CustomExceptions.BusinessException("Loan details are required to create a lead");
+        }
+
+        lead.refreshDenormalizedFields();
+        return lead;
+    }
+
+    /**
+     * Run bean validation on one item of a bulk request.
+     * Bulk items are not validated by the controller, so each gets its own errors.
+     */
+    private List<String> validateCreateRequest(CreateLeadRequest request) {
+        if (request == null) {
+            return List.of("Lead is required");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
     /**
      * Map BasicDetailsDto to BasicDetails entity.
      */
@@ -629,12 +945,14 @@ public class LeadService {
 
     /**
      * Map loan details from entity to response DTO.
+     * Only the loan details of the lead's product type are read; the others are
+     * not fetched by findByIdWithDetails and must stay uninitialized.
      */
     private LeadResponse.LoanDetailsDto mapLoanDetails(Lead lead) {
         LeadResponse.LoanDetailsDto.LoanDetailsDtoBuilder loanBuilder = LeadResponse.LoanDetailsDto.builder();
         boolean hasLoanDetails = false;
 
-        if (lead.getVehicleLoanDetails() != null) {
+        if (lead.getProductType() == ProductType.VEHICLE_LOAN && lead.getVehicleLoanDetails() != null) {
             VehicleLoanDetails vld = lead.getVehicleLoanDetails();
             loanBuilder.amountRequested(vld.getAmountRequested())
                     .repaymentPeriod(vld.getRepaymentPeriod())
@@ -661,7 +979,7 @@ public class LeadService {
             hasLoanDetails = true;
         }
 
-        if (lead.getEducationLoanDetails() != null) {
+        if (lead.getProductType() == ProductType.EDUCATION_LOAN && lead.getEducationLoanDetails() != null) {
             EducationLoanDetails eld = lead.getEducationLoanDetails();
             loanBuilder.amountRequested(eld.getAmountRequested())
                     .repaymentPeriod(eld.getRepaymentPeriod())
@@ -676,7 +994,7 @@ public class LeadService {
             hasLoanDetails = true;
         }
 
-        if (lead.getHomeLoanDetails() != null) {
+        if (lead.getProductType() == ProductType.HOME_LOAN && lead.getHomeLoanDetails() != null) {
             HomeLoanDetails hld = lead.getHomeLoanDetails();
             loanBuilder.amountRequested(hld.getAmountRequested())
                     .repaymentPeriod(hld.getRepaymentPeriod())
@@ -696,7 +1014,7 @@ public class LeadService {
             hasLoanDetails = true;
         }
 
-        if (lead.getLoanAgainstPropertyDetails() != null) {
+        if (lead.getProductType() == ProductType.LOAN_AGAINST_PROPERTY && lead.getLoanAgainstPropertyDetails() != null) {
             LoanAgainstPropertyDetails lapd = lead.getLoanAgainstPropertyDetails();
             loanBuilder.amountRequested(lapd.getAmountRequested())
                     .repaymentPeriod(lapd.getRepaymentPeriod())
@@ -723,52 +1041,37 @@ public class LeadService {
     }
 
     /**
-     * Convert Lead entity to LeadSummaryResponse DTO.
+     * Native equivalent of the lead list filter for planner estimates.
+     * Substring search has no useful planner estimate, so searches are counted exactly.
      */
-    private LeadSummaryResponse toLeadSummaryResponse(Lead lead) {
-        BigDecimal amountRequested = getAmountRequested(lead);
-
-        String customerName = lead.getBasicDetails() != null ? lead.getBasicDetails().getFullName() : "";
-        String mobileNumber = lead.getBasicDetails() != null ? lead.getBasicDetails().getMobileNumber() : "";
-        String emailAddress = lead.getBasicDetails() != null ? lead.getBasicDetails().getEmailAddress() : "";
-
-        return LeadSummaryResponse.builder()
-                .leadId(lead.getId())
-                .applicationReferenceNumber(lead.getApplicationReferenceNumber())
-                .productType(lead.getProductType())
-                .status(lead.getStatus())
-                .customerName(customerName)
-                .mobileNumber(mobileNumber)
-                .emailAddress(emailAddress)
-                .amountRequested(amountRequested)
-                .createdAt(lead.getCreatedAt())
-                .updatedAt(lead.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Get amount requested from appropriate loan details based on product type.
-     */
-    private BigDecimal getAmountRequested(Lead lead) {
-        if (lead.getVehicleLoanDetails() != null) {
-            return lead.getVehicleLoanDetails().getAmountRequested();
-        } else if (lead.getEducationLoanDetails() != null) {
-            return lead.getEducationLoanDetails().getAmountRequested();
-        } else if (lead.getHomeLoanDetails() != null) {
-            return lead.getHomeLoanDetails().getAmountRequested();
-        } else if (lead.getLoanAgainstPropertyDetails() != null) {
-            return lead.getLoanAgainstPropertyDetails().getAmountRequested();
+    private TotalCountService.EstimateQuery leadEstimateQuery(String createdBy, LeadStatus status,
+            ProductType productType, String searchTerm) {
+        if (searchTerm != null) {
+            return null;
         }
-        return null;
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM leads WHERE created_by = ? AND is_deleted = false");
+        List<Object> args = new ArrayList<>();
+        args.add(createdBy);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (productType != null) {
+            sql.append(" AND product_type = ?");
+            args.add(productType.name());
+        }
+        return new TotalCountService.EstimateQuery(sql.toString(), args);
     }
 
     /**
-     * Helper to extract amount from LeadResponse for approval firing.
+     * Trim the search term and treat blank input as no search. A blank term would
+     * otherwise become LIKE '%%', which matches every row and defeats the trigram
+     * indexes the search predicate relies on.
      */
-    private BigDecimal getAmountRequestedFromResponse(LeadResponse leadResponse) {
-        if (leadResponse.getLoanDetails() != null) {
-            return leadResponse.getLoanDetails().getAmountRequested();
+    private static String normalizeSearchTerm(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
         }
-        return BigDecimal.ZERO;
+        return searchTerm.trim();
     }
 }
@@ -0,0 +1,69 @@
+package com.bom.dsa.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background repair of the lead_stats rollup.
+ * Every lead.stats.reconcile-interval it recounts each creator's leads, one creator
+ * per transaction, and corrects rows that drifted, e.g. after leads were changed
+ * outside LeadService. Publishes the number of repaired rows and the run time.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "lead.stats.reconciler.enabled", havingValue = "true", matchIfMissing = true)
+public class LeadStatsReconciler {
+
+    private final LeadStatsService leadStatsService;
+    private final Counter repairedCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+
+    public LeadStatsReconciler(LeadStatsService leadStatsService, MeterRegistry meterRegistry) {
+        this.leadStatsService = leadStatsService;
+        this.repairedCounter = Counter.builder("lead.stats.reconciled")
+                .description("lead_stats rows corrected by the reconciler")
+                .tag("result", "repaired")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("lead.stats.reconciled")
+                .description("Creators whose lead_stats rows could not be reconciled")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("lead.stats.reconcile.duration")
+                .description("Time to reconcile the lead_stats rollup for every creator")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconcile every creator; a failure for one creator is logged and the run goes on.
+     */
+    @Scheduled(fixedDelayString = "${lead.stats.reconcile-interval:PT15M}",
+            initialDelayString = "${lead.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        Timer.Sample sample = Timer.start();
+        int creators = 0;
+        int repaired = 0;
+        try {
+            for (String createdBy : leadStatsService.findCreators()) {
+                creators++;
+                try {
+                    repaired += leadStatsService.reconcile(createdBy);
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    log.warn("Failed to reconcile lead_stats for user: {}: {}", createdBy, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("lead_stats reconciliation failed", e);
+        } finally {
+            sample.stop(runTimer);
+        }
+        repairedCounter.increment(repaired);
+        log.info("Reconciled lead_stats for {} users, {} rows repaired", creators, repaired);
+    }
+}
@@ -0,0 +1,271 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.entity.LeadDailyStatId;
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.entity.LeadStatId;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.repository.LeadDailyStatRepository;
+import com.bom.dsa.repository.LeadRepository;
+import com.bom.dsa.repository.LeadStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Service for the lead rollups.
+ * lead_stats holds non-deleted lead counts per creator, status and product type;
+ * lead_daily_stats holds daily created, sanctioned, disbursed and rejected counts per
+ * creator and product type, dated in analytics.zone.
+ * Lead writes adjust the affected rows inside their own transaction, so the rollups
+ * commit or roll back together with the leads. Each write first takes the advisory
+ * lock of every creator it touches, in name order, and rows are always touched in key
+ * order, so two transactions updating the same creator cannot deadlock.
+ * {@link #reconcile(String)} takes the creator's lock, recounts the creator from the
+ * leads table and repairs drift in lead_stats; past days of lead_daily_stats are rebuilt by LeadTrendService.
+ * Every lead_stats change is also published to DashboardEventBus once it commits, and
+ * every lead write refreshes the lead's row in LeadFactStore.
+ */
+@Service
+@Slf4j
+public class LeadStatsService {
+
+    private static final Comparator<LeadStatId> KEY_ORDER = Comparator
+            .comparing(LeadStatId::getCreatedBy)
+            .thenComparing(id -> id.getStatus().name())
+            .thenComparing(id -> id.getProductType().name());
+
+    private static final Comparator<LeadDailyStatId> DAILY_KEY_ORDER = Comparator
+            .comparing(LeadDailyStatId::getBucketDate)
+            .thenComparing(LeadDailyStatId::getCreatedBy)
+            .thenComparing(id -> id.getProductType().name());
+
+    private final LeadStatRepository leadStatRepository;
+    private final LeadDailyStatRepository leadDailyStatRepository;
+    private final LeadRepository leadRepository;
+    private final DashboardEventBus dashboardEventBus;
+    private final LeadFactStore leadFactStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+
+    public LeadStatsService(LeadStatRepository leadStatRepository,
+            LeadDailyStatRepository leadDailyStatRepository, LeadRepository leadRepository,
+            DashboardEventBus dashboardEventBus, LeadFactStore leadFactStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.zone:Asia/Kolkata}") ZoneId zone) {
+        this.leadStatRepository = leadStatRepository;
+        this.leadDailyStatRepository = leadDailyStatRepository;
+        this.leadRepository = leadRepository;
+        this.dashboardEventBus = dashboardEventBus;
+        this.leadFactStore = leadFactStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.zone = zone;
+    }
+
+    /**
+     * Count newly inserted leads.
+     * Must be called inside the transaction that inserts them.
+     *
+     * @param leads the created leads
+     */
+    public void leadsCreated(Collection<Lead> leads) {
+        Map<LeadStatId, Long> deltas = new TreeMap<>(KEY_ORDER);
+        Map<LeadDailyStatId, long[]> dailyDeltas = new TreeMap<>(DAILY_KEY_ORDER);
+        for (Lead lead : leads) {
+            deltas.merge(key(lead.getCreatedBy(), lead.getStatus(), lead.getProductType()), 1L, Long::sum);
+            dailyDeltas.computeIfAbsent(dailyKey(createdOn(lead), lead), id -> new long[4])[0]++;
+            leadFactStore.leadSaved(lead);
+        }
+        lockCreators(deltas.keySet());
+        apply(deltas);
+        applyDaily(dailyDeltas);
+    }
+
+    /**
+     * Refresh an edited lead whose status did not change, e.g. a new requested amount.
+     * Must be called inside the transaction that updates it.
+     *
+     * @param lead the updated lead
+     */
+    public void leadUpdated(Lead lead) {
+        leadFactStore.leadSaved(lead);
+    }
+
+    /**
+     * Move a lead from its previous status to its current one, and count today's
+     * sanction, disbursement or rejection when it moved into one of those.
+     * Must be called inside the transaction that changes the status.
+     *
+     * @param lead           the lead, already carrying its new status
+     * @param previousStatus the status before the change
+     */
+    public void statusChanged(Lead lead, LeadStatus previousStatus) {
+        if (previousStatus == lead.getStatus() || Boolean.TRUE.equals(lead.getIsDeleted())) {
+            return;
+        }
+        Map<LeadStatId, Long> deltas = new TreeMap<>(KEY_ORDER);
+        deltas.put(key(lead.getCreatedBy(), previousStatus, lead.getProductType()), -1L);
+        deltas.put(key(lead.getCreatedBy(), lead.getStatus(), lead.getProductType()), 1L);
+        leadStatRepository.lockCreator(lead.getCreatedBy());
+        apply(deltas);
+        leadFactStore.leadSaved(lead);
+
+        int column = dailyColumn(lead.getStatus());
+        if (column > 0) {
+            long[] counts = new long[4];
+            counts[column] = 1L;
+            applyDaily(Map.of(dailyKey(LocalDate.now(zone), lead), counts));
+        }
+    }
+
+    /**
+     * Stop counting a soft-deleted lead, including on the day it was created.
+     * Must be called inside the transaction that deletes it.
+     *
+     * @param lead the deleted lead
+     */
+    public void leadDeleted(Lead lead) {
+        Map<LeadStatId, Long> deltas = new TreeMap<>(KEY_ORDER);
+        deltas.put(key(lead.getCreatedBy(), lead.getStatus(), lead.getProductType()), -1L);
+        leadStatRepository.lockCreator(lead.getCreatedBy());
+        apply(deltas);
+        applyDaily(Map.of(dailyKey(createdOn(lead), lead), new long[] { -1L, 0L, 0L, 0L }));
+        leadFactStore.leadRemoved(lead.getId());
+    }
+
+    /**
+     * Read a creator's counts from the rollup; at most one row per status and
+     * product type, whatever the creator's lead history.
+     *
+     * @param createdBy the creator username
+     * @return the creator's lead counts
+     */
+    public LeadCounts getCounts(String createdBy) {
+        return LeadCounts.of(leadStatRepository.findByCreatedBy(createdBy));
+    }
+
+    /**
+     * Read the rollup rows of one creator, or of every creator.
+     *
+     * @param createdBy the creator username; null for all
+     * @return the rows, zero counts included
+     */
+    public List<LeadStat> getStats(String createdBy) {
+        return createdBy != null ? leadStatRepository.findByCreatedBy(createdBy) : leadStatRepository.findAll();
+    }
+
+    /**
+     * Creators that have leads or rollup rows, in name order.
+     *
+     * @return creator usernames
+     */
+    public List<String> findCreators() {
+        TreeSet<String> creators = new TreeSet<>(leadRepository.findDistinctCreators());
+        creators.addAll(leadStatRepository.findDistinctCreators());
+        return new ArrayList<>(creators);
+    }
+
+    /**
+     * Recount a creator's leads and correct every rollup row that differs.
+     * The creator's advisory lock is taken first, so lead writes committed before it
+     * are in the recount and writes after it apply their deltas on top of the repair.
+     *
+     * @param createdBy the creator username
+     * @return number of rows repaired
+     */
+    public int reconcile(String createdBy) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            leadStatRepository.lockCreator(createdBy);
+            Map<LeadStatId, Long> recorded = new HashMap<>();
+            for (LeadStat stat : leadStatRepository.findByCreatedBy(createdBy)) {
+                recorded.put(stat.getId(), stat.getLeadCount());
+            }
+
+            Map<LeadStatId, Long> deltas = new TreeMap<>(KEY_ORDER);
+            for (Object[] row : leadRepository.countByCreatedByGroupByStatusAndProductType(createdBy)) {
+                LeadStatId id = key(createdBy, (LeadStatus) row[0], (ProductType) row[1]);
+                Long previous = recorded.remove(id);
+                long delta = ((Number) row[2]).longValue() - (previous != null ? previous : 0L);
+                if (delta != 0) {
+                    deltas.put(id, delta);
+                }
+            }
+            // Rows left over have no leads behind them any more
+            recorded.forEach((id, count) -> {
+                if (count != 0) {
+                    deltas.put(id, -count);
+                }
+            });
+
+            if (!deltas.isEmpty()) {
+                log.warn("Repairing lead_stats drift for user: {}: {}", createdBy, deltas);
+                apply(deltas);
+            }
+            return deltas.size();
+        });
+        return repaired != null ? repaired : 0;
+    }
+
+    private void lockCreators(Collection<LeadStatId> keys) {
+        keys.stream().map(LeadStatId::getCreatedBy).distinct().sorted()
+                .forEach(leadStatRepository::lockCreator);
+    }
+
+    private void apply(Map<LeadStatId, Long> deltas) {
+        List<DashboardDelta> published = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            long count = leadStatRepository.increment(id.getCreatedBy(), id.getStatus().name(),
+                    id.getProductType().name(), delta);
+            published.add(new DashboardDelta(id.getCreatedBy(), id.getStatus(), id.getProductType(), delta, count));
+        });
+        dashboardEventBus.publish(published);
+    }
+
+    private void applyDaily(Map<LeadDailyStatId, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        leadDailyStatRepository.lockForIncrement();
+        deltas.forEach((id, counts) -> leadDailyStatRepository.increment(id.getBucketDate(), id.getCreatedBy(),
+                id.getProductType().name(), counts[0], counts[1], counts[2], counts[3]));
+    }
+
+    private LocalDate createdOn(Lead lead) {
+        // Not yet set on leads whose insert has not been flushed
+        return lead.getCreatedAt() != null ? LocalDate.ofInstant(lead.getCreatedAt(), zone) : LocalDate.now(zone);
+    }
+
+    private static LeadDailyStatId dailyKey(LocalDate day, Lead lead) {
+        return new LeadDailyStatId(day, lead.getCreatedBy(), lead.getProductType());
+    }
+
+    /** Index of a status in the daily {created, sanctioned, disbursed, rejected} counts; -1 if untracked. */
+    private static int dailyColumn(LeadStatus status) {
+        return switch (status) {
+            case SANCTIONED -> 1;
+            case DISBURSED -> 2;
+            case REJECTED -> 3;
+            default -> -1;
+        };
+    }
+
+    private static LeadStatId key(String createdBy, LeadStatus status, ProductType productType) {
+        return new LeadStatId(createdBy, status, productType);
+    }
+}
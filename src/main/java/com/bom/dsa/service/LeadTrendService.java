@@ -0,0 +1,239 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.TrendResponse;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.LeadDailyStatRepository;
+import com.bom.dsa.repository.LeadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service for lead trends over time, read from the lead_daily_stats rollup.
+ * A request sums the daily rows of its date range in one grouped query and rolls the
+ * days up to weeks or months in memory, so its cost depends on the number of days and
+ * groups, not on the number of leads. Days are calendar days in analytics.zone.
+ * Also rebuilds past days of the rollup from the leads table.
+ */
+@Service
+@Slf4j
+public class LeadTrendService {
+
+    static final String ALL_SERIES = "ALL";
+
+    // Days rebuilt per transaction, so a full backfill does not hold one huge transaction
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    private final LeadDailyStatRepository leadDailyStatRepository;
+    private final LeadRepository leadRepository;
+    private final Scheduler jdbcScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ZoneId zone;
+    private final int maxDays;
+
+    public LeadTrendService(LeadDailyStatRepository leadDailyStatRepository, LeadRepository leadRepository,
+            Scheduler jdbcScheduler, PlatformTransactionManager transactionManager,
+            @Value("${analytics.zone:Asia/Kolkata}") ZoneId zone,
+            @Value("${analytics.trends.max-days:731}") int maxDays) {
+        this.leadDailyStatRepository = leadDailyStatRepository;
+        this.leadRepository = leadRepository;
+        this.jdbcScheduler = jdbcScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.zone = zone;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Get lead trends for a date range.
+     * Without dates the range is the last 30 days, today included; a range may span
+     * at most analytics.trends.max-days days.
+     *
+     * @param createdBy   only leads of this DSA; null for all
+     * @param productType only leads of this product type; null for all
+     * @param from        first day, inclusive; may be null
+     * @param to          last day, inclusive; may be null
+     * @param granularity period of each point; DAY when null
+     * @param groupBy     how to split the series; NONE when null
+     * @return Mono containing one series per group
+     */
+    public Mono<TrendResponse> getTrends(String createdBy, ProductType productType, LocalDate from, LocalDate to,
+            TrendGranularity granularity, TrendGroupBy groupBy) {
+        TrendGranularity period = granularity != null ? granularity : TrendGranularity.DAY;
+        TrendGroupBy grouping = groupBy != null ? groupBy : TrendGroupBy.NONE;
+        LocalDate last = to != null ? to : LocalDate.now(zone);
+        LocalDate first = from != null ? from : last.minusDays(29);
+        if (first.isAfter(last)) {
+            return Mono.error(new CustomExceptions.BusinessException("from must not be after to"));
+        }
+        if (ChronoUnit.DAYS.between(first, last) >= maxDays) {
+            return Mono.error(new CustomExceptions.BusinessException(
+                    "Date range must not exceed " + maxDays + " days"));
+        }
+
+        log.info("Fetching lead trends from {} to {} by {} for user: {}, product type: {}, group by: {}",
+                first, last, period, createdBy, productType, grouping);
+        return Mono.fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
+            List<Object[]> rows = switch (grouping) {
+                case NONE -> leadDailyStatRepository.sumByDay(first, last, createdBy, productType);
+                case PRODUCT -> leadDailyStatRepository.sumByDayAndProductType(first, last, createdBy, productType);
+                case DSA -> leadDailyStatRepository.sumByDayAndCreatedBy(first, last, createdBy, productType);
+            };
+            return rollUp(rows, first, last, period, grouping);
+        })).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Sum daily rows into one point per period for every series.
+     * Rows are {day, [groupKey,] created, sanctioned, disbursed, rejected}; the group key
+     * is absent when grouping is NONE. Periods without rows get zero counts.
+     */
+    static TrendResponse rollUp(List<Object[]> rows, LocalDate from, LocalDate to, TrendGranularity granularity,
+            TrendGroupBy groupBy) {
+        Map<LocalDate, Integer> periodIndex = new HashMap<>();
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate start = periodStart(from, granularity); !start.isAfter(to); start = next(start, granularity)) {
+            periodIndex.put(start, periods.size());
+            periods.add(start);
+        }
+
+        int offset = groupBy == TrendGroupBy.NONE ? 1 : 2;
+        Map<String, long[][]> totals = new TreeMap<>();
+        if (groupBy == TrendGroupBy.NONE) {
+            totals.put(ALL_SERIES, new long[periods.size()][4]);
+        }
+        for (Object[] row : rows) {
+            String key = groupBy == TrendGroupBy.NONE ? ALL_SERIES : row[1].toString();
+            long[] counts = totals.computeIfAbsent(key, k -> new long[periods.size()][4])
+                    [periodIndex.get(periodStart((LocalDate) row[0], granularity))];
+            for (int i = 0; i < 4; i++) {
+                counts[i] += row[offset + i] != null ? ((Number) row[offset + i]).longValue() : 0L;
+            }
+        }
+
+        List<TrendResponse.Series> series = new ArrayList<>(totals.size());
+        totals.forEach((key, counts) -> {
+            List<TrendResponse.Point> points = new ArrayList<>(periods.size());
+            for (int i = 0; i < periods.size(); i++) {
+                points.add(TrendResponse.Point.builder()
+                        .periodStart(periods.get(i))
+                        .created(counts[i][0])
+                        .sanctioned(counts[i][1])
+                        .disbursed(counts[i][2])
+                        .rejected(counts[i][3])
+                        .build());
+            }
+            series.add(TrendResponse.Series.builder().key(key).points(points).build());
+        });
+
+        return TrendResponse.builder()
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .groupBy(groupBy)
+                .series(series)
+                .build();
+    }
+
+    /**
+     * Fill lead_daily_stats from the leads table, from the day of the oldest lead through
+     * today, unless a backfill has completed before. Completion is recorded only after
+     * the last day is written, so a backfill that failed part way runs again in full.
+     * Instances that start together may both run it; the rebuild locks keep that safe.
+     *
+     * @return number of rows written; 0 when the backfill had already completed
+     */
+    public int backfillIfIncomplete() {
+        if (leadDailyStatRepository.isBackfillComplete()) {
+            return 0;
+        }
+        Instant earliest = leadRepository.findEarliestCreatedAt();
+        int rows = earliest != null ? rebuild(LocalDate.ofInstant(earliest, zone), LocalDate.now(zone)) : 0;
+        transactionTemplate.executeWithoutResult(status -> leadDailyStatRepository.markBackfillComplete());
+        return rows;
+    }
+
+    /**
+     * Replace the rows of the days from..to with counts recomputed from the leads table.
+     * Each chunk of days is deleted and rebuilt in its own transaction, holding the
+     * rollup's write lock so live increments and other rebuilds wait for it. Sanctions,
+     * disbursements and rejections are dated by the lead's updated_at, since leads keep
+     * no status history, and a lead only counts in its current status. Lead statuses
+     * change outside this service, so this is also how those changes reach the rollup.
+     *
+     * @param from first day, inclusive
+     * @param to   last day, inclusive
+     * @return number of rows written
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        int written = 0;
+        for (LocalDate chunk = from; !chunk.isAfter(to); chunk = chunk.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate start = chunk;
+            LocalDate end = min(start.plusDays(REBUILD_CHUNK_DAYS - 1), to);
+            Integer rows = transactionTemplate.execute(status -> {
+                leadDailyStatRepository.lockForRebuild();
+                leadDailyStatRepository.deleteRange(start, end);
+                return leadDailyStatRepository.upsertRangeFromLeads(utcStartOf(start), utcStartOf(end.plusDays(1)),
+                        zone.getId());
+            });
+            written += rows != null ? rows : 0;
+        }
+        log.info("Rebuilt lead_daily_stats from {} to {}: {} rows", from, to, written);
+        return written;
+    }
+
+    /**
+     * Today in analytics.zone.
+     */
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    // leads timestamps are stored as UTC wall-clock time
+    private LocalDateTime utcStartOf(LocalDate day) {
+        return LocalDateTime.ofInstant(day.atStartOfDay(zone).toInstant(), ZoneOffset.UTC);
+    }
+
+    private static LocalDate periodStart(LocalDate day, TrendGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate periodStart, TrendGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,225 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.enums.CountMode;
+import com.bom.dsa.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves the total element count for paginated lists.
+ * Each list (scope) runs in EXACT, CACHED or ESTIMATED mode, chosen per request or
+ * by pagination.count-mode.&lt;scope&gt;. Cached counts are keyed by (scope, owner, filters)
+ * and invalidated by the write paths of that scope after commit.
+ */
+@Service
+@Slf4j
+public class TotalCountService {
+
+    public static final String LEADS = "leads";
+    public static final String BILLINGS = "billings";
+    public static final String DSAS = "dsas";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CountMode> configuredModes;
+    private final Cache<CountKey, Long> countCache;
+
+    public TotalCountService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${pagination.count-mode.leads:EXACT}") CountMode leadsMode,
+            @Value("${pagination.count-mode.billings:EXACT}") CountMode billingsMode,
+            @Value("${pagination.count-mode.dsas:EXACT}") CountMode dsasMode,
+            @Value("${pagination.count-cache.ttl:PT5M}") Duration cacheTtl,
+            @Value("${pagination.count-cache.max-size:10000}") long cacheMaxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.configuredModes = Map.of(LEADS, leadsMode, BILLINGS, billingsMode, DSAS, dsasMode);
+        this.countCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Build a page for the given content, obtaining the total with the requested mode.
+     * Like Spring Data, no count is taken when the content alone determines the total.
+     *
+     * @param scope         list identifier (LEADS, BILLINGS, DSAS)
+     * @param owner         user the list belongs to, or null for global lists
+     * @param filters       filter values that affect the count
+     * @param content       page content fetched without a count query
+     * @param pageable      pagination info used to fetch the content
+     * @param requestedMode mode requested by the caller, or null for the configured mode
+     * @param exactCount    runs the exact COUNT query
+     * @param estimateQuery native SQL whose planner row estimate approximates the count,
+     *                      or null if the list cannot be estimated
+     * @return page with total and exactness flag
+     */
+    public <T> CountedPage<T> toPage(String scope, String owner, List<?> filters, List<T> content,
+            Pageable pageable, CountMode requestedMode, LongSupplier exactCount, EstimateQuery estimateQuery) {
+        if (pageable.isUnpaged()) {
+            return new CountedPage<>(content, pageable, content.size(), true);
+        }
+        if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), true);
+        }
+
+        CountMode mode = requestedMode != null ? requestedMode : configuredModes.getOrDefault(scope, CountMode.EXACT);
+        long lowerBound = pageable.getOffset() + content.size();
+
+        switch (mode) {
+            case CACHED -> {
+                CountKey key = new CountKey(scope, owner, filters);
+                Long cached = countCache.getIfPresent(key);
+                if (cached != null) {
+                    log.debug("Count cache hit for {}: {}", key, cached);
+                    return new CountedPage<>(content, pageable, Math.max(cached, lowerBound), false);
+                }
+                long total = exactCount.getAsLong();
+                countCache.put(key, total);
+                return new CountedPage<>(content, pageable, total, true);
+            }
+            case ESTIMATED -> {
+                if (estimateQuery != null) {
+                    try {
+                        long estimate = estimate(estimateQuery);
+                        return new CountedPage<>(content, pageable, Math.max(estimate, lowerBound), false);
+                    } catch (Exception e) {
+                        log.debug("Count estimate unavailable for {}, falling back to exact: {}", scope,
+                                e.getMessage());
+                    }
+                }
+                return new CountedPage<>(content, pageable, exactCount.getAsLong(), true);
+            }
+            default -> {
+                return new CountedPage<>(content, pageable, exactCount.getAsLong(), true);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #toPage} for callers whose queries return publishers.
+     * Applies the same modes; the exact count and the estimate plan are only subscribed
+     * to when the mode needs them.
+     *
+     * @param scope         list identifier (LEADS, BILLINGS, DSAS)
+     * @param owner         user the list belongs to, or null for global lists
+     * @param filters       filter values that affect the count
+     * @param content       page content fetched without a count query
+     * @param pageable      pagination info used to fetch the content
+     * @param requestedMode mode requested by the caller, or null for the configured mode
+     * @param exactCount    runs the exact COUNT query
+     * @param estimatePlan  EXPLAIN (FORMAT JSON) output of the estimate query, or null
+     *                      if the list cannot be estimated
+     * @return Mono of the page with total and exactness flag
+     */
+    public <T> Mono<CountedPage<T>> toPageAsync(String scope, String owner, List<?> filters, List<T> content,
+            Pageable pageable, CountMode requestedMode, Mono<Long> exactCount, Mono<String> estimatePlan) {
+        if (pageable.isUnpaged()) {
+            return Mono.just(new CountedPage<>(content, pageable, content.size(), true));
+        }
+        if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+            return Mono.just(new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), true));
+        }
+
+        CountMode mode = requestedMode != null ? requestedMode : configuredModes.getOrDefault(scope, CountMode.EXACT);
+        long lowerBound = pageable.getOffset() + content.size();
+        Mono<CountedPage<T>> exactPage = exactCount.map(total -> new CountedPage<>(content, pageable, total, true));
+
+        switch (mode) {
+            case CACHED -> {
+                CountKey key = new CountKey(scope, owner, filters);
+                Long cached = countCache.getIfPresent(key);
+                if (cached != null) {
+                    log.debug("Count cache hit for {}: {}", key, cached);
+                    return Mono.just(new CountedPage<>(content, pageable, Math.max(cached, lowerBound), false));
+                }
+                return exactCount.map(total -> {
+                    countCache.put(key, total);
+                    return new CountedPage<>(content, pageable, total, true);
+                });
+            }
+            case ESTIMATED -> {
+                if (estimatePlan == null) {
+                    return exactPage;
+                }
+                return estimatePlan
+                        .map(plan -> new CountedPage<>(content, pageable, Math.max(planRows(plan), lowerBound),
+                                false))
+                        .onErrorResume(e -> {
+                            log.debug("Count estimate unavailable for {}, falling back to exact: {}", scope,
+                                    e.getMessage());
+                            return exactPage;
+                        });
+            }
+            default -> {
+                return exactPage;
+            }
+        }
+    }
+
+    /**
+     * Drop cached counts of a scope for one owner, or for everyone when owner is null.
+     * Inside a transaction the eviction waits for the commit.
+     *
+     * @param scope list identifier
+     * @param owner user whose counts changed, or null for all owners
+     */
+    public void invalidate(String scope, String owner) {
+        AfterCommit.run(() -> evict(scope, owner));
+    }
+
+    private void evict(String scope, String owner) {
+        countCache.asMap().keySet().removeIf(key -> key.scope().equals(scope)
+                && (owner == null || Objects.equals(key.owner(), owner)));
+        log.debug("Invalidated cached counts for scope: {}, owner: {}", scope, owner);
+    }
+
+    /**
+     * Read the planner's row estimate for the query, without executing it.
+     */
+    private long estimate(EstimateQuery query) throws Exception {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class,
+                query.args().toArray());
+        return planRows(plan);
+    }
+
+    /**
+     * Top-level row estimate of an EXPLAIN (FORMAT JSON) plan.
+     */
+    private long planRows(String plan) {
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            if (!rows.isNumber()) {
+                throw new IllegalStateException("No row estimate in plan");
+            }
+            return rows.asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Native SQL with positional arguments, used only for planner estimates.
+     */
+    public record EstimateQuery(String sql, List<Object> args) {
+    }
+
+    private record CountKey(String scope, String owner, List<?> filters) {
+    }
+}
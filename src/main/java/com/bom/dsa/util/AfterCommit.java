@@ -0,0 +1,36 @@
+package com.bom.dsa.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write until its transaction commits.
+ * Cache evictions and published events must not run before the data they reflect is
+ * visible: an eviction before commit lets a concurrent read re-cache the old state,
+ * and an event for a write that is then rolled back describes a change that never
+ * happened. Nothing runs if the transaction rolls back.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action after the current transaction commits, or at once when no
+     * transaction synchronization is active.
+     *
+     * @param action the side effect
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
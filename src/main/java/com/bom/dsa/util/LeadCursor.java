@@ -0,0 +1,44 @@
+package com.bom.dsa.util;
+
+import com.bom.dsa.exception.CustomExceptions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the lead list, ordered by createdAt desc then id desc.
+ * Serialized as an opaque URL-safe token so clients never depend on its shape.
+ */
+public record LeadCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode this position as an opaque token.
+     *
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the cursor token
+     * @return decoded cursor
+     */
+    public static LeadCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new LeadCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new CustomExceptions.BusinessException("Invalid cursor: " + token);
+        }
+    }
+}
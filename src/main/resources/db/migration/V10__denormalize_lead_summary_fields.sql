@@ -0,0 +1,27 @@
+-- Denormalize the fields shown in lead lists onto leads, so list pages and
+-- sorting by amount do not join basic_details and the four loan detail tables.
+-- Kept current by Lead.refreshDenormalizedFields() on create and update.
+ALTER TABLE leads ADD COLUMN amount_requested DECIMAL(15, 2);
+ALTER TABLE leads ADD COLUMN customer_name VARCHAR(255);
+ALTER TABLE leads ADD COLUMN mobile_number VARCHAR(15);
+ALTER TABLE leads ADD COLUMN email_address VARCHAR(255);
+
+-- Backfill from existing detail rows (same precedence as the application:
+-- vehicle, education, home, then loan against property)
+UPDATE leads l
+SET customer_name = TRIM(CONCAT_WS(' ', NULLIF(bd.salutation, ''), bd.first_name,
+                                   NULLIF(bd.middle_name, ''), bd.last_name)),
+    mobile_number = bd.mobile_number,
+    email_address = bd.email_address
+FROM basic_details bd
+WHERE bd.lead_id = l.id;
+
+UPDATE leads l
+SET amount_requested = COALESCE(
+        (SELECT vld.amount_requested FROM vehicle_loan_details vld WHERE vld.lead_id = l.id),
+        (SELECT eld.amount_requested FROM education_loan_details eld WHERE eld.lead_id = l.id),
+        (SELECT hld.amount_requested FROM home_loan_details hld WHERE hld.lead_id = l.id),
+        (SELECT lapd.amount_requested FROM loan_against_property_details lapd WHERE lapd.lead_id = l.id));
+
+-- Sorting a DSA's live leads by amount
+CREATE INDEX idx_leads_created_by_amount ON leads(created_by, amount_requested DESC) WHERE is_deleted = false;
@@ -0,0 +1,21 @@
+-- Transactional outbox for approval-flow requests.
+-- Rows are written in the same transaction as the lead and delivered by
+-- ApprovalOutboxDispatcher. The foreign key is deferred because Hibernate may
+-- flush the outbox insert before the lead insert.
+CREATE TABLE approval_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    lead_id UUID NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    running_flow_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    FOREIGN KEY (lead_id) REFERENCES leads(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED
+);
+
+-- Dispatcher poll: due pending rows in next_attempt_at order
+CREATE INDEX idx_approval_outbox_pending ON approval_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_approval_outbox_lead_id ON approval_outbox(lead_id);
@@ -0,0 +1,19 @@
+-- Per-DSA lead counts, one row per (created_by, status, product_type).
+-- LeadStatsService adjusts the row in the same transaction as each lead insert,
+-- status change and soft delete, so dashboards read a handful of rows instead of
+-- counting the DSA's whole lead history. LeadStatsReconciler recounts from leads
+-- periodically and repairs any drift (e.g. from writes made outside the service).
+CREATE TABLE lead_stats (
+    created_by VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    product_type VARCHAR(50) NOT NULL,
+    lead_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (created_by, status, product_type)
+);
+
+INSERT INTO lead_stats (created_by, status, product_type, lead_count)
+SELECT created_by, status, product_type, COUNT(*)
+FROM leads
+WHERE is_deleted = false
+GROUP BY created_by, status, product_type;
@@ -0,0 +1,25 @@
+-- Daily lead activity per (bucket_date, created_by, product_type) for trend charts.
+-- bucket_date is the calendar day in analytics.zone. created_count counts leads
+-- created that day; the status counts count leads that moved to SANCTIONED,
+-- DISBURSED or REJECTED that day. LeadStatsService adds to the current day's row in
+-- the lead's transaction; LeadDailyStatsJob rebuilds past days from leads.
+-- leads has no status-change timestamp, so rebuilt days date a lead's current
+-- status by its updated_at.
+CREATE TABLE lead_daily_stats (
+    bucket_date DATE NOT NULL,
+    created_by VARCHAR(100) NOT NULL,
+    product_type VARCHAR(50) NOT NULL,
+    created_count BIGINT NOT NULL DEFAULT 0,
+    sanctioned_count BIGINT NOT NULL DEFAULT 0,
+    disbursed_count BIGINT NOT NULL DEFAULT 0,
+    rejected_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (bucket_date, created_by, product_type)
+);
+
+-- Per-DSA trend queries; the primary key serves the all-DSA date range scans
+CREATE INDEX idx_lead_daily_stats_created_by ON lead_daily_stats(created_by, bucket_date);
+
+-- Lets day-range rebuilds find decided leads by updated_at without scanning leads
+CREATE INDEX idx_leads_decided_updated_at ON leads(updated_at)
+    WHERE is_deleted = false AND status IN ('SANCTIONED', 'DISBURSED', 'REJECTED');
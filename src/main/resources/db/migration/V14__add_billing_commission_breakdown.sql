@@ -0,0 +1,14 @@
+-- Commission breakdown of billings generated by CommissionService. Rows created
+-- before this migration keep NULLs.
+ALTER TABLE billing ADD COLUMN lead_count INTEGER;
+ALTER TABLE billing ADD COLUMN disbursed_amount DECIMAL(15, 2);
+ALTER TABLE billing ADD COLUMN commission_amount DECIMAL(15, 2);
+ALTER TABLE billing ADD COLUMN gst_amount DECIMAL(15, 2);
+ALTER TABLE billing ADD COLUMN tds_amount DECIMAL(15, 2);
+
+-- One billing per DSA and period, so a commission rerun updates instead of duplicating
+CREATE UNIQUE INDEX uq_billing_user_period ON billing(user_id, period_start, period_end);
+
+-- Disbursed leads of a DSA in a period (disbursement is dated by updated_at)
+CREATE INDEX idx_leads_disbursed_created_by ON leads(created_by, updated_at)
+    WHERE status = 'DISBURSED' AND is_deleted = false;
@@ -0,0 +1,8 @@
+-- Leads billed by CommissionService. A lead belongs to the billing that first included
+-- it, so a later write that moves its updated_at into another month cannot bill it again.
+CREATE TABLE billing_leads (
+    lead_id UUID PRIMARY KEY REFERENCES leads(id) ON DELETE CASCADE,
+    billing_id UUID NOT NULL REFERENCES billing(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_billing_leads_billing_id ON billing_leads(billing_id);
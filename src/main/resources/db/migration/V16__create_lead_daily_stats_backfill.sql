@@ -0,0 +1,6 @@
+-- Set once LeadDailyStatsJob has backfilled lead_daily_stats through the day it started,
+-- so a backfill that failed part way is run again on the next start.
+CREATE TABLE lead_daily_stats_backfill (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    completed_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,2 @@
+-- Lets the dispatcher's retention purge find old SENT entries without scanning the outbox.
+CREATE INDEX idx_approval_outbox_sent_at ON approval_outbox(sent_at) WHERE status = 'SENT';
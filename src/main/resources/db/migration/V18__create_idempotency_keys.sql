@@ -0,0 +1,22 @@
+-- Idempotency-Key records shared by all instances (IdempotencyService).
+-- A row is claimed before the write runs and holds the stored response once it
+-- completes. Until then expires_at is the claim's lease, so a key left behind by a
+-- crashed instance can be claimed again; afterwards it is the replay deadline.
+CREATE TABLE idempotency_keys (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    operation VARCHAR(100) NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    claim_id UUID NOT NULL,
+    status_code INTEGER,
+    headers TEXT,
+    body TEXT,
+    body_type VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_idempotency_keys_scope UNIQUE (operation, owner, idempotency_key)
+);
+
+-- Purge of expired keys
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,5 @@
+-- Supports keyset pagination of a DSA's leads ordered by (created_at, id) descending.
+-- Partial on is_deleted so soft-deleted rows never enter the scan.
+CREATE INDEX idx_leads_created_by_created_at_id
+    ON leads(created_by, created_at DESC, id DESC)
+    WHERE is_deleted = false;
@@ -0,0 +1,9 @@
+-- Trigram indexes for substring search on the lead list (LIKE '%term%').
+-- A B-tree cannot serve a leading wildcard; GIN with gin_trgm_ops can.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_leads_app_ref_number_trgm ON leads USING gin (application_reference_number gin_trgm_ops);
+
+CREATE INDEX idx_basic_details_first_name_trgm ON basic_details USING gin (first_name gin_trgm_ops);
+CREATE INDEX idx_basic_details_last_name_trgm ON basic_details USING gin (last_name gin_trgm_ops);
+CREATE INDEX idx_basic_details_mobile_trgm ON basic_details USING gin (mobile_number gin_trgm_ops);
@@ -0,0 +1,133 @@
+package com.bom.dsa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()),
+                pool(10), 1, 1, 1, 1, 1, 3, false, 1, Duration.ofMillis(500), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void exportLimit_CappedBelowPoolSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AdmissionControlFilter(registry, new ObjectMapper(), pool(5), 32, 64, 32, 4, 1000, 3, false, 4,
+                Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        assertEquals(2.0, registry.get("admission.limit").tag("route", "export").gauge().value());
+        assertEquals(32.0, registry.get("admission.limit").tag("route", "write").gauge().value());
+    }
+
+    @Test
+    void classify_RoutesByPathAndMethod() {
+        assertEquals(AdmissionControlFilter.RouteClass.AUTH,
+                AdmissionControlFilter.classify(HttpMethod.POST, "/api/v1/auth/login"));
+        assertEquals(AdmissionControlFilter.RouteClass.EXPORT,
+                AdmissionControlFilter.classify(HttpMethod.GET, "/api/v1/leads/export/all"));
+        assertEquals(AdmissionControlFilter.RouteClass.READ,
+                AdmissionControlFilter.classify(HttpMethod.GET, "/api/v1/leads"));
+        assertEquals(AdmissionControlFilter.RouteClass.STREAM,
+                AdmissionControlFilter.classify(HttpMethod.GET, "/api/v1/dashboard/admin/stream"));
+        assertEquals(AdmissionControlFilter.RouteClass.READ,
+                AdmissionControlFilter.classify(HttpMethod.GET, "/api/v1/dashboard/admin"));
+        assertEquals(AdmissionControlFilter.RouteClass.WRITE,
+                AdmissionControlFilter.classify(HttpMethod.POST, "/api/v1/leads"));
+        assertNull(AdmissionControlFilter.classify(HttpMethod.GET, "/actuator/health/liveness"));
+        assertNull(AdmissionControlFilter.classify(HttpMethod.OPTIONS, "/api/v1/leads"));
+        assertNull(AdmissionControlFilter.classify(HttpMethod.GET, "/swagger-ui.html"));
+    }
+
+    @Test
+    void filter_AtLimit_RejectsWith503AndRetryAfter() {
+        Sinks.Empty<Void> inFlight = Sinks.empty();
+        filter.filter(exchange(HttpMethod.GET, "/api/v1/leads"), e -> inFlight.asMono()).subscribe();
+
+        MockServerWebExchange rejected = exchange(HttpMethod.GET, "/api/v1/leads");
+        StepVerifier.create(filter.filter(rejected, e -> Mono.error(new AssertionError("should not run"))))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        StepVerifier.create(rejected.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.contains("\"status\":503")))
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.get("admission.rejected").tag("route", "read").counter().count());
+
+        inFlight.tryEmitEmpty();
+        assertEquals(0, filter.limiter(AdmissionControlFilter.RouteClass.READ).getInFlight());
+        StepVerifier.create(filter.filter(exchange(HttpMethod.GET, "/api/v1/leads"), e -> Mono.empty()))
+                .verifyComplete();
+    }
+
+    @Test
+    void filter_ReadsSaturated_AuthAndHealthStillAdmitted() {
+        filter.filter(exchange(HttpMethod.GET, "/api/v1/leads"), e -> Sinks.<Void>empty().asMono()).subscribe();
+        filter.filter(exchange(HttpMethod.POST, "/api/v1/leads"), e -> Sinks.<Void>empty().asMono()).subscribe();
+
+        MockServerWebExchange login = exchange(HttpMethod.POST, "/api/v1/auth/login");
+        StepVerifier.create(filter.filter(login, e -> Mono.empty())).verifyComplete();
+        assertNull(login.getResponse().getStatusCode());
+
+        WebFilterChain healthy = e -> Mono.empty();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange health = exchange(HttpMethod.GET, "/actuator/health");
+            StepVerifier.create(filter.filter(health, healthy)).verifyComplete();
+            assertNull(health.getResponse().getStatusCode());
+        }
+    }
+
+    @Test
+    void adaptiveLimiter_ShrinksWhenSlowAndRecoversWhenFast() {
+        long target = TimeUnit.MILLISECONDS.toNanos(100);
+        AdmissionLimiter limiter = new AdmissionLimiter(20, true, 2, target);
+
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(target * 5);
+        }
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 400; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(target / 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static MockServerWebExchange exchange(HttpMethod method, String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+    }
+
+    private static HikariDataSource pool(int size) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(size);
+        return dataSource;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bom.dsa.config;
+
+import com.bom.dsa.entity.IdempotencyKey;
+import com.bom.dsa.repository.IdempotencyKeyRepository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * IdempotencyKeyRepository backed by a map, for tests without a database.
+ * Repositories created from the same instance share their keys, like instances sharing a table.
+ */
+public class InMemoryIdempotencyKeys {
+
+    private final Map<String, IdempotencyKey> keys = new ConcurrentHashMap<>();
+
+    public IdempotencyKeyRepository repository() {
+        IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> claim(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                invocation.getArgument(3), invocation.getArgument(4), invocation.getArgument(5),
+                invocation.getArgument(6)));
+        when(repository.findByOperationAndOwnerAndIdempotencyKey(any(), any(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(keys.get(scope(invocation.getArgument(0),
+                        invocation.getArgument(1), invocation.getArgument(2)))));
+        when(repository.complete(any(), anyInt(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            UUID claimId = invocation.getArgument(0);
+            for (IdempotencyKey key : keys.values()) {
+                if (key.getClaimId().equals(claimId)) {
+                    key.setStatusCode(invocation.getArgument(1));
+                    key.setHeaders(invocation.getArgument(2));
+                    key.setBody(invocation.getArgument(3));
+                    key.setBodyType(invocation.getArgument(4));
+                    key.setExpiresAt(invocation.getArgument(5));
+                    return 1;
+                }
+            }
+            return 0;
+        });
+        when(repository.release(any())).thenAnswer(invocation -> {
+            UUID claimId = invocation.getArgument(0);
+            return keys.values().removeIf(key -> key.getClaimId().equals(claimId) && key.getStatusCode() == null)
+                    ? 1 : 0;
+        });
+        return repository;
+    }
+
+    /**
+     * Move every key's lease or replay deadline to the given time.
+     */
+    public void expireAll(Instant expiresAt) {
+        keys.values().forEach(key -> key.setExpiresAt(expiresAt));
+    }
+
+    private synchronized int claim(String operation, String owner, String key, String fingerprint, UUID claimId,
+            Instant now, Instant leaseUntil) {
+        String scope = scope(operation, owner, key);
+        IdempotencyKey existing = keys.get(scope);
+        if (existing != null && existing.getExpiresAt().isAfter(now)) {
+            return 0;
+        }
+        keys.put(scope, IdempotencyKey.builder().id(UUID.randomUUID()).operation(operation).owner(owner)
+                .idempotencyKey(key).fingerprint(fingerprint).claimId(claimId).createdAt(now)
+                .expiresAt(leaseUntil).build());
+        return 1;
+    }
+
+    private static String scope(String operation, String owner, String key) {
+        return operation + "|" + owner + "|" + key;
+    }
+}
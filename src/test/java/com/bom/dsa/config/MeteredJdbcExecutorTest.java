@@ -0,0 +1,101 @@
+package com.bom.dsa.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeteredJdbcExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredJdbcExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new MeteredJdbcExecutor(1, 1, Executors.defaultThreadFactory(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_PublishesQueueDepthActiveAndWait() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        executor.execute(() -> {
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, meterRegistry.get("jdbc.scheduler.active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("jdbc.scheduler.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("jdbc.scheduler.threads").gauge().value());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.get("jdbc.scheduler.wait").timer().count());
+        assertEquals(0.0, meterRegistry.get("jdbc.scheduler.queue.depth").gauge().value());
+    }
+
+    @Test
+    void execute_QueueFull_RejectsAndCounts() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        assertEquals(1.0, meterRegistry.get("jdbc.scheduler.rejected").counter().count());
+    }
+
+    @Test
+    void scheduler_QueueFull_SignalsRejectedExecution() throws Exception {
+        Scheduler scheduler = Schedulers.fromExecutorService(executor, "jdbc");
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+
+        StepVerifier.create(Mono.fromCallable(() -> "ok").subscribeOn(scheduler))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bom.dsa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replica routing against two in-memory H2 databases standing in for the primary
+ * and the replica; each holds a marker row naming itself, and the replica has a
+ * table whose value plays the role of the replication lag.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaFallbackDataSource readOnly;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        readOnly = new ReplicaFallbackDataSource(replica, primary, LAG_QUERY, Duration.ofSeconds(5), Duration.ZERO);
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(readOnly);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        if (!replica.isClosed()) {
+            replica.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readTransaction.execute(status -> node()));
+        assertEquals(1, readOnly.getReplicaConnections());
+    }
+
+    @Test
+    void writeTransactionAndPlainCalls_UsePrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+        assertEquals(0, readOnly.getReplicaConnections());
+    }
+
+    @Test
+    void replicaTooStale_FallsBackToPrimaryUntilCaughtUp() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+
+        assertEquals("primary", readTransaction.execute(status -> node()));
+        assertFalse(readOnly.isReplicaUsable());
+        assertEquals(30_000, readOnly.getLagMillis());
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+
+        assertEquals("replica", readTransaction.execute(status -> node()));
+        assertTrue(readOnly.isReplicaUsable());
+    }
+
+    @Test
+    void replicaUnreachable_FallsBackToPrimary() {
+        replica.close();
+
+        assertEquals("primary", readTransaction.execute(status -> node()));
+        assertFalse(readOnly.isReplicaUsable());
+        assertEquals(1, readOnly.getPrimaryConnections());
+    }
+
+    @Test
+    void explicitCredentials_NotSupportedAndReplicaStillUsable() {
+        assertThrows(SQLFeatureNotSupportedException.class, () -> readOnly.getConnection("sa", ""));
+
+        assertTrue(readOnly.isReplicaUsable());
+        assertEquals("replica", readTransaction.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
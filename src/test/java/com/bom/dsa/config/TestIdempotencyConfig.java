@@ -0,0 +1,42 @@
+package com.bom.dsa.config;
+
+import com.bom.dsa.repository.IdempotencyKeyRepository;
+import com.bom.dsa.service.IdempotencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Real IdempotencyService for controller slice tests, which have no metrics, JDBC scheduler
+ * or database; keys are kept in memory.
+ */
+@TestConfiguration
+@Import(IdempotencyService.class)
+public class TestIdempotencyConfig {
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public Scheduler jdbcScheduler() {
+        return Schedulers.immediate();
+    }
+
+    @Bean
+    public IdempotencyKeyRepository idempotencyKeyRepository() {
+        return new InMemoryIdempotencyKeys().repository();
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return mock(PlatformTransactionManager.class);
+    }
+}
@@ -2,19 +2,21 @@ package com.bom.dsa.controller;
 
 import com.bom.dsa.dto.response.BillingResponse;
 import com.bom.dsa.dto.response.BillingSummaryResponse;
+import com.bom.dsa.dto.response.CommissionRunResponse;
+import com.bom.dsa.dto.response.CountedPage;
 import com.bom.dsa.service.BillingService;
+import com.bom.dsa.service.CommissionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.UUID;
 
@@ -33,6 +35,9 @@ class BillingControllerTest {
         @MockBean
         private BillingService billingService;
 
+        @MockBean
+        private CommissionService commissionService;
+
         @Test
         @WithMockUser(username = "testuser")
         void getBillingById_Success() {
@@ -58,10 +63,10 @@ class BillingControllerTest {
                 BillingResponse response = BillingResponse.builder()
                                 .invoiceId("INV-001")
                                 .build();
-                Page<BillingResponse> pageResponse = new PageImpl<>(Collections.singletonList(response),
-                                PageRequest.of(0, 10), 1);
+                CountedPage<BillingResponse> pageResponse = new CountedPage<>(Collections.singletonList(response),
+                                PageRequest.of(0, 10), 1, true);
 
-                when(billingService.getBillings(any(), any(), any(), any())).thenReturn(Mono.just(pageResponse));
+                when(billingService.getBillings(any(), any(), any(), any(), any())).thenReturn(Mono.just(pageResponse));
 
                 webTestClient.get()
                                 .uri("/api/v1/billing")
@@ -87,4 +92,23 @@ class BillingControllerTest {
                                 .expectBody()
                                 .jsonPath("$.totalEarned").isEqualTo(1000);
         }
+
+        @Test
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void runCommissions_Success() {
+                CommissionRunResponse response = CommissionRunResponse.builder()
+                                .dsaCount(2)
+                                .commissionAmount(new BigDecimal("150.00"))
+                                .build();
+
+                when(commissionService.runCommissions(YearMonth.of(2025, 3))).thenReturn(Mono.just(response));
+
+                webTestClient.post()
+                                .uri("/api/v1/billing/commissions?period=2025-03")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.dsaCount").isEqualTo(2)
+                                .jsonPath("$.commissionAmount").isEqualTo(150.0);
+        }
 }
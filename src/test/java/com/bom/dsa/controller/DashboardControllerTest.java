@@ -1,19 +1,34 @@
 package com.bom.dsa.controller;
 
 import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.dto.response.TrendResponse;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
 import com.bom.dsa.service.DashboardService;
+import com.bom.dsa.service.DashboardStreamService;
+import com.bom.dsa.service.LeadTrendService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(controllers = DashboardController.class, properties = "services.approval.base-url=http://localhost:8081")
@@ -27,6 +42,12 @@ class DashboardControllerTest {
         @MockBean
         private DashboardService dashboardService;
 
+        @MockBean
+        private LeadTrendService leadTrendService;
+
+        @MockBean
+        private DashboardStreamService dashboardStreamService;
+
         @Test
         @WithMockUser(username = "testuser")
         void getDashboardAnalytics_Success() {
@@ -61,4 +82,76 @@ class DashboardControllerTest {
                                 .jsonPath("$.totalLeads").isEqualTo(100);
         }
 
+        @Test
+        @WithMockUser(username = "testuser")
+        void getTrends_Success() {
+                LocalDate from = LocalDate.of(2025, 3, 1);
+                LocalDate to = LocalDate.of(2025, 3, 31);
+                when(leadTrendService.getTrends(any(), eq(ProductType.HOME_LOAN), eq(from), eq(to),
+                                eq(TrendGranularity.WEEK), isNull()))
+                                .thenReturn(Mono.just(trendResponse("ALL", 4L)));
+
+                webTestClient.get()
+                                .uri("/api/v1/dashboard/trends?from=2025-03-01&to=2025-03-31&granularity=WEEK&productType=HOME_LOAN")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.series[0].key").isEqualTo("ALL")
+                                .jsonPath("$.series[0].points[0].periodStart").isEqualTo("2025-02-24")
+                                .jsonPath("$.series[0].points[0].created").isEqualTo(4);
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void getAdminTrends_GroupedByDsa() {
+                when(leadTrendService.getTrends(isNull(), isNull(), isNull(), isNull(), eq(TrendGranularity.MONTH),
+                                eq(TrendGroupBy.DSA)))
+                                .thenReturn(Mono.just(trendResponse("DSA001", 9L)));
+
+                webTestClient.get()
+                                .uri("/api/v1/dashboard/admin/trends?granularity=MONTH&groupBy=DSA")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.series[0].key").isEqualTo("DSA001")
+                                .jsonPath("$.series[0].points[0].created").isEqualTo(9);
+        }
+
+        @Test
+        @WithMockUser(username = "testuser")
+        void streamDashboardAnalytics_ServerSentEvents() {
+                when(dashboardStreamService.streamDashboard(any())).thenReturn(Flux.just(
+                                ServerSentEvent.<Object>builder(DashboardAnalyticsResponse.builder().totalLeads(10L).build())
+                                                .event(DashboardStreamService.SNAPSHOT).build(),
+                                ServerSentEvent.<Object>builder().event(DashboardStreamService.RESYNC).build()));
+
+                Flux<ServerSentEvent<String>> events = webTestClient.get()
+                                .uri("/api/v1/dashboard/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                                })
+                                .getResponseBody();
+
+                StepVerifier.create(events)
+                                .expectNextMatches(event -> DashboardStreamService.SNAPSHOT.equals(event.event())
+                                                && event.data().contains("\"totalLeads\":10"))
+                                .expectNextMatches(event -> DashboardStreamService.RESYNC.equals(event.event()))
+                                .verifyComplete();
+        }
+
+        private static TrendResponse trendResponse(String key, long created) {
+                TrendResponse.Point point = TrendResponse.Point.builder()
+                                .periodStart(LocalDate.of(2025, 2, 24))
+                                .created(created)
+                                .sanctioned(0L)
+                                .disbursed(0L)
+                                .rejected(0L)
+                                .build();
+                return TrendResponse.builder()
+                                .series(List.of(TrendResponse.Series.builder().key(key).points(List.of(point)).build()))
+                                .build();
+        }
 }
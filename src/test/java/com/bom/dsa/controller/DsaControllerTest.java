@@ -26,7 +26,8 @@ import static org.mockito.Mockito.when;
 
 @WebFluxTest(controllers = DsaController.class, properties = "services.approval.base-url=http://localhost:8081")
 @org.springframework.test.context.ActiveProfiles("test")
-@org.springframework.context.annotation.Import(com.bom.dsa.config.TestSecurityConfig.class)
+@org.springframework.context.annotation.Import({ com.bom.dsa.config.TestSecurityConfig.class,
+                com.bom.dsa.config.TestIdempotencyConfig.class })
 class DsaControllerTest {
 
         @Autowired
@@ -1,34 +1,45 @@
 package com.bom.dsa.controller;
 
+import com.bom.dsa.dto.request.BulkCreateLeadRequest;
 import com.bom.dsa.dto.request.CreateLeadRequest;
 import com.bom.dsa.dto.request.UpdateLeadRequest;
+import com.bom.dsa.dto.response.BulkCreateLeadResponse;
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.dto.response.CursorPageResponse;
+import com.bom.dsa.dto.response.LeadExportRow;
 import com.bom.dsa.dto.response.LeadResponse;
 import com.bom.dsa.dto.response.LeadSummaryResponse;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.service.IdempotencyService;
+import com.bom.dsa.service.LeadExportService;
 import com.bom.dsa.service.LeadService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(controllers = LeadController.class, properties = "services.approval.base-url=http://localhost:8081")
 @org.springframework.test.context.ActiveProfiles("test")
-@org.springframework.context.annotation.Import(com.bom.dsa.config.TestSecurityConfig.class)
+@org.springframework.context.annotation.Import({ com.bom.dsa.config.TestSecurityConfig.class,
+                com.bom.dsa.config.TestIdempotencyConfig.class })
 class LeadControllerTest {
 
         @Autowired
@@ -37,6 +48,9 @@ class LeadControllerTest {
         @MockBean
         private LeadService leadService;
 
+        @MockBean
+        private LeadExportService leadExportService;
+
         @Test
         @WithMockUser(username = "testuser")
         void createLead_Success() {
@@ -72,6 +86,99 @@ class LeadControllerTest {
                                 .jsonPath("$.applicationReferenceNumber").isEqualTo("BOM123");
         }
 
+        @Test
+        @WithMockUser(username = "testuser")
+        void createLead_RetryWithSameIdempotencyKey_ReplaysFirstResponse() {
+                CreateLeadRequest request = CreateLeadRequest.builder()
+                                .productType(ProductType.HOME_LOAN)
+                                .basicDetails(CreateLeadRequest.BasicDetailsDto.builder()
+                                                .firstName("Jane")
+                                                .lastName("Doe")
+                                                .dateOfBirth(java.time.LocalDate.of(1990, 1, 1))
+                                                .gender("Female")
+                                                .maritalStatus("Single")
+                                                .mobileNumber("9876543211")
+                                                .emailAddress("jane@example.com")
+                                                .build())
+                                .occupationDetails(CreateLeadRequest.OccupationDetailsDto.builder()
+                                                .occupationType(com.bom.dsa.enums.OccupationType.SALARIED)
+                                                .build())
+                                .build();
+                LeadResponse response = LeadResponse.builder()
+                                .leadId(UUID.randomUUID())
+                                .applicationReferenceNumber("BOM456")
+                                .build();
+                String key = UUID.randomUUID().toString();
+
+                when(leadService.createLead(any(), any())).thenReturn(Mono.just(response));
+
+                for (int attempt = 0; attempt < 2; attempt++) {
+                        webTestClient.post()
+                                        .uri("/api/v1/leads")
+                                        .header(IdempotencyService.HEADER, key)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(request)
+                                        .exchange()
+                                        .expectStatus().isCreated()
+                                        .expectBody()
+                                        .jsonPath("$.applicationReferenceNumber").isEqualTo("BOM456");
+                }
+
+                webTestClient.post()
+                                .uri("/api/v1/leads")
+                                .header(IdempotencyService.HEADER, key)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(request)
+                                .exchange()
+                                .expectHeader().valueEquals(IdempotencyService.REPLAYED_HEADER, "true");
+                verify(leadService, times(1)).createLead(any(), any());
+        }
+
+        @Test
+        @WithMockUser(username = "testuser")
+        void createLeads_ReturnsPerItemResults() {
+                BulkCreateLeadRequest request = BulkCreateLeadRequest.builder()
+                                .leads(List.of(CreateLeadRequest.builder().productType(ProductType.HOME_LOAN).build(),
+                                                CreateLeadRequest.builder().build()))
+                                .build();
+                BulkCreateLeadResponse response = BulkCreateLeadResponse.builder()
+                                .total(2)
+                                .created(1)
+                                .failed(1)
+                                .results(List.of(
+                                                BulkCreateLeadResponse.ItemResult.builder().index(0).created(true)
+                                                                .applicationReferenceNumber("BOM123").errors(List.of())
+                                                                .build(),
+                                                BulkCreateLeadResponse.ItemResult.builder().index(1).created(false)
+                                                                .errors(List.of("productType: Product type is required"))
+                                                                .build()))
+                                .build();
+
+                when(leadService.createLeads(any(), any())).thenReturn(Mono.just(response));
+
+                webTestClient.post()
+                                .uri("/api/v1/leads/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(request)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.created").isEqualTo(1)
+                                .jsonPath("$.results[1].created").isEqualTo(false)
+                                .jsonPath("$.results[1].errors[0]").isEqualTo("productType: Product type is required");
+        }
+
+        @Test
+        @WithMockUser(username = "testuser")
+        void createLeads_EmptyBatch_BadRequest() {
+                webTestClient.post()
+                                .uri("/api/v1/leads/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(BulkCreateLeadRequest.builder().leads(List.of()).build())
+                                .exchange()
+                                .expectStatus().isBadRequest();
+        }
+
         @Test
         @WithMockUser(username = "testuser")
         void getLeadById_Success() {
@@ -98,17 +205,45 @@ class LeadControllerTest {
                                 .leadId(UUID.randomUUID())
                                 .applicationReferenceNumber("BOM123")
                                 .build();
-                Page<LeadSummaryResponse> pageResponse = new PageImpl<>(Collections.singletonList(summary),
-                                PageRequest.of(0, 10), 1);
+                CountedPage<LeadSummaryResponse> pageResponse = new CountedPage<>(Collections.singletonList(summary),
+                                PageRequest.of(0, 10), 1, true);
 
-                when(leadService.getLeads(any(), any(), any(), any(), any())).thenReturn(Mono.just(pageResponse));
+                when(leadService.getLeads(any(), any(), any(), any(), any(), any())).thenReturn(Mono.just(pageResponse));
 
                 webTestClient.get()
                                 .uri("/api/v1/leads")
                                 .exchange()
                                 .expectStatus().isOk()
                                 .expectBody()
-                                .jsonPath("$.content[0].applicationReferenceNumber").isEqualTo("BOM123");
+                                .jsonPath("$.content[0].applicationReferenceNumber").isEqualTo("BOM123")
+                                .jsonPath("$.totalExact").isEqualTo(true);
+        }
+
+        @Test
+        @WithMockUser(username = "testuser")
+        void getLeadsByCursor_Success() {
+                LeadSummaryResponse summary = LeadSummaryResponse.builder()
+                                .leadId(UUID.randomUUID())
+                                .applicationReferenceNumber("BOM123")
+                                .build();
+                CursorPageResponse<LeadSummaryResponse> pageResponse = CursorPageResponse.<LeadSummaryResponse>builder()
+                                .content(Collections.singletonList(summary))
+                                .size(1)
+                                .hasNext(true)
+                                .nextCursor("next-token")
+                                .build();
+
+                when(leadService.getLeadsByCursor(any(), any(), any(), any(), eq(""), eq(12)))
+                                .thenReturn(Mono.just(pageResponse));
+
+                webTestClient.get()
+                                .uri("/api/v1/leads?cursor=")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.content[0].applicationReferenceNumber").isEqualTo("BOM123")
+                                .jsonPath("$.nextCursor").isEqualTo("next-token")
+                                .jsonPath("$.totalElements").doesNotExist();
         }
 
         @Test
@@ -147,4 +282,42 @@ class LeadControllerTest {
                                 .exchange()
                                 .expectStatus().isNoContent();
         }
+
+        @Test
+        @WithMockUser(username = "testuser")
+        void exportLeads_StreamsNdjson() {
+                when(leadExportService.exportLeads(any(), any(), any())).thenReturn(Flux.just(
+                                LeadExportRow.builder().applicationReferenceNumber("BOM1").build(),
+                                LeadExportRow.builder().applicationReferenceNumber("BOM2").build()));
+
+                Flux<LeadExportRow> body = webTestClient.get()
+                                .uri("/api/v1/leads/export")
+                                .accept(MediaType.APPLICATION_NDJSON)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                                .returnResult(LeadExportRow.class)
+                                .getResponseBody();
+
+                StepVerifier.create(body)
+                                .expectNextMatches(row -> row.getApplicationReferenceNumber().equals("BOM1"))
+                                .expectNextMatches(row -> row.getApplicationReferenceNumber().equals("BOM2"))
+                                .verifyComplete();
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void exportAllLeads_Csv_StreamsAttachment() {
+                when(leadExportService.exportLeadsCsv(eq("dsa1"), any(), any()))
+                                .thenReturn(Flux.just("leadId,applicationReferenceNumber\r\n", ",BOM1\r\n"));
+
+                webTestClient.get()
+                                .uri("/api/v1/leads/export/all?format=csv&createdBy=dsa1&from=2024-01-01T00:00:00Z")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                                .expectHeader().valueEquals("Content-Disposition", "attachment; filename=\"leads.csv\"")
+                                .expectBody(String.class)
+                                .isEqualTo("leadId,applicationReferenceNumber\r\n,BOM1\r\n");
+        }
 }
@@ -0,0 +1,123 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.BillingResponse;
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.entity.Billing;
+import com.bom.dsa.entity.User;
+import com.bom.dsa.enums.CountMode;
+import com.bom.dsa.service.BillingService;
+import com.bom.dsa.service.BillingSummaryCache;
+import com.bom.dsa.service.TotalCountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements behind a billing list page: the user lookup, the page query
+ * (which fetches the billings' user) and the total count, however many rows the page has.
+ * Runs outside a test transaction, as requests do, so no user is served from a shared
+ * persistence context.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillingListQueryCountTest {
+
+    private static final int BILLINGS = 20;
+
+    @Autowired
+    private BillingRepository billingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BillingService billingService;
+    private User user;
+    private List<Billing> billings;
+
+    @BeforeEach
+    void setUp() {
+        billingService = new BillingService(billingRepository, userRepository,
+                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT, CountMode.EXACT,
+                        Duration.ofMinutes(5), 100),
+                new BillingSummaryCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)),
+                Schedulers.immediate(), transactionManager);
+
+        String code = "DSA_" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .dsaUniqueCode(code)
+                .password("secret")
+                .fullName("Query Count DSA")
+                .createdAt(Instant.now())
+                .build());
+        billings = new ArrayList<>();
+        LocalDate month = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < BILLINGS; i++) {
+            billings.add(Billing.builder()
+                    .invoiceId(code + "-" + i)
+                    .user(user)
+                    .periodStart(month.plusMonths(i))
+                    .periodEnd(month.plusMonths(i + 1).minusDays(1))
+                    .amount(BigDecimal.valueOf(1000L + i))
+                    .build());
+        }
+        billings = billingRepository.saveAll(billings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        billingRepository.deleteAll(billings);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void getBillings_StatementsDoNotGrowWithPageSize() {
+        long small = statementsForPage(5);
+        long large = statementsForPage(15);
+
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    private long statementsForPage(int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CountedPage<BillingResponse> page = billingService.getBillings(user.getDsaUniqueCode(), null, null,
+                PageRequest.of(0, size, Sort.by("generatedAt").descending()), CountMode.EXACT).block();
+
+        assertEquals(size, page.getNumberOfElements());
+        assertEquals(BILLINGS, page.getTotalElements());
+        page.getContent().forEach(response -> assertEquals("Query Count DSA", response.getDsaName()));
+        return statistics.getPrepareStatementCount();
+    }
+}
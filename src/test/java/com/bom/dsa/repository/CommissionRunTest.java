@@ -0,0 +1,171 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.CommissionRunResponse;
+import com.bom.dsa.enums.CountMode;
+import com.bom.dsa.service.BillingSummaryCache;
+import com.bom.dsa.service.CommissionService;
+import com.bom.dsa.service.TotalCountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs CommissionService against the migrated schema: billings match the disbursed leads,
+ * a rerun changes nothing, billings already sent to the bank are not recomputed, a billed
+ * lead updated in a later month is not billed again, and a PENDING billing whose leads
+ * dropped out is deleted.
+ * Chunks of one DSA on two threads exercise the fork-join split.
+ * Runs outside a test transaction, since the pool threads commit on their own connections.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommissionRunTest {
+
+        private static final YearMonth MONTH = YearMonth.of(2025, 3);
+        private static final String DSA = "DSA_ACTIVE_001";
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        private CommissionService commissionService;
+
+        @BeforeEach
+        void setUp() {
+                commissionService = new CommissionService(dataSource, transactionManager,
+                                new BillingSummaryCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)),
+                                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT,
+                                                CountMode.EXACT, Duration.ofMinutes(1), 10),
+                                new BigDecimal("0.005"), new BigDecimal("0.18"),
+                                new BigDecimal("0.05"), ZoneId.of("Asia/Kolkata"), 2, 3, 1);
+        }
+
+        @AfterEach
+        void tearDown() {
+                commissionService.destroy();
+        }
+
+        @Test
+        void computeCommissions_BillsDisbursedLeadsIdempotently() {
+                // Every seeded disbursement moves to 10 March 2025 under one DSA, plus one by an unknown creator
+                int disbursed = jdbcTemplate.update("UPDATE leads SET created_by = ?, amount_requested = 500000.00, "
+                                + "updated_at = '2025-03-10 06:00:00' WHERE status = 'DISBURSED'", DSA);
+                assertTrue(disbursed > 0, "seed data has no disbursed leads");
+                jdbcTemplate.update("UPDATE leads SET status = 'DISBURSED', created_by = 'NO_SUCH_DSA', "
+                                + "amount_requested = 1000.00, updated_at = '2025-03-15 06:00:00' "
+                                + "WHERE id = (SELECT id FROM leads WHERE status <> 'DISBURSED' LIMIT 1)");
+
+                CommissionRunResponse first = commissionService.computeCommissions(MONTH);
+
+                assertEquals(1, first.getDsaCount());
+                assertEquals(1, first.getUnmatchedCreators());
+                assertEquals(disbursed, first.getLeadCount());
+                assertEquals(0, new BigDecimal("2500.00").multiply(BigDecimal.valueOf(disbursed))
+                                .compareTo(first.getCommissionAmount()));
+                Map<String, Object> billing = billing();
+                assertEquals(0, new BigDecimal("2825.00").multiply(BigDecimal.valueOf(disbursed))
+                                .compareTo((BigDecimal) billing.get("amount")));
+                assertEquals("PENDING", billing.get("status"));
+
+                CommissionRunResponse rerun = commissionService.computeCommissions(MONTH);
+
+                assertEquals(first.getCommissionAmount(), rerun.getCommissionAmount());
+                Map<String, Object> unchanged = billing();
+                assertEquals(billing.get("invoice_id"), unchanged.get("invoice_id"));
+                assertEquals(billing.get("generated_at"), unchanged.get("generated_at"));
+                assertEquals(1, billingCount(MONTH));
+
+                jdbcTemplate.update("UPDATE billing SET status = 'SENT_TO_BANK' WHERE invoice_id = ?",
+                                billing.get("invoice_id"));
+                jdbcTemplate.update("UPDATE leads SET amount_requested = 1.00 WHERE created_by = ? "
+                                + "AND status = 'DISBURSED'", DSA);
+
+                commissionService.computeCommissions(MONTH);
+
+                Map<String, Object> sent = billing();
+                assertEquals(0, ((BigDecimal) billing.get("amount")).compareTo((BigDecimal) sent.get("amount")));
+                assertEquals("SENT_TO_BANK", sent.get("status"));
+                assertEquals(1, billingCount(MONTH));
+
+                // A write to a billed lead moves its updated_at into April; it stays with March
+                YearMonth april = MONTH.plusMonths(1);
+                jdbcTemplate.update("UPDATE leads SET updated_at = '2025-04-05 06:00:00' WHERE id = "
+                                + "(SELECT id FROM leads WHERE created_by = ? AND status = 'DISBURSED' LIMIT 1)", DSA);
+
+                CommissionRunResponse moved = commissionService.computeCommissions(april);
+
+                assertEquals(0, moved.getDsaCount());
+                assertEquals(0, billingCount(april));
+
+                // An April disbursement is billed, then reverted: the rerun deletes its billing
+                String lead = jdbcTemplate.queryForObject("SELECT CAST(id AS VARCHAR) FROM leads "
+                                + "WHERE status NOT IN ('DISBURSED', 'DRAFT') AND created_by = ? LIMIT 1",
+                                String.class, DSA);
+                jdbcTemplate.update("UPDATE leads SET status = 'DISBURSED', amount_requested = 100000.00, "
+                                + "updated_at = '2025-04-20 06:00:00' WHERE id = CAST(? AS UUID)", lead);
+
+                CommissionRunResponse billed = commissionService.computeCommissions(april);
+
+                assertEquals(1, billed.getLeadCount());
+                assertEquals(1, billingCount(april));
+
+                jdbcTemplate.update("UPDATE leads SET status = 'APPROVED' WHERE id = CAST(? AS UUID)", lead);
+
+                CommissionRunResponse reverted = commissionService.computeCommissions(april);
+
+                assertEquals(0, reverted.getDsaCount());
+                assertEquals(1, reverted.getDeletedBillings());
+                assertEquals(0, billingCount(april));
+        }
+
+        private Map<String, Object> billing() {
+                return jdbcTemplate.queryForMap("SELECT b.* FROM billing b JOIN users u ON u.id = b.user_id "
+                                + "WHERE u.dsa_unique_code = ? AND b.period_start = ?", DSA, MONTH.atDay(1));
+        }
+
+        private int billingCount(YearMonth month) {
+                return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM billing b JOIN users u ON u.id = b.user_id "
+                                + "WHERE u.dsa_unique_code = ? AND b.period_start = ?", Integer.class, DSA,
+                                month.atDay(1));
+        }
+}
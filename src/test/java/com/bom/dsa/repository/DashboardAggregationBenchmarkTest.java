@@ -0,0 +1,249 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.enums.LeadStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the dashboard's previous eight count queries with the lead_stats rollup
+ * read (LeadStatRepository.findByCreatedBy) that replaced them, on PostgreSQL.
+ * Each repository call runs outside a test transaction, so it checks out its own
+ * pooled connection as the services do. Reports per-load latency, statements and
+ * connection checkouts, then loads at CONCURRENCY against a pool of CONNECTIONS with
+ * throughput, p99 and the sampled average of active and waiting connections.
+ * Run with: mvn test -Dtest=DashboardAggregationBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.datasource.hikari.maximum-pool-size=" + DashboardAggregationBenchmarkTest.CONNECTIONS
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardAggregationBenchmarkTest {
+
+        static final int CONNECTIONS = 10;
+
+        private static final int DSAS = 50;
+        private static final int LEADS = 50000;
+        private static final int WARMUP = 500;
+        private static final int ITERATIONS = 2000;
+        private static final int CONCURRENCY = 64;
+        private static final int CONCURRENT_LOADS = 10000;
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        @Autowired
+        private LeadStatRepository leadStatRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @BeforeEach
+        void seedLeads() {
+                Integer seeded = jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM leads WHERE created_by LIKE 'DSA_DASH_%'", Integer.class);
+                if (seeded == null || seeded == 0) {
+                        jdbcTemplate.update("INSERT INTO leads (application_reference_number, status, product_type, "
+                                        + "created_by, created_at, customer_name, mobile_number, email_address, "
+                                        + "amount_requested, is_deleted) "
+                                        + "SELECT 'DASH' || i, "
+                                        + "(ARRAY['APPLIED','UNDER_PROCESS','SANCTIONED','DISBURSED','REJECTED'])"
+                                        + "[1 + (i / " + DSAS + ") % 5], "
+                                        + "(ARRAY['VEHICLE_LOAN','EDUCATION_LOAN','HOME_LOAN',"
+                                        + "'LOAN_AGAINST_PROPERTY'])[1 + (i / 7) % 4], "
+                                        + "'DSA_DASH_' || (i % " + DSAS + "), now() - i * interval '1 second', "
+                                        + "'Customer ' || i, (9000000000 + i)::text, 'lead' || i || '@example.com', "
+                                        + "100000 + i, i % 20 = 0 "
+                                        + "FROM generate_series(1, " + LEADS + ") AS i");
+                        jdbcTemplate.update("INSERT INTO lead_stats (created_by, status, product_type, lead_count) "
+                                        + "SELECT created_by, status, product_type, COUNT(*) FROM leads "
+                                        + "WHERE created_by LIKE 'DSA_DASH_%' AND is_deleted = false "
+                                        + "GROUP BY created_by, status, product_type");
+                        jdbcTemplate.execute("ANALYZE leads");
+                        jdbcTemplate.execute("ANALYZE lead_stats");
+                }
+        }
+
+        @Test
+        void compareEightQueriesWithRollup() throws Exception {
+                IntFunction<Map<String, Long>> eightQueries = i -> eightQueries(dsa(i));
+                IntFunction<Map<String, Long>> rollup = i -> rollup(dsa(i));
+
+                for (int i = 0; i < DSAS; i++) {
+                        assertEquals(eightQueries.apply(i), rollup.apply(i), dsa(i));
+                }
+
+                System.out.printf("%-8s %10s %10s %12s %12s %10s %10s %12s %12s%n", "path", "p50(ms)", "p99(ms)",
+                                "statements", "checkouts", "loads/s", "p99(ms)", "avgActive", "avgWaiting");
+                print("eight", measure(eightQueries));
+                print("rollup", measure(rollup));
+        }
+
+        /**
+         * The eight queries getDashboardAnalytics used to issue.
+         */
+        private Map<String, Long> eightQueries(String createdBy) {
+                Map<String, Long> counts = new HashMap<>();
+                counts.put("total", leadRepository.countByCreatedByAndIsDeletedFalse(createdBy));
+                for (LeadStatus status : List.of(LeadStatus.APPLIED, LeadStatus.UNDER_PROCESS, LeadStatus.SANCTIONED,
+                                LeadStatus.DISBURSED, LeadStatus.REJECTED)) {
+                        Long count = leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(createdBy, status);
+                        if (count > 0) {
+                                counts.put(status.name(), count);
+                        }
+                }
+                for (Object[] row : leadRepository.countByCreatedByGroupByProductType(createdBy)) {
+                        counts.put(row[0].toString(), (Long) row[1]);
+                }
+                leadRepository.countByCreatedByGroupByStatus(createdBy);
+                return counts;
+        }
+
+        private Map<String, Long> rollup(String createdBy) {
+                LeadCounts leadCounts = LeadCounts.of(leadStatRepository.findByCreatedBy(createdBy));
+                Map<String, Long> counts = new HashMap<>();
+                counts.put("total", leadCounts.total());
+                leadCounts.byStatus().forEach((status, count) -> counts.put(status.name(), count));
+                leadCounts.byProductType().forEach((productType, count) -> counts.put(productType.name(), count));
+                return counts;
+        }
+
+        private Result measure(IntFunction<Map<String, Long>> load) throws Exception {
+                for (int i = 0; i < WARMUP; i++) {
+                        load.apply(i);
+                }
+
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+                long[] latencies = new long[ITERATIONS];
+                for (int i = 0; i < ITERATIONS; i++) {
+                        long start = System.nanoTime();
+                        load.apply(i);
+                        latencies[i] = System.nanoTime() - start;
+                }
+                double statements = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+                double checkouts = (double) statistics.getConnectCount() / ITERATIONS;
+                Arrays.sort(latencies);
+
+                Concurrent concurrent = measureConcurrent(load);
+                return new Result(latencies[ITERATIONS / 2], latencies[ITERATIONS * 99 / 100], statements, checkouts,
+                                concurrent);
+        }
+
+        /**
+         * Run loads from CONCURRENCY threads while sampling the pool's active and
+         * waiting connection counts.
+         */
+        private Concurrent measureConcurrent(IntFunction<Map<String, Long>> load) throws Exception {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+                AtomicBoolean running = new AtomicBoolean(true);
+                long[] samples = new long[3];
+                Thread sampler = new Thread(() -> {
+                        while (running.get()) {
+                                samples[0]++;
+                                samples[1] += pool.getActiveConnections();
+                                samples[2] += pool.getThreadsAwaitingConnection();
+                                try {
+                                        Thread.sleep(1);
+                                } catch (InterruptedException e) {
+                                        return;
+                                }
+                        }
+                });
+
+                long[] latencies = new long[CONCURRENT_LOADS];
+                List<Future<?>> futures = new ArrayList<>(CONCURRENT_LOADS);
+                sampler.start();
+                long start = System.nanoTime();
+                for (int i = 0; i < CONCURRENT_LOADS; i++) {
+                        int index = i;
+                        futures.add(executor.submit(() -> {
+                                long loadStart = System.nanoTime();
+                                load.apply(index);
+                                latencies[index] = System.nanoTime() - loadStart;
+                        }));
+                }
+                for (Future<?> future : futures) {
+                        future.get();
+                }
+                long elapsed = System.nanoTime() - start;
+                running.set(false);
+                sampler.join();
+                executor.shutdown();
+
+                Arrays.sort(latencies);
+                return new Concurrent(CONCURRENT_LOADS * 1_000_000_000.0 / elapsed,
+                                latencies[CONCURRENT_LOADS * 99 / 100],
+                                (double) samples[1] / Math.max(1, samples[0]),
+                                (double) samples[2] / Math.max(1, samples[0]));
+        }
+
+        private static String dsa(int i) {
+                return "DSA_DASH_" + (i % DSAS);
+        }
+
+        private static void print(String path, Result result) {
+                System.out.printf("%-8s %10.2f %10.2f %12.1f %12.1f %10.0f %10.2f %12.2f %12.2f%n", path,
+                                result.p50Nanos() / 1e6, result.p99Nanos() / 1e6, result.statements(),
+                                result.checkouts(), result.concurrent().loadsPerSecond(),
+                                result.concurrent().p99Nanos() / 1e6, result.concurrent().avgActive(),
+                                result.concurrent().avgWaiting());
+        }
+
+        private record Result(long p50Nanos, long p99Nanos, double statements, double checkouts,
+                        Concurrent concurrent) {
+        }
+
+        private record Concurrent(double loadsPerSecond, long p99Nanos, double avgActive, double avgWaiting) {
+        }
+}
@@ -0,0 +1,80 @@
+package com.bom.dsa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks LeadRepository.sumSanctionedAndDisbursedAmounts against per-table sums over the
+ * leads seeded by the migrations, and that deleted leads are left out.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class LeadAmountAggregateTest {
+
+        private static final List<String> LOAN_TABLES = List.of("vehicle_loan_details", "education_loan_details",
+                        "home_loan_details", "loan_against_property_details");
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        @Test
+        void sumSanctionedAndDisbursedAmounts_MatchesPerTableSums() {
+                BigDecimal sanctioned = perTableSum("SANCTIONED");
+                BigDecimal disbursed = perTableSum("DISBURSED");
+                assertTrue(sanctioned.signum() > 0 || disbursed.signum() > 0, "seed data has no loan amounts");
+
+                Object[] row = leadRepository.sumSanctionedAndDisbursedAmounts().get(0);
+
+                assertEquals(0, sanctioned.compareTo((BigDecimal) row[0]));
+                assertEquals(0, disbursed.compareTo((BigDecimal) row[1]));
+        }
+
+        @Test
+        void sumSanctionedAndDisbursedAmounts_ExcludesDeletedLeads() {
+                jdbcTemplate.update("UPDATE leads SET is_deleted = true WHERE status IN ('SANCTIONED', 'DISBURSED')");
+
+                Object[] row = leadRepository.sumSanctionedAndDisbursedAmounts().get(0);
+
+                assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) row[0]));
+                assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) row[1]));
+        }
+
+        private BigDecimal perTableSum(String status) {
+                BigDecimal total = BigDecimal.ZERO;
+                for (String table : LOAN_TABLES) {
+                        BigDecimal sum = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(d.amount_requested), 0) FROM "
+                                        + table + " d JOIN leads l ON l.id = d.lead_id "
+                                        + "WHERE l.is_deleted = false AND l.status = ?", BigDecimal.class, status);
+                        total = total.add(sum);
+                }
+                return total;
+        }
+}
@@ -0,0 +1,227 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.enums.ProductType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the product-type-aware lead detail fetch against a seven-way LEFT JOIN FETCH
+ * of every detail table, using the leads of every product type seeded by V4.
+ * For each product type it prints the planner's row width, cost and join count and the
+ * actual row size of the seven-way join and of the two statements findByIdWithDetails
+ * runs: the lead with its customer details, then the matching loan table. It also
+ * checks that only that loan table is read. Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class LeadDetailFetchPlanTest {
+
+        private static final String CUSTOMER_JOINS = "FROM leads l "
+                        + "LEFT JOIN basic_details bd ON bd.lead_id = l.id "
+                        + "LEFT JOIN occupation_details od ON od.lead_id = l.id "
+                        + "LEFT JOIN financial_details fd ON fd.lead_id = l.id ";
+
+        private static final Map<ProductType, String> LOAN_TABLES = Map.of(
+                        ProductType.VEHICLE_LOAN, "vehicle_loan_details",
+                        ProductType.EDUCATION_LOAN, "education_loan_details",
+                        ProductType.HOME_LOAN, "home_loan_details",
+                        ProductType.LOAN_AGAINST_PROPERTY, "loan_against_property_details");
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Test
+        void productTypeQueries_AreNarrowerThanSevenWayJoin() throws Exception {
+                jdbcTemplate.execute("ANALYZE");
+
+                System.out.printf("%-22s %12s %12s %10s %10s %8s %8s %12s %12s%n", "product", "width(all)",
+                                "width(two)", "cost(all)", "cost(two)", "joins", "joins", "bytes(all)",
+                                "bytes(two)");
+                for (ProductType productType : ProductType.values()) {
+                        UUID leadId = seededLead(productType);
+                        String loanTable = LOAN_TABLES.get(productType);
+                        DetailQuery allLoans = new DetailQuery(
+                                        "l.*, bd.*, od.*, fd.*, ld0.*, ld1.*, ld2.*, ld3.*",
+                                        CUSTOMER_JOINS + loanJoins(LOAN_TABLES.values().toArray(String[]::new))
+                                                        + leadFilter(leadId));
+                        DetailQuery customer = new DetailQuery("l.*, bd.*, od.*, fd.*",
+                                        CUSTOMER_JOINS + leadFilter(leadId));
+                        DetailQuery loan = new DetailQuery("ld.*",
+                                        "FROM " + loanTable + " ld WHERE ld.lead_id = '" + leadId + "'");
+
+                        JsonNode allPlan = plan(allLoans);
+                        JsonNode customerPlan = plan(customer);
+                        JsonNode loanPlan = plan(loan);
+                        int twoWidth = customerPlan.path("Plan Width").asInt() + loanPlan.path("Plan Width").asInt();
+                        double twoCost = customerPlan.path("Total Cost").asDouble()
+                                        + loanPlan.path("Total Cost").asDouble();
+                        int twoJoins = joins(customerPlan) + joins(loanPlan);
+                        int allBytes = rowBytes(allLoans);
+                        int twoBytes = rowBytes(customer) + rowBytes(loan);
+
+                        System.out.printf("%-22s %12d %12d %10.2f %10.2f %8d %8d %12d %12d%n", productType,
+                                        allPlan.path("Plan Width").asInt(), twoWidth,
+                                        allPlan.path("Total Cost").asDouble(), twoCost,
+                                        joins(allPlan), twoJoins, allBytes, twoBytes);
+
+                        assertTrue(twoWidth < allPlan.path("Plan Width").asInt(), productType.name());
+                        assertEquals(7, joins(allPlan));
+                        assertEquals(3, twoJoins);
+                }
+        }
+
+        @Test
+        void findByIdWithDetails_LoadsOnlyMatchingLoanDetails() {
+                for (ProductType productType : ProductType.values()) {
+                        UUID leadId = seededLead(productType);
+                        Statistics statistics = clearedStatistics();
+
+                        Lead lead = leadRepository.findByIdWithDetails(leadId).orElseThrow();
+
+                        assertEquals(productType, lead.getProductType());
+                        assertEquals(2, statistics.getPrepareStatementCount(), productType.name());
+                        for (ProductType loanType : ProductType.values()) {
+                                String attribute = loanAttribute(loanType);
+                                assertEquals(loanType == productType, Hibernate.isPropertyInitialized(lead, attribute),
+                                                productType + " " + attribute);
+                        }
+                        assertNotNull(loanDetails(lead, productType), productType.name());
+                        assertNotNull(lead.getBasicDetails());
+                        assertEquals(2, statistics.getPrepareStatementCount(), productType.name());
+                }
+        }
+
+        @Test
+        void findById_LeavesLoanDetailsUninitialized() {
+                for (ProductType productType : ProductType.values()) {
+                        UUID leadId = seededLead(productType);
+                        Statistics statistics = clearedStatistics();
+
+                        Lead lead = leadRepository.findById(leadId).orElseThrow();
+
+                        for (ProductType loanType : ProductType.values()) {
+                                String attribute = loanAttribute(loanType);
+                                assertFalse(Hibernate.isPropertyInitialized(lead, attribute),
+                                                productType + " " + attribute);
+                        }
+                        assertEquals(1, statistics.getPrepareStatementCount(), productType.name());
+                }
+        }
+
+        @Test
+        void findByIdWithDetails_DeletedLead_IsEmpty() {
+                UUID leadId = seededLead(ProductType.HOME_LOAN);
+                jdbcTemplate.update("UPDATE leads SET is_deleted = true WHERE id = ?", leadId);
+
+                assertFalse(leadRepository.findByIdWithDetails(leadId).isPresent());
+        }
+
+        private UUID seededLead(ProductType productType) {
+                return jdbcTemplate.queryForObject("SELECT l.id FROM leads l JOIN " + LOAN_TABLES.get(productType)
+                                + " ld ON ld.lead_id = l.id WHERE l.is_deleted = false LIMIT 1", UUID.class);
+        }
+
+        private Statistics clearedStatistics() {
+                entityManager.clear();
+                Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+                statistics.clear();
+                return statistics;
+        }
+
+        private static Object loanDetails(Lead lead, ProductType productType) {
+                return switch (productType) {
+                        case VEHICLE_LOAN -> lead.getVehicleLoanDetails();
+                        case EDUCATION_LOAN -> lead.getEducationLoanDetails();
+                        case HOME_LOAN -> lead.getHomeLoanDetails();
+                        case LOAN_AGAINST_PROPERTY -> lead.getLoanAgainstPropertyDetails();
+                };
+        }
+
+        private static String loanAttribute(ProductType productType) {
+                return switch (productType) {
+                        case VEHICLE_LOAN -> "vehicleLoanDetails";
+                        case EDUCATION_LOAN -> "educationLoanDetails";
+                        case HOME_LOAN -> "homeLoanDetails";
+                        case LOAN_AGAINST_PROPERTY -> "loanAgainstPropertyDetails";
+                };
+        }
+
+        private static String loanJoins(String... loanTables) {
+                StringBuilder joins = new StringBuilder();
+                for (int i = 0; i < loanTables.length; i++) {
+                        joins.append("LEFT JOIN ").append(loanTables[i]).append(" ld").append(i)
+                                        .append(" ON ld").append(i).append(".lead_id = l.id ");
+                }
+                return joins.toString();
+        }
+
+        private static String leadFilter(UUID leadId) {
+                return "WHERE l.id = '" + leadId + "' AND l.is_deleted = false";
+        }
+
+        private JsonNode plan(DetailQuery query) throws Exception {
+                String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT " + query.columns() + " "
+                                + query.from(), String.class);
+                return objectMapper.readTree(json).path(0).path("Plan");
+        }
+
+        private int rowBytes(DetailQuery query) {
+                Integer bytes = jdbcTemplate.queryForObject("SELECT pg_column_size(ROW(" + query.columns() + ")) "
+                                + query.from(), Integer.class);
+                return bytes != null ? bytes : 0;
+        }
+
+        private static int joins(JsonNode node) {
+                int count = node.path("Node Type").asText().contains("Join")
+                                || node.path("Node Type").asText().equals("Nested Loop") ? 1 : 0;
+                for (JsonNode child : node.path("Plans")) {
+                        count += joins(child);
+                }
+                return count;
+        }
+
+        private record DetailQuery(String columns, String from) {
+        }
+}
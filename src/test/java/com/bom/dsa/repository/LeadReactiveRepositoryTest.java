@@ -0,0 +1,198 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.dto.response.LeadSummaryResponse;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the R2DBC read path returns the same data as the JPA queries it
+ * replaces, on the leads seeded by the Flyway migrations.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class LeadReactiveRepositoryTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        private LeadReactiveRepository reactiveRepository;
+
+        private String dsa;
+
+        @BeforeEach
+        void setUp() {
+                reactiveRepository = new LeadReactiveRepository(DatabaseClient.create(ConnectionFactories.get(
+                                String.format("r2dbc:postgresql://%s:%s@%s:%d/%s", postgres.getUsername(),
+                                                postgres.getPassword(), postgres.getHost(),
+                                                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                                                postgres.getDatabaseName()))));
+                dsa = jdbcTemplate.queryForObject("SELECT created_by FROM leads WHERE is_deleted = false "
+                                + "GROUP BY created_by ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        }
+
+        @Test
+        void searchLeadSummaries_MatchesJpa() {
+                // Seeded leads share created_at, so rows are compared without relying on tie order
+                Pageable all = PageRequest.of(0, 1000, Sort.by("createdAt").descending());
+                assertSameSearch(null, null, null, all);
+                assertSameSearch(LeadStatus.APPLIED, null, null, all);
+                assertSameSearch(null, ProductType.HOME_LOAN, null, all);
+                assertSameSearch(null, null, "BOM", PageRequest.of(0, 1000, Sort.by("amountRequested").ascending()));
+
+                Pageable secondPage = PageRequest.of(1, 2, Sort.by("createdAt").descending());
+                assertEquals(leadRepository.searchLeadSummaries(dsa, null, null, null, secondPage).size(),
+                                reactiveRepository.searchLeadSummaries(dsa, null, null, null, secondPage).count()
+                                                .block().intValue());
+        }
+
+        @Test
+        void findRecentLeadSummaries_MatchesJpa() {
+                assertEquals(byId(leadRepository.findRecentLeadSummaries(dsa, PageRequest.of(0, 1000))),
+                                byId(reactiveRepository.findRecentLeadSummaries(dsa, 1000).collectList().block()));
+        }
+
+        @Test
+        void findByIdWithDetails_MatchesJpa() {
+                for (ProductType productType : ProductType.values()) {
+                        UUID leadId = jdbcTemplate.queryForObject("SELECT id FROM leads WHERE product_type = ? "
+                                        + "AND is_deleted = false LIMIT 1", UUID.class, productType.name());
+                        Lead expected = leadRepository.findByIdWithDetails(leadId).orElseThrow();
+                        Lead actual = reactiveRepository.findByIdWithDetails(leadId).block();
+
+                        assertNotNull(actual, productType.name());
+                        assertEquals(expected.getApplicationReferenceNumber(), actual.getApplicationReferenceNumber());
+                        assertEquals(expected.getStatus(), actual.getStatus());
+                        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+                        assertEquals(expected.getBasicDetails().getFullName(), actual.getBasicDetails().getFullName());
+                        assertEquals(expected.getBasicDetails().getDateOfBirth(),
+                                        actual.getBasicDetails().getDateOfBirth());
+                        if (expected.getFinancialDetails() != null) {
+                                assertEquals(0, expected.getFinancialDetails().getMonthlyNetIncome()
+                                                .compareTo(actual.getFinancialDetails().getMonthlyNetIncome()));
+                        }
+                        assertEquals(expected.getAmountRequested(), actual.getAmountRequested());
+                        switch (productType) {
+                                case VEHICLE_LOAN -> assertEquals(expected.getVehicleLoanDetails().getMake(),
+                                                actual.getVehicleLoanDetails().getMake());
+                                case EDUCATION_LOAN -> assertEquals(expected.getEducationLoanDetails().getCourseName(),
+                                                actual.getEducationLoanDetails().getCourseName());
+                                case HOME_LOAN -> assertEquals(expected.getHomeLoanDetails().getPropertyType(),
+                                                actual.getHomeLoanDetails().getPropertyType());
+                                case LOAN_AGAINST_PROPERTY -> assertEquals(
+                                                expected.getLoanAgainstPropertyDetails().getPropertyMarketValue(),
+                                                actual.getLoanAgainstPropertyDetails().getPropertyMarketValue());
+                        }
+                }
+        }
+
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        void findByIdWithDetails_DeletedLead_IsEmpty() {
+                // Committed outside the test transaction so the R2DBC connection sees it
+                UUID leadId = jdbcTemplate.queryForObject("SELECT id FROM leads WHERE is_deleted = false LIMIT 1",
+                                UUID.class);
+                jdbcTemplate.update("UPDATE leads SET is_deleted = true WHERE id = ?", leadId);
+                try {
+                        assertFalse(reactiveRepository.findByIdWithDetails(leadId).blockOptional().isPresent());
+                } finally {
+                        jdbcTemplate.update("UPDATE leads SET is_deleted = false WHERE id = ?", leadId);
+                }
+        }
+
+        @Test
+        void groupCounts_MatchJpa() {
+                Map<LeadStatus, Long> byStatus = new EnumMap<>(LeadStatus.class);
+                for (Object[] row : leadRepository.countByCreatedByGroupByStatus(dsa)) {
+                        byStatus.put((LeadStatus) row[0], (Long) row[1]);
+                }
+                Map<ProductType, Long> byProduct = new EnumMap<>(ProductType.class);
+                for (Object[] row : leadRepository.countByCreatedByGroupByProductType(dsa)) {
+                        byProduct.put((ProductType) row[0], (Long) row[1]);
+                }
+
+                assertEquals(byStatus, reactiveRepository.countByStatus(dsa).block());
+                assertEquals(byProduct, reactiveRepository.countByProductType(dsa).block());
+        }
+
+        @Test
+        void findLeadStats_MatchesBackfilledCounts() {
+                Map<LeadStatus, Long> byStatus = new EnumMap<>(LeadStatus.class);
+                for (Object[] row : leadRepository.countByCreatedByGroupByStatus(dsa)) {
+                        byStatus.put((LeadStatus) row[0], (Long) row[1]);
+                }
+
+                LeadCounts counts = LeadCounts.of(reactiveRepository.findLeadStats(dsa).collectList().block());
+
+                assertEquals(byStatus, counts.byStatus());
+                assertEquals(byStatus.values().stream().mapToLong(Long::longValue).sum(), counts.total());
+        }
+
+        @Test
+        void explain_ReturnsPlanJson() {
+                String plan = reactiveRepository.explain("SELECT 1 FROM leads WHERE created_by = ?", List.of(dsa))
+                                .block();
+
+                assertNotNull(plan);
+                assertTrue(plan.contains("Plan Rows"));
+        }
+
+        private void assertSameSearch(LeadStatus status, ProductType productType, String term, Pageable pageable) {
+                List<LeadSummaryResponse> expected = leadRepository.searchLeadSummaries(dsa, status, productType,
+                                term, pageable);
+                List<LeadSummaryResponse> actual = reactiveRepository.searchLeadSummaries(dsa, status, productType,
+                                term, pageable).collectList().block();
+
+                assertEquals(byId(expected), byId(actual));
+                assertEquals(leadRepository.countLeadSummaries(dsa, status, productType, term),
+                                reactiveRepository.countLeadSummaries(dsa, status, productType, term).block());
+        }
+
+        private static List<LeadSummaryResponse> byId(List<LeadSummaryResponse> rows) {
+                return rows.stream().sorted(Comparator.comparing(LeadSummaryResponse::getLeadId)).toList();
+        }
+}
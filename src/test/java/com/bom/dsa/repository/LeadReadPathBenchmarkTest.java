@@ -0,0 +1,174 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadSummaryResponse;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of the lead list query through the JPA path (blocking repository call
+ * on boundedElastic) and the R2DBC path, on the same PostgreSQL dataset and with
+ * the same number of database connections on both sides.
+ * Reports requests per second, latency percentiles and peak live threads.
+ * Run with: mvn test -Dtest=LeadReadPathBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.datasource.hikari.maximum-pool-size=" + LeadReadPathBenchmarkTest.CONNECTIONS
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeadReadPathBenchmarkTest {
+
+        static final int CONNECTIONS = 10;
+
+        private static final int DSAS = 50;
+        private static final int LEADS = 50000;
+        private static final int CONCURRENCY = 256;
+        private static final int WARMUP = 2000;
+        private static final int REQUESTS = 20000;
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        private ConnectionPool connectionPool;
+
+        private LeadReactiveRepository reactiveRepository;
+
+        @BeforeEach
+        void setUp() {
+                Integer seeded = jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM leads WHERE created_by LIKE 'DSA_BENCH_%'", Integer.class);
+                if (seeded == null || seeded == 0) {
+                        jdbcTemplate.update("INSERT INTO leads (application_reference_number, status, product_type, "
+                                        + "created_by, created_at, customer_name, mobile_number, email_address, "
+                                        + "amount_requested) "
+                                        + "SELECT 'BENCH' || i, 'APPLIED', 'HOME_LOAN', 'DSA_BENCH_' || (i % " + DSAS
+                                        + "), now() - i * interval '1 second', 'Customer ' || i, "
+                                        + "(9000000000 + i)::text, 'lead' || i || '@example.com', 100000 + i "
+                                        + "FROM generate_series(1, " + LEADS + ") AS i");
+                        jdbcTemplate.execute("ANALYZE leads");
+                }
+
+                connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                                String.format("r2dbc:postgresql://%s:%s@%s:%d/%s", postgres.getUsername(),
+                                                postgres.getPassword(), postgres.getHost(),
+                                                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                                                postgres.getDatabaseName())))
+                                .initialSize(CONNECTIONS)
+                                .maxSize(CONNECTIONS)
+                                .build());
+                reactiveRepository = new LeadReactiveRepository(DatabaseClient.create(connectionPool));
+        }
+
+        @AfterEach
+        void tearDown() {
+                connectionPool.dispose();
+        }
+
+        @Test
+        void compareJpaWithR2dbc() {
+                IntFunction<Mono<List<LeadSummaryResponse>>> jpaPath = i -> Mono
+                                .fromCallable(() -> leadRepository.searchLeadSummaries(dsa(i), null, null, null,
+                                                page(i)))
+                                .subscribeOn(Schedulers.boundedElastic());
+                IntFunction<Mono<List<LeadSummaryResponse>>> r2dbcPath = i -> reactiveRepository
+                                .searchLeadSummaries(dsa(i), null, null, null, page(i))
+                                .collectList();
+
+                assertEquals(jpaPath.apply(7).block(), r2dbcPath.apply(7).block());
+
+                Result jpa = measure(jpaPath);
+                Result r2dbc = measure(r2dbcPath);
+
+                System.out.printf("%-6s %10s %10s %10s %10s %12s%n", "path", "req/s", "p50(ms)", "p99(ms)",
+                                "max(ms)", "peakThreads");
+                print("jpa", jpa);
+                print("r2dbc", r2dbc);
+        }
+
+        private Result measure(IntFunction<Mono<List<LeadSummaryResponse>>> request) {
+                run(request, WARMUP, new long[WARMUP]);
+
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                threads.resetPeakThreadCount();
+                long[] latencies = new long[REQUESTS];
+                long start = System.nanoTime();
+                run(request, REQUESTS, latencies);
+                long elapsed = System.nanoTime() - start;
+
+                Arrays.sort(latencies);
+                return new Result(REQUESTS * 1_000_000_000.0 / elapsed, latencies[REQUESTS / 2],
+                                latencies[REQUESTS * 99 / 100], latencies[REQUESTS - 1], threads.getPeakThreadCount());
+        }
+
+        private static void run(IntFunction<Mono<List<LeadSummaryResponse>>> request, int count, long[] latencies) {
+                Flux.range(0, count)
+                                .flatMap(i -> Mono.defer(() -> {
+                                        long start = System.nanoTime();
+                                        return request.apply(i)
+                                                        .doOnNext(rows -> latencies[i] = System.nanoTime() - start);
+                                }), CONCURRENCY)
+                                .blockLast();
+        }
+
+        private static String dsa(int i) {
+                return "DSA_BENCH_" + (i % DSAS);
+        }
+
+        private static Pageable page(int i) {
+                return PageRequest.of(i % 10, 12, Sort.by("createdAt").descending());
+        }
+
+        private static void print(String path, Result result) {
+                System.out.printf("%-6s %10.0f %10.2f %10.2f %10.2f %12d%n", path, result.requestsPerSecond(),
+                                result.p50Nanos() / 1e6, result.p99Nanos() / 1e6, result.maxNanos() / 1e6,
+                                result.peakThreads());
+        }
+
+        private record Result(double requestsPerSecond, long p50Nanos, long p99Nanos, long maxNanos,
+                        int peakThreads) {
+        }
+}
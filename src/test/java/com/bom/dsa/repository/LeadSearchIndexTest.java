@@ -0,0 +1,206 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadSummaryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression test for the trigram indexes behind lead search.
+ * Runs the real Flyway migrations on PostgreSQL, seeds enough rows for the planner
+ * to prefer an index, and checks the plan of the SQL that searchLeadSummaries runs
+ * with LeadRepository.LEAD_SEARCH_FILTER, including its OR of IN subqueries. The
+ * statement and its parameters are recorded as Hibernate sends them to the driver and
+ * explained with the same bound values. Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(LeadSearchIndexTest.RecordingDataSourceConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class LeadSearchIndexTest {
+
+        private static final String DSA = "DSA_SEARCH";
+        private static final int LEADS = 20000;
+        private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        @BeforeEach
+        void seedLeads() {
+                List<Object[]> leads = new ArrayList<>();
+                List<Object[]> basicDetails = new ArrayList<>();
+                Timestamp now = Timestamp.from(Instant.now());
+                for (int i = 0; i < LEADS; i++) {
+                        UUID leadId = UUID.randomUUID();
+                        boolean target = i == LEADS / 2;
+                        leads.add(new Object[] { leadId, target ? "BOMQX12345" : String.format("BOM%07d", i),
+                                        "APPLIED", "VEHICLE_LOAN", DSA, now });
+                        basicDetails.add(new Object[] { UUID.randomUUID(), leadId,
+                                        target ? "Zubaida" : "First" + i, "Last" + i,
+                                        String.valueOf(9000000000L + i) });
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO leads (id, application_reference_number, status, product_type, "
+                                + "is_deleted, created_by, created_at) VALUES (?, ?, ?, ?, false, ?, ?)", leads);
+                jdbcTemplate.batchUpdate("INSERT INTO basic_details (id, lead_id, first_name, last_name, gender, "
+                                + "marital_status, mobile_number) VALUES (?, ?, ?, ?, 'Male', 'Single', ?)",
+                                basicDetails);
+                jdbcTemplate.execute("ANALYZE leads");
+                jdbcTemplate.execute("ANALYZE basic_details");
+        }
+
+        @Test
+        void searchFilter_UsesTrigramIndexes() {
+                STATEMENTS.clear();
+                leadRepository.searchLeadSummaries(DSA, null, null, "ubaid", PageRequest.of(0, 10));
+                RecordedStatement search = STATEMENTS.stream()
+                                .filter(statement -> statement.sql().toLowerCase().contains(" like "))
+                                .findFirst().orElseThrow();
+
+                String plan = explain(search);
+
+                assertTrue(plan.contains("idx_leads_app_ref_number_trgm"), plan);
+                assertTrue(plan.contains("idx_basic_details_first_name_trgm"), plan);
+                assertTrue(plan.contains("idx_basic_details_last_name_trgm"), plan);
+                assertTrue(plan.contains("idx_basic_details_mobile_trgm"), plan);
+        }
+
+        @Test
+        void searchLeadSummaries_FindsByNameAndReference() {
+                List<LeadSummaryResponse> byName = leadRepository.searchLeadSummaries(DSA, null, null, "ubaid",
+                                PageRequest.of(0, 10));
+                List<LeadSummaryResponse> byReference = leadRepository.searchLeadSummaries(DSA, null, null, "QX123",
+                                PageRequest.of(0, 10));
+
+                assertEquals(1, byName.size());
+                assertEquals(1, byReference.size());
+                assertEquals(1, leadRepository.countLeadSummaries(DSA, null, null, "ubaid"));
+                assertEquals(byName.get(0).getLeadId(), byReference.get(0).getLeadId());
+        }
+
+        private String explain(RecordedStatement recorded) {
+                return String.join("\n", jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement("EXPLAIN " + recorded.sql());
+                        recorded.bind(statement);
+                        return statement;
+                }, (rs, rowNum) -> rs.getString(1)));
+        }
+
+        /**
+         * A prepared statement's SQL and the parameter setter calls made on it.
+         */
+        private record RecordedStatement(String sql, List<Object[]> bindings) {
+
+                void bind(PreparedStatement statement) throws SQLException {
+                        for (Object[] binding : bindings) {
+                                try {
+                                        ((Method) binding[0]).invoke(statement, (Object[]) binding[1]);
+                                } catch (ReflectiveOperationException e) {
+                                        throw new SQLException("Could not replay " + binding[0], e);
+                                }
+                        }
+                }
+        }
+
+        /**
+         * Wraps the DataSource so every prepared statement and its bound parameters are recorded.
+         */
+        @TestConfiguration
+        static class RecordingDataSourceConfig {
+
+                @Bean
+                static BeanPostProcessor recordingDataSource() {
+                        return new BeanPostProcessor() {
+                                @Override
+                                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                        if (!(bean instanceof DataSource dataSource)) {
+                                                return bean;
+                                        }
+                                        return new DelegatingDataSource(dataSource) {
+                                                @Override
+                                                public Connection getConnection() throws SQLException {
+                                                        return recording(super.getConnection());
+                                                }
+                                        };
+                                }
+                        };
+                }
+
+                private static Connection recording(Connection connection) {
+                        return proxy(Connection.class, connection, (method, args, result) -> {
+                                if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                                        RecordedStatement recorded = new RecordedStatement(sql, new ArrayList<>());
+                                        STATEMENTS.add(recorded);
+                                        return proxy(PreparedStatement.class, result, (setter, values, ignored) -> {
+                                                if (setter.getName().startsWith("set") && values != null
+                                                                && values.length > 1 && values[0] instanceof Integer) {
+                                                        recorded.bindings().add(new Object[] { setter, values });
+                                                }
+                                                return ignored;
+                                        });
+                                }
+                                return result;
+                        });
+                }
+
+                @SuppressWarnings("unchecked")
+                private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+                        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                                        (proxy, method, args) -> {
+                                                try {
+                                                        return interceptor.after(method, args,
+                                                                        method.invoke(target, args));
+                                                } catch (InvocationTargetException e) {
+                                                        throw e.getCause();
+                                                }
+                                        });
+                }
+
+                private interface Interceptor {
+                        Object after(Method method, Object[] args, Object result) throws Throwable;
+                }
+        }
+}
@@ -0,0 +1,169 @@
+package com.bom.dsa.repository;
+
+import com.bom.dsa.dto.response.LeadSummaryResponse;
+import com.bom.dsa.entity.BasicDetails;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.entity.VehicleLoanDetails;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the entity-based lead list path (searchLeads + per-row mapping) with
+ * the constructor projection (searchLeadSummaries).
+ * Reports latency, heap allocation and JDBC statements per page.
+ * Run with: mvn test -Dtest=LeadSummaryQueryBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LeadSummaryQueryBenchmarkTest {
+
+    private static final String DSA = "DSA_BENCH";
+    private static final int LEADS = 5000;
+    private static final int PAGE_SIZE = 12;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void seedLeads() {
+        Instant now = Instant.now();
+        for (int i = 0; i < LEADS; i++) {
+            Lead lead = Lead.builder()
+                    .applicationReferenceNumber(String.format("BOM%07d", i))
+                    .productType(ProductType.VEHICLE_LOAN)
+                    .status(LeadStatus.APPLIED)
+                    .createdBy(DSA)
+                    .createdAt(now.minusSeconds(i))
+                    .build();
+            lead.setBasicDetails(BasicDetails.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .gender("Male")
+                    .maritalStatus("Single")
+                    .mobileNumber(String.valueOf(9000000000L + i))
+                    .emailAddress("lead" + i + "@example.com")
+                    .build());
+            lead.setVehicleLoanDetails(VehicleLoanDetails.builder()
+                    .amountRequested(BigDecimal.valueOf(100000L + i))
+                    .vehicleType("CAR")
+                    .build());
+            entityManager.persist(lead);
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void compareEntityPathWithProjection() {
+        Pageable pageable = PageRequest.of(10, PAGE_SIZE, Sort.by("createdAt").descending());
+
+        Supplier<List<LeadSummaryResponse>> entityPath = () -> leadRepository
+                .searchLeads(DSA, null, null, null, pageable)
+                .getContent().stream()
+                .map(LeadSummaryQueryBenchmarkTest::toSummary)
+                .toList();
+        Supplier<List<LeadSummaryResponse>> projectionPath = () -> leadRepository
+                .searchLeadSummaries(DSA, null, null, null, pageable);
+
+        assertEquals(entityPath.get(), projectionPath.get());
+        entityManager.clear();
+
+        Result entity = measure(entityPath);
+        Result projection = measure(projectionPath);
+
+        System.out.printf("%-12s %12s %14s %12s%n", "path", "us/page", "bytes/page", "stmts/page");
+        System.out.printf("%-12s %12d %14d %12d%n", "entity", entity.nanosPerPage() / 1000,
+                entity.bytesPerPage(), entity.statementsPerPage());
+        System.out.printf("%-12s %12d %14d %12d%n", "projection", projection.nanosPerPage() / 1000,
+                projection.bytesPerPage(), projection.statementsPerPage());
+    }
+
+    private Result measure(Supplier<List<LeadSummaryResponse>> pageLoader) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        Statistics statistics = entityManager.getEntityManager().unwrap(Session.class)
+                .getSessionFactory().getStatistics();
+
+        for (int i = 0; i < WARMUP; i++) {
+            pageLoader.get();
+            entityManager.clear();
+        }
+
+        statistics.clear();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            pageLoader.get();
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Result(elapsed / ITERATIONS, bytes / ITERATIONS,
+                statistics.getPrepareStatementCount() / ITERATIONS);
+    }
+
+    /**
+     * Mirrors the mapping LeadService used before the projection query existed.
+     */
+    private static LeadSummaryResponse toSummary(Lead lead) {
+        BigDecimal amountRequested = null;
+        if (lead.getVehicleLoanDetails() != null) {
+            amountRequested = lead.getVehicleLoanDetails().getAmountRequested();
+        } else if (lead.getEducationLoanDetails() != null) {
+            amountRequested = lead.getEducationLoanDetails().getAmountRequested();
+        } else if (lead.getHomeLoanDetails() != null) {
+            amountRequested = lead.getHomeLoanDetails().getAmountRequested();
+        } else if (lead.getLoanAgainstPropertyDetails() != null) {
+            amountRequested = lead.getLoanAgainstPropertyDetails().getAmountRequested();
+        }
+
+        BasicDetails bd = lead.getBasicDetails();
+        return LeadSummaryResponse.builder()
+                .leadId(lead.getId())
+                .applicationReferenceNumber(lead.getApplicationReferenceNumber())
+                .productType(lead.getProductType())
+                .status(lead.getStatus())
+                .customerName(bd != null ? bd.getFullName() : "")
+                .mobileNumber(bd != null ? bd.getMobileNumber() : "")
+                .emailAddress(bd != null ? bd.getEmailAddress() : "")
+                .amountRequested(amountRequested)
+                .createdAt(lead.getCreatedAt())
+                .updatedAt(lead.getUpdatedAt())
+                .build();
+    }
+
+    private record Result(long nanosPerPage, long bytesPerPage, long statementsPerPage) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.client.ApprovalClient;
+import com.bom.dsa.dto.request.FireApprovalRequest;
+import com.bom.dsa.dto.response.FireApprovalResponse;
+import com.bom.dsa.entity.ApprovalOutbox;
+import com.bom.dsa.enums.OutboxStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovalOutboxDispatcherTest {
+
+    @Mock
+    private ApprovalOutboxService outboxService;
+
+    @Mock
+    private ApprovalClient approvalClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApprovalOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new ApprovalOutboxDispatcher(outboxService, approvalClient, meterRegistry, 2, 4, 5,
+                Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofDays(7), 100);
+    }
+
+    @Test
+    void dispatchBatch_Success_MarksSent() {
+        ApprovalOutbox entry = entry();
+        FireApprovalRequest request = FireApprovalRequest.builder().data(Map.of("leadId", "x")).build();
+        when(outboxService.toRequest(entry)).thenReturn(request);
+        when(approvalClient.fireApprovalFlow(request))
+                .thenReturn(Mono.just(FireApprovalResponse.builder().runningFlowId("flow-1").build()));
+
+        dispatcher.dispatchBatch(List.of(entry));
+
+        verify(outboxService).markSent(entry.getId(), "flow-1");
+        verify(outboxService, never()).markFailed(any(), anyString());
+        assertEquals(1.0, dispatched("sent"));
+        assertEquals(1L, meterRegistry.get("approval.outbox.dispatch.lag").timer().count());
+    }
+
+    @Test
+    void dispatchBatch_Error_SchedulesRetry() {
+        ApprovalOutbox entry = entry();
+        FireApprovalRequest request = FireApprovalRequest.builder().data(Map.of("leadId", "x")).build();
+        when(outboxService.toRequest(entry)).thenReturn(request);
+        when(approvalClient.fireApprovalFlow(request))
+                .thenReturn(Mono.error(new IllegalStateException("approval service down")));
+        when(outboxService.markFailed(eq(entry.getId()), anyString())).thenReturn(OutboxStatus.PENDING);
+
+        dispatcher.dispatchBatch(List.of(entry));
+
+        verify(outboxService).markFailed(entry.getId(), "IllegalStateException: approval service down");
+        verify(outboxService, never()).markSent(any(), any());
+        assertEquals(1.0, dispatched("retry"));
+        assertEquals(0.0, dispatched("sent"));
+    }
+
+    @Test
+    void dispatch_DrainsUntilShortBatch() {
+        when(outboxService.claimDueBatch(2, Duration.ofMinutes(1)))
+                .thenReturn(List.of(entry(), entry()))
+                .thenReturn(List.of());
+        when(outboxService.toRequest(any())).thenReturn(FireApprovalRequest.builder().data(Map.of()).build());
+        when(approvalClient.fireApprovalFlow(any())).thenReturn(Mono.empty());
+        when(outboxService.countByStatus(OutboxStatus.PENDING)).thenReturn(7L);
+
+        dispatcher.dispatch();
+
+        assertEquals(2.0, dispatched("sent"));
+        assertEquals(7.0, meterRegistry.get("approval.outbox.depth").tag("status", "pending").gauge().value());
+    }
+
+    private double dispatched(String result) {
+        return meterRegistry.get("approval.outbox.dispatched").tag("result", result).counter().count();
+    }
+
+    @Test
+    void purgeSent_DeletesEntriesOlderThanRetention() {
+        Instant before = Instant.now().minus(Duration.ofDays(7));
+        when(outboxService.purgeSentBefore(any(Instant.class), eq(100))).thenReturn(3);
+
+        dispatcher.purgeSent();
+
+        verify(outboxService).purgeSentBefore(argThat(cutoff -> !cutoff.isBefore(before)
+                && cutoff.isBefore(Instant.now().minus(Duration.ofDays(6)))), eq(100));
+    }
+
+    private static ApprovalOutbox entry() {
+        return ApprovalOutbox.builder()
+                .id(UUID.randomUUID())
+                .leadId(UUID.randomUUID())
+                .payload("{}")
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now().minusSeconds(1))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.request.FireApprovalRequest;
+import com.bom.dsa.dto.response.LeadResponse;
+import com.bom.dsa.entity.ApprovalOutbox;
+import com.bom.dsa.enums.OutboxStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.repository.ApprovalOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovalOutboxServiceTest {
+
+    @Mock
+    private ApprovalOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ApprovalOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new ApprovalOutboxService(outboxRepository, transactionManager, new ObjectMapper(), 3,
+                Duration.ofSeconds(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_StoresPendingEntryThatRoundTripsToRequest() {
+        UUID leadId = UUID.randomUUID();
+        LeadResponse lead = LeadResponse.builder()
+                .leadId(leadId)
+                .productType(ProductType.HOME_LOAN)
+                .loanDetails(LeadResponse.LoanDetailsDto.builder()
+                        .amountRequested(new BigDecimal("2500000.50"))
+                        .build())
+                .build();
+
+        outboxService.enqueue(List.of(lead));
+
+        ArgumentCaptor<List<ApprovalOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        ApprovalOutbox entry = captor.getValue().get(0);
+        assertEquals(leadId, entry.getLeadId());
+        assertEquals(OutboxStatus.PENDING, entry.getStatus());
+        assertEquals(0, entry.getAttempts());
+
+        FireApprovalRequest request = outboxService.toRequest(entry);
+        assertEquals(leadId.toString(), request.getData().get("leadId"));
+        assertEquals(new BigDecimal("2500000.50"), request.getData().get("amount"));
+        assertEquals("HOME_LOAN", request.getData().get("productType"));
+    }
+
+    @Test
+    void markFailed_BelowMaxAttempts_SchedulesRetry() {
+        ApprovalOutbox entry = pendingEntry(0);
+        when(outboxRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+
+        Instant before = Instant.now();
+        OutboxStatus status = outboxService.markFailed(entry.getId(), "connection refused");
+
+        assertEquals(OutboxStatus.PENDING, status);
+        assertEquals(1, entry.getAttempts());
+        assertEquals("connection refused", entry.getLastError());
+        assertFalse(entry.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+    }
+
+    @Test
+    void markFailed_AtMaxAttempts_MarksFailed() {
+        ApprovalOutbox entry = pendingEntry(2);
+        when(outboxRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+
+        assertEquals(OutboxStatus.FAILED, outboxService.markFailed(entry.getId(), "timeout"));
+        assertEquals(OutboxStatus.FAILED, entry.getStatus());
+        assertEquals(3, entry.getAttempts());
+    }
+
+    @Test
+    void markSent_RecordsFlowId() {
+        ApprovalOutbox entry = pendingEntry(1);
+        when(outboxRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+
+        outboxService.markSent(entry.getId(), "flow-1");
+
+        assertEquals(OutboxStatus.SENT, entry.getStatus());
+        assertEquals("flow-1", entry.getRunningFlowId());
+        assertEquals(2, entry.getAttempts());
+    }
+
+    @Test
+    void purgeSentBefore_DeletesInBatchesUntilShortBatch() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(7));
+        when(outboxRepository.deleteSentBefore(cutoff, 100)).thenReturn(100, 100, 37);
+
+        assertEquals(237, outboxService.purgeSentBefore(cutoff, 100));
+
+        verify(outboxRepository, times(3)).deleteSentBefore(cutoff, 100);
+    }
+
+    @Test
+    void backoff_DoublesPerAttemptUpToCap() {
+        assertEquals(Duration.ofSeconds(5), outboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(10), outboxService.backoff(2));
+        assertEquals(Duration.ofSeconds(40), outboxService.backoff(4));
+        assertEquals(Duration.ofMinutes(1), outboxService.backoff(5));
+        assertEquals(Duration.ofMinutes(1), outboxService.backoff(50));
+    }
+
+    private static ApprovalOutbox pendingEntry(int attempts) {
+        return ApprovalOutbox.builder()
+                .id(UUID.randomUUID())
+                .leadId(UUID.randomUUID())
+                .payload("{}")
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.util.Optional;
@@ -39,7 +40,8 @@ public class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(userRepository, passwordEncoder, jwtTokenProvider, authenticationManager);
+        authService = new AuthService(userRepository, passwordEncoder, jwtTokenProvider, authenticationManager,
+                Schedulers.boundedElastic());
     }
 
     @Test
@@ -5,26 +5,42 @@ import com.bom.dsa.dto.response.BillingSummaryResponse;
 import com.bom.dsa.entity.Billing;
 import com.bom.dsa.entity.User;
 import com.bom.dsa.enums.BillingStatus;
+import com.bom.dsa.enums.CountMode;
+import com.bom.dsa.exception.CustomExceptions;
 import com.bom.dsa.repository.BillingRepository;
 import com.bom.dsa.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +52,15 @@ class BillingServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TotalCountService totalCountService = new TotalCountService(null, null,
+            CountMode.EXACT, CountMode.EXACT, CountMode.EXACT, Duration.ofMinutes(5), 100);
+
+    private BillingSummaryCache billingSummaryCache;
+
     private BillingService billingService;
 
     private User testUser;
@@ -44,6 +68,10 @@ class BillingServiceTest {
 
     @BeforeEach
     void setUp() {
+        billingSummaryCache = new BillingSummaryCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        billingService = new BillingService(billingRepository, userRepository, totalCountService,
+                billingSummaryCache, Schedulers.boundedElastic(), transactionManager);
+
         testUser = User.builder()
                 .id(UUID.randomUUID())
                 .dsaUniqueCode("DSA123")
@@ -63,7 +91,7 @@ class BillingServiceTest {
 
     @Test
     void getBillingById_Success() {
-        when(billingRepository.findById(testBilling.getId())).thenReturn(Optional.of(testBilling));
+        when(billingRepository.findByIdWithUser(testBilling.getId())).thenReturn(Optional.of(testBilling));
 
         StepVerifier.create(billingService.getBillingById(testBilling.getId()))
                 .expectNextMatches(response -> response.getInvoiceId().equals("INV-001"))
@@ -82,30 +110,99 @@ class BillingServiceTest {
     @Test
     void getBillings_Success() {
         when(userRepository.findByDsaUniqueCode("DSA123")).thenReturn(Optional.of(testUser));
-        Page<Billing> page = new PageImpl<>(Collections.singletonList(testBilling));
-        when(billingRepository.searchBillings(any(), any(), any(), any())).thenReturn(page);
+        when(billingRepository.findBillings(any(), any(), any(), any()))
+                .thenReturn(Collections.singletonList(testBilling));
 
-        StepVerifier.create(billingService.getBillings("DSA123", null, null, PageRequest.of(0, 10)))
-                .expectNextMatches(p -> p.getTotalElements() == 1)
+        StepVerifier.create(billingService.getBillings("DSA123", null, null, PageRequest.of(0, 10), null))
+                .expectNextMatches(p -> p.getTotalElements() == 1 && p.isTotalExact())
                 .verifyComplete();
     }
 
     @Test
     void getBillingSummary_Success() {
-        when(userRepository.findByDsaUniqueCode("DSA123")).thenReturn(Optional.of(testUser));
-        when(billingRepository.sumTotalAmountByUserId(testUser.getId())).thenReturn(BigDecimal.valueOf(10000));
-        when(billingRepository.sumAmountByUserIdAndStatus(testUser.getId(), BillingStatus.PENDING))
-                .thenReturn(BigDecimal.valueOf(5000));
-        when(billingRepository.sumAmountByUserIdAndStatus(testUser.getId(), BillingStatus.PAYMENT_SUCCESSFUL))
-                .thenReturn(BigDecimal.valueOf(5000));
-        when(billingRepository.countByUserIdAndStatus(testUser.getId(), BillingStatus.PENDING)).thenReturn(1L);
-        when(billingRepository.countByUserIdAndStatus(testUser.getId(), BillingStatus.PAYMENT_SUCCESSFUL))
-                .thenReturn(1L);
+        when(billingRepository.summarizeByStatus("DSA123")).thenReturn(List.of(
+                new Object[] { BillingStatus.PENDING, 1L, BigDecimal.valueOf(5000) },
+                new Object[] { BillingStatus.PAYMENT_SUCCESSFUL, 1L, BigDecimal.valueOf(5000) }));
 
         StepVerifier.create(billingService.getBillingSummary("DSA123"))
                 .expectNextMatches(summary -> summary.getTotalEarned().compareTo(BigDecimal.valueOf(10000)) == 0 &&
                         summary.getPendingInvoices() == 1 &&
                         summary.getPaidInvoices() == 1)
                 .verifyComplete();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getBillingSummary_TotalInvoicesCountsEveryStatus() {
+        when(billingRepository.summarizeByStatus("DSA123")).thenReturn(List.of(
+                new Object[] { BillingStatus.PENDING, 2L, BigDecimal.valueOf(2000) },
+                new Object[] { BillingStatus.SENT_TO_BANK, 1L, BigDecimal.valueOf(1000) },
+                new Object[] { BillingStatus.PAYMENT_FAILED, 3L, BigDecimal.valueOf(300) }));
+
+        StepVerifier.create(billingService.getBillingSummary("DSA123"))
+                .expectNextMatches(summary -> summary.getTotalInvoices() == 6 &&
+                        summary.getPendingInvoices() == 2 &&
+                        summary.getPaidInvoices() == 0 &&
+                        summary.getPaidAmount().compareTo(BigDecimal.ZERO) == 0 &&
+                        summary.getTotalEarned().compareTo(BigDecimal.valueOf(3300)) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void getBillingSummary_CachedUntilInvalidated() {
+        when(billingRepository.summarizeByStatus("DSA123")).thenReturn(List.<Object[]>of(
+                new Object[] { BillingStatus.PENDING, 1L, BigDecimal.valueOf(5000) }));
+
+        StepVerifier.create(billingService.getBillingSummary("DSA123")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(billingService.getBillingSummary("DSA123")).expectNextCount(1).verifyComplete();
+        verify(billingRepository, times(1)).summarizeByStatus("DSA123");
+
+        billingSummaryCache.invalidate("DSA123");
+        StepVerifier.create(billingService.getBillingSummary("DSA123")).expectNextCount(1).verifyComplete();
+        verify(billingRepository, times(2)).summarizeByStatus("DSA123");
+    }
+
+    @Test
+    void getBillingSummary_NoBillings_ZeroTotals() {
+        when(billingRepository.summarizeByStatus("DSA123")).thenReturn(List.of());
+        when(userRepository.existsByDsaUniqueCode("DSA123")).thenReturn(true);
+
+        StepVerifier.create(billingService.getBillingSummary("DSA123"))
+                .expectNextMatches(summary -> summary.getTotalInvoices() == 0 &&
+                        summary.getTotalEarned().compareTo(BigDecimal.ZERO) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void getBillingSummary_UnknownUser_NotFound() {
+        when(billingRepository.summarizeByStatus("UNKNOWN")).thenReturn(List.of());
+        when(userRepository.existsByDsaUniqueCode("UNKNOWN")).thenReturn(false);
+
+        StepVerifier.create(billingService.getBillingSummary("UNKNOWN"))
+                .expectError(CustomExceptions.ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void formatRupees_ConcurrentCallsMatchSingleThreaded() throws Exception {
+        List<BigDecimal> amounts = IntStream.range(0, 2000)
+                .mapToObj(i -> BigDecimal.valueOf(i * 12345L + 67, 2))
+                .toList();
+        NumberFormat reference = NumberFormat.getCurrencyInstance(new Locale("en", "IN"));
+        List<String> expected = amounts.stream().map(reference::format).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> amounts.stream().map(BillingService::formatRupees).toList()));
+            }
+            for (Future<List<String>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.enums.CountMode;
+import com.bom.dsa.exception.CustomExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CommissionServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommissionService commissionService;
+
+    @BeforeEach
+    void setUp() {
+        commissionService = new CommissionService(dataSource, transactionManager,
+                new BillingSummaryCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)),
+                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT, CountMode.EXACT,
+                        Duration.ofMinutes(1), 10),
+                new BigDecimal("0.005"), new BigDecimal("0.18"), new BigDecimal("0.05"),
+                ZoneId.of("Asia/Kolkata"), 2, 3, 100);
+        // the constructor reads the pool size
+        clearInvocations(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commissionService.destroy();
+    }
+
+    @Test
+    void compute_RoundsEachComponentHalfUpToThePaisa() {
+        // 1234567.89 * 0.005 = 6172.83945; GST 1111.1112; TDS 308.642
+        CommissionService.Commission commission = commissionService.compute(new BigDecimal("1234567.89"));
+
+        assertEquals(new BigDecimal("6172.84"), commission.commission());
+        assertEquals(new BigDecimal("1111.11"), commission.gst());
+        assertEquals(new BigDecimal("308.64"), commission.tds());
+        assertEquals(new BigDecimal("6975.31"), commission.payable());
+    }
+
+    @Test
+    void compute_RoundsHalvesUp() {
+        // Commission 0.1515, GST 0.027 and TDS 0.0075 all round up
+        CommissionService.Commission commission = commissionService.compute(new BigDecimal("30.30"));
+
+        assertEquals(new BigDecimal("0.15"), commission.commission());
+        assertEquals(new BigDecimal("0.03"), commission.gst());
+        assertEquals(new BigDecimal("0.01"), commission.tds());
+        assertEquals(new BigDecimal("0.17"), commission.payable());
+    }
+
+    @Test
+    void compute_ZeroAmount() {
+        CommissionService.Commission commission = commissionService.compute(new BigDecimal("0.00"));
+
+        assertEquals(new BigDecimal("0.00"), commission.payable());
+    }
+
+    @Test
+    void runCommissions_FutureMonth_Rejected() {
+        StepVerifier.create(commissionService.runCommissions(commissionService.currentMonth().plusMonths(1)))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+
+        verifyNoInteractions(dataSource);
+    }
+}
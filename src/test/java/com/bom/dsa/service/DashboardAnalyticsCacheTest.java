@@ -0,0 +1,146 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DashboardAnalyticsCacheTest {
+
+    private static final String USER = "DSA001";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentMisses_ShareOneLoad() {
+        DashboardAnalyticsCache cache = cache(Duration.ofMinutes(1));
+        Sinks.One<DashboardAnalyticsResponse> pending = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        Mono<DashboardAnalyticsResponse> first = cache.get(USER, user -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<DashboardAnalyticsResponse> second = cache.get(USER, user -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        DashboardAnalyticsResponse response = response(7);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue(response))
+                .assertNext(both -> {
+                    assertSame(response, both.getT1());
+                    assertSame(response, both.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void freshEntry_ServedWithoutLoading() {
+        DashboardAnalyticsCache cache = cache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get(USER, user -> Mono.just(response(loads.incrementAndGet()))))
+                    .expectNextMatches(response -> response.getTotalLeads() == 1L)
+                    .verifyComplete();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(2.0 / 3, meterRegistry.get(DashboardAnalyticsCache.CACHE_NAME + ".hit.ratio").gauge().value(),
+                1e-9);
+    }
+
+    @Test
+    void staleEntry_ServedWhileOneRefreshRuns() {
+        // Zero TTL: every cached entry is stale as soon as it is loaded
+        DashboardAnalyticsCache cache = cache(Duration.ZERO);
+        Sinks.One<DashboardAnalyticsResponse> refresh = Sinks.one();
+        Deque<Mono<DashboardAnalyticsResponse>> results = new ArrayDeque<>(List.of(
+                Mono.just(response(1)), refresh.asMono(), Mono.never()));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get(USER, user -> {
+                loads.incrementAndGet();
+                return results.poll();
+            }))
+                    .expectNextMatches(response -> response.getTotalLeads() == 1L)
+                    .verifyComplete();
+        }
+        // The initial load plus a single refresh, however many stale reads
+        assertEquals(2, loads.get());
+        assertEquals(3.0, meterRegistry.get(DashboardAnalyticsCache.CACHE_NAME + ".stale").counter().count());
+
+        refresh.tryEmitValue(response(2));
+
+        StepVerifier.create(cache.get(USER, user -> {
+            loads.incrementAndGet();
+            return results.poll();
+        }))
+                .expectNextMatches(response -> response.getTotalLeads() == 2L)
+                .verifyComplete();
+        assertNotNull(meterRegistry.get(DashboardAnalyticsCache.CACHE_NAME + ".load").tag("type", "refresh")
+                .timer());
+    }
+
+    @Test
+    void failedRefresh_KeepsStaleEntry() {
+        DashboardAnalyticsCache cache = cache(Duration.ZERO);
+        Deque<Mono<DashboardAnalyticsResponse>> results = new ArrayDeque<>(List.of(
+                Mono.just(response(1)), Mono.error(new IllegalStateException("database down")), Mono.never()));
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get(USER, user -> results.poll()))
+                    .expectNextMatches(response -> response.getTotalLeads() == 1L)
+                    .verifyComplete();
+        }
+        assertEquals(1.0, meterRegistry.get(DashboardAnalyticsCache.CACHE_NAME + ".refresh.failed").counter()
+                .count());
+    }
+
+    @Test
+    void failedLoad_IsNotCached() {
+        DashboardAnalyticsCache cache = cache(Duration.ofMinutes(1));
+
+        StepVerifier.create(cache.get(USER, user -> Mono.error(new IllegalStateException("database down"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(cache.get(USER, user -> Mono.just(response(3))))
+                .expectNextMatches(response -> response.getTotalLeads() == 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidate_NextRequestLoadsFresh() {
+        DashboardAnalyticsCache cache = cache(Duration.ofMinutes(1));
+        StepVerifier.create(cache.get(USER, user -> Mono.just(response(1)))).expectNextCount(1).verifyComplete();
+
+        cache.invalidate(USER);
+
+        StepVerifier.create(cache.get(USER, user -> Mono.just(response(2))))
+                .expectNextMatches(response -> response.getTotalLeads() == 2L)
+                .verifyComplete();
+    }
+
+    private DashboardAnalyticsCache cache(Duration ttl) {
+        return new DashboardAnalyticsCache(meterRegistry, ttl, Duration.ofMinutes(5), 100);
+    }
+
+    private static DashboardAnalyticsResponse response(long totalLeads) {
+        return DashboardAnalyticsResponse.builder().totalLeads(totalLeads).build();
+    }
+}
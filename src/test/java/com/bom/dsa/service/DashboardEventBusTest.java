@@ -0,0 +1,77 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardEventBus eventBus = new DashboardEventBus(meterRegistry, 2);
+
+    @Test
+    void subscribe_ReceivesOnlyOwnDeltas() {
+        List<DashboardDelta> own = new ArrayList<>();
+        List<DashboardDelta> all = new ArrayList<>();
+        eventBus.subscribe("DSA001").subscribe(own::add);
+        eventBus.subscribe(null).subscribe(all::add);
+
+        eventBus.publish(List.of(delta("DSA001", 1L), delta("DSA002", 1L)));
+
+        assertEquals(List.of(delta("DSA001", 1L)), own);
+        assertEquals(List.of(delta("DSA001", 1L), delta("DSA002", 1L)), all);
+        assertEquals(2.0, meterRegistry.get("dashboard.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void publish_InTransaction_WaitsForCommit() {
+        List<DashboardDelta> received = new ArrayList<>();
+        eventBus.subscribe(null).subscribe(received::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventBus.publish(List.of(delta("DSA001", 1L)));
+            assertTrue(received.isEmpty());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(delta("DSA001", 1L)), received);
+    }
+
+    @Test
+    void slowSubscriber_OverflowsWithoutBlockingPublisher() {
+        List<DashboardDelta> fast = new ArrayList<>();
+        eventBus.subscribe(null).subscribe(fast::add);
+
+        StepVerifier.create(eventBus.subscribe(null), 0)
+                .then(() -> eventBus.publish(List.of(delta("DSA001", 1L), delta("DSA001", 2L),
+                        delta("DSA001", 3L))))
+                // The overflow error is delivered once the buffered deltas are drained
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(2)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, fast.size());
+        assertEquals(1.0, meterRegistry.get("dashboard.stream.overflow").counter().count());
+    }
+
+    private static DashboardDelta delta(String createdBy, long delta) {
+        return new DashboardDelta(createdBy, LeadStatus.APPLIED, ProductType.HOME_LOAN, delta, delta);
+    }
+}
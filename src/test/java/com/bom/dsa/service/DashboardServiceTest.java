@@ -1,22 +1,44 @@
 package com.bom.dsa.service;
 
+import com.bom.dsa.dto.request.LeadFactFilter;
 import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.dto.response.DashboardSnapshot;
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.entity.LeadStatId;
+import com.bom.dsa.enums.DsaStatus;
+import com.bom.dsa.enums.FactDimension;
 import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
 import com.bom.dsa.repository.DsaRepository;
+import com.bom.dsa.repository.LeadReactiveRepository;
 import com.bom.dsa.repository.LeadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,40 +51,248 @@ class DashboardServiceTest {
         @Mock
         private DsaRepository dsaRepository;
 
-        @InjectMocks
+        @Mock
+        private LeadStatsService leadStatsService;
+
+        @Mock
+        private LeadFactStore leadFactStore;
+
+        @Mock
+        private LeadReactiveRepository reactiveRepository;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
         private DashboardService dashboardService;
 
         private String testUser = "testUser";
 
+        @BeforeEach
+        void setUp() {
+                dashboardService = new DashboardService(leadRepository, dsaRepository, leadStatsService,
+                                dashboardAnalyticsCache(), leadFactStore, Optional.empty(), Schedulers.boundedElastic(), transactionManager);
+        }
+
         @Test
         void getDashboardAnalytics_Success() {
-                when(leadRepository.countByCreatedByAndIsDeletedFalse(testUser)).thenReturn(10L);
-                when(leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(eq(testUser), eq(LeadStatus.APPLIED)))
-                                .thenReturn(5L);
-                when(leadRepository.countByCreatedByAndStatusAndIsDeletedFalse(eq(testUser), eq(LeadStatus.DISBURSED)))
-                                .thenReturn(2L);
-
-                List<Object[]> productStats = new ArrayList<>();
-                productStats.add(new Object[] { "HOME_LOAN", 5L });
-                when(leadRepository.countByCreatedByGroupByProductType(testUser)).thenReturn(productStats);
+                when(leadStatsService.getCounts(testUser)).thenReturn(LeadCounts.of(List.of(
+                                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 5L),
+                                stat(LeadStatus.DISBURSED, ProductType.VEHICLE_LOAN, 2L),
+                                stat(LeadStatus.REJECTED, ProductType.VEHICLE_LOAN, 3L))));
 
                 StepVerifier.create(dashboardService.getDashboardAnalytics(testUser))
                                 .expectNextMatches(response -> response.getTotalLeads() == 10L &&
+                                                response.getAppliedLeads() == 5L &&
+                                                response.getUnderProcessLeads() == 0L &&
                                                 response.getDisbursedLeads() == 2L &&
+                                                response.getLeadsByStatus().equals(Map.of("APPLIED", 5L,
+                                                                "DISBURSED", 2L, "REJECTED", 3L)) &&
+                                                response.getLeadsByProductType().equals(Map.of("HOME_LOAN", 5L,
+                                                                "VEHICLE_LOAN", 5L)) &&
                                                 response.getConversionRate().equals("20.0%"))
                                 .verifyComplete();
+
+                verify(leadStatsService).getCounts(testUser);
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getAdminDashboardAnalytics_FactStoreLoadedAfterAssembly_UsesFactStore() {
+                Mono<DashboardAnalyticsResponse> analytics = dashboardService.getAdminDashboardAnalytics();
+                when(leadFactStore.isReady()).thenReturn(true);
+                when(leadFactStore.query(LeadFactFilter.ALL, List.of(FactDimension.STATUS))).thenReturn(
+                                LeadFactResponse.builder()
+                                                .totalCount(4L)
+                                                .groups(List.of(factGroup(LeadStatus.APPLIED, 4L, "400.00")))
+                                                .build());
+                when(dsaRepository.countGroupByStatus()).thenReturn(List.of());
+                when(dsaRepository.countDsaByProductType()).thenReturn(List.of());
+
+                StepVerifier.create(analytics)
+                                .expectNextMatches(response -> response.getTotalLeads() == 4L)
+                                .verifyComplete();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getDashboardAnalytics_NoLeads_ZeroCounts() {
+                // A row whose leads were all deleted is kept at zero
+                when(leadStatsService.getCounts(testUser)).thenReturn(LeadCounts.of(List.of(
+                                stat(LeadStatus.DRAFT, ProductType.HOME_LOAN, 0L))));
+
+                StepVerifier.create(dashboardService.getDashboardAnalytics(testUser))
+                                .expectNextMatches(response -> response.getTotalLeads() == 0L &&
+                                                response.getLeadsByStatus().isEmpty() &&
+                                                response.getLeadsByProductType().isEmpty() &&
+                                                response.getConversionRate().equals("0%"))
+                                .verifyComplete();
         }
 
         @Test
         void getAdminDashboardAnalytics_Success() {
-                when(leadRepository.count()).thenReturn(100L);
-                when(leadRepository.countByStatusAndIsDeletedFalse(LeadStatus.DISBURSED)).thenReturn(10L);
-                when(dsaRepository.count()).thenReturn(50L);
+                when(leadRepository.countGroupByStatus()).thenReturn(List.of(
+                                new Object[] { LeadStatus.APPLIED, 60L },
+                                new Object[] { LeadStatus.DISBURSED, 10L },
+                                new Object[] { LeadStatus.REJECTED, 30L }));
+                when(leadRepository.sumSanctionedAndDisbursedAmounts()).thenReturn(List.<Object[]>of(
+                                new Object[] { new BigDecimal("2500000.00"), new BigDecimal("750000.50") }));
+                when(dsaRepository.countGroupByStatus()).thenReturn(List.of(
+                                new Object[] { DsaStatus.EMPANELLED, 30L },
+                                new Object[] { DsaStatus.PENDING, 15L },
+                                new Object[] { DsaStatus.INACTIVE, 5L }));
 
                 StepVerifier.create(dashboardService.getAdminDashboardAnalytics())
                                 .expectNextMatches(response -> response.getTotalLeads() == 100L &&
+                                                response.getAppliedLeads() == 60L &&
+                                                response.getSanctionedLeads() == 0L &&
                                                 response.getTotalDsaCount() == 50L &&
+                                                response.getActiveDsaCount() == 30L &&
+                                                response.getPendingDsaCount() == 15L &&
+                                                response.getInactiveDsaCount() == 5L &&
+                                                response.getTotalSanctionedAmount()
+                                                                .equals(new BigDecimal("2500000.00")) &&
+                                                response.getTotalAmountDisbursed()
+                                                                .equals(new BigDecimal("750000.50")) &&
                                                 response.getConversionRate().equals("10.0%"))
                                 .verifyComplete();
         }
+
+        @Test
+        void getAdminDashboardAnalytics_RunsQueriesConcurrently() {
+                // Each query waits until all four have started; run one after another they would time out
+                CountDownLatch started = new CountDownLatch(4);
+                when(leadRepository.countGroupByStatus()).thenAnswer(invocation -> awaitAll(started,
+                                List.<Object[]>of(new Object[] { LeadStatus.APPLIED, 100L })));
+                when(leadRepository.sumSanctionedAndDisbursedAmounts())
+                                .thenAnswer(invocation -> awaitAll(started, List.of()));
+                when(dsaRepository.countGroupByStatus()).thenAnswer(invocation -> awaitAll(started, List.of()));
+                when(dsaRepository.countDsaByProductType()).thenAnswer(invocation -> awaitAll(started, List.of()));
+
+                StepVerifier.create(dashboardService.getAdminDashboardAnalytics())
+                                .expectNextMatches(response -> response.getTotalLeads() == 100L &&
+                                                response.getTotalSanctionedAmount().signum() == 0)
+                                .expectComplete()
+                                .verify(Duration.ofSeconds(10));
+        }
+
+        @Test
+        void getAdminDashboardAnalytics_FactStoreLoaded_NoLeadQueries() {
+                when(leadFactStore.isReady()).thenReturn(true);
+                when(leadFactStore.query(LeadFactFilter.ALL, List.of(FactDimension.STATUS))).thenReturn(
+                                LeadFactResponse.builder()
+                                                .totalCount(12L)
+                                                .groups(List.of(
+                                                                factGroup(LeadStatus.APPLIED, 8L, "100.00"),
+                                                                factGroup(LeadStatus.SANCTIONED, 3L, "3000.50"),
+                                                                factGroup(LeadStatus.DISBURSED, 1L, "900.00")))
+                                                .build());
+                when(dsaRepository.countGroupByStatus()).thenReturn(List.of());
+                when(dsaRepository.countDsaByProductType()).thenReturn(List.of());
+
+                StepVerifier.create(dashboardService.getAdminDashboardAnalytics())
+                                .expectNextMatches(response -> response.getTotalLeads() == 12L &&
+                                                response.getAppliedLeads() == 8L &&
+                                                response.getSanctionedLeads() == 3L &&
+                                                response.getTotalSanctionedAmount().equals(new BigDecimal("3000.50")) &&
+                                                response.getTotalAmountDisbursed().equals(new BigDecimal("900.00")))
+                                .verifyComplete();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getDashboardAnalytics_R2dbcReadPath_UsesLeadStats() {
+                dashboardService = new DashboardService(leadRepository, dsaRepository, leadStatsService,
+                                dashboardAnalyticsCache(), leadFactStore, Optional.of(reactiveRepository), Schedulers.boundedElastic(), transactionManager);
+                when(reactiveRepository.findLeadStats(testUser)).thenReturn(Flux.just(
+                                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 6L),
+                                stat(LeadStatus.DISBURSED, ProductType.HOME_LOAN, 3L),
+                                stat(LeadStatus.REJECTED, ProductType.HOME_LOAN, 1L)));
+
+                StepVerifier.create(dashboardService.getDashboardAnalytics(testUser))
+                                .expectNextMatches(response -> response.getTotalLeads() == 10L &&
+                                                response.getAppliedLeads() == 6L &&
+                                                response.getUnderProcessLeads() == 0L &&
+                                                response.getDisbursedLeads() == 3L &&
+                                                response.getLeadsByProductType().equals(Map.of("HOME_LOAN", 10L)) &&
+                                                response.getConversionRate().equals("30.0%"))
+                                .verifyComplete();
+
+                verifyNoInteractions(leadRepository, leadStatsService);
+        }
+
+        @Test
+        void getDashboardSnapshot_UncachedFromPrimaryWithCounts() {
+                dashboardService = new DashboardService(leadRepository, dsaRepository, leadStatsService,
+                                dashboardAnalyticsCache(), leadFactStore, Optional.of(reactiveRepository), Schedulers.boundedElastic(), transactionManager);
+                when(leadStatsService.getStats(testUser)).thenReturn(List.of(
+                                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 4L),
+                                stat(LeadStatus.DRAFT, ProductType.HOME_LOAN, 0L)));
+
+                StepVerifier.create(dashboardService.getDashboardSnapshot(testUser))
+                                .expectNextMatches(snapshot -> snapshot.getAnalytics().getTotalLeads() == 4L
+                                                && snapshot.getCounts().equals(List.of(new DashboardSnapshot.Count(
+                                                                testUser, LeadStatus.APPLIED, ProductType.HOME_LOAN, 4L))))
+                                .verifyComplete();
+                StepVerifier.create(dashboardService.getDashboardSnapshot(testUser)).expectNextCount(1)
+                                .verifyComplete();
+
+                verify(leadStatsService, times(2)).getStats(testUser);
+                verify(transactionManager, times(2)).getTransaction(argThat(definition -> !definition.isReadOnly()));
+                verifyNoInteractions(reactiveRepository);
+        }
+
+        @Test
+        void getStatusDistribution_RunsInReadOnlyTransaction() {
+                when(leadStatsService.getCounts(testUser)).thenReturn(LeadCounts.of(List.of()));
+
+                StepVerifier.create(dashboardService.getStatusDistribution(testUser))
+                                .expectNext(Map.of())
+                                .verifyComplete();
+
+                verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        }
+
+        @Test
+        void getProductDistribution_SumsStatusesPerProduct() {
+                when(leadStatsService.getCounts(testUser)).thenReturn(LeadCounts.of(List.of(
+                                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 4L),
+                                stat(LeadStatus.SANCTIONED, ProductType.HOME_LOAN, 1L),
+                                stat(LeadStatus.APPLIED, ProductType.EDUCATION_LOAN, 2L))));
+
+                StepVerifier.create(dashboardService.getProductDistribution(testUser))
+                                .expectNext(Map.of("HOME_LOAN", 5L, "EDUCATION_LOAN", 2L))
+                                .verifyComplete();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        private static <T> T awaitAll(CountDownLatch started, T result) throws InterruptedException {
+                started.countDown();
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Admin dashboard queries did not run concurrently");
+                }
+                return result;
+        }
+
+        private static LeadFactResponse.Group factGroup(LeadStatus status, long count, String amount) {
+                return LeadFactResponse.Group.builder()
+                                .key(Map.of(FactDimension.STATUS, status.name()))
+                                .count(count)
+                                .amount(new BigDecimal(amount))
+                                .build();
+        }
+
+        private static DashboardAnalyticsCache dashboardAnalyticsCache() {
+                return new DashboardAnalyticsCache(new SimpleMeterRegistry(), Duration.ofSeconds(30),
+                                Duration.ofMinutes(5), 100);
+        }
+
+        private LeadStat stat(LeadStatus status, ProductType productType, long count) {
+                return LeadStat.builder()
+                                .id(new LeadStatId(testUser, status, productType))
+                                .leadCount(count)
+                                .build();
+        }
 }
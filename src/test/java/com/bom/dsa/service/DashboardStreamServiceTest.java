@@ -0,0 +1,98 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardAnalyticsResponse;
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.dto.response.DashboardSnapshot;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStreamServiceTest {
+
+    private static final String USER = "DSA001";
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private DashboardEventBus eventBus;
+
+    private DashboardStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new DashboardEventBus(new SimpleMeterRegistry(), 2);
+        streamService = new DashboardStreamService(dashboardService, eventBus, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void streamDashboard_SnapshotThenDeltasPublishedWhileLoading() {
+        Sinks.One<DashboardSnapshot> snapshot = Sinks.one();
+        when(dashboardService.getDashboardSnapshot(USER)).thenReturn(snapshot.asMono());
+
+        StepVerifier.create(streamService.streamDashboard(USER))
+                // Published before the snapshot loads; delivered after it
+                .then(() -> eventBus.publish(List.of(delta(USER), delta("DSA002"))))
+                .then(() -> snapshot.tryEmitValue(snapshot(5L)))
+                .expectNextMatches(event -> DashboardStreamService.SNAPSHOT.equals(event.event())
+                        && ((DashboardSnapshot) event.data()).getAnalytics().getTotalLeads() == 5L)
+                .expectNextMatches(event -> DashboardStreamService.DELTA.equals(event.event())
+                        && delta(USER).equals(event.data()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void streamDashboard_ClientFallsBehind_ResyncAndComplete() {
+        when(dashboardService.getDashboardSnapshot(USER)).thenReturn(Mono.just(snapshot(5L)));
+
+        StepVerifier.create(streamService.streamDashboard(USER), 1)
+                .expectNextMatches(event -> DashboardStreamService.SNAPSHOT.equals(event.event()))
+                // The merges prefetch some deltas; publish well past their queues and the buffer of 2
+                .then(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        eventBus.publish(List.of(delta(USER)));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> DashboardStreamService.DELTA.equals(event.event()))
+                .expectNextMatches(event -> DashboardStreamService.RESYNC.equals(event.event()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamAdminDashboard_ReceivesEveryCreator() {
+        when(dashboardService.getAdminDashboardSnapshot()).thenReturn(Mono.just(snapshot(50L)));
+
+        StepVerifier.create(streamService.streamAdminDashboard())
+                .expectNextMatches(event -> DashboardStreamService.SNAPSHOT.equals(event.event()))
+                .then(() -> eventBus.publish(List.of(delta("DSA002"))))
+                .expectNextMatches(event -> delta("DSA002").equals(event.data()))
+                .thenCancel()
+                .verify();
+    }
+
+    private static DashboardSnapshot snapshot(long totalLeads) {
+        return DashboardSnapshot.builder()
+                .analytics(DashboardAnalyticsResponse.builder().totalLeads(totalLeads).build())
+                .counts(List.of())
+                .build();
+    }
+
+    private static DashboardDelta delta(String createdBy) {
+        return new DashboardDelta(createdBy, LeadStatus.APPLIED, ProductType.HOME_LOAN, 1L, 1L);
+    }
+}
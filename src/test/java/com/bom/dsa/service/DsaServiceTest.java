@@ -1,8 +1,10 @@
 package com.bom.dsa.service;
 
 import com.bom.dsa.dto.request.DsaRequestDto;
+import com.bom.dsa.dto.response.CountedPage;
 import com.bom.dsa.dto.response.DsaResponseDto;
 import com.bom.dsa.entity.Dsa;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.DsaStatus;
 import com.bom.dsa.repository.DsaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,6 +32,10 @@ class DsaServiceTest {
     @Mock
     private DsaRepository dsaRepository;
 
+    @Spy
+    private TotalCountService totalCountService = new TotalCountService(null, null,
+            CountMode.EXACT, CountMode.EXACT, CountMode.EXACT, Duration.ofMinutes(5), 100);
+
     @InjectMocks
     private DsaService dsaService;
 
@@ -89,10 +94,10 @@ class DsaServiceTest {
 
     @Test
     void getAllDsas_Success() {
-        Page<Dsa> page = new PageImpl<>(Collections.singletonList(testDsa));
-        when(dsaRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(page);
+        when(dsaRepository.findDsas(any(), any(), any(PageRequest.class)))
+                .thenReturn(Collections.singletonList(testDsa));
 
-        Page<DsaResponseDto> responsePage = dsaService.getAllDsas(null, null, PageRequest.of(0, 10));
+        CountedPage<DsaResponseDto> responsePage = dsaService.getAllDsas(null, null, PageRequest.of(0, 10), null);
 
         assertEquals(1, responsePage.getTotalElements());
         assertEquals("Test DSA", responsePage.getContent().get(0).getName());
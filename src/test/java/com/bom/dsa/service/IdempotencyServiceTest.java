@@ -0,0 +1,170 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.config.InMemoryIdempotencyKeys;
+import com.bom.dsa.exception.CustomExceptions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceTest {
+
+    private final AtomicInteger writes = new AtomicInteger();
+    private final InMemoryIdempotencyKeys keys = new InMemoryIdempotencyKeys();
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = instance();
+    }
+
+    @Test
+    void execute_SameKey_ReplaysWithoutSecondWrite() {
+        StepVerifier.create(create("key-1", Map.of("name", "A")))
+                .assertNext(response -> {
+                    assertEquals("lead-1", response.getBody());
+                    assertNull(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+                })
+                .verifyComplete();
+
+        StepVerifier.create(create("key-1", Map.of("name", "A")))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                    assertEquals("lead-1", response.getBody());
+                    assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+                })
+                .verifyComplete();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_WaitsForInFlightResult() {
+        Sinks.One<ResponseEntity<String>> inFlight = Sinks.one();
+        Mono<ResponseEntity<String>> first = idempotencyService.execute("createLead", "dsa1", "key-2", "body",
+                () -> {
+                    writes.incrementAndGet();
+                    return inFlight.asMono();
+                });
+        Mono<ResponseEntity<String>> second = idempotencyService.execute("createLead", "dsa1", "key-2", "body",
+                () -> {
+                    writes.incrementAndGet();
+                    return Mono.just(ResponseEntity.ok("duplicate"));
+                });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> inFlight.tryEmitValue(ResponseEntity.status(HttpStatus.CREATED).body("lead-1")))
+                .assertNext(both -> {
+                    assertEquals("lead-1", both.getT1().getBody());
+                    assertEquals("lead-1", both.getT2().getBody());
+                })
+                .verifyComplete();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_Conflict() {
+        StepVerifier.create(create("key-3", Map.of("name", "A"))).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(create("key-3", Map.of("name", "B")))
+                .expectError(CustomExceptions.InvalidOperationException.class)
+                .verify();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_FailedWrite_IsNotKept() {
+        StepVerifier.create(idempotencyService.execute("createLead", "dsa1", "key-4", "body",
+                () -> Mono.<ResponseEntity<String>>error(new CustomExceptions.BusinessException("boom"))))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+
+        StepVerifier.create(create("key-4", "body")).expectNextCount(1).verifyComplete();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_KeysAreScopedPerUserAndWithoutKeyAlwaysWrites() {
+        StepVerifier.create(create("key-5", "body")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(idempotencyService.execute("createLead", "dsa2", "key-5", "body", this::write))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(create(null, "body")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(create(null, "body")).expectNextCount(1).verifyComplete();
+
+        assertEquals(4, writes.get());
+    }
+
+    @Test
+    void execute_SameKeyOnAnotherInstance_ReplaysStoredResponse() {
+        StepVerifier.create(create("key-6", Map.of("name", "A"))).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(instance().execute("createLead", "dsa1", "key-6", Map.of("name", "A"), this::write))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                    assertEquals("lead-1", response.getBody());
+                    assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+                })
+                .verifyComplete();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void execute_InFlightOnAnotherInstance_Conflict() {
+        Sinks.One<ResponseEntity<String>> inFlight = Sinks.one();
+        idempotencyService.execute("createLead", "dsa1", "key-7", "body", inFlight::asMono).subscribe();
+
+        StepVerifier.create(instance().execute("createLead", "dsa1", "key-7", "body", this::write))
+                .expectError(CustomExceptions.InvalidOperationException.class)
+                .verify();
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void execute_AbandonedClaim_TakenOverAfterLease() {
+        idempotencyService.execute("createLead", "dsa1", "key-8", "body", Sinks.<ResponseEntity<String>>one()::asMono)
+                .subscribe();
+        keys.expireAll(Instant.now().minusSeconds(1));
+
+        StepVerifier.create(instance().execute("createLead", "dsa1", "key-8", "body", this::write))
+                .assertNext(response -> assertEquals("lead-1", response.getBody()))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_OverlongKey_BadRequest() {
+        StepVerifier.create(create("k".repeat(256), "body"))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+    }
+
+    private IdempotencyService instance() {
+        return new IdempotencyService(new SimpleMeterRegistry(), new ObjectMapper(), Schedulers.immediate(),
+                keys.repository(), mock(PlatformTransactionManager.class), Duration.ofMinutes(5),
+                Duration.ofMinutes(1), 100);
+    }
+
+    private Mono<ResponseEntity<String>> create(String key, Object request) {
+        return idempotencyService.execute("createLead", "dsa1", key, request, this::write);
+    }
+
+    private Mono<ResponseEntity<String>> write() {
+        return Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.CREATED)
+                .body("lead-" + writes.incrementAndGet()));
+    }
+}
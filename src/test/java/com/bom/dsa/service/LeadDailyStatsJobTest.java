@@ -0,0 +1,116 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.TrendResponse;
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
+import com.bom.dsa.repository.LeadDailyStatRepository;
+import com.bom.dsa.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the startup backfill and the nightly repair of lead_daily_stats against the
+ * real migrations on PostgreSQL, and checks that status changes made to leads after
+ * the backfill reach the trends. Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class LeadDailyStatsJobTest {
+
+        private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+        private static final String DSA = "DSA_TRENDS";
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private LeadDailyStatRepository leadDailyStatRepository;
+
+        @Autowired
+        private LeadRepository leadRepository;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        private LeadTrendService leadTrendService;
+        private LeadDailyStatsJob job;
+
+        @BeforeEach
+        void setUp() {
+                leadTrendService = new LeadTrendService(leadDailyStatRepository, leadRepository,
+                                Schedulers.immediate(), transactionManager, ZONE, 366);
+                job = new LeadDailyStatsJob(leadTrendService, 7);
+        }
+
+        @Test
+        void repair_LeadSanctionedAfterBackfill_AppearsInTrend() {
+                LocalDate today = LocalDate.now(ZONE);
+                LocalDate created = today.minusDays(3);
+                LocalDate sanctioned = today.minusDays(1);
+                UUID leadId = UUID.randomUUID();
+                jdbcTemplate.update("INSERT INTO leads (id, application_reference_number, status, product_type, "
+                                + "is_deleted, created_by, created_at, updated_at) "
+                                + "VALUES (?, 'BOMTREND01', 'APPLIED', 'HOME_LOAN', false, ?, ?, ?)",
+                                leadId, DSA, utcNoon(created), utcNoon(created));
+
+                job.backfill();
+                assertEquals(new Counts(1, 0), counts(created, sanctioned));
+
+                jdbcTemplate.update("UPDATE leads SET status = 'SANCTIONED', updated_at = ? WHERE id = ?",
+                                utcNoon(sanctioned), leadId);
+                job.backfill();
+                assertEquals(new Counts(1, 0), counts(created, sanctioned));
+
+                job.repair();
+                assertEquals(new Counts(1, 1), counts(created, sanctioned));
+        }
+
+        private Counts counts(LocalDate from, LocalDate to) {
+                TrendResponse trends = leadTrendService.getTrends(DSA, null, from, to, TrendGranularity.DAY,
+                                TrendGroupBy.NONE).block();
+                long createdCount = 0;
+                long sanctionedCount = 0;
+                for (TrendResponse.Point point : trends.getSeries().get(0).getPoints()) {
+                        createdCount += point.getCreated();
+                        sanctionedCount += point.getSanctioned();
+                }
+                return new Counts(createdCount, sanctionedCount);
+        }
+
+        // leads timestamps are stored as UTC wall-clock time
+        private static LocalDateTime utcNoon(LocalDate day) {
+                return LocalDateTime.ofInstant(day.atTime(12, 0).atZone(ZONE).toInstant(), ZoneOffset.UTC);
+        }
+
+        private record Counts(long created, long sanctioned) {
+        }
+}
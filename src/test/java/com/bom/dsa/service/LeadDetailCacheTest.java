@@ -0,0 +1,78 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.LeadResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LeadDetailCacheTest {
+
+    private static final UUID LEAD_ID = UUID.randomUUID();
+
+    private final LeadDetailCache cache = new LeadDetailCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1));
+
+    @Test
+    void getAsync_ConcurrentMissesShareOneLoad() {
+        Sinks.One<LeadResponse> pending = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        Mono<LeadResponse> first = cache.getAsync(LEAD_ID, id -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<LeadResponse> second = cache.getAsync(LEAD_ID, id -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        LeadResponse response = response("BOM1");
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue(response))
+                .assertNext(both -> {
+                    assertSame(response, both.getT1());
+                    assertSame(response, both.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getAsync_InvalidatedWhileLoading_NextCallLoadsAgain() {
+        Sinks.One<LeadResponse> stale = Sinks.one();
+        StepVerifier.create(cache.getAsync(LEAD_ID, id -> stale.asMono()))
+                .then(() -> cache.invalidate(LEAD_ID))
+                .then(() -> stale.tryEmitValue(response("BOM-OLD")))
+                .expectNextMatches(response -> "BOM-OLD".equals(response.getApplicationReferenceNumber()))
+                .verifyComplete();
+
+        StepVerifier.create(cache.getAsync(LEAD_ID, id -> Mono.just(response("BOM-NEW"))))
+                .expectNextMatches(response -> "BOM-NEW".equals(response.getApplicationReferenceNumber()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getAsync_EmptyLoad_NothingCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.getAsync(LEAD_ID, id -> {
+                loads.incrementAndGet();
+                return Mono.empty();
+            })).verifyComplete();
+        }
+        assertEquals(2, loads.get());
+    }
+
+    private static LeadResponse response(String referenceNumber) {
+        return LeadResponse.builder().applicationReferenceNumber(referenceNumber).build();
+    }
+}
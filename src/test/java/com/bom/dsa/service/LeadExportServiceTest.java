@@ -0,0 +1,137 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.LeadExportRow;
+import com.bom.dsa.exception.CustomExceptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeadExportServiceTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 5, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private LeadExportService leadExportService;
+
+    @BeforeEach
+    void setUp() {
+        leadExportService = new LeadExportService(dataSource, 250, Schedulers.boundedElastic());
+    }
+
+    @Test
+    void exportLeads_StreamsCursorRowsAndReleasesConnection() throws SQLException {
+        stubCursor();
+        when(resultSet.next()).thenReturn(true, true, false);
+        stubRow();
+
+        StepVerifier.create(leadExportService.exportLeads("testUser", null, null))
+                .expectNextMatches(row -> row.getApplicationReferenceNumber().equals("BOM1234567")
+                        && row.getCreatedAt().equals(CREATED_AT.toInstant()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        InOrder order = inOrder(connection, statement);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).prepareStatement(contains("created_by = ?"), eq(ResultSet.TYPE_FORWARD_ONLY),
+                eq(ResultSet.CONCUR_READ_ONLY));
+        order.verify(statement).setFetchSize(250);
+        order.verify(statement).setObject(1, "testUser");
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    void exportLeads_Cancelled_ClosesCursorWithoutDrainingIt() throws SQLException {
+        stubCursor();
+        when(resultSet.next()).thenReturn(true);
+        stubRow();
+
+        StepVerifier.create(leadExportService.exportLeads(null, null, null), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        verify(resultSet, times(1)).next();
+        verify(resultSet).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void exportLeads_InvalidRange_FailsWithoutConnection() {
+        Instant now = Instant.now();
+
+        StepVerifier.create(leadExportService.exportLeads(null, now, now.minusSeconds(60)))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void toCsvLine_QuotesAndNeutralizesFormulas() {
+        LeadExportRow row = LeadExportRow.builder()
+                .applicationReferenceNumber("BOM1")
+                .customerName("Doe, \"JD\" John")
+                .emailAddress("=HYPERLINK(\"x\")")
+                .amountRequested(new BigDecimal("150000.00"))
+                .build();
+
+        assertEquals(",BOM1,,,\"Doe, \"\"JD\"\" John\",,\"'=HYPERLINK(\"\"x\"\")\",150000.00,,,\r\n",
+                LeadExportService.toCsvLine(row));
+    }
+
+    private void stubCursor() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY),
+                eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private void stubRow() throws SQLException {
+        when(resultSet.getObject("id", UUID.class)).thenReturn(UUID.randomUUID());
+        when(resultSet.getString("application_reference_number")).thenReturn("BOM1234567");
+        when(resultSet.getString("product_type")).thenReturn("HOME_LOAN");
+        when(resultSet.getString("status")).thenReturn("APPLIED");
+        when(resultSet.getObject("created_at", OffsetDateTime.class)).thenReturn(CREATED_AT);
+    }
+}
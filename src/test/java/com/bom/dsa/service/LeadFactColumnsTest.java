@@ -0,0 +1,125 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.request.LeadFactFilter;
+import com.bom.dsa.dto.response.LeadFactResponse;
+import com.bom.dsa.enums.FactDimension;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeadFactColumnsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private final UUID homeApplied = UUID.randomUUID();
+    private final UUID homeSanctioned = UUID.randomUUID();
+    private final UUID vehicleApplied = UUID.randomUUID();
+    private final UUID otherDsa = UUID.randomUUID();
+
+    private LeadFactColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new LeadFactColumns();
+        columns.put(homeApplied, LeadStatus.APPLIED, ProductType.HOME_LOAN, "DSA001", new BigDecimal("1000.50"), DAY);
+        columns.put(homeSanctioned, LeadStatus.SANCTIONED, ProductType.HOME_LOAN, "DSA001",
+                new BigDecimal("2000.00"), DAY.plusDays(1));
+        columns.put(vehicleApplied, LeadStatus.APPLIED, ProductType.VEHICLE_LOAN, "DSA001", null, DAY.plusDays(2));
+        columns.put(otherDsa, LeadStatus.APPLIED, ProductType.HOME_LOAN, "DSA002", new BigDecimal("500.25"), DAY);
+    }
+
+    @Test
+    void aggregate_NoFilter_Totals() {
+        LeadFactResponse response = columns.aggregate(LeadFactFilter.ALL, List.of());
+
+        assertEquals(4L, response.getTotalCount());
+        assertEquals(new BigDecimal("3500.75"), response.getTotalAmount());
+        assertEquals(1, response.getGroups().size());
+        assertEquals(Map.of(), response.getGroups().get(0).getKey());
+    }
+
+    @Test
+    void aggregate_FiltersCombineAcrossDimensions() {
+        LeadFactFilter filter = LeadFactFilter.builder()
+                .statuses(Set.of(LeadStatus.APPLIED, LeadStatus.SANCTIONED))
+                .productTypes(Set.of(ProductType.HOME_LOAN))
+                .createdBy("DSA001")
+                .from(DAY)
+                .to(DAY.plusDays(1))
+                .build();
+
+        LeadFactResponse response = columns.aggregate(filter, List.of(FactDimension.STATUS));
+
+        assertEquals(2L, response.getTotalCount());
+        assertEquals(List.of(
+                group(Map.of(FactDimension.STATUS, "APPLIED"), 1L, "1000.50"),
+                group(Map.of(FactDimension.STATUS, "SANCTIONED"), 1L, "2000.00")), response.getGroups());
+    }
+
+    @Test
+    void aggregate_GroupsByTwoDimensions() {
+        LeadFactResponse response = columns.aggregate(LeadFactFilter.ALL,
+                List.of(FactDimension.CREATED_BY, FactDimension.CREATED_DAY));
+
+        assertEquals(List.of(
+                group(Map.of(FactDimension.CREATED_BY, "DSA001", FactDimension.CREATED_DAY, "2025-03-01"), 1L,
+                        "1000.50"),
+                group(Map.of(FactDimension.CREATED_BY, "DSA001", FactDimension.CREATED_DAY, "2025-03-02"), 1L,
+                        "2000.00"),
+                group(Map.of(FactDimension.CREATED_BY, "DSA001", FactDimension.CREATED_DAY, "2025-03-03"), 1L,
+                        "0.00"),
+                group(Map.of(FactDimension.CREATED_BY, "DSA002", FactDimension.CREATED_DAY, "2025-03-01"), 1L,
+                        "500.25")), response.getGroups());
+    }
+
+    @Test
+    void put_ExistingLead_MovesToNewStatus() {
+        columns.put(homeApplied, LeadStatus.REJECTED, ProductType.HOME_LOAN, "DSA001", new BigDecimal("1000.50"),
+                DAY);
+
+        LeadFactResponse applied = columns.aggregate(
+                LeadFactFilter.builder().statuses(Set.of(LeadStatus.APPLIED)).build(), List.of());
+        LeadFactResponse rejected = columns.aggregate(
+                LeadFactFilter.builder().statuses(Set.of(LeadStatus.REJECTED)).build(), List.of());
+
+        assertEquals(2L, applied.getTotalCount());
+        assertEquals(1L, rejected.getTotalCount());
+        assertEquals(4, columns.liveCount());
+    }
+
+    @Test
+    void remove_LeadLeavesResults() {
+        columns.remove(otherDsa);
+
+        LeadFactResponse response = columns.aggregate(
+                LeadFactFilter.builder().createdBy("DSA002").build(), List.of(FactDimension.PRODUCT_TYPE));
+
+        assertEquals(0L, response.getTotalCount());
+        assertTrue(response.getGroups().isEmpty());
+        assertEquals(3, columns.liveCount());
+    }
+
+    @Test
+    void aggregate_UnknownCreator_Empty() {
+        LeadFactResponse response = columns.aggregate(LeadFactFilter.builder().createdBy("NOBODY").build(),
+                List.of());
+
+        assertEquals(0L, response.getTotalCount());
+        assertEquals(BigDecimal.ZERO.setScale(2), response.getTotalAmount());
+    }
+
+    private static LeadFactResponse.Group group(Map<FactDimension, String> key, long count, String amount) {
+        return new LeadFactResponse.Group(key, count, new BigDecimal(amount));
+    }
+}
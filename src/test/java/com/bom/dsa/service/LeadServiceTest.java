@@ -1,30 +1,57 @@
 package com.bom.dsa.service;
 
-import com.bom.dsa.client.ApprovalClient;
-
 import com.bom.dsa.dto.request.CreateLeadRequest;
+import com.bom.dsa.dto.response.BulkCreateLeadResponse;
 import com.bom.dsa.dto.response.LeadResponse;
+import com.bom.dsa.dto.response.LeadSummaryResponse;
 import com.bom.dsa.entity.Lead;
+import com.bom.dsa.enums.CountMode;
 import com.bom.dsa.enums.LeadStatus;
 import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.LeadReactiveRepository;
 import com.bom.dsa.repository.LeadRepository;
+import com.bom.dsa.util.LeadCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.springframework.transaction.PlatformTransactionManager; // Added import
@@ -39,14 +66,27 @@ public class LeadServiceTest {
         private PlatformTransactionManager transactionManager; // Added mock
 
         @Mock
-        private ApprovalClient approvalClient;
+        private ApprovalOutboxService approvalOutboxService;
+
+        @Mock
+        private LeadStatsService leadStatsService;
+
+        private SimpleMeterRegistry meterRegistry;
 
         private LeadService leadService;
 
         @BeforeEach
         void setUp() {
-                leadService = new LeadService(leadRepository, transactionManager, approvalClient); // Updated
-                                                                                                   // constructor
+                meterRegistry = new SimpleMeterRegistry();
+                leadService = new LeadService(leadRepository, transactionManager, approvalOutboxService,
+                                leadStatsService,
+                                new DashboardAnalyticsCache(meterRegistry, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                                                100),
+                                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT, CountMode.EXACT,
+                                                Duration.ofMinutes(5), 100),
+                                new LeadDetailCache(meterRegistry, 100, Duration.ofMinutes(5)),
+                                Validation.buildDefaultValidatorFactory().getValidator(), 3, 5, Optional.empty(),
+                                Schedulers.boundedElastic());
         }
 
         @Test
@@ -80,39 +120,423 @@ public class LeadServiceTest {
                 // service logic,
                 // we assume repository save returns the populated object.
                 when(leadRepository.save(any(Lead.class))).thenReturn(savedLead);
-                when(approvalClient.fireApprovalFlow(any()))
-                                .thenReturn(Mono.just(com.bom.dsa.dto.response.FireApprovalResponse.builder()
-                                                .runningFlowId("flow-123")
-                                                .build()));
-
                 Mono<LeadResponse> result = leadService.createLead(request, "testUser");
 
                 StepVerifier.create(result)
                                 .expectNextMatches(response -> response.getApplicationReferenceNumber()
                                                 .equals("BOM1234567"))
                                 .verifyComplete();
+
+                verify(approvalOutboxService).enqueue(argThat(leads -> leads.size() == 1
+                                && "BOM1234567".equals(leads.get(0).getApplicationReferenceNumber())));
+                verify(leadStatsService).leadsCreated(List.of(savedLead));
+        }
+
+        @Test
+        void createLead_DenormalizesSummaryFields() {
+                CreateLeadRequest request = CreateLeadRequest.builder()
+                                .productType(ProductType.HOME_LOAN)
+                                .basicDetails(CreateLeadRequest.BasicDetailsDto.builder()
+                                                .salutation("Ms.")
+                                                .firstName("Jane")
+                                                .lastName("Roe")
+                                                .emailAddress("jane@example.com")
+                                                .mobileNumber("9876500000")
+                                                .build())
+                                .loanDetails(CreateLeadRequest.LoanDetailsDto.builder()
+                                                .amountRequested(BigDecimal.valueOf(2500000))
+                                                .repaymentPeriod(240)
+                                                .homeLoanDetails(CreateLeadRequest.HomeLoanDetailsDto.builder()
+                                                                .propertyType("Apartment")
+                                                                .build())
+                                                .build())
+                                .build();
+
+                ArgumentCaptor<Lead> captor = ArgumentCaptor.forClass(Lead.class);
+                when(leadRepository.save(captor.capture())).thenAnswer(invocation -> {
+                        Lead lead = invocation.getArgument(0);
+                        lead.setId(UUID.randomUUID());
+                        return lead;
+                });
+                StepVerifier.create(leadService.createLead(request, "testUser"))
+                                .expectNextCount(1)
+                                .verifyComplete();
+
+                Lead saved = captor.getValue();
+                assertEquals("Ms. Jane Roe", saved.getCustomerName());
+                assertEquals("9876500000", saved.getMobileNumber());
+                assertEquals("jane@example.com", saved.getEmailAddress());
+                assertEquals(0, BigDecimal.valueOf(2500000).compareTo(saved.getAmountRequested()));
         }
 
         @Test
         void getLeads_Success() {
-                Lead lead = Lead.builder()
-                                .id(UUID.randomUUID())
+                LeadSummaryResponse summary = LeadSummaryResponse.builder()
+                                .leadId(UUID.randomUUID())
                                 .applicationReferenceNumber("BOM1234567")
                                 .productType(ProductType.VEHICLE_LOAN)
                                 .status(LeadStatus.APPLIED)
-                                .createdBy("testUser")
                                 .build();
 
-                Page<Lead> page = new PageImpl<>(Collections.singletonList(lead));
-
-                when(leadRepository.searchLeads(any(), any(), any(), any(), any(Pageable.class)))
-                                .thenReturn(page);
+                when(leadRepository.searchLeadSummaries(any(), any(), any(), any(), any(Pageable.class)))
+                                .thenReturn(Collections.singletonList(summary));
 
                 // We can pass nulls for optional filters
-                var result = leadService.getLeads("testUser", null, null, null, PageRequest.of(0, 10));
+                var result = leadService.getLeads("testUser", null, null, null, PageRequest.of(0, 10), null);
 
                 StepVerifier.create(result)
-                                .expectNextMatches(p -> p.getTotalElements() == 1)
+                                .expectNextMatches(p -> p.getTotalElements() == 1 && p.isTotalExact())
+                                .verifyComplete();
+        }
+
+        @Test
+        void getLeads_R2dbcReadPath_CountsWithoutJpa() {
+                LeadReactiveRepository reactiveRepository = mock(LeadReactiveRepository.class);
+                leadService = new LeadService(leadRepository, transactionManager, approvalOutboxService,
+                                leadStatsService,
+                                new DashboardAnalyticsCache(meterRegistry, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                                                100),
+                                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT, CountMode.EXACT,
+                                                Duration.ofMinutes(5), 100),
+                                new LeadDetailCache(meterRegistry, 100, Duration.ofMinutes(5)),
+                                Validation.buildDefaultValidatorFactory().getValidator(), 3, 5,
+                                Optional.of(reactiveRepository), Schedulers.boundedElastic());
+                LeadSummaryResponse summary = LeadSummaryResponse.builder()
+                                .leadId(UUID.randomUUID())
+                                .applicationReferenceNumber("BOM1234567")
+                                .build();
+                Pageable pageable = PageRequest.of(0, 1);
+
+                when(reactiveRepository.searchLeadSummaries("testUser", LeadStatus.APPLIED, null, "BOM", pageable))
+                                .thenReturn(Flux.just(summary));
+                when(reactiveRepository.countLeadSummaries("testUser", LeadStatus.APPLIED, null, "BOM"))
+                                .thenReturn(Mono.just(7L));
+
+                StepVerifier.create(leadService.getLeads("testUser", LeadStatus.APPLIED, null, "  BOM ", pageable,
+                                CountMode.EXACT))
+                                .expectNextMatches(page -> page.getTotalElements() == 7 && page.isTotalExact()
+                                                && page.getContent().equals(List.of(summary)))
+                                .verifyComplete();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getLeadById_R2dbcReadPath_NotFound() {
+                LeadReactiveRepository reactiveRepository = mock(LeadReactiveRepository.class);
+                leadService = new LeadService(leadRepository, transactionManager, approvalOutboxService,
+                                leadStatsService,
+                                new DashboardAnalyticsCache(meterRegistry, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                                                100),
+                                new TotalCountService(null, null, CountMode.EXACT, CountMode.EXACT, CountMode.EXACT,
+                                                Duration.ofMinutes(5), 100),
+                                new LeadDetailCache(meterRegistry, 100, Duration.ofMinutes(5)),
+                                Validation.buildDefaultValidatorFactory().getValidator(), 3, 5,
+                                Optional.of(reactiveRepository), Schedulers.boundedElastic());
+                UUID leadId = UUID.randomUUID();
+                when(reactiveRepository.findByIdWithDetails(leadId)).thenReturn(Mono.empty());
+
+                StepVerifier.create(leadService.getLeadById(leadId))
+                                .expectError(CustomExceptions.ResourceNotFoundException.class)
+                                .verify();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getLeadsByCursor_FirstPage_ReturnsNextCursor() {
+                Instant now = Instant.now();
+                List<LeadSummaryResponse> rows = List.of(
+                                LeadSummaryResponse.builder().leadId(UUID.randomUUID()).createdAt(now).build(),
+                                LeadSummaryResponse.builder().leadId(UUID.randomUUID()).createdAt(now.minusSeconds(1))
+                                                .build(),
+                                LeadSummaryResponse.builder().leadId(UUID.randomUUID()).createdAt(now.minusSeconds(2))
+                                                .build());
+
+                when(leadRepository.findLeadSummariesFirstPage(any(), any(), any(), any(), any(Pageable.class)))
+                                .thenReturn(rows);
+
+                StepVerifier.create(leadService.getLeadsByCursor("testUser", null, null, null, "", 2))
+                                .expectNextMatches(page -> page.getContent().size() == 2
+                                                && page.getHasNext()
+                                                && LeadCursor.decode(page.getNextCursor())
+                                                                .equals(new LeadCursor(rows.get(1).getCreatedAt(),
+                                                                                rows.get(1).getLeadId())))
+                                .verifyComplete();
+        }
+
+        @Test
+        void getLeadsByCursor_AfterCursor_SeeksFromPosition() {
+                LeadCursor cursor = new LeadCursor(Instant.parse("2024-01-01T10:15:30.123456Z"), UUID.randomUUID());
+                LeadSummaryResponse summary = LeadSummaryResponse.builder().leadId(UUID.randomUUID())
+                                .createdAt(Instant.parse("2024-01-01T10:00:00Z")).build();
+
+                when(leadRepository.findLeadSummariesAfter(eq("testUser"), any(), any(), any(),
+                                eq(cursor.createdAt()), eq(cursor.id()), any(Pageable.class)))
+                                .thenReturn(List.of(summary));
+
+                StepVerifier.create(leadService.getLeadsByCursor("testUser", null, null, null, cursor.encode(), 2))
+                                .expectNextMatches(page -> page.getContent().size() == 1
+                                                && !page.getHasNext()
+                                                && page.getNextCursor() == null)
+                                .verifyComplete();
+        }
+
+        @Test
+        void getLeadsByCursor_SizeBelowOne_Rejected() {
+                StepVerifier.create(leadService.getLeadsByCursor("testUser", null, null, null, "", 0))
+                                .expectError(CustomExceptions.BusinessException.class)
+                                .verify();
+
+                verifyNoInteractions(leadRepository);
+        }
+
+        @Test
+        void getLeadsByCursor_SizeAboveMax_Capped() {
+                when(leadRepository.findLeadSummariesFirstPage(any(), any(), any(), any(), any(Pageable.class)))
+                                .thenReturn(List.of());
+
+                StepVerifier.create(leadService.getLeadsByCursor("testUser", null, null, null, "", Integer.MAX_VALUE))
+                                .expectNextCount(1)
+                                .verifyComplete();
+
+                verify(leadRepository).findLeadSummariesFirstPage(any(), any(), any(), any(),
+                                eq(PageRequest.of(0, 6)));
+        }
+
+        @Test
+        void getLeadsByCursor_InvalidCursor_Fails() {
+                StepVerifier.create(leadService.getLeadsByCursor("testUser", null, null, null, "not-a-cursor", 2))
+                                .expectError(CustomExceptions.BusinessException.class)
+                                .verify();
+        }
+
+        @Test
+        void getLeadById_SecondCall_ServedFromCache() {
+                UUID leadId = UUID.randomUUID();
+                when(leadRepository.findByIdWithDetails(leadId)).thenReturn(Optional.of(draftLead(leadId)));
+
+                StepVerifier.create(leadService.getLeadById(leadId)).expectNextCount(1).verifyComplete();
+                StepVerifier.create(leadService.getLeadById(leadId))
+                                .expectNextMatches(response -> response.getLeadId().equals(leadId))
+                                .verifyComplete();
+
+                verify(leadRepository, times(1)).findByIdWithDetails(leadId);
+                assertEquals(1, meterRegistry.get("cache.gets").tag("cache", LeadDetailCache.CACHE_NAME)
+                                .tag("result", "hit").functionCounter().count());
+                assertEquals(1, meterRegistry.get("cache.gets").tag("cache", LeadDetailCache.CACHE_NAME)
+                                .tag("result", "miss").functionCounter().count());
+        }
+
+        @Test
+        void getLeadById_NotFound_IsNotCached() {
+                UUID leadId = UUID.randomUUID();
+                when(leadRepository.findByIdWithDetails(leadId)).thenReturn(Optional.empty());
+
+                StepVerifier.create(leadService.getLeadById(leadId))
+                                .expectError(CustomExceptions.ResourceNotFoundException.class)
+                                .verify();
+                StepVerifier.create(leadService.getLeadById(leadId))
+                                .expectError(CustomExceptions.ResourceNotFoundException.class)
+                                .verify();
+
+                verify(leadRepository, times(2)).findByIdWithDetails(leadId);
+        }
+
+        @Test
+        void deleteLead_InvalidatesCachedDetail() {
+                UUID leadId = UUID.randomUUID();
+                Lead lead = draftLead(leadId);
+                when(leadRepository.findByIdWithDetails(leadId)).thenReturn(Optional.of(lead));
+                when(leadRepository.findByIdForUpdate(leadId)).thenReturn(Optional.of(lead));
+                when(leadRepository.save(any(Lead.class))).thenReturn(lead);
+
+                StepVerifier.create(leadService.getLeadById(leadId)).expectNextCount(1).verifyComplete();
+                StepVerifier.create(leadService.deleteLead(leadId, "testUser")).verifyComplete();
+                StepVerifier.create(leadService.getLeadById(leadId)).expectNextCount(1).verifyComplete();
+
+                verify(leadRepository, times(2)).findByIdWithDetails(leadId);
+                verify(leadStatsService).leadDeleted(lead);
+        }
+
+        @Test
+        void deleteLead_AlreadyDeleted_NotFoundAndNotCountedAgain() {
+                UUID leadId = UUID.randomUUID();
+                Lead lead = draftLead(leadId);
+                lead.softDelete("otherUser");
+                when(leadRepository.findByIdForUpdate(leadId)).thenReturn(Optional.of(lead));
+
+                StepVerifier.create(leadService.deleteLead(leadId, "testUser"))
+                                .expectError(CustomExceptions.ResourceNotFoundException.class)
+                                .verify();
+
+                verify(leadRepository, never()).save(any(Lead.class));
+                verify(leadStatsService, never()).leadDeleted(any(Lead.class));
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void createLeads_MixedBatch_CreatesValidItemsAndReportsInvalid() {
+                CreateLeadRequest missingBasics = validCreateRequest();
+                missingBasics.setBasicDetails(null);
+                CreateLeadRequest missingLoan = validCreateRequest();
+                missingLoan.setLoanDetails(null);
+
+                ArgumentCaptor<List<Lead>> captor = ArgumentCaptor.forClass(List.class);
+                when(leadRepository.saveAll(captor.capture())).thenAnswer(invocation -> {
+                        List<Lead> leads = invocation.getArgument(0);
+                        leads.forEach(lead -> lead.setId(UUID.randomUUID()));
+                        return leads;
+                });
+                StepVerifier.create(leadService.createLeads(
+                                List.of(validCreateRequest(), missingBasics, missingLoan), "testUser"))
+                                .assertNext(response -> {
+                                        assertEquals(3, response.getTotal());
+                                        assertEquals(1, response.getCreated());
+                                        assertEquals(2, response.getFailed());
+
+                                        BulkCreateLeadResponse.ItemResult created = response.getResults().get(0);
+                                        assertTrue(created.getCreated());
+                                        assertEquals(captor.getValue().get(0).getId(), created.getLeadId());
+
+                                        BulkCreateLeadResponse.ItemResult invalid = response.getResults().get(1);
+                                        assertFalse(invalid.getCreated());
+                                        assertEquals(List.of("basicDetails: Basic details are required"),
+                                                        invalid.getErrors());
+
+                                        assertEquals(List.of("Loan details are required to create a lead"),
+                                                        response.getResults().get(2).getErrors());
+                                })
+                                .verifyComplete();
+
+                assertEquals(1, captor.getValue().size());
+                assertEquals("testUser", captor.getValue().get(0).getCreatedBy());
+                verify(leadRepository).flush();
+                verify(leadStatsService).leadsCreated(captor.getValue());
+                verify(approvalOutboxService).enqueue(argThat(leads -> leads.size() == 1
+                                && leads.get(0).getLeadId().equals(captor.getValue().get(0).getId())));
+        }
+
+        @Test
+        void createLeads_ReferenceNumberTaken_Regenerated() {
+                List<String> firstCandidates = new ArrayList<>();
+                when(leadRepository.findExistingReferenceNumbers(anyCollection())).thenAnswer(invocation -> {
+                        Collection<String> candidates = invocation.getArgument(0);
+                        if (firstCandidates.isEmpty()) {
+                                firstCandidates.addAll(candidates);
+                                return List.copyOf(candidates);
+                        }
+                        return List.of();
+                });
+                ArgumentCaptor<List<Lead>> captor = ArgumentCaptor.forClass(List.class);
+                when(leadRepository.saveAll(captor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+                StepVerifier.create(leadService.createLeads(List.of(validCreateRequest(), validCreateRequest()),
+                                "testUser"))
+                                .expectNextMatches(response -> response.getCreated() == 2)
+                                .verifyComplete();
+
+                verify(leadRepository, times(2)).findExistingReferenceNumbers(anyCollection());
+                List<String> saved = captor.getValue().stream().map(Lead::getApplicationReferenceNumber).toList();
+                assertEquals(2, Set.copyOf(saved).size());
+                assertTrue(saved.stream().noneMatch(firstCandidates::contains));
+        }
+
+        @Test
+        void createLeads_ConstraintViolation_RetriedWithNewLeads() {
+                when(leadRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(List.of());
+                when(leadRepository.saveAll(anyList()))
+                                .thenThrow(new DataIntegrityViolationException("duplicate application_reference_number"))
+                                .thenAnswer(invocation -> invocation.getArgument(0));
+
+                StepVerifier.create(leadService.createLeads(List.of(validCreateRequest()), "testUser"))
+                                .expectNextMatches(response -> response.getCreated() == 1
+                                                && response.getResults().get(0).getCreated())
                                 .verifyComplete();
+
+                verify(leadRepository, times(2)).saveAll(anyList());
+                verify(approvalOutboxService, times(1)).enqueue(anyList());
+        }
+
+        @Test
+        void createLeads_ConstraintViolationPersists_ReportsItemsFailed() {
+                CreateLeadRequest invalid = validCreateRequest();
+                invalid.getBasicDetails().setMobileNumber("123");
+                when(leadRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(List.of());
+                when(leadRepository.saveAll(anyList()))
+                                .thenThrow(new DataIntegrityViolationException("duplicate application_reference_number"));
+
+                StepVerifier.create(leadService.createLeads(List.of(validCreateRequest(), invalid), "testUser"))
+                                .assertNext(response -> {
+                                        assertEquals(0, response.getCreated());
+                                        assertEquals(2, response.getFailed());
+                                        assertEquals(List.of("Failed to create lead: duplicate application_reference_number"),
+                                                        response.getResults().get(0).getErrors());
+                                        assertEquals(List.of("basicDetails.mobileNumber: Invalid mobile number"),
+                                                        response.getResults().get(1).getErrors());
+                                })
+                                .verifyComplete();
+
+                verify(leadRepository, times(3)).saveAll(anyList());
+                verifyNoInteractions(approvalOutboxService);
+        }
+
+        @Test
+        void createLeads_AllInvalid_SkipsInsert() {
+                CreateLeadRequest invalid = validCreateRequest();
+                invalid.getBasicDetails().setMobileNumber("123");
+
+                StepVerifier.create(leadService.createLeads(List.of(invalid), "testUser"))
+                                .expectNextMatches(response -> response.getCreated() == 0
+                                                && response.getResults().get(0).getErrors()
+                                                                .equals(List.of("basicDetails.mobileNumber: Invalid mobile number")))
+                                .verifyComplete();
+
+                verify(leadRepository, times(0)).saveAll(anyList());
+        }
+
+        @Test
+        void createLeads_OverMaxSize_Fails() {
+                List<CreateLeadRequest> requests = List.of(validCreateRequest(), validCreateRequest(),
+                                validCreateRequest(), validCreateRequest());
+
+                StepVerifier.create(leadService.createLeads(requests, "testUser"))
+                                .expectError(CustomExceptions.BusinessException.class)
+                                .verify();
+        }
+
+        private CreateLeadRequest validCreateRequest() {
+                return CreateLeadRequest.builder()
+                                .productType(ProductType.VEHICLE_LOAN)
+                                .basicDetails(CreateLeadRequest.BasicDetailsDto.builder()
+                                                .firstName("John")
+                                                .lastName("Doe")
+                                                .dateOfBirth(java.time.LocalDate.of(1990, 1, 1))
+                                                .gender("Male")
+                                                .maritalStatus("Single")
+                                                .mobileNumber("9876543210")
+                                                .emailAddress("john@example.com")
+                                                .build())
+                                .occupationDetails(CreateLeadRequest.OccupationDetailsDto.builder()
+                                                .occupationType(com.bom.dsa.enums.OccupationType.SALARIED)
+                                                .build())
+                                .loanDetails(CreateLeadRequest.LoanDetailsDto.builder()
+                                                .amountRequested(BigDecimal.valueOf(100000))
+                                                .repaymentPeriod(12)
+                                                .vehicleLoanDetails(CreateLeadRequest.VehicleLoanDetailsDto.builder()
+                                                                .vehicleType("Car")
+                                                                .build())
+                                                .build())
+                                .build();
+        }
+
+        private Lead draftLead(UUID leadId) {
+                return Lead.builder()
+                                .id(leadId)
+                                .applicationReferenceNumber("BOM7654321")
+                                .productType(ProductType.VEHICLE_LOAN)
+                                .status(LeadStatus.DRAFT)
+                                .createdBy("testUser")
+                                .build();
         }
 }
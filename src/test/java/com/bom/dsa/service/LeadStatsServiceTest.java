@@ -0,0 +1,237 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.DashboardDelta;
+import com.bom.dsa.dto.response.LeadCounts;
+import com.bom.dsa.entity.Lead;
+import com.bom.dsa.entity.LeadStat;
+import com.bom.dsa.entity.LeadStatId;
+import com.bom.dsa.enums.LeadStatus;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.repository.LeadDailyStatRepository;
+import com.bom.dsa.repository.LeadRepository;
+import com.bom.dsa.repository.LeadStatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeadStatsServiceTest {
+
+    private static final String USER = "DSA001";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    @Mock
+    private LeadStatRepository leadStatRepository;
+
+    @Mock
+    private LeadDailyStatRepository leadDailyStatRepository;
+
+    @Mock
+    private LeadRepository leadRepository;
+
+    @Mock
+    private LeadFactStore leadFactStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final DashboardEventBus dashboardEventBus = new DashboardEventBus(new SimpleMeterRegistry(), 16);
+
+    private LeadStatsService leadStatsService;
+
+    @BeforeEach
+    void setUp() {
+        leadStatsService = new LeadStatsService(leadStatRepository, leadDailyStatRepository, leadRepository,
+                dashboardEventBus, leadFactStore, transactionManager, ZONE);
+    }
+
+    @Test
+    void leadsCreated_OneIncrementPerKeyInKeyOrder() {
+        leadStatsService.leadsCreated(List.of(
+                lead(LeadStatus.APPLIED, ProductType.HOME_LOAN),
+                lead(LeadStatus.DRAFT, ProductType.HOME_LOAN),
+                lead(LeadStatus.APPLIED, ProductType.HOME_LOAN),
+                lead(LeadStatus.APPLIED, ProductType.EDUCATION_LOAN)));
+
+        InOrder order = inOrder(leadStatRepository);
+        order.verify(leadStatRepository).lockCreator(USER);
+        order.verify(leadStatRepository).increment(USER, "APPLIED", "EDUCATION_LOAN", 1L);
+        order.verify(leadStatRepository).increment(USER, "APPLIED", "HOME_LOAN", 2L);
+        order.verify(leadStatRepository).increment(USER, "DRAFT", "HOME_LOAN", 1L);
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void statusChanged_PublishesDeltasWithNewCountsToDashboards() {
+        List<DashboardDelta> published = new ArrayList<>();
+        dashboardEventBus.subscribe(USER).subscribe(published::add);
+        when(leadStatRepository.increment(USER, "SANCTIONED", "VEHICLE_LOAN", 1L)).thenReturn(4L);
+        when(leadStatRepository.increment(USER, "UNDER_PROCESS", "VEHICLE_LOAN", -1L)).thenReturn(2L);
+
+        leadStatsService.statusChanged(lead(LeadStatus.SANCTIONED, ProductType.VEHICLE_LOAN),
+                LeadStatus.UNDER_PROCESS);
+
+        assertEquals(List.of(
+                new DashboardDelta(USER, LeadStatus.SANCTIONED, ProductType.VEHICLE_LOAN, 1L, 4L),
+                new DashboardDelta(USER, LeadStatus.UNDER_PROCESS, ProductType.VEHICLE_LOAN, -1L, 2L)), published);
+    }
+
+    @Test
+    void leadsCreated_CountedOnCreationDayInZone() {
+        // 20:00 UTC on 1 March is already 2 March in India
+        Lead late = lead(LeadStatus.APPLIED, ProductType.HOME_LOAN);
+        late.setCreatedAt(Instant.parse("2025-03-01T20:00:00Z"));
+        Lead early = lead(LeadStatus.APPLIED, ProductType.HOME_LOAN);
+        early.setCreatedAt(Instant.parse("2025-03-01T10:00:00Z"));
+        Lead other = lead(LeadStatus.DRAFT, ProductType.HOME_LOAN);
+        other.setCreatedAt(Instant.parse("2025-03-02T05:00:00Z"));
+
+        leadStatsService.leadsCreated(List.of(late, early, other));
+
+        InOrder order = inOrder(leadDailyStatRepository);
+        order.verify(leadDailyStatRepository).lockForIncrement();
+        order.verify(leadDailyStatRepository).increment(LocalDate.of(2025, 3, 1), USER, "HOME_LOAN", 1L, 0L, 0L, 0L);
+        order.verify(leadDailyStatRepository).increment(LocalDate.of(2025, 3, 2), USER, "HOME_LOAN", 2L, 0L, 0L, 0L);
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void statusChanged_MovesCountBetweenStatuses() {
+        leadStatsService.statusChanged(lead(LeadStatus.SANCTIONED, ProductType.VEHICLE_LOAN),
+                LeadStatus.UNDER_PROCESS);
+
+        InOrder order = inOrder(leadStatRepository);
+        order.verify(leadStatRepository).increment(USER, "SANCTIONED", "VEHICLE_LOAN", 1L);
+        order.verify(leadStatRepository).increment(USER, "UNDER_PROCESS", "VEHICLE_LOAN", -1L);
+        order.verifyNoMoreInteractions();
+        verify(leadFactStore).leadSaved(any(Lead.class));
+        verify(leadDailyStatRepository).increment(LocalDate.now(ZONE), USER, "VEHICLE_LOAN", 0L, 1L, 0L, 0L);
+    }
+
+    @Test
+    void statusChanged_ToRejected_CountsTodaysRejection() {
+        leadStatsService.statusChanged(lead(LeadStatus.REJECTED, ProductType.HOME_LOAN), LeadStatus.UNDER_PROCESS);
+
+        verify(leadDailyStatRepository).increment(LocalDate.now(ZONE), USER, "HOME_LOAN", 0L, 0L, 0L, 1L);
+    }
+
+    @Test
+    void statusChanged_ToUntrackedStatus_NoDailyWrite() {
+        leadStatsService.statusChanged(lead(LeadStatus.UNDER_PROCESS, ProductType.HOME_LOAN), LeadStatus.APPLIED);
+
+        verifyNoInteractions(leadDailyStatRepository);
+    }
+
+    @Test
+    void statusChanged_UnchangedOrDeleted_NoWrite() {
+        leadStatsService.statusChanged(lead(LeadStatus.APPLIED, ProductType.HOME_LOAN), LeadStatus.APPLIED);
+        Lead deleted = lead(LeadStatus.REJECTED, ProductType.HOME_LOAN);
+        deleted.softDelete(USER);
+        leadStatsService.statusChanged(deleted, LeadStatus.APPLIED);
+
+        verifyNoInteractions(leadStatRepository, leadDailyStatRepository);
+    }
+
+    @Test
+    void leadDeleted_Decrements() {
+        Lead lead = lead(LeadStatus.DRAFT, ProductType.LOAN_AGAINST_PROPERTY);
+        lead.setCreatedAt(Instant.parse("2025-03-01T20:00:00Z"));
+
+        leadStatsService.leadDeleted(lead);
+
+        verify(leadStatRepository).increment(USER, "DRAFT", "LOAN_AGAINST_PROPERTY", -1L);
+        verify(leadDailyStatRepository).increment(LocalDate.of(2025, 3, 2), USER, "LOAN_AGAINST_PROPERTY", -1L, 0L,
+                0L, 0L);
+        verify(leadFactStore).leadRemoved(lead.getId());
+    }
+
+    @Test
+    void reconcile_RepairsOnlyDriftedRows() {
+        when(leadStatRepository.findByCreatedBy(USER)).thenReturn(List.of(
+                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 5L),
+                stat(LeadStatus.DRAFT, ProductType.HOME_LOAN, 2L),
+                stat(LeadStatus.REJECTED, ProductType.HOME_LOAN, 3L),
+                stat(LeadStatus.DISBURSED, ProductType.HOME_LOAN, 0L)));
+        when(leadRepository.countByCreatedByGroupByStatusAndProductType(USER)).thenReturn(List.of(
+                new Object[] { LeadStatus.APPLIED, ProductType.HOME_LOAN, 5L },
+                new Object[] { LeadStatus.DRAFT, ProductType.HOME_LOAN, 1L },
+                new Object[] { LeadStatus.SANCTIONED, ProductType.VEHICLE_LOAN, 4L }));
+
+        assertEquals(3, leadStatsService.reconcile(USER));
+
+        InOrder order = inOrder(leadStatRepository, leadRepository);
+        order.verify(leadStatRepository).lockCreator(USER);
+        order.verify(leadRepository).countByCreatedByGroupByStatusAndProductType(USER);
+
+        verify(leadStatRepository).increment(USER, "DRAFT", "HOME_LOAN", -1L);
+        verify(leadStatRepository).increment(USER, "REJECTED", "HOME_LOAN", -3L);
+        verify(leadStatRepository).increment(USER, "SANCTIONED", "VEHICLE_LOAN", 4L);
+        verify(leadStatRepository, never()).increment(anyString(), eq("APPLIED"), anyString(), anyLong());
+        verify(leadStatRepository, never()).increment(anyString(), eq("DISBURSED"), anyString(), anyLong());
+    }
+
+    @Test
+    void reconcile_InSync_NoWrite() {
+        when(leadStatRepository.findByCreatedBy(USER)).thenReturn(List.of(
+                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 5L)));
+        when(leadRepository.countByCreatedByGroupByStatusAndProductType(USER)).thenReturn(List.<Object[]>of(
+                new Object[] { LeadStatus.APPLIED, ProductType.HOME_LOAN, 5L }));
+
+        assertEquals(0, leadStatsService.reconcile(USER));
+
+        verify(leadStatRepository, never()).increment(anyString(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void getCounts_SumsRowsPerStatusAndProductType() {
+        when(leadStatRepository.findByCreatedBy(USER)).thenReturn(List.of(
+                stat(LeadStatus.APPLIED, ProductType.HOME_LOAN, 3L),
+                stat(LeadStatus.APPLIED, ProductType.VEHICLE_LOAN, 2L),
+                stat(LeadStatus.DISBURSED, ProductType.HOME_LOAN, 1L),
+                stat(LeadStatus.DRAFT, ProductType.VEHICLE_LOAN, 0L)));
+
+        LeadCounts counts = leadStatsService.getCounts(USER);
+
+        assertEquals(6L, counts.total());
+        assertEquals(Map.of(LeadStatus.APPLIED, 5L, LeadStatus.DISBURSED, 1L), counts.byStatus());
+        assertEquals(Map.of(ProductType.HOME_LOAN, 4L, ProductType.VEHICLE_LOAN, 2L), counts.byProductType());
+    }
+
+    private static Lead lead(LeadStatus status, ProductType productType) {
+        return Lead.builder()
+                .createdBy(USER)
+                .status(status)
+                .productType(productType)
+                .build();
+    }
+
+    private static LeadStat stat(LeadStatus status, ProductType productType, long count) {
+        return LeadStat.builder()
+                .id(new LeadStatId(USER, status, productType))
+                .leadCount(count)
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.TrendResponse;
+import com.bom.dsa.enums.ProductType;
+import com.bom.dsa.enums.TrendGranularity;
+import com.bom.dsa.enums.TrendGroupBy;
+import com.bom.dsa.exception.CustomExceptions;
+import com.bom.dsa.repository.LeadDailyStatRepository;
+import com.bom.dsa.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeadTrendServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    @Mock
+    private LeadDailyStatRepository leadDailyStatRepository;
+
+    @Mock
+    private LeadRepository leadRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeadTrendService leadTrendService;
+
+    @BeforeEach
+    void setUp() {
+        leadTrendService = new LeadTrendService(leadDailyStatRepository, leadRepository, Schedulers.immediate(),
+                transactionManager, ZONE, 366);
+    }
+
+    @Test
+    void rollUp_Day_FillsMissingDaysWithZeros() {
+        TrendResponse response = LeadTrendService.rollUp(List.of(
+                row(LocalDate.of(2025, 3, 1), 4L, 1L, 0L, 2L),
+                row(LocalDate.of(2025, 3, 3), 1L, 0L, 1L, 0L)),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 3), TrendGranularity.DAY, TrendGroupBy.NONE);
+
+        assertEquals(1, response.getSeries().size());
+        TrendResponse.Series series = response.getSeries().get(0);
+        assertEquals(LeadTrendService.ALL_SERIES, series.getKey());
+        assertEquals(List.of(
+                point(LocalDate.of(2025, 3, 1), 4L, 1L, 0L, 2L),
+                point(LocalDate.of(2025, 3, 2), 0L, 0L, 0L, 0L),
+                point(LocalDate.of(2025, 3, 3), 1L, 0L, 1L, 0L)), series.getPoints());
+    }
+
+    @Test
+    void rollUp_Week_SumsDaysFromMonday() {
+        // 2025-03-02 is a Sunday, 2025-03-03 a Monday
+        TrendResponse response = LeadTrendService.rollUp(List.of(
+                row(LocalDate.of(2025, 3, 1), 2L, 0L, 0L, 0L),
+                row(LocalDate.of(2025, 3, 2), 3L, 1L, 0L, 0L),
+                row(LocalDate.of(2025, 3, 3), 5L, 0L, 2L, 1L)),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 9), TrendGranularity.WEEK, TrendGroupBy.NONE);
+
+        assertEquals(List.of(
+                point(LocalDate.of(2025, 2, 24), 5L, 1L, 0L, 0L),
+                point(LocalDate.of(2025, 3, 3), 5L, 0L, 2L, 1L)), response.getSeries().get(0).getPoints());
+    }
+
+    @Test
+    void rollUp_MonthByProduct_OneSeriesPerKey() {
+        TrendResponse response = LeadTrendService.rollUp(List.of(
+                groupedRow(LocalDate.of(2025, 1, 15), ProductType.HOME_LOAN, 2L),
+                groupedRow(LocalDate.of(2025, 1, 31), ProductType.HOME_LOAN, 3L),
+                groupedRow(LocalDate.of(2025, 2, 1), ProductType.EDUCATION_LOAN, 7L)),
+                LocalDate.of(2025, 1, 10), LocalDate.of(2025, 2, 20), TrendGranularity.MONTH, TrendGroupBy.PRODUCT);
+
+        assertEquals(2, response.getSeries().size());
+        TrendResponse.Series education = response.getSeries().get(0);
+        assertEquals("EDUCATION_LOAN", education.getKey());
+        assertEquals(List.of(0L, 7L), education.getPoints().stream().map(TrendResponse.Point::getCreated).toList());
+        TrendResponse.Series home = response.getSeries().get(1);
+        assertEquals("HOME_LOAN", home.getKey());
+        assertEquals(List.of(5L, 0L), home.getPoints().stream().map(TrendResponse.Point::getCreated).toList());
+        assertEquals(LocalDate.of(2025, 1, 1), home.getPoints().get(0).getPeriodStart());
+    }
+
+    @Test
+    void getTrends_QueriesGroupedSums() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 2);
+        when(leadDailyStatRepository.sumByDayAndCreatedBy(from, to, null, ProductType.HOME_LOAN))
+                .thenReturn(List.<Object[]>of(new Object[] { from, "DSA001", 1L, 0L, 0L, 0L }));
+
+        StepVerifier.create(leadTrendService.getTrends(null, ProductType.HOME_LOAN, from, to, TrendGranularity.DAY,
+                TrendGroupBy.DSA))
+                .expectNextMatches(response -> response.getSeries().size() == 1
+                        && response.getSeries().get(0).getKey().equals("DSA001")
+                        && response.getSeries().get(0).getPoints().size() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void getTrends_DefaultsToLast30Days() {
+        LocalDate today = LocalDate.now(ZONE);
+        when(leadDailyStatRepository.sumByDay(today.minusDays(29), today, "DSA001", null)).thenReturn(List.of());
+
+        StepVerifier.create(leadTrendService.getTrends("DSA001", null, null, null, null, null))
+                .expectNextMatches(response -> response.getSeries().get(0).getPoints().size() == 30
+                        && response.getGranularity() == TrendGranularity.DAY
+                        && response.getGroupBy() == TrendGroupBy.NONE)
+                .verifyComplete();
+    }
+
+    @Test
+    void getTrends_InvalidRange_Rejected() {
+        StepVerifier.create(leadTrendService.getTrends("DSA001", null, LocalDate.of(2025, 3, 2),
+                LocalDate.of(2025, 3, 1), TrendGranularity.DAY, TrendGroupBy.NONE))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+        StepVerifier.create(leadTrendService.getTrends("DSA001", null, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2025, 3, 1), TrendGranularity.MONTH, TrendGroupBy.NONE))
+                .expectError(CustomExceptions.BusinessException.class)
+                .verify();
+
+        verifyNoInteractions(leadDailyStatRepository);
+    }
+
+    @Test
+    void rebuild_OneTransactionPerChunkWithZoneBounds() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 2, 5);
+        when(leadDailyStatRepository.upsertRangeFromLeads(LocalDateTime.of(2024, 12, 31, 18, 30),
+                LocalDateTime.of(2025, 1, 31, 18, 30), "Asia/Kolkata")).thenReturn(10);
+        when(leadDailyStatRepository.upsertRangeFromLeads(LocalDateTime.of(2025, 1, 31, 18, 30),
+                LocalDateTime.of(2025, 2, 5, 18, 30), "Asia/Kolkata")).thenReturn(3);
+
+        assertEquals(13, leadTrendService.rebuild(from, to));
+
+        verify(leadDailyStatRepository).deleteRange(from, LocalDate.of(2025, 1, 31));
+        verify(leadDailyStatRepository).deleteRange(LocalDate.of(2025, 2, 1), to);
+    }
+
+    @Test
+    void backfillIfIncomplete_AlreadyCompleted_Skipped() {
+        when(leadDailyStatRepository.isBackfillComplete()).thenReturn(true);
+
+        assertEquals(0, leadTrendService.backfillIfIncomplete());
+
+        verify(leadRepository, never()).findEarliestCreatedAt();
+        verify(leadDailyStatRepository, never()).markBackfillComplete();
+    }
+
+    @Test
+    void backfillIfIncomplete_RebuildsThenMarksCompleted() {
+        LocalDate today = LocalDate.now(ZONE);
+        when(leadRepository.findEarliestCreatedAt())
+                .thenReturn(today.atStartOfDay(ZONE).toInstant());
+        when(leadDailyStatRepository.upsertRangeFromLeads(any(), any(), eq("Asia/Kolkata"))).thenReturn(4);
+
+        assertEquals(4, leadTrendService.backfillIfIncomplete());
+
+        InOrder order = inOrder(leadDailyStatRepository);
+        order.verify(leadDailyStatRepository).lockForRebuild();
+        order.verify(leadDailyStatRepository).deleteRange(today, today);
+        order.verify(leadDailyStatRepository).upsertRangeFromLeads(any(), any(), eq("Asia/Kolkata"));
+        order.verify(leadDailyStatRepository).markBackfillComplete();
+    }
+
+    @Test
+    void backfillIfIncomplete_RebuildFails_NotMarkedCompleted() {
+        when(leadRepository.findEarliestCreatedAt()).thenReturn(Instant.parse("2025-01-01T00:00:00Z"));
+        when(leadDailyStatRepository.upsertRangeFromLeads(any(), any(), eq("Asia/Kolkata")))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> leadTrendService.backfillIfIncomplete());
+
+        verify(leadDailyStatRepository, never()).markBackfillComplete();
+    }
+
+    private static Object[] row(LocalDate day, long created, long sanctioned, long disbursed, long rejected) {
+        return new Object[] { day, created, sanctioned, disbursed, rejected };
+    }
+
+    private static Object[] groupedRow(LocalDate day, ProductType productType, long created) {
+        return new Object[] { day, productType, created, 0L, 0L, 0L };
+    }
+
+    private static TrendResponse.Point point(LocalDate periodStart, long created, long sanctioned, long disbursed,
+            long rejected) {
+        return new TrendResponse.Point(periodStart, created, sanctioned, disbursed, rejected);
+    }
+}
@@ -0,0 +1,114 @@
+package com.bom.dsa.service;
+
+import com.bom.dsa.dto.response.CountedPage;
+import com.bom.dsa.enums.CountMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TotalCountServiceTest {
+
+    private static final List<String> FULL_PAGE = List.of("a", "b");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TotalCountService totalCountService;
+
+    @BeforeEach
+    void setUp() {
+        totalCountService = new TotalCountService(jdbcTemplate, new ObjectMapper(),
+                CountMode.EXACT, CountMode.CACHED, CountMode.EXACT, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void toPage_ShortFirstPage_SkipsCount() {
+        CountedPage<String> page = totalCountService.toPage(TotalCountService.LEADS, "user", List.of(),
+                List.of("a"), PageRequest.of(0, 2), CountMode.EXACT,
+                () -> {
+                    throw new AssertionError("count must not run");
+                }, null);
+
+        assertEquals(1, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void toPage_Exact_RunsCount() {
+        CountedPage<String> page = totalCountService.toPage(TotalCountService.LEADS, "user", List.of(),
+                FULL_PAGE, PageRequest.of(0, 2), null, () -> 42L, null);
+
+        assertEquals(42, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void toPage_Cached_ReusesCountUntilInvalidated() {
+        AtomicInteger counts = new AtomicInteger();
+        List<Object> filters = Collections.singletonList(null);
+
+        CountedPage<String> first = totalCountService.toPage(TotalCountService.BILLINGS, "user", filters,
+                FULL_PAGE, PageRequest.of(0, 2), null, () -> 10L + counts.incrementAndGet(), null);
+        CountedPage<String> second = totalCountService.toPage(TotalCountService.BILLINGS, "user", filters,
+                FULL_PAGE, PageRequest.of(0, 2), null, () -> 10L + counts.incrementAndGet(), null);
+
+        assertEquals(11, first.getTotalElements());
+        assertTrue(first.isTotalExact());
+        assertEquals(11, second.getTotalElements());
+        assertFalse(second.isTotalExact());
+
+        totalCountService.invalidate(TotalCountService.BILLINGS, "user");
+        CountedPage<String> third = totalCountService.toPage(TotalCountService.BILLINGS, "user", filters,
+                FULL_PAGE, PageRequest.of(0, 2), null, () -> 10L + counts.incrementAndGet(), null);
+
+        assertEquals(12, third.getTotalElements());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void toPage_Estimated_UsesPlannerRows() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 1234}}]");
+
+        CountedPage<String> page = totalCountService.toPage(TotalCountService.DSAS, null, List.of(),
+                FULL_PAGE, PageRequest.of(0, 2), CountMode.ESTIMATED, () -> 7L,
+                new TotalCountService.EstimateQuery("SELECT 1 FROM ids_dsa", List.of()));
+
+        assertEquals(1234, page.getTotalElements());
+        assertFalse(page.isTotalExact());
+    }
+
+    @Test
+    void toPage_EstimateUnavailable_FallsBackToExact() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new BadSqlGrammarException("explain", "EXPLAIN", new SQLException("syntax")));
+
+        CountedPage<String> page = totalCountService.toPage(TotalCountService.DSAS, null, List.of(),
+                FULL_PAGE, PageRequest.of(0, 2), CountMode.ESTIMATED, () -> 7L,
+                new TotalCountService.EstimateQuery("SELECT 1 FROM ids_dsa", List.of()));
+
+        assertEquals(7, page.getTotalElements());
+        assertTrue(page.isTotalExact());
+    }
+}